@@ -432,6 +432,7 @@ public class Editor extends EditorPart {
 			@Override
 			public void run() {
 				guiComponents.setContent(handler.getDrawPanel().getScrollPane());
+				guiComponents.getMinimap().setDrawPanel(handler.getDrawPanel());
 			}
 		});
 	}
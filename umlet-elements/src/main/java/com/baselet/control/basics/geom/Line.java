@@ -66,7 +66,9 @@ public class Line {
 	 */
 	public double getDistanceToPoint(PointDouble pointToCheck) {
 		double dist = GeometricFunctions.getDistanceBetweenLineAndPoint(start, end, pointToCheck);
-		log.trace("Minimal distance between " + this + " and " + pointToCheck + " is " + dist);
+		if (log.isTraceEnabled()) { // called very often while sticking points are calculated, therefore avoid building the message
+			log.trace("Minimal distance between " + this + " and " + pointToCheck + " is " + dist);
+		}
 		return dist;
 	}
 
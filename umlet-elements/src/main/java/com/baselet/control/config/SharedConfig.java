@@ -11,6 +11,18 @@ public class SharedConfig {
 	private boolean stickingEnabled = true;
 	private boolean dev_mode = false; // TODO should be moved to a shared config class
 
+	// sizes of the text layout caches of the TextSplitter (the 2nd and 3rd cache use the value of the 1st as a partial key, therefore the sizes shouldn't be too different)
+	private int textWordCacheSize = 2000;
+	private int textMinWidthCacheSize = 2000;
+	private int textWordwrapCacheSize = 4000;
+
+	// if true, the drawing of the measuring parser run is kept if the measured values confirm the assumptions of the run (the second run is only done as fallback)
+	// disabled by default until it has proven to be identical to the two-pass parsing in practice (see PropertiesParserSinglePassTest)
+	private boolean singlePassParsing = false;
+
+	// below this zoom level (in percent) texts are drawn as bars, lines are simplified and decorations are omitted (0 disables the level of detail)
+	private int lowDetailZoomPercent = 50;
+
 	private SharedConfig() {}
 
 	public boolean isShow_stickingpolygon() {
@@ -36,4 +48,44 @@ public class SharedConfig {
 	public void setDev_mode(boolean dev_mode) {
 		this.dev_mode = dev_mode;
 	}
+
+	public int getTextWordCacheSize() {
+		return textWordCacheSize;
+	}
+
+	public void setTextWordCacheSize(int textWordCacheSize) {
+		this.textWordCacheSize = textWordCacheSize;
+	}
+
+	public int getTextMinWidthCacheSize() {
+		return textMinWidthCacheSize;
+	}
+
+	public void setTextMinWidthCacheSize(int textMinWidthCacheSize) {
+		this.textMinWidthCacheSize = textMinWidthCacheSize;
+	}
+
+	public int getTextWordwrapCacheSize() {
+		return textWordwrapCacheSize;
+	}
+
+	public void setTextWordwrapCacheSize(int textWordwrapCacheSize) {
+		this.textWordwrapCacheSize = textWordwrapCacheSize;
+	}
+
+	public boolean isSinglePassParsing() {
+		return singlePassParsing;
+	}
+
+	public void setSinglePassParsing(boolean singlePassParsing) {
+		this.singlePassParsing = singlePassParsing;
+	}
+
+	public int getLowDetailZoomPercent() {
+		return lowDetailZoomPercent;
+	}
+
+	public void setLowDetailZoomPercent(int lowDetailZoomPercent) {
+		this.lowDetailZoomPercent = lowDetailZoomPercent;
+	}
 }
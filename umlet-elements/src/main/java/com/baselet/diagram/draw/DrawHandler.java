@@ -3,6 +3,7 @@ package com.baselet.diagram.draw;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import com.baselet.control.StringStyle;
@@ -11,6 +12,7 @@ import com.baselet.control.basics.geom.Line;
 import com.baselet.control.basics.geom.Lines;
 import com.baselet.control.basics.geom.PointDouble;
 import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.SharedConfig;
 import com.baselet.control.constants.FacetConstants;
 import com.baselet.control.enums.AlignHorizontal;
 import com.baselet.control.enums.FormatLabels;
@@ -50,10 +52,18 @@ public abstract class DrawHandler {
 		this.layer = layer;
 	}
 
+	public Layer getLayer() {
+		return layer;
+	}
+
 	public void setEnableDrawing(boolean enableDrawing) {
 		this.enableDrawing = enableDrawing;
 	}
 
+	public boolean isEnableDrawing() {
+		return enableDrawing;
+	}
+
 	protected Style getOverlay() {
 		return overlay;
 	}
@@ -85,6 +95,13 @@ public abstract class DrawHandler {
 		drawablesForeground.clear();
 	}
 
+	/**
+	 * @return the number of drawables which are drawn by drawAll(), a rough measure how long drawing the element takes
+	 */
+	public int getDrawableCount() {
+		return drawablesBackground.size() + drawablesForeground.size();
+	}
+
 	public final double textHeightMaxWithSpace() {
 		return textHeightMax() + getDistanceBetweenTextLines();
 	}
@@ -286,6 +303,77 @@ public abstract class DrawHandler {
 
 	protected abstract double getDefaultFontSize();
 
+	/**
+	 * @return the factor by which the drawing is zoomed (1 at the default grid size)
+	 */
+	public abstract double getZoomFactor();
+
+	/* LEVEL OF DETAIL */
+
+	private static final double GREEKED_CHAR_WIDTH = 0.55; // average width of a character relative to the font size
+	private static final double MIN_POINT_DISTANCE_PX = 2; // points of lines which are closer to the previous point are omitted
+
+	/**
+	 * @return true if the drawing is zoomed out so far (see {@link SharedConfig#getLowDetailZoomPercent()}) that texts are greeked, lines are simplified and decorations can be omitted
+	 */
+	public boolean isLowDetail() {
+		return getZoomFactor() * 100 < SharedConfig.getInstance().getLowDetailZoomPercent();
+	}
+
+	/**
+	 * Texts which are too small to be read are drawn as bars instead of laying out and rendering their glyphs.
+	 * The width of a bar is estimated from the number of characters, the layout of the element (which uses the measured text) doesn't change.
+	 *
+	 * @return false if the text must be printed normally
+	 */
+	protected boolean printGreekedIfLowDetail(StringStyle[] lines, PointDouble point, AlignHorizontal align) {
+		if (!isLowDetail() || !style.isApplyZoom()) {
+			return false;
+		}
+		Style previous = style.cloneFromMe();
+		double fontSize = style.getFontSize();
+		style.setBackgroundColor(style.getForegroundColor().transparency(Transparency.BACKGROUND));
+		style.setLineWidth(0);
+		double y = point.y;
+		for (StringStyle line : lines) {
+			double width = line.getStringWithoutMarkup().trim().length() * fontSize * GREEKED_CHAR_WIDTH;
+			if (width > 0) {
+				double x = point.x;
+				if (align == AlignHorizontal.CENTER) {
+					x -= width / 2;
+				}
+				else if (align == AlignHorizontal.RIGHT) {
+					x -= width;
+				}
+				drawRectangle(x, y - fontSize * 0.7, width, fontSize * 0.5); // y is the baseline of the text
+			}
+			y += fontSize + getDistanceBetweenTextLines();
+		}
+		style = previous;
+		return true;
+	}
+
+	/**
+	 * @return the points without those which would be drawn closer than 2 pixels to the previous one (only if zoomed out, the first and last point are always kept)
+	 */
+	protected PointDouble[] simplifyIfLowDetail(PointDouble[] points) {
+		if (points.length <= 2 || !isLowDetail()) {
+			return points;
+		}
+		double minDistance = MIN_POINT_DISTANCE_PX / getZoomFactor();
+		List<PointDouble> simplified = new ArrayList<PointDouble>(points.length);
+		PointDouble last = points[0];
+		simplified.add(last);
+		for (int i = 1; i < points.length - 1; i++) {
+			if (points[i].distance(last) >= minDistance) {
+				last = points[i];
+				simplified.add(last);
+			}
+		}
+		simplified.add(points[points.length - 1]);
+		return simplified.toArray(new PointDouble[simplified.size()]);
+	}
+
 	/* DRAW METHODS */
 	public void drawRectangle(Rectangle rect) {
 		drawRectangle(rect.getX(), rect.getY(), rect.getWidth(), rect.getHeight());
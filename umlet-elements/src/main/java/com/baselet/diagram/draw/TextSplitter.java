@@ -2,7 +2,6 @@ package com.baselet.diagram.draw;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
@@ -12,11 +11,13 @@ import com.baselet.util.logging.Logger;
 import com.baselet.util.logging.LoggerFactory;
 
 import com.baselet.control.StringStyle;
+import com.baselet.control.config.SharedConfig;
 import com.baselet.control.enums.AlignHorizontal;
 import com.baselet.control.enums.AlignVertical;
 import com.baselet.control.enums.FormatLabels;
 import com.baselet.diagram.draw.helper.Style;
-import com.baselet.util.LRUCache;
+import com.baselet.util.SegmentedLRUCache;
+import com.baselet.util.SegmentedLRUCache.CacheStatistics;
 
 /**
  * Based on the old TextSplitter, but offers additional features.
@@ -35,22 +36,39 @@ public class TextSplitter {
 
 	private static final Logger log = LoggerFactory.getLogger(TextSplitter.class);
 
-	// since the 2nd and 3rd cache use the value of the 1st as a partial key, the size shouldn't be too different
-	// especially for the 2nd, the 3rd is bigger because there will be many different width value because of resize operations
-	private static final int WORD_CACHE_SIZE = 180;
-	private static final int MIN_WIDTH_CACHE_SIZE = 190;
-	private static final int WORDWRAP_CACHE_SIZE = 400;
-
 	private static final String SPLIT_CHARS = " \t";
 
-	// 3 Caches are used
+	// 3 Caches are used (their sizes are configured in the SharedConfig)
 	// String line -> WordRegion[] words
 	// WordRegion[] words + Style style + FormatLabels -> Double minWidth
 	// WordRegion[] words + Style style + FormatLabels + Double width -> String[] wrappedLines + double height
+	// the caches are thread safe because elements can be parsed in parallel (e.g. batch conversion)
+
+	private static final SegmentedLRUCache<String, WordRegion[]> wordCache = new SegmentedLRUCache<String, WordRegion[]>("wordCache", SharedConfig.getInstance().getTextWordCacheSize());
+	private static final SegmentedLRUCache<MinWidthCacheKey, Double> minWidthCache = new SegmentedLRUCache<MinWidthCacheKey, Double>("minWidthCache", SharedConfig.getInstance().getTextMinWidthCacheSize());
+	private static final SegmentedLRUCache<WordwrapCacheKey, WordwrapCacheValue> wordwrapCache = new SegmentedLRUCache<WordwrapCacheKey, WordwrapCacheValue>("wordwrapCache", SharedConfig.getInstance().getTextWordwrapCacheSize());
+
+	/**
+	 * applies the cache sizes of the SharedConfig to the caches (must be called if the sizes are changed after the first text has been split)
+	 */
+	public static void updateCacheSizes() {
+		wordCache.setMaxSize(SharedConfig.getInstance().getTextWordCacheSize());
+		minWidthCache.setMaxSize(SharedConfig.getInstance().getTextMinWidthCacheSize());
+		wordwrapCache.setMaxSize(SharedConfig.getInstance().getTextWordwrapCacheSize());
+	}
 
-	private static LinkedHashMap<String, WordRegion[]> wordCache = new LRUCache<String, WordRegion[]>(WORD_CACHE_SIZE);
-	private static LinkedHashMap<MinWidthCacheKey, Double> minWidthCache = new LRUCache<MinWidthCacheKey, Double>(MIN_WIDTH_CACHE_SIZE);
-	private static LinkedHashMap<WordwrapCacheKey, WordwrapCacheValue> wordwrapCache = new LRUCache<WordwrapCacheKey, WordwrapCacheValue>(WORDWRAP_CACHE_SIZE);
+	/**
+	 * @return the hit/miss/eviction counters of all caches
+	 */
+	public static List<CacheStatistics> getCacheStatistics() {
+		return Arrays.asList(wordCache.getStatistics(), minWidthCache.getStatistics(), wordwrapCache.getStatistics());
+	}
+
+	public static void clearCaches() {
+		wordCache.clear();
+		minWidthCache.clear();
+		wordwrapCache.clear();
+	}
 
 	/**
 	 *
@@ -268,8 +286,9 @@ public class TextSplitter {
 		StringStyle analyzedText = StringStyle.analyzeFormatLabels(StringStyle.replaceNotEscaped(text));
 		MinWidthCacheKey key = new MinWidthCacheKey(splitIntoWords(analyzedText.getStringWithoutMarkup()),
 				drawer.getStyleClone(), analyzedText.getFormat());
-		if (getCachedMinWidth(key) != null) {
-			return getCachedMinWidth(key);
+		Double cachedMinWidth = getCachedMinWidth(key);
+		if (cachedMinWidth != null) {
+			return cachedMinWidth;
 		}
 		else {
 			double minWidth = 0;
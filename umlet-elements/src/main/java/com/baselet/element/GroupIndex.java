@@ -0,0 +1,90 @@
+package com.baselet.element;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.baselet.element.facet.common.GroupFacet;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Maps the groups of a diagram to their elements, which is necessary to expand a selection to all elements of the same group.
+ * The diagram must add/remove its elements and call update() after the group of an element has changed.
+ * Elements of a group are returned in the order in which they have been added to the group.
+ */
+public class GroupIndex {
+
+	private final Map<String, Set<GridElement>> elementsByGroup = new HashMap<String, Set<GridElement>>();
+	private final Map<GridElement, String> groupByElement = new HashMap<GridElement, String>();
+
+	public void rebuild(Collection<? extends GridElement> gridElements) {
+		clear();
+		for (GridElement ge : gridElements) {
+			add(ge);
+		}
+	}
+
+	public void add(GridElement ge) {
+		remove(ge);
+		String group = GroupFacet.getElementGroupValSafe(ge.getGroup());
+		groupByElement.put(ge, group);
+		if (group != null) {
+			Set<GridElement> elements = elementsByGroup.get(group);
+			if (elements == null) {
+				elements = new LinkedHashSet<GridElement>();
+				elementsByGroup.put(group, elements);
+			}
+			elements.add(ge);
+		}
+	}
+
+	public void remove(GridElement ge) {
+		if (!groupByElement.containsKey(ge)) {
+			return;
+		}
+		String group = groupByElement.remove(ge);
+		if (group != null) {
+			Set<GridElement> elements = elementsByGroup.get(group);
+			elements.remove(ge);
+			if (elements.isEmpty()) {
+				elementsByGroup.remove(group);
+			}
+		}
+	}
+
+	/**
+	 * must be called after the group of the element has changed; elements which are not part of the index are ignored
+	 */
+	public void update(GridElement ge) {
+		if (groupByElement.containsKey(ge)) {
+			add(ge);
+		}
+	}
+
+	public boolean contains(GridElement ge) {
+		return groupByElement.containsKey(ge);
+	}
+
+	public void clear() {
+		elementsByGroup.clear();
+		groupByElement.clear();
+	}
+
+	/**
+	 * @return the elements of the group or an empty collection if there is no such group
+	 */
+	public Collection<GridElement> getElementsInGroup(String group) {
+		Set<GridElement> elements = elementsByGroup.get(group);
+		if (elements == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(elements);
+	}
+
+	public Set<String> getGroups() {
+		return Collections.unmodifiableSet(elementsByGroup.keySet());
+	}
+}
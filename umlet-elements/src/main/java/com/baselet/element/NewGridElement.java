@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Vector;
 
@@ -89,8 +90,12 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public void setPanelAttributes(String panelAttributes) {
+		String oldGroup = getGroup();
 		setPanelAttributesHelper(panelAttributes);
 		updateModelFromText();
+		if (modelUpdateDeferred && handler != null && !Objects.equals(oldGroup, getGroup())) {
+			handler.groupChanged(); // a deferred element reads its group from the text, therefore updateModelFromText() doesn't recognize the change
+		}
 	}
 
 	public void setPanelAttributesHelper(String panelAttributes) {
@@ -104,8 +109,121 @@ public abstract class NewGridElement implements GridElement {
 	 */
 	private boolean autoresizePossiblyInProgress = false;
 
+	/**
+	 * true as long as the properties of the element have not been parsed yet (see {@link #deferModelUpdate()})
+	 */
+	private boolean modelUpdateDeferred = false;
+
+	/**
+	 * incremented whenever the element must be parsed again (e.g. it has been zoomed or changed), a parse by {@link #parseDeferredModelWithoutResize()} which has been started before is outdated then
+	 */
+	private int modelVersion = 0;
+	private int parsedModelVersion = -1;
+
+	/**
+	 * true while the element is parsed by {@link #parseDeferredModelWithoutResize()}
+	 */
+	private boolean resizeSuppressed = false;
+	private boolean resizeNecessary = false;
+
+	/**
+	 * Skips parsing the properties until the element is painted or its parsed model is needed (e.g. the sticking polygon). Used when large diagrams are opened,
+	 * because most elements are outside of the visible area and parsing all of them would delay showing the diagram.
+	 * Until then layer and group are read directly from the properties text.
+	 */
+	public synchronized void deferModelUpdate() {
+		modelUpdateDeferred = true;
+		modelVersion++;
+	}
+
+	/**
+	 * parses the properties if the update has been deferred
+	 */
+	public void ensureModelUpToDate() {
+		String oldGroup;
+		synchronized (this) { // the element may be parsed by a worker thread at the same time (see parseDeferredModelWithoutResize())
+			if (!modelUpdateDeferred) {
+				return;
+			}
+			oldGroup = getGroup(); // read from the properties text
+			modelUpdateDeferred = false;
+			parseProperties();
+		}
+		modelUpdated(oldGroup);
+	}
+
+	public boolean isModelUpdateDeferred() {
+		return modelUpdateDeferred;
+	}
+
+	/**
+	 * false if parsing the properties changes the bounds of the element (e.g. relations resize themselves to their points and texts);
+	 * bounds must only be changed by the ui thread, therefore such elements can't be parsed by {@link #parseDeferredModelWithoutResize()}
+	 */
+	public boolean isConcurrentlyParseable() {
+		return true;
+	}
+
+	/**
+	 * Parses the properties of an element whose model update has been deferred without changing anything outside of the element.
+	 * Therefore different elements can be parsed concurrently, the ui thread waits if it needs the element meanwhile.
+	 * The result must be published by the ui thread with {@link #publishDeferredModel()}.
+	 * @return false if autoresize must change the size of the element, in this case {@link #ensureModelUpToDate()} must be called by the ui thread instead
+	 */
+	public synchronized boolean parseDeferredModelWithoutResize() {
+		if (!modelUpdateDeferred) {
+			return true; // already parsed by the ui thread
+		}
+		parsedModelVersion = modelVersion;
+		resizeSuppressed = true;
+		resizeNecessary = false;
+		try {
+			parseProperties();
+		} finally {
+			resizeSuppressed = false;
+		}
+		return !resizeNecessary;
+	}
+
+	/**
+	 * @return false if the element has been changed since it has been parsed, it stays deferred then and is parsed again as soon as it's needed
+	 */
+	public boolean publishDeferredModel() {
+		String oldGroup;
+		synchronized (this) {
+			if (!modelUpdateDeferred || parsedModelVersion != modelVersion) {
+				return !modelUpdateDeferred;
+			}
+			oldGroup = getGroup(); // read from the properties text
+			modelUpdateDeferred = false;
+		}
+		modelUpdated(oldGroup);
+		return true;
+	}
+
 	@Override
 	public void updateModelFromText() {
+		String oldGroup;
+		synchronized (this) {
+			oldGroup = getGroup();
+			if (modelUpdateDeferred) {
+				modelVersion++; // the element is parsed as soon as it's painted
+			}
+			else {
+				parseProperties();
+			}
+		}
+		modelUpdated(oldGroup);
+	}
+
+	private void modelUpdated(String oldGroup) {
+		component.afterModelUpdate();
+		if (handler != null && !Objects.equals(oldGroup, getGroup())) { // handler is null while the element is initialized
+			handler.groupChanged();
+		}
+	}
+
+	private void parseProperties() {
 		autoresizePossiblyInProgress = true;
 		drawer.clearCache();
 		drawer.resetStyle(); // must be set before actions which depend on the fontsize (otherwise a changed fontsize would be recognized too late)
@@ -121,8 +239,6 @@ public abstract class NewGridElement implements GridElement {
 			drawError(drawer, localizedMessage);
 		}
 		autoresizePossiblyInProgress = false;
-
-		component.afterModelUpdate();
 	}
 
 	protected void drawError(DrawHandler drawer, String errorText) {
@@ -222,6 +338,7 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public Set<Direction> getResizeArea(int x, int y) {
+		ensureModelUpToDate();
 		Set<Direction> returnSet = new HashSet<Direction>();
 		if (state.getElementStyle() == ElementStyle.NORESIZE || state.getElementStyle() == ElementStyle.AUTORESIZE) {
 			return returnSet;
@@ -249,6 +366,7 @@ public abstract class NewGridElement implements GridElement {
 	@Deprecated
 	@Override
 	public final StickingPolygon generateStickingBorder(Rectangle rect) {
+		ensureModelUpToDate();
 		return state.getStickingPolygonGenerator().generateStickingBorder(rect);
 	}
 
@@ -276,6 +394,7 @@ public abstract class NewGridElement implements GridElement {
 	@Override
 	public void setRectangle(Rectangle bounds) {
 		component.setBoundsRect(bounds);
+		boundsChanged();
 	}
 
 	@Override
@@ -288,6 +407,13 @@ public abstract class NewGridElement implements GridElement {
 		Rectangle rect = getRectangle();
 		rect.setLocation(x, y);
 		component.setBoundsRect(rect);
+		boundsChanged();
+	}
+
+	private void boundsChanged() {
+		if (handler != null) { // null while the element is initialized
+			handler.boundsChanged();
+		}
 	}
 
 	@Override
@@ -361,11 +487,26 @@ public abstract class NewGridElement implements GridElement {
 
 	@Override
 	public Integer getLayer() {
-		return state.getFacetResponse(LayerFacet.class, LayerFacet.DEFAULT_VALUE);
+		return getLayer(LayerFacet.DEFAULT_VALUE);
+	}
+
+	protected Integer getLayer(Integer defaultValue) {
+		if (modelUpdateDeferred) {
+			String layer = getSetting(LayerFacet.KEY);
+			try {
+				return layer == null ? defaultValue : Integer.valueOf(layer.trim());
+			} catch (NumberFormatException e) {
+				return defaultValue; // the parser will show the error as soon as the element is parsed
+			}
+		}
+		return state.getFacetResponse(LayerFacet.class, defaultValue);
 	}
 
 	@Override
 	public String getGroup() {
+		if (modelUpdateDeferred) {
+			return getSetting(GroupFacet.KEY);
+		}
 		return state.getFacetResponse(GroupFacet.class, null);
 	}
 
@@ -388,6 +529,10 @@ public abstract class NewGridElement implements GridElement {
 			diffwInt = SharedUtils.realignTo(false, diffwInt / 2.0, true, getGridSize()) * 2;
 			directions = Arrays.asList(Direction.RIGHT, Direction.LEFT, Direction.DOWN);
 		}
+		if (resizeSuppressed) {
+			resizeNecessary |= diffwInt != 0 || diffhInt != 0;
+			return;
+		}
 		drag(directions, diffwInt, diffhInt, new Point(0, 0), false, true, handler.getStickableMap(), false);
 	}
 
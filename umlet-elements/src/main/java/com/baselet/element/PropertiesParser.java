@@ -6,9 +6,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.baselet.control.basics.geom.Dimension;
 import com.baselet.control.basics.geom.DimensionDouble;
+import com.baselet.control.config.SharedConfig;
 import com.baselet.control.enums.ElementStyle;
+import com.baselet.diagram.draw.DrawHandler;
+import com.baselet.diagram.draw.DrawHandler.Layer;
+import com.baselet.diagram.draw.helper.Style;
 import com.baselet.element.facet.Facet;
+import com.baselet.element.facet.FacetDispatcher;
 import com.baselet.element.facet.PropertiesParserState;
 
 /**
@@ -20,36 +26,114 @@ import com.baselet.element.facet.PropertiesParserState;
  * 2. The First-Run Facets get parsed and applied in order of their PriorityEnum value (this reduces the size of the remaining properties for the Second Run)
  * 3. The common content of the element is drawn (e.g. the border) (therefore this must happen AFTER parsing the First-Run Facets because they can change the bg-color and so on)
  * 4. The remaining properties are parsed and the Second-Run Facets are applied.
+ *
+ * If single pass parsing is enabled, step 1 is done with enabled drawing under the assumption that the element size and textblock height of the last update are still valid.
+ * It starts with the drawer style which step 1 has left at the last update with the same properties, because steps 2-4 would start with this style.
+ * If the measured values confirm these assumptions and the style is the same afterwards, the drawing of step 1 is identical to the result of steps 2-4 and is kept,
+ * otherwise it is discarded and steps 2-4 are executed as usual. If the style is not known (e.g. the properties have changed), step 1 is done without drawing.
  */
 public class PropertiesParser {
 
 	public static void parsePropertiesAndHandleFacets(NewGridElement element, PropertiesParserState state) {
 		List<String> propertiesText = element.getPanelAttributesAsList();
-		doPreparsing(element, state, propertiesText); // at first handle autoresize (which possibly changes elementsize) and calc the textblock size
+		if (SharedConfig.getInstance().isSinglePassParsing()) {
+			DrawHandler drawer = state.getDrawer();
+			Style resetStyle = drawer.getStyleClone();
+			Style startStyle = state.getDrawingStartStyle(propertiesText, resetStyle);
+			if (startStyle != null) {
+				if (doRecordingPreparsing(element, state, propertiesText, startStyle)) {
+					return; // the drawing of the preparsing step is valid, therefore no second run is necessary
+				}
+			}
+			else {
+				doPreparsing(element, state, propertiesText);
+				state.setDrawingStart(propertiesText, resetStyle, drawer.getStyleClone(), drawer.getLayer());
+			}
+		}
+		else {
+			doPreparsing(element, state, propertiesText); // at first handle autoresize (which possibly changes elementsize) and calc the textblock size
+		}
 		parseFacets(element, state, propertiesText, true);
 	}
 
 	private static void doPreparsing(NewGridElement element, PropertiesParserState state, List<String> propertiesText) {
 		state.resetValues(element.getRealSize(), state.getTotalTextBlockHeight(), false); // assume certain values and disable drawing for the preparsing step
 		parseFacets(element, state, propertiesText, false);
+		handleAutoresizeAndResetState(element, state);
+	}
+
+	/**
+	 * Same as {@link #doPreparsing(NewGridElement, PropertiesParserState, List)} but with enabled drawing, starting with the style the drawing run would start with.
+	 * @return true if the drawing of the preparsing step can be kept, false if the state has been reset for a normal drawing run
+	 */
+	private static boolean doRecordingPreparsing(NewGridElement element, PropertiesParserState state, List<String> propertiesText, Style startStyle) {
+		DrawHandler drawer = state.getDrawer();
+		Dimension assumedSize = element.getRealSize();
+		double assumedTextblockHeight = state.getTotalTextBlockHeight();
+		Style resetStyle = drawer.getStyleClone();
+		Layer resetLayer = drawer.getLayer();
+		Layer startLayer = state.getDrawingStartLayer();
+		drawer.setStyle(startStyle);
+		drawer.setLayer(startLayer);
+
+		state.resetValues(assumedSize, assumedTextblockHeight, true);
+		try {
+			parseFacets(element, state, propertiesText, true);
+		} catch (RuntimeException e) {
+			drawer.clearCache(); // like a failing preparsing step, a failing run must not leave any drawings behind
+			throw e;
+		}
+		if (!startStyle.equals(drawer.getStyleClone()) || startLayer != drawer.getLayer()) { // the drawing run would start with the style left by the preparsing step
+			state.setDrawingStartUnsuitable(); // the next updates use the non-drawing preparsing step
+			drawer.clearCache();
+			drawer.setStyle(resetStyle);
+			drawer.setLayer(resetLayer);
+			doPreparsing(element, state, propertiesText);
+			return false;
+		}
 
+		double textblockHeight = calcTextblockHeight(state);
+		if (!state.isTotalTextBlockHeightUsed() || textblockHeight == assumedTextblockHeight) {
+			handleAutoresize(element, state);
+			if (assumedSize.equals(element.getRealSize())) {
+				state.setTotalTextBlockHeight(textblockHeight);
+				return true;
+			}
+			state.resetValues(element.getRealSize(), textblockHeight, true);
+		}
+		else {
+			handleAutoresizeAndResetState(element, state);
+		}
+		drawer.clearCache();
+		return false;
+	}
+
+	private static void handleAutoresizeAndResetState(NewGridElement element, PropertiesParserState state) {
+		handleAutoresize(element, state);
+		double textblockHeight = calcTextblockHeight(state);
+		state.resetValues(element.getRealSize(), textblockHeight, true); // now that the element size and textblock height is known, the state is reset once again with enabled drawing
+	}
+
+	private static void handleAutoresize(NewGridElement element, PropertiesParserState state) {
 		if (state.getElementStyle() == ElementStyle.AUTORESIZE) { // only in case of autoresize element, calculate the elementsize
 			double width = state.getMinimumWidth();
 			double height = state.getTextPrintPosition();
 			element.handleAutoresize(new DimensionDouble(width, height), state.getAlignment().getHorizontal());
 		}
+	}
 
-		double textblockHeight = state.getTextPrintPosition() - state.getBuffer().getTop();
-		state.resetValues(element.getRealSize(), textblockHeight, true); // now that the element size and textblock height is known, the state is reset once again with enabled drawing
+	private static double calcTextblockHeight(PropertiesParserState state) {
+		return state.getTextPrintPosition() - state.getBuffer().getTop();
 	}
 
 	private static void parseFacets(NewGridElement element, PropertiesParserState state, List<String> propertiesText, boolean drawMetaDrawer) {
-		List<String> propertiesAfterFirstRun = parseFacets(state.getSettings().getFacetsForFirstRun(), propertiesText, state); // must be before element.drawCommonContent (because bg=... and other settings are set here)
+		List<String> propertiesAfterFirstRun = parseFacets(state.getSettings().getFacetDispatcherForFirstRun(), propertiesText, state); // must be before element.drawCommonContent (because bg=... and other settings are set here)
 		element.resetMetaDrawerAndDrawCommonContent(state, drawMetaDrawer); // draw common content like border around classes
-		parseFacets(state.getSettings().getFacetsForSecondRun(), propertiesAfterFirstRun, state); // iterate over propertiestext and draw text and resolve second-run facets
+		parseFacets(state.getSettings().getFacetDispatcherForSecondRun(), propertiesAfterFirstRun, state); // iterate over propertiestext and draw text and resolve second-run facets
 	}
 
-	private static List<String> parseFacets(List<? extends Facet> facets, List<String> properties, PropertiesParserState state) {
+	private static List<String> parseFacets(FacetDispatcher dispatcher, List<String> properties, PropertiesParserState state) {
+		List<Facet> facets = dispatcher.getFacets();
 		Map<Facet, List<String>> facetUsageMap = new HashMap<Facet, List<String>>();
 		for (Facet f : facets) { // at parsing start every facet has an empty usage list
 			facetUsageMap.put(f, new ArrayList<String>());
@@ -58,13 +142,11 @@ public class PropertiesParser {
 		List<String> unusedProperties = new ArrayList<String>(properties);
 		for (Iterator<String> iter = unusedProperties.iterator(); iter.hasNext();) {
 			String line = iter.next();
-			for (Facet f : facets) {
-				if (f.checkStart(line, state)) {
-					f.handleLine(line, state);
-					facetUsageMap.get(f).add(line);
-					iter.remove();
-					break; // once a facet has consumed a line, no other facet can
-				}
+			Facet f = dispatcher.findFacet(line, state); // once a facet has consumed a line, no other facet can
+			if (f != null) {
+				f.handleLine(line, state);
+				facetUsageMap.get(f).add(line);
+				iter.remove();
 			}
 		}
 		for (Facet f : facets) {
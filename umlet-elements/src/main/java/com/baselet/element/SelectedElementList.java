@@ -0,0 +1,107 @@
+package com.baselet.element;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * The selected elements in the order in which they have been selected.
+ * Each element is only contained once and membership checks are done by a set, because they are executed for every element on each repaint.
+ * (GridElements don't override equals(), therefore the set compares identities)
+ */
+class SelectedElementList extends AbstractList<GridElement> {
+
+	private final List<GridElement> elements = new ArrayList<GridElement>();
+	private final Set<GridElement> members = new HashSet<GridElement>();
+
+	@Override
+	public GridElement get(int index) {
+		return elements.get(index);
+	}
+
+	@Override
+	public int size() {
+		return elements.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return members.contains(o);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return contains(o) ? elements.indexOf(o) : -1;
+	}
+
+	@Override
+	public int lastIndexOf(Object o) {
+		return indexOf(o); // each element is only contained once
+	}
+
+	/**
+	 * elements which are already contained are ignored
+	 */
+	@Override
+	public void add(int index, GridElement e) {
+		if (members.add(e)) {
+			elements.add(index, e);
+		}
+	}
+
+	@Override
+	public boolean add(GridElement e) {
+		if (members.add(e)) {
+			return elements.add(e);
+		}
+		return false;
+	}
+
+	@Override
+	public GridElement remove(int index) {
+		GridElement removed = elements.remove(index);
+		members.remove(removed);
+		return removed;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		if (members.remove(o)) {
+			return elements.remove(o);
+		}
+		return false;
+	}
+
+	/**
+	 * removes the elements in a single pass over the list (instead of one pass per removed element)
+	 */
+	@Override
+	public boolean removeAll(Collection<?> c) {
+		boolean changed = false;
+		for (Object o : c) {
+			changed |= members.remove(o);
+		}
+		if (changed) {
+			List<GridElement> retained = new ArrayList<GridElement>(members.size());
+			for (GridElement e : elements) {
+				if (members.contains(e)) {
+					retained.add(e);
+				}
+			}
+			elements.clear();
+			elements.addAll(retained);
+		}
+		return changed;
+	}
+
+	@Override
+	public void clear() {
+		elements.clear();
+		members.clear();
+	}
+}
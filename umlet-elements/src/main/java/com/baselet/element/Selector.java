@@ -3,10 +3,8 @@ package com.baselet.element;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -17,10 +15,11 @@ import com.baselet.element.interfaces.GridElement;
 
 public abstract class Selector {
 
+	private final SelectedElementList selectedElements = new SelectedElementList();
+
 	private void selectHelper(boolean applyAfterAction, Collection<GridElement> elements) {
 		for (GridElement e : expand(elements)) {
-			if (!getSelectedElements().contains(e)) {
-				getSelectedElements().add(e);
+			if (selectedElements.add(e)) {
 				doAfterSelect(e);
 			}
 		}
@@ -30,33 +29,31 @@ public abstract class Selector {
 	}
 
 	private void deselectHelper(boolean applyAfterAction, Collection<GridElement> elements) {
+		List<GridElement> deselected = new ArrayList<GridElement>();
 		for (GridElement e : expand(elements)) {
-			Iterator<GridElement> iter = getSelectedElements().iterator();
-			while (iter.hasNext()) {
-				if (iter.next().equals(e)) {
-					iter.remove();
-					doAfterDeselect(e);
-				}
+			if (selectedElements.contains(e)) {
+				deselected.add(e);
 			}
 		}
+		selectedElements.removeAll(deselected); // remove all elements at once before the after-actions are called to let isSelected() return the correct result
+		for (GridElement e : deselected) {
+			doAfterDeselect(e);
+		}
 		if (applyAfterAction) {
 			doAfterSelectionChanged();
 		}
 	}
 
 	private List<GridElement> expand(Collection<GridElement> elements) {
-		Map<String, Collection<GridElement>> map = Selector.createGroupElementMap(getAllElements());
+		GroupIndex groupIndex = getGroupIndex();
 		List<GridElement> elemenentsWithGroups = new ArrayList<GridElement>();
 		// add grouped elements BEFORE the really selected elements, to make sure the last element stays the same (because its content will be shown in the property panel)
 		for (GridElement e : elements) {
 			String groupValue = GroupFacet.getElementGroupValSafe(e.getGroup());
 			if (groupValue != null) {
-				Collection<GridElement> set = map.get(groupValue);
-				if (set != null) { // TODO set can be null in standalone version because getAllElements is empty (eg if grouped elements are selected when diagram is closed)
-					for (GridElement g : set) {
-						if (g != e) {
-							elemenentsWithGroups.add(g);
-						}
+				for (GridElement g : groupIndex.getElementsInGroup(groupValue)) { // the group can be empty in standalone version because there are no elements (eg if grouped elements are selected when diagram is closed)
+					if (g != e) {
+						elemenentsWithGroups.add(g);
 					}
 				}
 			}
@@ -73,10 +70,15 @@ public abstract class Selector {
 		deselect(Arrays.asList(element));
 	}
 
-	public abstract List<GridElement> getSelectedElements();
+	/**
+	 * @return the selected elements in the order of selection (the last one is shown in the property panel)
+	 */
+	public List<GridElement> getSelectedElements() {
+		return selectedElements;
+	}
 
 	public boolean isSelected(GridElement ge) {
-		return getSelectedElements().contains(ge);
+		return selectedElements.contains(ge);
 	}
 
 	public boolean isSelectedOnly(GridElement ge) {
@@ -88,7 +90,7 @@ public abstract class Selector {
 	}
 
 	public void selectOnly(Collection<GridElement> elements) {
-		deselectHelper(false, getSelectedElements());
+		deselectHelper(false, selectedElements);
 		selectHelper(true, elements);
 
 	}
@@ -102,11 +104,11 @@ public abstract class Selector {
 	}
 
 	public void deselectAll() {
-		deselect(getSelectedElements());
+		deselect(selectedElements);
 	}
 
 	public void deselectAllWithoutAfterAction() {
-		deselectHelper(false, getSelectedElements());
+		deselectHelper(false, selectedElements);
 	}
 
 	public void doAfterDeselect(GridElement e) {
@@ -122,19 +124,27 @@ public abstract class Selector {
 	}
 
 	public void moveToLastPosInList(GridElement element) {
-		List<GridElement> elements = getSelectedElements();
-		elements.remove(element);
-		elements.add(element);
+		selectedElements.remove(element);
+		selectedElements.add(element);
 	}
 
 	public String getUnusedGroup() {
-		return getUnusedGroupId(createGroupElementMap(getAllElements()).keySet());
+		return getUnusedGroupId(getGroupIndex().getGroups());
 	}
 
 	public abstract List<GridElement> getAllElements();
 
+	/**
+	 * @return the group index of all elements; subclasses should return an index which is maintained by the diagram, because this implementation builds it on every call
+	 */
+	public GroupIndex getGroupIndex() {
+		GroupIndex groupIndex = new GroupIndex();
+		groupIndex.rebuild(getAllElements());
+		return groupIndex;
+	}
+
 	public static void replaceGroupsWithNewGroups(Collection<GridElement> elements, Selector selector) {
-		Set<String> usedIds = new HashSet<String>(createGroupElementMap(selector.getAllElements()).keySet());
+		Set<String> usedIds = new HashSet<String>(selector.getGroupIndex().getGroups());
 		Map<String, Collection<GridElement>> groupedElements = createGroupElementMap(elements);
 		for (Entry<String, Collection<GridElement>> entry : groupedElements.entrySet()) {
 			String unusedId = getUnusedGroupId(usedIds);
@@ -24,6 +24,17 @@ public abstract class Facet {
 	 */
 	public abstract boolean checkStart(String line, PropertiesParserState state);
 
+	/**
+	 * Used by the {@link FacetDispatcher} to skip facets which cannot handle a line.
+	 * If a list is returned, checkStart() is only called for lines which start with one of the prefixes, therefore checkStart() must never accept any other line.
+	 * Facets which depend on the parser state (e.g. blocks which consume all following lines) must return null.
+	 *
+	 * @return the prefixes of all lines this facet can handle or null if this facet must be checked for every line
+	 */
+	public List<String> getLinePrefixes() {
+		return null;
+	}
+
 	/**
 	 * This method is invoked at the time when a specific line is parsed
 	 * @param line the current line which is parsed
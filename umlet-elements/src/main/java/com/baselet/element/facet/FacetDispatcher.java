@@ -0,0 +1,114 @@
+package com.baselet.element.facet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed lookup structure which finds the facet responsible for a line without probing every facet of the list.
+ * Facets which declare {@link Facet#getLinePrefixes()} are only checked if the line starts with one of their prefixes, all other facets are checked for every line.
+ * The result is always the same as iterating over the facet list and returning the first facet whose checkStart() method returns true.
+ */
+public class FacetDispatcher {
+
+	private static class Candidate {
+		private final int position;
+		private final Facet facet;
+		private final List<String> prefixes;
+
+		private Candidate(int position, Facet facet, List<String> prefixes) {
+			this.position = position;
+			this.facet = facet;
+			this.prefixes = prefixes;
+		}
+
+		private boolean matchesPrefix(String line) {
+			if (prefixes == null) {
+				return true;
+			}
+			for (String prefix : prefixes) {
+				if (line.startsWith(prefix)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final List<Facet> facets;
+	private final Map<Character, List<Candidate>> candidatesByFirstChar = new HashMap<Character, List<Candidate>>();
+	private final List<Candidate> fallbackCandidates = new ArrayList<Candidate>();
+
+	public FacetDispatcher(List<? extends Facet> facets) {
+		this.facets = Collections.unmodifiableList(new ArrayList<Facet>(facets));
+		for (int i = 0; i < facets.size(); i++) {
+			Facet facet = facets.get(i);
+			List<String> prefixes = facet.getLinePrefixes();
+			if (prefixes == null || prefixes.isEmpty() || prefixes.contains("")) {
+				fallbackCandidates.add(new Candidate(i, facet, null));
+			}
+			else {
+				for (Character firstChar : firstChars(prefixes)) {
+					List<Candidate> candidates = candidatesByFirstChar.get(firstChar);
+					if (candidates == null) {
+						candidates = new ArrayList<Candidate>();
+						candidatesByFirstChar.put(firstChar, candidates);
+					}
+					candidates.add(new Candidate(i, facet, prefixes));
+				}
+			}
+		}
+	}
+
+	private static List<Character> firstChars(List<String> prefixes) {
+		List<Character> firstChars = new ArrayList<Character>();
+		for (String prefix : prefixes) {
+			Character c = prefix.charAt(0);
+			if (!firstChars.contains(c)) {
+				firstChars.add(c);
+			}
+		}
+		return firstChars;
+	}
+
+	public List<Facet> getFacets() {
+		return facets;
+	}
+
+	/**
+	 * @return the first facet of the list which accepts the line or null if no facet accepts it
+	 */
+	public Facet findFacet(String line, PropertiesParserState state) {
+		List<Candidate> prefixCandidates = line.isEmpty() ? null : candidatesByFirstChar.get(line.charAt(0));
+		if (prefixCandidates == null) {
+			return findFacet(fallbackCandidates, line, state);
+		}
+		// merge both lists (which are sorted by position) to keep the order of the facet list
+		int p = 0;
+		int f = 0;
+		while (p < prefixCandidates.size() || f < fallbackCandidates.size()) {
+			Candidate next;
+			if (f >= fallbackCandidates.size() || p < prefixCandidates.size() && prefixCandidates.get(p).position < fallbackCandidates.get(f).position) {
+				next = prefixCandidates.get(p++);
+			}
+			else {
+				next = fallbackCandidates.get(f++);
+			}
+			if (next.matchesPrefix(line) && next.facet.checkStart(line, state)) {
+				return next.facet;
+			}
+		}
+		return null;
+	}
+
+	private static Facet findFacet(List<Candidate> candidates, String line, PropertiesParserState state) {
+		for (Candidate candidate : candidates) {
+			if (candidate.facet.checkStart(line, state)) {
+				return candidate.facet;
+			}
+		}
+		return null;
+	}
+}
@@ -2,6 +2,7 @@ package com.baselet.element.facet;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -101,6 +102,11 @@ public abstract class KeyValueFacet extends Facet {
 		return line.startsWith(getKeyWithSep());
 	}
 
+	@Override
+	public List<String> getLinePrefixes() {
+		return Collections.singletonList(getKeyWithSep());
+	}
+
 	@Override
 	public void handleLine(String line, PropertiesParserState state) {
 		String value = extractValue(line);
@@ -1,12 +1,15 @@
 package com.baselet.element.facet;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.baselet.control.basics.XValues;
 import com.baselet.control.basics.geom.Dimension;
 import com.baselet.control.enums.ElementStyle;
 import com.baselet.diagram.draw.DrawHandler;
+import com.baselet.diagram.draw.DrawHandler.Layer;
+import com.baselet.diagram.draw.helper.Style;
 import com.baselet.element.sticking.polygon.SimpleStickingPolygonGenerator;
 import com.baselet.element.sticking.polygon.StickingPolygonGenerator;
 
@@ -28,7 +31,13 @@ public class PropertiesParserState {
 	private ElementStyle elementStyle;
 	private StickingPolygonGenerator stickingPolygonGenerator = SimpleStickingPolygonGenerator.INSTANCE;
 	private double totalTextBlockHeight;
+	private boolean totalTextBlockHeightUsed;
+	private List<String> drawingStartProperties; // the properties and the reset drawer style for which the drawing start style is valid
+	private Style drawingStartResetStyle;
+	private Style drawingStartStyle; // null if the drawing run doesn't start with the style it ends with
+	private Layer drawingStartLayer;
 	private final Map<Class<? extends Facet>, Object> facetResponse = new HashMap<Class<? extends Facet>, Object>();
+	private final Map<Class<? extends Facet>, Object> facetCache = new HashMap<Class<? extends Facet>, Object>();
 
 	public PropertiesParserState(Settings settings, DrawHandler drawer) {
 		this.settings = settings;
@@ -44,6 +53,7 @@ public class PropertiesParserState {
 		elementStyle = settings.getElementStyle();
 		stickingPolygonGenerator = SimpleStickingPolygonGenerator.INSTANCE;
 		this.totalTextBlockHeight = totalTextBlockHeight;
+		totalTextBlockHeightUsed = false;
 		facetResponse.clear();
 		drawer.setEnableDrawing(enableDrawing);
 	}
@@ -136,6 +146,19 @@ public class PropertiesParserState {
 		facetResponse.put(facetClass, value);
 	}
 
+	/**
+	 * in contrast to the facet response, the cache is not cleared by {@link #resetValues(Dimension, double, boolean)}, therefore it keeps expensive results between parser runs and updates of the element
+	 * the facet itself is responsible to detect if the cached value is outdated
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T getFacetCache(Class<? extends Facet> facetClass) {
+		return (T) facetCache.get(facetClass);
+	}
+
+	public void setFacetCache(Class<? extends Facet> facetClass, Object value) {
+		facetCache.put(facetClass, value);
+	}
+
 	public StickingPolygonGenerator getStickingPolygonGenerator() {
 		return stickingPolygonGenerator;
 	}
@@ -145,9 +168,55 @@ public class PropertiesParserState {
 	}
 
 	public double getTotalTextBlockHeight() {
+		totalTextBlockHeightUsed = true;
 		return totalTextBlockHeight;
 	}
 
+	/**
+	 * @return true if the total textblock height has been requested since the last reset (i.e. the result of the parser run depends on it)
+	 */
+	public boolean isTotalTextBlockHeightUsed() {
+		return totalTextBlockHeightUsed;
+	}
+
+	public void setTotalTextBlockHeight(double totalTextBlockHeight) {
+		this.totalTextBlockHeight = totalTextBlockHeight;
+	}
+
+	/**
+	 * @return the drawer style which the drawing run starts with (i.e. the style left by the preparsing step) if it is known for these properties and this reset style, otherwise null
+	 */
+	public Style getDrawingStartStyle(List<String> properties, Style resetStyle) {
+		if (drawingStartStyle == null || !properties.equals(drawingStartProperties) || !resetStyle.equals(drawingStartResetStyle)) {
+			return null;
+		}
+		return drawingStartStyle;
+	}
+
+	public Layer getDrawingStartLayer() {
+		return drawingStartLayer;
+	}
+
+	/**
+	 * remembers the style (and layer) the drawing run starts with for the given properties and reset style; it's not changed if these properties have been marked as unsuitable
+	 */
+	public void setDrawingStart(List<String> properties, Style resetStyle, Style style, Layer layer) {
+		if (drawingStartStyle == null && properties.equals(drawingStartProperties) && resetStyle.equals(drawingStartResetStyle)) {
+			return; // see setDrawingStartUnsuitable()
+		}
+		drawingStartProperties = properties;
+		drawingStartResetStyle = resetStyle;
+		drawingStartStyle = style;
+		drawingStartLayer = layer;
+	}
+
+	/**
+	 * the drawing run with these properties doesn't end with the style it starts with, therefore it can't be recorded by the preparsing step
+	 */
+	public void setDrawingStartUnsuitable() {
+		drawingStartStyle = null;
+	}
+
 	public void setDrawer(DrawHandler drawer) {
 		this.drawer = drawer;
 	}
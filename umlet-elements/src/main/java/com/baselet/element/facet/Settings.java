@@ -4,7 +4,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.baselet.control.basics.XValues;
 import com.baselet.control.enums.AlignHorizontal;
@@ -135,4 +137,32 @@ public abstract class Settings {
 		return secondRunFacets;
 	}
 
+	/**
+	 * the dispatchers only depend on the facet lists, therefore they are shared by all instances of the same Settings class
+	 */
+	private static final Map<Class<?>, FacetDispatcher[]> DISPATCHERS_PER_SETTINGS_CLASS = new HashMap<Class<?>, FacetDispatcher[]>();
+
+	private FacetDispatcher[] dispatchers;
+
+	private FacetDispatcher[] getDispatchers() {
+		if (dispatchers == null) {
+			synchronized (DISPATCHERS_PER_SETTINGS_CLASS) {
+				dispatchers = DISPATCHERS_PER_SETTINGS_CLASS.get(getClass());
+				if (dispatchers == null) {
+					dispatchers = new FacetDispatcher[] { new FacetDispatcher(getFacetsForFirstRun()), new FacetDispatcher(getFacetsForSecondRun()) };
+					DISPATCHERS_PER_SETTINGS_CLASS.put(getClass(), dispatchers);
+				}
+			}
+		}
+		return dispatchers;
+	}
+
+	public final FacetDispatcher getFacetDispatcherForFirstRun() {
+		return getDispatchers()[0];
+	}
+
+	public final FacetDispatcher getFacetDispatcherForSecondRun() {
+		return getDispatchers()[1];
+	}
+
 }
@@ -54,6 +54,11 @@ public class SeparatorLineFacet extends Facet {
 		return variants.containsKey(line);
 	}
 
+	@Override
+	public List<String> getLinePrefixes() {
+		return new ArrayList<String>(variants.keySet());
+	}
+
 	@Override
 	public List<AutocompletionText> getAutocompletionStrings() {
 		List<AutocompletionText> returnList = new ArrayList<AutocompletionText>();
@@ -0,0 +1,30 @@
+package com.baselet.element.facet.customdrawings;
+
+import com.baselet.diagram.draw.DrawHandler;
+
+/**
+ * A parsed line of custom drawing commands which can be executed repeatedly without parsing the line again.
+ * Commands are nested to support the setting options after the drawing command (e.g. fg=red):
+ * The outer command changes a drawer setting, runs the inner command and afterwards restores the old value.
+ */
+public abstract class CustomDrawingCommand {
+
+	private final CustomDrawingCommand inner;
+
+	public CustomDrawingCommand(CustomDrawingCommand inner) {
+		this.inner = inner;
+	}
+
+	/**
+	 * @param drawer is used to execute the drawing commands
+	 * @param elementWidth the width of the element which is used for the term "width"
+	 * @param elementHeight the height of the element which is used for the term "height"
+	 */
+	public abstract void run(DrawHandler drawer, double elementWidth, double elementHeight);
+
+	protected void runInner(DrawHandler drawer, double elementWidth, double elementHeight) {
+		if (inner != null) {
+			inner.run(drawer, elementWidth, elementHeight);
+		}
+	}
+}
@@ -7,9 +7,23 @@ import com.baselet.element.facet.customdrawings.gen.ParseException;
 import com.baselet.element.facet.customdrawings.gen.Provider;
 import com.baselet.element.facet.customdrawings.gen.StringProvider;
 import com.baselet.element.facet.customdrawings.gen.TokenMgrException;
+import com.baselet.util.SegmentedLRUCache;
 
 public class CustomDrawingParserImpl extends CustomDrawingParser {
 
+	/**
+	 * wrapper to distinguish lines without a command (which are also cached) from lines which are not in the cache
+	 */
+	private static class CompiledLine {
+		private final CustomDrawingCommand command;
+
+		private CompiledLine(CustomDrawingCommand command) {
+			this.command = command;
+		}
+	}
+
+	private static final SegmentedLRUCache<String, CompiledLine> COMPILED_LINES = new SegmentedLRUCache<String, CompiledLine>("CustomDrawingCommands", 2000);
+
 	private final double width;
 	private final double height;
 	private final DrawHandler drawHandler;
@@ -41,7 +55,25 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
 	 */
 	public static void parse(String line, int width, int height, DrawHandler drawer) {
-		new CustomDrawingParserImpl(line, width, height, drawer).parse();
+		CustomDrawingCommand command = compile(line);
+		if (command != null) {
+			command.run(drawer, width, height);
+		}
+	}
+
+	/**
+	 * Parses the line only once and returns the cached command for the following calls with the same line
+	 * @param line String which should be parsed
+	 * @return the command of the line which can be executed for any element size or null if the line contains no command
+	 * @throws CustomDrawingParserRuntimeException if the input couldn't be parsed (cause is a ParseException or TokenMgrException)
+	 */
+	public static CustomDrawingCommand compile(String line) {
+		CompiledLine compiledLine = COMPILED_LINES.get(line);
+		if (compiledLine == null) {
+			compiledLine = new CompiledLine(new CustomDrawingParserImpl(line, 0, 0, null).compile());
+			COMPILED_LINES.put(line, compiledLine);
+		}
+		return compiledLine.command;
 	}
 
 	/**
@@ -50,8 +82,15 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 	 * @see CustomDrawingParserImpl#start()
 	 */
 	public void parse() {
+		CustomDrawingCommand command = compile();
+		if (command != null) {
+			command.run(drawHandler, width, height);
+		}
+	}
+
+	private CustomDrawingCommand compile() {
 		try {
-			start();
+			return start();
 		} catch (ParseException e) {
 			throw new CustomDrawingParserRuntimeException(e);
 		} catch (TokenMgrException e) {
@@ -78,7 +117,10 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 	 */
 	public void parseCheckedEx() throws CustomDrawingParserException {
 		try {
-			start();
+			CustomDrawingCommand command = start();
+			if (command != null) {
+				command.run(drawHandler, width, height);
+			}
 		} catch (ParseException e) {
 			throw new CustomDrawingParserException(e);
 		} catch (TokenMgrException e) {
@@ -86,17 +128,14 @@ public class CustomDrawingParserImpl extends CustomDrawingParser {
 		}
 	}
 
-	@Override
 	public double getWidth() {
 		return width;
 	}
 
-	@Override
 	public double getHeight() {
 		return height;
 	}
 
-	@Override
 	public DrawHandler getDrawHandler() {
 		return drawHandler;
 	}
@@ -0,0 +1,104 @@
+package com.baselet.element.facet.customdrawings;
+
+/**
+ * A parsed arithmetic term of a custom drawing command (e.g. "width/2 - 5").
+ * It is evaluated every time the command is executed, therefore the term must only be parsed once even if the element size changes.
+ * Terms without width and height are folded to a constant while parsing.
+ */
+public abstract class DoubleExpression {
+
+	public abstract double evaluate(double width, double height);
+
+	public boolean isConstant() {
+		return false;
+	}
+
+	private static class Constant extends DoubleExpression {
+		private final double value;
+
+		private Constant(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public double evaluate(double width, double height) {
+			return value;
+		}
+
+		@Override
+		public boolean isConstant() {
+			return true;
+		}
+	}
+
+	private static abstract class BinaryOperation extends DoubleExpression {
+		protected final DoubleExpression left;
+		protected final DoubleExpression right;
+
+		private BinaryOperation(DoubleExpression left, DoubleExpression right) {
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	public static final DoubleExpression WIDTH = new DoubleExpression() {
+		@Override
+		public double evaluate(double width, double height) {
+			return width;
+		}
+	};
+
+	public static final DoubleExpression HEIGHT = new DoubleExpression() {
+		@Override
+		public double evaluate(double width, double height) {
+			return height;
+		}
+	};
+
+	public static DoubleExpression constant(double value) {
+		return new Constant(value);
+	}
+
+	public static DoubleExpression add(DoubleExpression left, DoubleExpression right) {
+		return fold(new BinaryOperation(left, right) {
+			@Override
+			public double evaluate(double width, double height) {
+				return left.evaluate(width, height) + right.evaluate(width, height);
+			}
+		});
+	}
+
+	public static DoubleExpression subtract(DoubleExpression left, DoubleExpression right) {
+		return fold(new BinaryOperation(left, right) {
+			@Override
+			public double evaluate(double width, double height) {
+				return left.evaluate(width, height) - right.evaluate(width, height);
+			}
+		});
+	}
+
+	public static DoubleExpression multiply(DoubleExpression left, DoubleExpression right) {
+		return fold(new BinaryOperation(left, right) {
+			@Override
+			public double evaluate(double width, double height) {
+				return left.evaluate(width, height) * right.evaluate(width, height);
+			}
+		});
+	}
+
+	public static DoubleExpression divide(DoubleExpression left, DoubleExpression right) {
+		return fold(new BinaryOperation(left, right) {
+			@Override
+			public double evaluate(double width, double height) {
+				return left.evaluate(width, height) / right.evaluate(width, height);
+			}
+		});
+	}
+
+	private static DoubleExpression fold(BinaryOperation operation) {
+		if (operation.left.isConstant() && operation.right.isConstant()) {
+			return constant(operation.evaluate(0, 0));
+		}
+		return operation;
+	}
+}
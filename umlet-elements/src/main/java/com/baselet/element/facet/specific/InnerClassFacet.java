@@ -33,6 +33,11 @@ public class InnerClassFacet extends Facet {
 		return line.equals(START) || line.equals(END);
 	}
 
+	@Override
+	public List<String> getLinePrefixes() {
+		return Arrays.asList(START, END);
+	}
+
 	@Override
 	public void handleLine(String line, PropertiesParserState state) {
 		Stack<ClassSettings> innerClassStartPoints = getOrInit(state);
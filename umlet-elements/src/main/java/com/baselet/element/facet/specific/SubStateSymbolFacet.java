@@ -32,10 +32,13 @@ public class SubStateSymbolFacet extends KeyValueFacet {
 	@Override
 	public void handleValue(String value, PropertiesParserState state) {
 		DrawHandler drawer = state.getDrawer();
+		SubStateSymbolEnum symbol = SubStateSymbolEnum.valueOf(value.toUpperCase(Locale.ENGLISH));
+		if (drawer.isLowDetail()) {
+			return; // the symbol is only a decoration
+		}
 		drawer.setLayer(Layer.Foreground); // should be always on top of background
 		ColorOwn prevBackgroundColor = drawer.getBackgroundColor();
 		drawer.setBackgroundColor(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.TRANSPARENT));
-		SubStateSymbolEnum symbol = SubStateSymbolEnum.valueOf(value.toUpperCase(Locale.ENGLISH));
 		final double w = state.getGridElementSize().getWidth();
 		final double h = state.getGridElementSize().getHeight();
 		if (symbol == SubStateSymbolEnum.SUBSTATE) {
@@ -45,6 +45,8 @@ public class UpperRightSymbolFacet extends FirstRunKeyValueFacet {
 
 	public static void drawAndSetBuffer(PropertiesParserState state, UpperRightSymbolEnum symbol) {
 		DrawHandler drawer = state.getDrawer();
+		boolean enableDrawing = drawer.isEnableDrawing();
+		drawer.setEnableDrawing(enableDrawing && !drawer.isLowDetail()); // the symbol is only a decoration, but the buffer is always set because it changes the layout
 		ColorOwn prevBackgroundColor = drawer.getBackgroundColor();
 		drawer.setBackgroundColor(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.TRANSPARENT));
 		double eW = state.getGridElementSize().getWidth();
@@ -89,6 +91,7 @@ public class UpperRightSymbolFacet extends FirstRunKeyValueFacet {
 			state.getBuffer().setTopMin(DISTANCE + fs * 0.3);
 		}
 		drawer.setBackgroundColor(prevBackgroundColor);
+		drawer.setEnableDrawing(enableDrawing);
 	}
 
 }
@@ -3,6 +3,8 @@ package com.baselet.element.interfaces;
 import java.util.Collection;
 import java.util.List;
 
+import com.baselet.element.GroupIndex;
+import com.baselet.element.spatial.GridElementIndex;
 import com.baselet.element.sticking.Stickable;
 import com.baselet.element.sticking.StickableMap;
 
@@ -18,6 +20,20 @@ public interface Diagram extends HasPanelAttributes, HasGridElements {
 
 	List<GridElement> getGridElementsByLayer(boolean ascending);
 
+	GridElementIndex getGridElementIndex();
+
+	/**
+	 * must be called after an element of this diagram has been moved or resized
+	 */
+	void gridElementBoundsChanged(GridElement gridElement);
+
+	GroupIndex getGroupIndex();
+
+	/**
+	 * must be called after the group of an element of this diagram has changed
+	 */
+	void gridElementGroupChanged(GridElement gridElement);
+
 	int getZoomLevel();
 
 	void setZoomLevel(int zoomLevel);
@@ -12,4 +12,14 @@ public interface DrawHandlerInterface {
 
 	boolean isInitialized();
 
+	/**
+	 * called after the element has been moved or resized (e.g. to update the spatial index of the diagram)
+	 */
+	void boundsChanged();
+
+	/**
+	 * called after the group of the element has changed (e.g. to update the group index of the diagram)
+	 */
+	void groupChanged();
+
 }
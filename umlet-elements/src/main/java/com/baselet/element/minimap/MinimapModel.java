@@ -0,0 +1,160 @@
+package com.baselet.element.minimap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.spatial.GridElementIndex;
+
+/**
+ * Keeps track of the parts of a minimap image which are outdated because elements have been added, removed, moved or changed.
+ * The minimap of each platform marks the changed elements, calls {@link #takeUpdate(Collection, GridElementIndex)} on the UI thread
+ * and paints the returned {@link Update}, which only contains immutable snapshots and can therefore be painted in the background.
+ * Not thread-safe, it must only be accessed by the UI thread.
+ */
+public class MinimapModel {
+
+	/**
+	 * if more elements have changed the whole image is rebuilt, because clearing and repainting each region would be slower
+	 */
+	public static final int MAX_INCREMENTAL_CHANGES = 200;
+
+	private static final Comparator<MinimapShape> LAYER_ASCENDING = new Comparator<MinimapShape>() {
+		@Override
+		public int compare(MinimapShape o1, MinimapShape o2) {
+			return o1.getLayer() < o2.getLayer() ? -1 : o1.getLayer() == o2.getLayer() ? 0 : 1;
+		}
+	};
+
+	/**
+	 * The changes of the minimap image: the regions (in diagram coordinates) must be cleared and the shapes must be painted (clipped to the regions) in the given order.
+	 * If it is a full update the image must be cleared and there are no regions.
+	 */
+	public static class Update {
+		private final boolean full;
+		private final List<Rectangle> dirtyRegions;
+		private final List<MinimapShape> shapes;
+
+		private Update(boolean full, List<Rectangle> dirtyRegions, List<MinimapShape> shapes) {
+			this.full = full;
+			this.dirtyRegions = dirtyRegions;
+			this.shapes = shapes;
+		}
+
+		public boolean isFull() {
+			return full;
+		}
+
+		public List<Rectangle> getDirtyRegions() {
+			return dirtyRegions;
+		}
+
+		public List<MinimapShape> getShapes() {
+			return shapes;
+		}
+	}
+
+	private final Map<GridElement, MinimapShape> paintedShapes = new HashMap<GridElement, MinimapShape>(); // the state of the elements in the image
+	private final Set<GridElement> changedElements = new HashSet<GridElement>();
+	private boolean allChanged = true;
+
+	/**
+	 * must be called after an element has been added, removed, moved or its properties have changed
+	 */
+	public void elementChanged(GridElement ge) {
+		if (!allChanged) {
+			changedElements.add(ge);
+		}
+	}
+
+	/**
+	 * must be called if the whole image must be rebuilt (e.g. because the diagram has been replaced or the scale of the image has changed)
+	 */
+	public void allElementsChanged() {
+		allChanged = true;
+		changedElements.clear();
+	}
+
+	public boolean hasChanges() {
+		return allChanged || !changedElements.isEmpty();
+	}
+
+	/**
+	 * Compares every element with its painted snapshot and marks the elements which are different or have been removed.
+	 * Can be used if the platform doesn't notify about changes of single elements.
+	 */
+	public void detectChanges(Collection<GridElement> elements) {
+		if (allChanged) {
+			return;
+		}
+		Set<GridElement> current = new HashSet<GridElement>(elements);
+		for (GridElement ge : paintedShapes.keySet()) {
+			if (!current.contains(ge)) {
+				changedElements.add(ge);
+			}
+		}
+		for (GridElement ge : elements) {
+			MinimapShape shape = paintedShapes.get(ge);
+			if (shape == null || shape.isOutdated(ge)) {
+				changedElements.add(ge);
+			}
+		}
+	}
+
+	/**
+	 * Takes snapshots of the changed elements and resets the changes.
+	 *
+	 * @param elements all elements of the diagram in their drawing order (only used for a full update)
+	 * @param index the index of the diagram, elements which are not part of it are treated as removed
+	 */
+	public Update takeUpdate(Collection<GridElement> elements, GridElementIndex index) {
+		if (allChanged || changedElements.size() > MAX_INCREMENTAL_CHANGES) {
+			allChanged = false;
+			changedElements.clear();
+			paintedShapes.clear();
+			List<MinimapShape> shapes = new ArrayList<MinimapShape>(elements.size());
+			for (GridElement ge : elements) {
+				MinimapShape shape = MinimapShape.of(ge);
+				paintedShapes.put(ge, shape);
+				shapes.add(shape);
+			}
+			Collections.sort(shapes, LAYER_ASCENDING); // stable, therefore elements with the same layer keep their order
+			return new Update(true, Collections.<Rectangle> emptyList(), shapes);
+		}
+
+		List<Rectangle> dirtyRegions = new ArrayList<Rectangle>();
+		for (GridElement ge : changedElements) {
+			MinimapShape old = paintedShapes.remove(ge);
+			if (old != null) {
+				dirtyRegions.add(old.getBounds());
+			}
+			if (index.contains(ge)) {
+				dirtyRegions.add(ge.getRectangle().copy());
+			}
+		}
+		changedElements.clear();
+
+		// every element in a dirty region must be painted again because it has been cleared
+		Set<GridElement> toPaint = new LinkedHashSet<GridElement>();
+		for (Rectangle region : dirtyRegions) {
+			toPaint.addAll(index.getElementsIntersecting(region));
+		}
+		List<MinimapShape> shapes = new ArrayList<MinimapShape>(toPaint.size());
+		for (GridElement ge : toPaint) {
+			MinimapShape shape = MinimapShape.of(ge);
+			paintedShapes.put(ge, shape);
+			shapes.add(shape);
+		}
+		Collections.sort(shapes, LAYER_ASCENDING);
+		return new Update(false, dirtyRegions, shapes);
+	}
+}
@@ -0,0 +1,95 @@
+package com.baselet.element.minimap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.constants.FacetConstants;
+import com.baselet.diagram.draw.helper.ColorOwn;
+import com.baselet.diagram.draw.helper.ColorOwn.Transparency;
+import com.baselet.diagram.draw.helper.theme.Theme;
+import com.baselet.diagram.draw.helper.theme.Theme.ColorStyle;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.relation.Relation;
+import com.baselet.element.sticking.PointDoubleIndexed;
+
+/**
+ * Immutable snapshot of what the minimap draws for an element: a box with the colors of the element or a line between the end points of a relation.
+ * It is taken on the UI thread and can therefore be painted by any thread.
+ */
+public class MinimapShape {
+
+	private final Rectangle bounds;
+	private final int layer;
+	private final ColorOwn background; // null if the element has no background color
+	private final ColorOwn foreground;
+	private final PointDouble lineStart; // only set for relations
+	private final PointDouble lineEnd;
+	private final String panelAttributes; // used to detect changes of the colors
+
+	private MinimapShape(Rectangle bounds, int layer, ColorOwn background, ColorOwn foreground, PointDouble lineStart, PointDouble lineEnd, String panelAttributes) {
+		this.bounds = bounds;
+		this.layer = layer;
+		this.background = background;
+		this.foreground = foreground;
+		this.lineStart = lineStart;
+		this.lineEnd = lineEnd;
+		this.panelAttributes = panelAttributes;
+	}
+
+	public static MinimapShape of(GridElement ge) {
+		Rectangle r = ge.getRectangle().copy();
+		Theme theme = ThemeFactory.getCurrentTheme();
+		ColorOwn bg = theme.forStringOrNull(ge.getSetting(FacetConstants.BACKGROUND_COLOR_KEY), Transparency.BACKGROUND);
+		ColorOwn fg = theme.forStringOrNull(ge.getSetting(FacetConstants.FOREGROUND_COLOR_KEY), Transparency.FOREGROUND);
+		if (fg == null) {
+			fg = theme.getColor(ColorStyle.DEFAULT_FOREGROUND);
+		}
+		PointDouble start = null;
+		PointDouble end = null;
+		if (ge instanceof Relation) {
+			List<PointDoubleIndexed> ends = new ArrayList<PointDoubleIndexed>(((Relation) ge).getStickablePoints()); // the first and the last point, relative to the element
+			start = new PointDouble(r.x + ends.get(0).getX(), r.y + ends.get(0).getY());
+			end = new PointDouble(r.x + ends.get(ends.size() - 1).getX(), r.y + ends.get(ends.size() - 1).getY());
+		}
+		return new MinimapShape(r, ge.getLayer(), bg, fg, start, end, ge.getPanelAttributes());
+	}
+
+	/**
+	 * @return true if the snapshot doesn't show the current state of the element anymore
+	 */
+	public boolean isOutdated(GridElement ge) {
+		String attributes = ge.getPanelAttributes();
+		return !bounds.equals(ge.getRectangle()) || layer != ge.getLayer() || (panelAttributes == null ? attributes != null : !panelAttributes.equals(attributes));
+	}
+
+	public Rectangle getBounds() {
+		return bounds;
+	}
+
+	public int getLayer() {
+		return layer;
+	}
+
+	public ColorOwn getBackground() {
+		return background;
+	}
+
+	public ColorOwn getForeground() {
+		return foreground;
+	}
+
+	public boolean isLine() {
+		return lineStart != null;
+	}
+
+	public PointDouble getLineStart() {
+		return lineStart;
+	}
+
+	public PointDouble getLineEnd() {
+		return lineEnd;
+	}
+}
@@ -120,6 +120,11 @@ public class Relation extends NewGridElement implements Stickable, RelationPoint
 		}
 	}
 
+	@Override
+	public boolean isConcurrentlyParseable() {
+		return false; // the facets resize the relation to its points and texts
+	}
+
 	@Override
 	public Set<Direction> getResizeArea(int x, int y) {
 		return new HashSet<Direction>();
@@ -146,7 +151,7 @@ public class Relation extends NewGridElement implements Stickable, RelationPoint
 
 	@Override
 	public Integer getLayer() {
-		return state.getFacetResponse(LayerFacet.class, LayerFacet.DEFAULT_VALUE_RELATION);
+		return getLayer(LayerFacet.DEFAULT_VALUE_RELATION);
 	}
 
 	@Override
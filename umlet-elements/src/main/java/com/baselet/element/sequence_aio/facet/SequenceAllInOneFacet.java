@@ -20,6 +20,19 @@ public class SequenceAllInOneFacet extends Facet {
 
 	private SequenceAllInOneFacet() {}
 
+	/**
+	 * the parsed diagram doesn't depend on the element size or zoom level, therefore it is reused until the text changes
+	 */
+	private static class ParsedDiagram {
+		private final String text;
+		private final SequenceDiagram diagram;
+
+		private ParsedDiagram(String text, SequenceDiagram diagram) {
+			this.text = text;
+			this.diagram = diagram;
+		}
+	}
+
 	@Override
 	public boolean checkStart(String line, PropertiesParserState state) {
 		// consume every line that wasn't handled by another facet
@@ -82,8 +95,7 @@ public class SequenceAllInOneFacet extends Facet {
 					return SharedUtils.realignToGrid(false, value, true);
 				}
 			};
-			DimensionDouble size = new SequenceAllInOneParser(strBuilder.toString()).start().generateDiagram()
-					.draw(drawer, gridConverter, gridConverter);
+			DimensionDouble size = getDiagram(strBuilder.toString(), state).draw(drawer, gridConverter, gridConverter);
 			state.updateMinimumSize(size.getWidth(), size.getHeight());
 		} catch (ParseException e) {
 			throw new SequenceDiagramException(e);
@@ -91,4 +103,13 @@ public class SequenceAllInOneFacet extends Facet {
 			throw new SequenceDiagramException(e);
 		}
 	}
+
+	private SequenceDiagram getDiagram(String text, PropertiesParserState state) throws ParseException {
+		ParsedDiagram parsedDiagram = state.getFacetCache(SequenceAllInOneFacet.class);
+		if (parsedDiagram == null || !parsedDiagram.text.equals(text)) {
+			parsedDiagram = new ParsedDiagram(text, new SequenceAllInOneParser(text).start().generateDiagram());
+			state.setFacetCache(SequenceAllInOneFacet.class, parsedDiagram); // replaces the diagram of the old text
+		}
+		return parsedDiagram.diagram;
+	}
 }
@@ -0,0 +1,120 @@
+package com.baselet.element.spatial;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Spatial index of the GridElements of a diagram which is used for hit-testing, lasso selection and viewport culling.
+ * The diagram must add/remove its elements and call update() after an element has been moved or resized.
+ * Elements with the same layer are returned in the order in which they have been added (which is the order of the diagram element list).
+ */
+public class GridElementIndex {
+
+	private static final Comparator<GridElement> LAYER_ASCENDING = new Comparator<GridElement>() {
+		@Override
+		public int compare(GridElement o1, GridElement o2) {
+			return o1.getLayer().compareTo(o2.getLayer());
+		}
+	};
+
+	private static final Comparator<GridElement> LAYER_DESCENDING = new Comparator<GridElement>() {
+		@Override
+		public int compare(GridElement o1, GridElement o2) {
+			return o2.getLayer().compareTo(o1.getLayer());
+		}
+	};
+
+	private final SpatialGrid<GridElement> grid = new SpatialGrid<GridElement>();
+
+	public void rebuild(Collection<? extends GridElement> gridElements) {
+		grid.clear();
+		for (GridElement ge : gridElements) {
+			add(ge);
+		}
+	}
+
+	public void add(GridElement ge) {
+		grid.put(ge, ge.getRectangle());
+	}
+
+	public void remove(GridElement ge) {
+		grid.remove(ge);
+	}
+
+	/**
+	 * must be called after the bounds of the element have changed; elements which are not part of the index are ignored
+	 */
+	public void update(GridElement ge) {
+		if (grid.contains(ge)) {
+			grid.put(ge, ge.getRectangle());
+		}
+	}
+
+	public boolean contains(GridElement ge) {
+		return grid.contains(ge);
+	}
+
+	public int size() {
+		return grid.size();
+	}
+
+	public void clear() {
+		grid.clear();
+	}
+
+	/**
+	 * @return the elements whose rectangle contains the point, highest layer first (the caller must still check GridElement.isSelectableOn())
+	 */
+	public List<GridElement> getElementsAt(Point point) {
+		List<GridElement> list = grid.getItemsAt(point);
+		Collections.sort(list, LAYER_DESCENDING);
+		return list;
+	}
+
+	/**
+	 * @return the elements whose rectangle intersects the area, lowest layer first (which is the drawing order)
+	 */
+	public List<GridElement> getElementsIntersecting(Rectangle area) {
+		List<GridElement> list = grid.getItemsIntersecting(area);
+		Collections.sort(list, LAYER_ASCENDING);
+		return list;
+	}
+
+	/**
+	 * @return the elements whose rectangle is completely inside the area, lowest layer first
+	 */
+	public List<GridElement> getElementsInside(Rectangle area) {
+		List<GridElement> list = grid.getItemsInside(area);
+		Collections.sort(list, LAYER_ASCENDING);
+		return list;
+	}
+
+	/**
+	 * @return the element whose rectangle is closest to the point (0 if the point is inside) or null if no element is within maxDistance; on equal distance the highest layer wins
+	 */
+	public GridElement getNearest(Point point, int maxDistance) {
+		Rectangle searchArea = new Rectangle(point.getX() - maxDistance, point.getY() - maxDistance, maxDistance * 2, maxDistance * 2);
+		GridElement nearest = null;
+		double nearestDistance = Double.MAX_VALUE;
+		for (GridElement ge : grid.getItemsIntersecting(searchArea)) {
+			double distance = distance(ge.getRectangle(), point);
+			if (distance <= maxDistance && (distance < nearestDistance || distance == nearestDistance && ge.getLayer() > nearest.getLayer())) {
+				nearest = ge;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	private static double distance(Rectangle r, Point p) {
+		int dx = Math.max(0, Math.max(r.getX() - p.getX(), p.getX() - r.getX2()));
+		int dy = Math.max(0, Math.max(r.getY() - p.getY(), p.getY() - r.getY2()));
+		return Math.sqrt((double) dx * dx + (double) dy * dy);
+	}
+}
@@ -0,0 +1,236 @@
+package com.baselet.element.spatial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+
+/**
+ * Uniform grid which maps the bounds of items to the cells they overlap, so point and rectangle queries only look at items near the queried area.
+ * The bounds must be updated by calling put() whenever they change. Results are returned in the order in which the items were first added.
+ * Items which span many cells are kept in a separate list which is checked on every query (to avoid filling thousands of cells with one item).
+ * Not thread-safe (like the diagrams which use it, it must only be accessed by the UI thread).
+ */
+public class SpatialGrid<T> {
+
+	public static final int DEFAULT_CELL_SIZE = 200;
+	private static final int MAX_CELLS_PER_ITEM = 256;
+
+	private static final Comparator<Entry<?>> INSERTION_ORDER = new Comparator<Entry<?>>() {
+		@Override
+		public int compare(Entry<?> o1, Entry<?> o2) {
+			return o1.sequence < o2.sequence ? -1 : o1.sequence == o2.sequence ? 0 : 1;
+		}
+	};
+
+	private static class Entry<T> {
+		private final T item;
+		private final int sequence;
+		private Rectangle bounds;
+		private int lastQuery;
+
+		private Entry(T item, int sequence) {
+			this.item = item;
+			this.sequence = sequence;
+		}
+	}
+
+	private final int cellSize;
+	private final Map<T, Entry<T>> entries = new HashMap<T, Entry<T>>();
+	private final Map<Long, List<Entry<T>>> cells = new HashMap<Long, List<Entry<T>>>();
+	private final List<Entry<T>> largeEntries = new ArrayList<Entry<T>>();
+	private int nextSequence = 0;
+	private int queryCounter = 0;
+
+	public SpatialGrid() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	public SpatialGrid(int cellSize) {
+		if (cellSize <= 0) {
+			throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+		}
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * adds the item or moves it to the new bounds (an item which is moved keeps its position in the result order)
+	 */
+	public void put(T item, Rectangle bounds) {
+		Entry<T> entry = entries.get(item);
+		if (entry == null) {
+			entry = new Entry<T>(item, nextSequence++);
+			entries.put(item, entry);
+		}
+		else if (bounds.equals(entry.bounds)) {
+			return;
+		}
+		else {
+			removeFromCells(entry);
+		}
+		entry.bounds = bounds.copy();
+		addToCells(entry);
+	}
+
+	public void remove(T item) {
+		Entry<T> entry = entries.remove(item);
+		if (entry != null) {
+			removeFromCells(entry);
+		}
+	}
+
+	public boolean contains(T item) {
+		return entries.containsKey(item);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public void clear() {
+		entries.clear();
+		cells.clear();
+		largeEntries.clear();
+		nextSequence = 0;
+	}
+
+	/**
+	 * @return all items whose bounds contain the point (borders included)
+	 */
+	public List<T> getItemsAt(Point point) {
+		List<Entry<T>> found = new ArrayList<Entry<T>>();
+		List<Entry<T>> cell = cells.get(key(cell(point.getX()), cell(point.getY())));
+		if (cell != null) {
+			for (Entry<T> entry : cell) {
+				if (entry.bounds.contains(point)) {
+					found.add(entry);
+				}
+			}
+		}
+		for (Entry<T> entry : largeEntries) {
+			if (entry.bounds.contains(point)) {
+				found.add(entry);
+			}
+		}
+		return toItems(found);
+	}
+
+	/**
+	 * @return all items whose bounds intersect the area (touching borders included)
+	 */
+	public List<T> getItemsIntersecting(Rectangle area) {
+		return getItems(area, false);
+	}
+
+	/**
+	 * @return all items whose bounds are completely inside the area
+	 */
+	public List<T> getItemsInside(Rectangle area) {
+		return getItems(area, true);
+	}
+
+	private List<T> getItems(Rectangle area, boolean inside) {
+		List<Entry<T>> found = new ArrayList<Entry<T>>();
+		int queryId = ++queryCounter;
+		if (cellCount(area) > entries.size()) { // scanning every item is cheaper than visiting the cells
+			for (Entry<T> entry : entries.values()) {
+				addIfMatching(found, entry, area, inside, queryId);
+			}
+		}
+		else {
+			for (int x = cell(area.getX()); x <= cell(area.getX2()); x++) {
+				for (int y = cell(area.getY()); y <= cell(area.getY2()); y++) {
+					List<Entry<T>> cell = cells.get(key(x, y));
+					if (cell != null) {
+						for (Entry<T> entry : cell) {
+							addIfMatching(found, entry, area, inside, queryId);
+						}
+					}
+				}
+			}
+			for (Entry<T> entry : largeEntries) {
+				addIfMatching(found, entry, area, inside, queryId);
+			}
+		}
+		return toItems(found);
+	}
+
+	private void addIfMatching(List<Entry<T>> found, Entry<T> entry, Rectangle area, boolean inside, int queryId) {
+		if (entry.lastQuery == queryId) {
+			return; // already checked in another cell
+		}
+		entry.lastQuery = queryId;
+		if (inside ? area.contains(entry.bounds) : area.intersects(entry.bounds)) {
+			found.add(entry);
+		}
+	}
+
+	private List<T> toItems(List<Entry<T>> found) {
+		Collections.sort(found, INSERTION_ORDER);
+		List<T> items = new ArrayList<T>(found.size());
+		for (Entry<T> entry : found) {
+			items.add(entry.item);
+		}
+		return items;
+	}
+
+	private void addToCells(Entry<T> entry) {
+		Rectangle b = entry.bounds;
+		if (cellCount(b) > MAX_CELLS_PER_ITEM) {
+			largeEntries.add(entry);
+			return;
+		}
+		for (int x = cell(b.getX()); x <= cell(b.getX2()); x++) {
+			for (int y = cell(b.getY()); y <= cell(b.getY2()); y++) {
+				Long key = key(x, y);
+				List<Entry<T>> cell = cells.get(key);
+				if (cell == null) {
+					cell = new ArrayList<Entry<T>>(4);
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	private void removeFromCells(Entry<T> entry) {
+		Rectangle b = entry.bounds;
+		if (cellCount(b) > MAX_CELLS_PER_ITEM) {
+			largeEntries.remove(entry);
+			return;
+		}
+		for (int x = cell(b.getX()); x <= cell(b.getX2()); x++) {
+			for (int y = cell(b.getY()); y <= cell(b.getY2()); y++) {
+				Long key = key(x, y);
+				List<Entry<T>> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(entry);
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	private long cellCount(Rectangle r) {
+		return (long) (cell(r.getX2()) - cell(r.getX()) + 1) * (cell(r.getY2()) - cell(r.getY()) + 1);
+	}
+
+	private int cell(int coordinate) {
+		int cell = coordinate / cellSize;
+		if (coordinate < 0 && cell * cellSize != coordinate) {
+			cell--; // round towards negative infinity
+		}
+		return cell;
+	}
+
+	private static Long key(int cellX, int cellY) {
+		return (long) cellX << 32 | cellY & 0xFFFFFFFFL;
+	}
+}
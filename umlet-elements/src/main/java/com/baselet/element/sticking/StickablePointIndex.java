@@ -0,0 +1,69 @@
+package com.baselet.element.sticking;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.spatial.SpatialGrid;
+
+/**
+ * Spatial hash of the absolute positions of the stickable points of some stickables (at default zoom level, like the sticking polygons).
+ * It's a snapshot: if a stickable is moved afterwards, a new index must be created.
+ */
+public class StickablePointIndex {
+
+	private static final int CELL_SIZE = 100;
+
+	public static class StickablePoint {
+		private final Stickable stickable;
+		private final PointDoubleIndexed point;
+		private final PointDouble absolutePosition;
+
+		private StickablePoint(Stickable stickable, PointDoubleIndexed point, PointDouble absolutePosition) {
+			this.stickable = stickable;
+			this.point = point;
+			this.absolutePosition = absolutePosition;
+		}
+
+		public Stickable getStickable() {
+			return stickable;
+		}
+
+		public PointDoubleIndexed getPoint() {
+			return point;
+		}
+
+		public PointDouble getAbsolutePosition() {
+			return absolutePosition;
+		}
+	}
+
+	private final SpatialGrid<StickablePoint> grid = new SpatialGrid<StickablePoint>(CELL_SIZE);
+
+	public StickablePointIndex(Collection<? extends Stickable> stickables) {
+		for (Stickable stickable : stickables) {
+			for (PointDoubleIndexed p : stickable.getStickablePoints()) {
+				PointDouble absolutePosition = Stickables.getAbsolutePosition(stickable, p);
+				grid.put(new StickablePoint(stickable, p, absolutePosition), new Rectangle(absolutePosition.getX().intValue(), absolutePosition.getY().intValue(), 0, 0));
+			}
+		}
+	}
+
+	/**
+	 * @return the points within the distance of the area in the order of the stickables and their points
+	 */
+	public List<StickablePoint> getPointsNear(Rectangle area, int distance) {
+		if (area == null) {
+			return Collections.emptyList();
+		}
+		Rectangle searchArea = area.copy();
+		searchArea.addBorder(distance);
+		return grid.getItemsIntersecting(searchArea);
+	}
+
+	public int size() {
+		return grid.size();
+	}
+}
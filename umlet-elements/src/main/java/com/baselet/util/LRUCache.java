@@ -1,5 +1,6 @@
 package com.baselet.util;
 
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 
 /**
@@ -13,7 +14,7 @@ public class LRUCache<K, V> extends LinkedHashMap<K, V> {
 	private static final long serialVersionUID = 1L;
 	private static final float LOAD_FACTOR = 0.8f;
 
-	private final int cacheSize;
+	private int cacheSize;
 
 	/**
 	 *
@@ -24,6 +25,22 @@ public class LRUCache<K, V> extends LinkedHashMap<K, V> {
 		this.cacheSize = cacheSize;
 	}
 
+	public int getCacheSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * changes the size of the cache; if it shrinks, the least recently used entries are removed immediately
+	 */
+	public void setCacheSize(int cacheSize) {
+		this.cacheSize = cacheSize;
+		Iterator<K> iter = keySet().iterator();
+		while (size() >= cacheSize && iter.hasNext()) { // same threshold as removeEldestEntry
+			iter.next();
+			iter.remove();
+		}
+	}
+
 	@Override
 	protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
 		// if size >= capacity * loadfactor then rehashing occurs (see implementation of LinkedHashMap.addEntry)
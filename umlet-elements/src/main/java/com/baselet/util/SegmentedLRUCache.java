@@ -0,0 +1,198 @@
+package com.baselet.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe LRU cache which is split into several segments.
+ * Each segment is an independent {@link LRUCache} with its own lock, therefore threads which access different keys rarely block each other.
+ * The LRU order is maintained per segment, so the eviction order is only approximately global.
+ *
+ * @param <K> Key
+ * @param <V> Value
+ */
+public class SegmentedLRUCache<K, V> {
+
+	private static final int SEGMENT_COUNT = 16; // must be a power of 2
+
+	private final String name;
+	private final Segment<K, V>[] segments;
+	private volatile int maxSize; // read without holding a segment lock
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+
+	/**
+	 * @param name used to identify the cache in the statistics
+	 * @param maxSize how many elements should fit in the cache (summed up over all segments)
+	 */
+	@SuppressWarnings("unchecked")
+	public SegmentedLRUCache(String name, int maxSize) {
+		this.name = name;
+		segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENT_COUNT];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment<K, V>(segmentSize(maxSize), evictions);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * @return the cached value or null if there is no value for this key
+	 */
+	public V get(K key) {
+		Segment<K, V> segment = segmentFor(key);
+		V value;
+		synchronized (segment) {
+			value = segment.get(key);
+		}
+		if (value == null) {
+			misses.incrementAndGet();
+		}
+		else {
+			hits.incrementAndGet();
+		}
+		return value;
+	}
+
+	public void put(K key, V value) {
+		Segment<K, V> segment = segmentFor(key);
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+	}
+
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * changes the maximum size; if the cache shrinks, the least recently used entries of each segment are evicted immediately
+	 */
+	public void setMaxSize(int maxSize) {
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				int oldSize = segment.size();
+				segment.setCacheSize(segmentSize(maxSize));
+				evictions.addAndGet(oldSize - segment.size());
+			}
+		}
+		this.maxSize = maxSize;
+	}
+
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(name, hits.get(), misses.get(), evictions.get(), size(), maxSize);
+	}
+
+	public void resetStatistics() {
+		hits.set(0);
+		misses.set(0);
+		evictions.set(0);
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int h = key == null ? 0 : key.hashCode();
+		h ^= h >>> 16; // spread the higher bits, because only the lowest bits select the segment
+		return segments[h & SEGMENT_COUNT - 1];
+	}
+
+	private static int segmentSize(int maxSize) {
+		// +1 because an LRUCache already evicts if its size reaches the cacheSize
+		return Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT) + 1;
+	}
+
+	private static class Segment<K, V> extends LRUCache<K, V> {
+		private static final long serialVersionUID = 1L;
+
+		private final AtomicLong evictions;
+
+		public Segment(int cacheSize, AtomicLong evictions) {
+			super(cacheSize);
+			this.evictions = evictions;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(java.util.Map.Entry<K, V> eldest) {
+			boolean remove = super.removeEldestEntry(eldest);
+			if (remove) {
+				evictions.incrementAndGet();
+			}
+			return remove;
+		}
+	}
+
+	/**
+	 * Snapshot of the counters of a cache
+	 */
+	public static class CacheStatistics {
+		private final String name;
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final int size;
+		private final int maxSize;
+
+		public CacheStatistics(String name, long hits, long misses, long evictions, int size, int maxSize) {
+			this.name = name;
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.size = size;
+			this.maxSize = maxSize;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+		public long getEvictions() {
+			return evictions;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getMaxSize() {
+			return maxSize;
+		}
+
+		/**
+		 * @return the ratio of hits to all lookups (0 if there was no lookup yet)
+		 */
+		public double getHitRate() {
+			long lookups = hits + misses;
+			return lookups == 0 ? 0 : (double) hits / lookups;
+		}
+
+		@Override
+		public String toString() {
+			return name + " [hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", hitRate=" + Math.round(getHitRate() * 1000) / 10.0 + "%, size=" + size + "/" + maxSize + "]";
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.baselet.diagram.draw;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.baselet.control.StringStyle;
+import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.enums.AlignHorizontal;
+import com.baselet.control.enums.FormatLabels;
+import com.baselet.element.facet.customdrawings.DummyDrawHandler;
+
+public class LevelOfDetailTest {
+
+	private static class ZoomedDrawHandler extends DummyDrawHandler {
+		private final double zoom;
+
+		public ZoomedDrawHandler(double zoom) {
+			this.zoom = zoom;
+			setFontSize(10);
+		}
+
+		@Override
+		public double getZoomFactor() {
+			return zoom;
+		}
+	}
+
+	private static final StringStyle[] TEXT = { new StringStyle(Collections.<FormatLabels> emptySet(), "abcd") };
+
+	@Test
+	public void textIsOnlyGreekedBelowTheThreshold() {
+		assertThat(new ZoomedDrawHandler(1).printGreekedIfLowDetail(TEXT, new PointDouble(0, 20), AlignHorizontal.LEFT)).isFalse();
+		assertThat(new ZoomedDrawHandler(0.5).printGreekedIfLowDetail(TEXT, new PointDouble(0, 20), AlignHorizontal.LEFT)).isFalse();
+
+		ZoomedDrawHandler zoomedOut = new ZoomedDrawHandler(0.3);
+		assertThat(zoomedOut.printGreekedIfLowDetail(TEXT, new PointDouble(100, 20), AlignHorizontal.CENTER)).isTrue();
+		assertThat(zoomedOut.getLastDrawCall()).startsWith("drawRectangle(89.000, 13.000, 22.000, 5.000)");
+		assertThat(zoomedOut.getLineWidth()).isEqualTo(DummyDrawHandler.defaultLineWidth); // the style is restored
+	}
+
+	@Test
+	public void linesAreSimplifiedBelowTheThreshold() {
+		PointDouble[] points = { new PointDouble(0, 0), new PointDouble(1, 1), new PointDouble(2, 2), new PointDouble(20, 20), new PointDouble(21, 20) };
+		assertThat(new ZoomedDrawHandler(1).simplifyIfLowDetail(points)).isEqualTo(points);
+		assertThat(new ZoomedDrawHandler(0.2).simplifyIfLowDetail(points)).containsExactly(new PointDouble(0, 0), new PointDouble(20, 20), new PointDouble(21, 20));
+	}
+}
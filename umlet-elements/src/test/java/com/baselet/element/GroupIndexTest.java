@@ -0,0 +1,92 @@
+package com.baselet.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.baselet.element.interfaces.GridElement;
+
+public class GroupIndexTest {
+
+	@Test
+	public void elementsAreFoundByGroupInTheOrderTheyWereAdded() {
+		GridElement a = element("1");
+		GridElement b = element("2");
+		GridElement c = element("1");
+		GridElement ungrouped = element(null);
+		GroupIndex index = new GroupIndex();
+		index.rebuild(Arrays.asList(c, a, b, ungrouped));
+
+		assertThat(index.getElementsInGroup("1")).containsExactly(c, a);
+		assertThat(index.getElementsInGroup("2")).containsExactly(b);
+		assertThat(index.getElementsInGroup("3")).isEmpty();
+		assertThat(index.getGroups()).containsExactlyInAnyOrder("1", "2");
+		assertThat(index.contains(ungrouped)).isTrue();
+	}
+
+	@Test
+	public void removingTheLastElementRemovesTheGroup() {
+		GridElement a = element("1");
+		GridElement b = element("2");
+		GroupIndex index = new GroupIndex();
+		index.add(a);
+		index.add(b);
+		index.remove(b);
+		index.remove(b); // removing twice is ignored
+
+		assertThat(index.getGroups()).containsExactly("1");
+		assertThat(index.getElementsInGroup("2")).isEmpty();
+		assertThat(index.contains(b)).isFalse();
+	}
+
+	@Test
+	public void updateMovesTheElementToItsNewGroup() {
+		GridElement a = element("1");
+		GridElement b = element("1");
+		GroupIndex index = new GroupIndex();
+		index.add(a);
+		index.add(b);
+
+		when(a.getGroup()).thenReturn("2");
+		index.update(a);
+		assertThat(index.getElementsInGroup("1")).containsExactly(b);
+		assertThat(index.getElementsInGroup("2")).containsExactly(a);
+
+		when(b.getGroup()).thenReturn(" ");
+		index.update(b);
+		assertThat(index.getGroups()).containsExactly("2");
+		assertThat(index.contains(b)).isTrue();
+	}
+
+	@Test
+	public void updateIgnoresElementsWhichAreNotPartOfTheIndex() {
+		GridElement a = element("1");
+		GroupIndex index = new GroupIndex();
+		index.update(a);
+
+		assertThat(index.contains(a)).isFalse();
+		assertThat(index.getGroups()).isEmpty();
+	}
+
+	@Test
+	public void addingAnElementAgainDoesNotDuplicateIt() {
+		GridElement a = element("1");
+		GroupIndex index = new GroupIndex();
+		index.add(a);
+		when(a.getGroup()).thenReturn("2");
+		index.add(a);
+
+		assertThat(index.getGroups()).containsExactly("2");
+		assertThat(index.getElementsInGroup("2")).containsExactly(a);
+	}
+
+	static GridElement element(String group) {
+		GridElement e = mock(GridElement.class);
+		when(e.getGroup()).thenReturn(group);
+		return e;
+	}
+}
@@ -0,0 +1,75 @@
+package com.baselet.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.baselet.element.interfaces.GridElement;
+
+public class SelectedElementListTest {
+
+	private final GridElement a = GroupIndexTest.element(null);
+	private final GridElement b = GroupIndexTest.element(null);
+	private final GridElement c = GroupIndexTest.element(null);
+	private final GridElement d = GroupIndexTest.element(null);
+
+	@Test
+	public void keepsTheSelectionOrderAndIgnoresDuplicates() {
+		SelectedElementList list = new SelectedElementList();
+		list.add(c);
+		list.add(a);
+		list.add(c);
+		list.add(0, b);
+		list.add(1, a);
+
+		assertThat(list).containsExactly(b, c, a);
+		assertThat(list.indexOf(a)).isEqualTo(2);
+		assertThat(list.lastIndexOf(a)).isEqualTo(2);
+		assertThat(list.indexOf(d)).isEqualTo(-1);
+	}
+
+	@Test
+	public void removedElementsAreNotContainedAnymore() {
+		SelectedElementList list = new SelectedElementList();
+		list.addAll(Arrays.asList(a, b, c));
+
+		assertThat(list.remove(b)).isTrue();
+		assertThat(list.remove(b)).isFalse();
+		assertThat(list.remove(0)).isSameAs(a);
+
+		assertThat(list.contains(a)).isFalse();
+		assertThat(list.contains(b)).isFalse();
+		assertThat(list.contains(c)).isTrue();
+		assertThat(list).containsExactly(c);
+
+		list.add(a);
+		assertThat(list).containsExactly(c, a);
+	}
+
+	@Test
+	public void removeAllKeepsTheOrderOfTheRemainingElements() {
+		SelectedElementList list = new SelectedElementList();
+		list.addAll(Arrays.asList(a, b, c, d));
+
+		assertThat(list.removeAll(Arrays.asList(c, a, a))).isTrue();
+		assertThat(list.removeAll(Arrays.asList(a))).isFalse();
+
+		assertThat(list).containsExactly(b, d);
+		assertThat(list.contains(a)).isFalse();
+		assertThat(list.contains(c)).isFalse();
+	}
+
+	@Test
+	public void clearRemovesAllMembers() {
+		SelectedElementList list = new SelectedElementList();
+		list.addAll(Arrays.asList(a, b));
+		list.clear();
+
+		assertThat(list).isEmpty();
+		assertThat(list.contains(a)).isFalse();
+		list.add(a);
+		assertThat(list).containsExactly(a);
+	}
+}
@@ -0,0 +1,81 @@
+package com.baselet.element.facet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baselet.gui.AutocompletionText;
+
+public class FacetDispatcherTest {
+
+	private static class TestFacet extends Facet {
+		private final List<String> prefixes;
+		private final String acceptedStart;
+
+		private TestFacet(String acceptedStart, String... prefixes) {
+			this.acceptedStart = acceptedStart;
+			this.prefixes = prefixes.length == 0 ? null : Arrays.asList(prefixes);
+		}
+
+		@Override
+		public boolean checkStart(String line, PropertiesParserState state) {
+			return line.startsWith(acceptedStart);
+		}
+
+		@Override
+		public void handleLine(String line, PropertiesParserState state) {}
+
+		@Override
+		public List<AutocompletionText> getAutocompletionStrings() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getLinePrefixes() {
+			return prefixes;
+		}
+	}
+
+	private final TestFacet comment = new TestFacet("//", "//");
+	private final TestFacet bg = new TestFacet("bg=", "bg=");
+	private final TestFacet fallbackB = new TestFacet("b");
+	private final TestFacet bold = new TestFacet("bold=", "bold=");
+	private final TestFacet separator = new TestFacet("--", "--", "-.");
+	private final TestFacet all = new TestFacet("");
+
+	private final List<Facet> facets = Arrays.<Facet> asList(comment, bg, fallbackB, bold, separator, all);
+	private final FacetDispatcher dispatcher = new FacetDispatcher(facets);
+
+	@Test
+	public void sameResultAsLinearProbing() {
+		for (String line : Arrays.asList("", "//comment", "bg=red", "bold=true", "b", "--", "-.", "-", "text", "/", "bgx")) {
+			assertThat(dispatcher.findFacet(line, null)).as(line).isSameAs(findLinear(line));
+		}
+	}
+
+	@Test
+	public void fallbackFacetKeepsListOrder() {
+		assertThat(dispatcher.findFacet("bold=true", null)).isSameAs(fallbackB);
+		assertThat(dispatcher.findFacet("bg=red", null)).isSameAs(bg);
+	}
+
+	@Test
+	public void noMatchingFacet() {
+		FacetDispatcher prefixOnly = new FacetDispatcher(Arrays.<Facet> asList(comment, bg));
+		assertThat(prefixOnly.findFacet("text", null)).isNull();
+		assertThat(prefixOnly.findFacet("", null)).isNull();
+	}
+
+	private Facet findLinear(String line) {
+		for (Facet f : facets) {
+			if (f.checkStart(line, null)) {
+				return f;
+			}
+		}
+		return null;
+	}
+}
@@ -41,6 +41,11 @@ public class DummyDrawHandler extends com.baselet.diagram.draw.DrawHandler {
 		return 0;
 	}
 
+	@Override
+	public double getZoomFactor() {
+		return 1;
+	}
+
 	@Override
 	public void drawArc(double x, double y, double width, double height, double start, double extent, boolean open) {
 		lastDrawCall = drawArcToString(x, y, width, height, start, extent, open, getForegroundColor(), getBackgroundColor(), getLineType(), getLineWidth());
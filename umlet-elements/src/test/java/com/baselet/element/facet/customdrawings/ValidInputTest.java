@@ -1,6 +1,7 @@
 package com.baselet.element.facet.customdrawings;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -158,4 +159,14 @@ public class ValidInputTest {
 		new CustomDrawingParserImpl("drawText(\"Test \\\" \\\\\\\\ \", 2.5, 3.5, left)", 0, 0, drawHandler).parse();
 		assertEquals(DummyDrawHandler.drawTextToString("Test \" \\\\ ", 2.5, 3.5, AlignHorizontal.LEFT, null), drawHandler.getLastDrawCall());
 	}
+
+	@Test
+	public void compiledCommandIsEvaluatedWithCurrentSize() {
+		CustomDrawingCommand command = CustomDrawingParserImpl.compile("drawLine(width / 2, 0, width, height - 10)");
+		assertSame(command, CustomDrawingParserImpl.compile("drawLine(width / 2, 0, width, height - 10)"));
+		command.run(drawHandler, 100, 200);
+		assertEquals(DummyDrawHandler.drawLineToString(50, 0, 100, 190, null, null, null), drawHandler.getLastDrawCall());
+		command.run(drawHandler, 40, 60);
+		assertEquals(DummyDrawHandler.drawLineToString(20, 0, 40, 50, null, null, null), drawHandler.getLastDrawCall());
+	}
 }
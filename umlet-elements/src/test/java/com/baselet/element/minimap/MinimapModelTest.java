@@ -0,0 +1,159 @@
+package com.baselet.element.minimap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.minimap.MinimapModel.Update;
+import com.baselet.element.spatial.GridElementIndex;
+
+public class MinimapModelTest {
+
+	private final List<GridElement> elements = new ArrayList<GridElement>();
+	private final GridElementIndex index = new GridElementIndex();
+	private final MinimapModel model = new MinimapModel();
+
+	@Test
+	public void firstUpdateIsFullAndOrderedByLayer() {
+		GridElement a = add(new Rectangle(0, 0, 100, 100), 1);
+		GridElement b = add(new Rectangle(500, 500, 100, 100), 0);
+
+		Update update = model.takeUpdate(elements, index);
+		assertThat(update.isFull()).isTrue();
+		assertThat(update.getDirtyRegions()).isEmpty();
+		assertThat(boundsOf(update)).containsExactly(b.getRectangle(), a.getRectangle());
+		assertThat(model.hasChanges()).isFalse();
+	}
+
+	@Test
+	public void movedElementDirtiesItsOldAndNewBounds() {
+		GridElement a = add(new Rectangle(0, 0, 100, 100), 0);
+		add(new Rectangle(1000, 1000, 100, 100), 0);
+		model.takeUpdate(elements, index);
+
+		move(a, new Rectangle(300, 0, 100, 100));
+		model.elementChanged(a);
+		Update update = model.takeUpdate(elements, index);
+
+		assertThat(update.isFull()).isFalse();
+		assertThat(update.getDirtyRegions()).containsExactly(new Rectangle(0, 0, 100, 100), new Rectangle(300, 0, 100, 100));
+		assertThat(boundsOf(update)).containsExactly(new Rectangle(300, 0, 100, 100)); // the distant element is not painted again
+	}
+
+	@Test
+	public void elementsOverlappingADirtyRegionArePaintedAgainInLayerOrder() {
+		GridElement a = add(new Rectangle(0, 0, 100, 100), 1);
+		GridElement below = add(new Rectangle(50, 50, 100, 100), 0);
+		GridElement above = add(new Rectangle(350, 50, 100, 100), 2);
+		add(new Rectangle(1000, 1000, 100, 100), 0);
+		model.takeUpdate(elements, index);
+
+		move(a, new Rectangle(300, 0, 100, 100));
+		model.elementChanged(a);
+		Update update = model.takeUpdate(elements, index);
+
+		assertThat(boundsOf(update)).containsExactly(below.getRectangle(), a.getRectangle(), above.getRectangle());
+	}
+
+	@Test
+	public void removedElementOnlyDirtiesItsOldBounds() {
+		GridElement a = add(new Rectangle(0, 0, 100, 100), 0);
+		GridElement b = add(new Rectangle(50, 50, 100, 100), 0);
+		model.takeUpdate(elements, index);
+
+		remove(a);
+		model.elementChanged(a);
+		Update update = model.takeUpdate(elements, index);
+
+		assertThat(update.getDirtyRegions()).containsExactly(new Rectangle(0, 0, 100, 100));
+		assertThat(boundsOf(update)).containsExactly(b.getRectangle());
+	}
+
+	@Test
+	public void tooManyChangesFallBackToAFullUpdate() {
+		for (int i = 0; i <= MinimapModel.MAX_INCREMENTAL_CHANGES; i++) {
+			add(new Rectangle(i * 20, 0, 10, 10), 0);
+		}
+		model.takeUpdate(elements, index);
+
+		for (GridElement ge : elements.subList(0, MinimapModel.MAX_INCREMENTAL_CHANGES)) {
+			model.elementChanged(ge);
+		}
+		assertThat(model.takeUpdate(elements, index).isFull()).isFalse();
+
+		for (GridElement ge : elements) {
+			model.elementChanged(ge);
+		}
+		Update update = model.takeUpdate(elements, index);
+		assertThat(update.isFull()).isTrue();
+		assertThat(update.getShapes()).hasSize(elements.size());
+	}
+
+	@Test
+	public void allElementsChangedForcesAFullUpdate() {
+		add(new Rectangle(0, 0, 100, 100), 0);
+		model.takeUpdate(elements, index);
+
+		model.allElementsChanged();
+		assertThat(model.hasChanges()).isTrue();
+		assertThat(model.takeUpdate(elements, index).isFull()).isTrue();
+	}
+
+	@Test
+	public void detectChangesFindsRemovedMovedAndModifiedElements() {
+		GridElement removed = add(new Rectangle(0, 0, 100, 100), 0);
+		GridElement moved = add(new Rectangle(500, 0, 100, 100), 0);
+		GridElement modified = add(new Rectangle(1000, 0, 100, 100), 0);
+		add(new Rectangle(1500, 0, 100, 100), 0);
+		model.takeUpdate(elements, index);
+
+		model.detectChanges(elements);
+		assertThat(model.hasChanges()).isFalse();
+
+		remove(removed);
+		move(moved, new Rectangle(500, 300, 100, 100));
+		when(modified.getPanelAttributes()).thenReturn("bg=red");
+		model.detectChanges(elements);
+		assertThat(model.hasChanges()).isTrue();
+
+		Update update = model.takeUpdate(elements, index);
+		assertThat(update.isFull()).isFalse();
+		assertThat(update.getDirtyRegions()).containsExactlyInAnyOrder(new Rectangle(0, 0, 100, 100), new Rectangle(500, 0, 100, 100), new Rectangle(500, 300, 100, 100), new Rectangle(1000, 0, 100, 100), new Rectangle(1000, 0, 100, 100));
+		assertThat(boundsOf(update)).containsExactlyInAnyOrder(moved.getRectangle(), modified.getRectangle());
+	}
+
+	private GridElement add(Rectangle bounds, int layer) {
+		GridElement ge = mock(GridElement.class);
+		when(ge.getRectangle()).thenReturn(bounds);
+		when(ge.getLayer()).thenReturn(layer);
+		when(ge.getPanelAttributes()).thenReturn("");
+		elements.add(ge);
+		index.add(ge);
+		return ge;
+	}
+
+	private void move(GridElement ge, Rectangle bounds) {
+		when(ge.getRectangle()).thenReturn(bounds);
+		index.update(ge);
+	}
+
+	private void remove(GridElement ge) {
+		elements.remove(ge);
+		index.remove(ge);
+	}
+
+	private static List<Rectangle> boundsOf(Update update) {
+		List<Rectangle> bounds = new ArrayList<Rectangle>();
+		for (MinimapShape shape : update.getShapes()) {
+			bounds.add(shape.getBounds());
+		}
+		return bounds;
+	}
+}
@@ -0,0 +1,45 @@
+package com.baselet.element.spatial;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+
+public class SpatialGridTest {
+
+	@Test
+	public void pointQueryIncludesBordersAndNegativeCoordinates() {
+		SpatialGrid<String> grid = new SpatialGrid<String>(100);
+		grid.put("a", new Rectangle(0, 0, 100, 100));
+		grid.put("b", new Rectangle(-150, -150, 100, 100));
+		assertThat(grid.getItemsAt(new Point(100, 100))).containsExactly("a");
+		assertThat(grid.getItemsAt(new Point(-50, -50))).containsExactly("b");
+		assertThat(grid.getItemsAt(new Point(-20, 20))).isEmpty();
+	}
+
+	@Test
+	public void movedItemIsOnlyFoundAtNewPositionAndKeepsItsOrder() {
+		SpatialGrid<String> grid = new SpatialGrid<String>(100);
+		grid.put("a", new Rectangle(0, 0, 50, 50));
+		grid.put("b", new Rectangle(500, 500, 50, 50));
+		grid.put("a", new Rectangle(510, 510, 20, 20));
+		assertThat(grid.getItemsAt(new Point(10, 10))).isEmpty();
+		assertThat(grid.getItemsAt(new Point(520, 520))).containsExactly("a", "b");
+		grid.remove("a");
+		assertThat(grid.getItemsAt(new Point(520, 520))).containsExactly("b");
+		assertThat(grid.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void rectangleQueriesReturnEveryItemOnce() {
+		SpatialGrid<String> grid = new SpatialGrid<String>(10);
+		grid.put("spansManyCells", new Rectangle(0, 0, 95, 95));
+		grid.put("large", new Rectangle(-10000, -10000, 20000, 20000));
+		grid.put("outside", new Rectangle(200, 200, 10, 10));
+		assertThat(grid.getItemsIntersecting(new Rectangle(0, 0, 100, 100))).containsExactly("spansManyCells", "large");
+		assertThat(grid.getItemsInside(new Rectangle(-1, -1, 300, 300))).containsExactly("spansManyCells", "outside");
+		assertThat(grid.getItemsAt(new Point(205, 205))).containsExactly("large", "outside");
+	}
+}
@@ -1,10 +1,16 @@
 package com.baselet.element.sticking;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.baselet.control.basics.geom.PointDouble;
+import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.element.sticking.StickingPolygon.StickLine;
 
 public class StickablesTest {
@@ -93,6 +99,44 @@ public class StickablesTest {
 		assertPoint(-30, 50, change);
 	}
 
+	@Test
+	public void stickablePointIndex_sameResultAsCheckingAllStickables() throws Exception {
+		List<Stickable> stickables = Arrays.asList(
+				stickable(new Rectangle(0, 0, 100, 100), point(0, 50), point(100, 55)), // second point is on the left line
+				stickable(new Rectangle(150, 120, 500, 500), point(0, 0), point(400, 400)), // first point is 5px diagonal from the lower right corner
+				stickable(new Rectangle(1000, 1000, 10, 10), point(0, 0))); // far away
+		StickingPolygon polygon = new StickingPolygon(0, 0);
+		polygon.addRectangle(new Rectangle(100, 40, 46, 76));
+
+		StickableMap expected = Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, stickables);
+		StickableMap actual = Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(polygon, new StickablePointIndex(stickables));
+		assertEquals(2, expected.getStickables().size());
+		assertTrue(expected.equalsMap(actual));
+	}
+
+	private static Stickable stickable(final Rectangle rect, final PointDouble... points) {
+		return new Stickable() {
+			@Override
+			public Collection<PointDoubleIndexed> getStickablePoints() {
+				PointDoubleIndexed[] indexed = new PointDoubleIndexed[points.length];
+				for (int i = 0; i < points.length; i++) {
+					indexed[i] = new PointDoubleIndexed(i, points[i].getX(), points[i].getY());
+				}
+				return Arrays.asList(indexed);
+			}
+
+			@Override
+			public List<PointDoubleIndexed> movePoints(List<PointChange> changedStickPoints) {
+				throw new UnsupportedOperationException();
+			}
+
+			@Override
+			public Rectangle getRealRectangle() {
+				return rect;
+			}
+		};
+	}
+
 	private void assertPoint(int x, int y, PointChange change) {
 		assertEquals("correct x movement", x, change.getDiffX());
 		assertEquals("correct y movement", y, change.getDiffY());
@@ -0,0 +1,85 @@
+package com.baselet.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.baselet.util.SegmentedLRUCache.CacheStatistics;
+
+public class SegmentedLRUCacheTest {
+
+	@Test
+	public void hitsAndMissesAreCounted() {
+		SegmentedLRUCache<String, Integer> cache = new SegmentedLRUCache<String, Integer>("test", 100);
+		assertThat(cache.get("a")).isNull();
+		cache.put("a", 1);
+		assertThat(cache.get("a")).isEqualTo(1);
+		assertThat(cache.get("a")).isEqualTo(1);
+
+		CacheStatistics stats = cache.getStatistics();
+		assertThat(stats.getHits()).isEqualTo(2);
+		assertThat(stats.getMisses()).isEqualTo(1);
+		assertThat(stats.getHitRate()).isEqualTo(2.0 / 3);
+	}
+
+	@Test
+	public void sizeIsLimitedAndEvictionsAreCounted() {
+		SegmentedLRUCache<Integer, Integer> cache = new SegmentedLRUCache<Integer, Integer>("test", 160);
+		for (int i = 0; i < 10000; i++) {
+			cache.put(i, i);
+		}
+		assertThat(cache.size()).isLessThanOrEqualTo(160);
+		assertThat(cache.getStatistics().getEvictions()).isEqualTo(10000 - cache.size());
+	}
+
+	@Test
+	public void shrinkingEvictsEntriesImmediately() {
+		SegmentedLRUCache<Integer, Integer> cache = new SegmentedLRUCache<Integer, Integer>("test", 1600);
+		for (int i = 0; i < 1600; i++) {
+			cache.put(i, i);
+		}
+		int sizeBefore = cache.size();
+		cache.setMaxSize(160);
+		assertThat(cache.size()).isLessThanOrEqualTo(160);
+		assertThat(cache.getStatistics().getEvictions()).isEqualTo(sizeBefore - cache.size());
+	}
+
+	@Test
+	public void parallelAccessKeepsCacheConsistent() throws Exception {
+		final SegmentedLRUCache<Integer, Integer> cache = new SegmentedLRUCache<Integer, Integer>("test", 500);
+		final AtomicInteger wrongValues = new AtomicInteger();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 8; t++) {
+			final int offset = t;
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (int i = 0; i < 20000; i++) {
+						int key = (i * 7 + offset) % 2000;
+						Integer value = cache.get(key);
+						if (value == null) {
+							cache.put(key, key);
+						}
+						else if (value != key) {
+							wrongValues.incrementAndGet();
+						}
+					}
+				}
+			});
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(wrongValues.get()).isZero();
+		CacheStatistics stats = cache.getStatistics();
+		assertThat(stats.getHits() + stats.getMisses()).isEqualTo(8 * 20000);
+		assertThat(cache.size()).isLessThanOrEqualTo(500);
+	}
+}
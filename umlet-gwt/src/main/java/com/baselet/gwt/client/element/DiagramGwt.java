@@ -8,10 +8,12 @@ import java.util.List;
 
 import com.baselet.control.config.SharedConfig;
 import com.baselet.control.constants.SharedConstants;
+import com.baselet.element.GroupIndex;
 import com.baselet.element.NewGridElement;
 import com.baselet.element.interfaces.Diagram;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.relation.Relation;
+import com.baselet.element.spatial.GridElementIndex;
 import com.baselet.element.sticking.Stickable;
 import com.baselet.element.sticking.StickableMap;
 import com.baselet.element.sticking.Stickables;
@@ -36,6 +38,8 @@ public class DiagramGwt implements Diagram {
 
 	private String helpText;
 	private final List<GridElement> gridElements;
+	private GridElementIndex gridElementIndex; // built on first use, because the element list is filled directly while a diagram is parsed
+	private GroupIndex groupIndex; // built on first use (see gridElementIndex)
 	private int zoomLevel;
 
 	public DiagramGwt(List<GridElement> gridElements) {
@@ -100,6 +104,38 @@ public class DiagramGwt implements Diagram {
 		return list;
 	}
 
+	@Override
+	public GridElementIndex getGridElementIndex() {
+		if (gridElementIndex == null) {
+			gridElementIndex = new GridElementIndex();
+			gridElementIndex.rebuild(gridElements);
+		}
+		return gridElementIndex;
+	}
+
+	@Override
+	public void gridElementBoundsChanged(GridElement gridElement) {
+		if (gridElementIndex != null) {
+			gridElementIndex.update(gridElement);
+		}
+	}
+
+	@Override
+	public GroupIndex getGroupIndex() {
+		if (groupIndex == null) {
+			groupIndex = new GroupIndex();
+			groupIndex.rebuild(gridElements);
+		}
+		return groupIndex;
+	}
+
+	@Override
+	public void gridElementGroupChanged(GridElement gridElement) {
+		if (groupIndex != null) {
+			groupIndex.update(gridElement);
+		}
+	}
+
 	@Override
 	public int getZoomLevel() {
 		return zoomLevel;
@@ -107,10 +107,8 @@ public class DiagramXmlParser {
 					if (additionalAttrNode != null && additionalAttrNode.getFirstChild() != null) {
 						additionalPanelAttributes = additionalAttrNode.getFirstChild().getNodeValue();
 					}
-					GridElement gridElement = ElementFactoryGwt.create(id, rect, panelAttributes, additionalPanelAttributes, diagram);
 					double zoomFactor = diagram.getZoomLevel() / (double) SharedConstants.DEFAULT_GRID_SIZE;
-					((DrawHandlerGwt) gridElement.getComponent().getDrawHandler()).setZoomFactor(zoomFactor);
-					((DrawHandlerGwt) gridElement.getComponent().getMetaDrawHandler()).setZoomFactor(zoomFactor);
+					GridElement gridElement = ElementFactoryGwt.create(id, rect, panelAttributes, additionalPanelAttributes, diagram, zoomFactor);
 					diagram.getGridElements().add(gridElement);
 				} catch (Exception e) {
 					log.error("Element has invalid XML structure: " + element, e);
@@ -36,6 +36,8 @@ public class DrawHandlerGwt extends DrawHandler {
 
 	private double zoomFactor = SharedConstants.DEFAULT_GRID_SIZE / 10.0;
 
+	private static boolean lowDetailAllowed = true;
+
 	public DrawHandlerGwt(Context2dWrapper context2d, double scaling) {
 		ctx = context2d;
 		scalingFactor = scaling;
@@ -150,7 +152,8 @@ public class DrawHandlerGwt extends DrawHandler {
 	}
 
 	@Override
-	public void drawLines(final PointDouble... points) {
+	public void drawLines(final PointDouble... allPoints) {
+		final PointDouble[] points = simplifyIfLowDetail(allPoints);
 		if (points.length > 1) {
 			final Style styleAtDrawingCall = style.cloneFromMe();
 			addDrawable(new DrawFunction() {
@@ -199,6 +202,9 @@ public class DrawHandlerGwt extends DrawHandler {
 
 	@Override
 	public void printHelper(final StringStyle[] text, final PointDouble point, final AlignHorizontal align) {
+		if (printGreekedIfLowDetail(text, point, align)) {
+			return;
+		}
 		final Style styleAtDrawingCall = style.cloneFromMe();
 		addDrawable(new DrawFunction() {
 			@Override
@@ -381,6 +387,7 @@ public class DrawHandlerGwt extends DrawHandler {
 		}
 	}
 
+	@Override
 	public double getZoomFactor() {
 		return zoomFactor;
 	}
@@ -388,4 +395,16 @@ public class DrawHandlerGwt extends DrawHandler {
 	public void setZoomFactor(double zoomFactor) {
 		this.zoomFactor = zoomFactor;
 	}
+
+	@Override
+	public boolean isLowDetail() {
+		return lowDetailAllowed && super.isLowDetail();
+	}
+
+	/**
+	 * the level of detail is only reduced on the screen, therefore it's disabled while the elements are parsed for an export
+	 */
+	public static void setLowDetailAllowed(boolean lowDetailAllowed) {
+		DrawHandlerGwt.lowDetailAllowed = lowDetailAllowed;
+	}
 }
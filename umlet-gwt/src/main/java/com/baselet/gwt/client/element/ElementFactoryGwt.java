@@ -13,6 +13,13 @@ import com.baselet.element.sticking.StickableMap;
 public class ElementFactoryGwt extends ElementFactory {
 
 	public static GridElement create(ElementId id, Rectangle rect, String panelAttributes, String additionalPanelAttributes, final Diagram diagram) {
+		return create(id, rect, panelAttributes, additionalPanelAttributes, diagram, 1d);
+	}
+
+	/**
+	 * @param zoomFactor is set before the element is parsed, because the parsed model depends on it (e.g. the level of detail)
+	 */
+	public static GridElement create(ElementId id, Rectangle rect, String panelAttributes, String additionalPanelAttributes, final Diagram diagram, double zoomFactor) {
 		final NewGridElement element = createAssociatedGridElement(id);
 
 		DrawHandlerInterface handler = new DrawHandlerInterface() {
@@ -38,9 +45,26 @@ public class ElementFactoryGwt extends ElementFactory {
 			public StickableMap getStickableMap() {
 				return diagram.getStickables(element);
 			}
+
+			@Override
+			public void boundsChanged() {
+				if (diagram != null) {
+					diagram.gridElementBoundsChanged(element);
+				}
+			}
+
+			@Override
+			public void groupChanged() {
+				if (diagram != null) {
+					diagram.gridElementGroupChanged(element);
+				}
+			}
 		};
 
-		element.init(rect, panelAttributes, additionalPanelAttributes, new ComponentGwt(element), handler);
+		ComponentGwt component = new ComponentGwt(element);
+		((DrawHandlerGwt) component.getDrawHandler()).setZoomFactor(zoomFactor);
+		((DrawHandlerGwt) component.getMetaDrawHandler()).setZoomFactor(zoomFactor);
+		element.init(rect, panelAttributes, additionalPanelAttributes, component, handler);
 		element.setPanelAttributes(panelAttributes);
 		return element;
 	}
@@ -8,6 +8,7 @@ import com.baselet.diagram.draw.helper.theme.ThemeFactory;
 import com.baselet.element.GridElementUtils;
 import com.baselet.element.interfaces.Diagram;
 import com.baselet.gwt.client.base.Converter;
+import com.baselet.gwt.client.element.DrawHandlerGwt;
 import com.baselet.gwt.client.logging.CustomLogger;
 import com.baselet.gwt.client.logging.CustomLoggerFactory;
 import com.baselet.gwt.client.view.widgets.DownloadPopupPanel;
@@ -27,20 +28,25 @@ public class CanvasUtils {
 
 	public static void createPngCanvasDataUrl(Diagram diagram, double scaling, DownloadPopupPanel receiver, DownloadType type) {
 		ThemeFactory.THEMES currentTheme = ThemeFactory.getActiveThemeEnum();
-		ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
 		DrawCanvas pngCanvas = new DrawCanvas();
-		pngCanvas.setScaling(scaling);
-		// Calculate and set canvas width
-		Rectangle geRect = GridElementUtils.getGridElementsRectangle(diagram.getGridElements(), scaling);
-		geRect.addBorder(EXPORT_BORDER);
-		pngCanvas.clearAndSetSize(geRect.getWidth(), geRect.getHeight());
-		// Fill Canvas white
-		pngCanvas.getContext2d().setFillStyle(Converter.convert(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.WHITE)));
-		pngCanvas.getContext2d().fillRect(0, 0, pngCanvas.getWidth(), pngCanvas.getHeight());
-		// Draw Elements on Canvas and translate their position
-		pngCanvas.getContext2d().translate(-geRect.getX(), -geRect.getY());
-		pngCanvas.draw(false, diagram.getGridElementsByLayerLowestToHighest(), new SelectorNew(diagram)); // use a new selector which has nothing selected
-		ThemeFactory.changeTheme(currentTheme, null, true);
+		DrawHandlerGwt.setLowDetailAllowed(false); // the theme change parses the elements again
+		try {
+			ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
+			pngCanvas.setScaling(scaling);
+			// Calculate and set canvas width
+			Rectangle geRect = GridElementUtils.getGridElementsRectangle(diagram.getGridElements(), scaling);
+			geRect.addBorder(EXPORT_BORDER);
+			pngCanvas.clearAndSetSize(geRect.getWidth(), geRect.getHeight());
+			// Fill Canvas white
+			pngCanvas.getContext2d().setFillStyle(Converter.convert(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.WHITE)));
+			pngCanvas.getContext2d().fillRect(0, 0, pngCanvas.getWidth(), pngCanvas.getHeight());
+			// Draw Elements on Canvas and translate their position
+			pngCanvas.getContext2d().translate(-geRect.getX(), -geRect.getY());
+			pngCanvas.draw(false, diagram.getGridElementsByLayerLowestToHighest(), new SelectorNew(diagram)); // use a new selector which has nothing selected
+		} finally { // otherwise a failed export would leave the diagram without level of detail and in the export theme
+			DrawHandlerGwt.setLowDetailAllowed(true);
+			ThemeFactory.changeTheme(currentTheme, null, true);
+		}
 		String dataUrl = pngCanvas.toDataUrl("image/png");
 		pngCanvas.setScaling(1.0d); // to prevent that the scaling is displayed in the actual view since the same diagram items are referenced
 		receiver.onData(dataUrl, type);
@@ -48,17 +54,22 @@ public class CanvasUtils {
 
 	public static void createPdfCanvasDataUrl(Diagram diagram, DownloadPopupPanel receiver, DownloadType type) {
 		ThemeFactory.THEMES currentTheme = ThemeFactory.getActiveThemeEnum();
-		ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
-		// Calculate and set canvas width
-		Rectangle geRect = GridElementUtils.getGridElementsRectangle(diagram.getGridElements(), 1d);
-		geRect.addBorder(EXPORT_BORDER);
-		DrawCanvasPdf pdfCanvas = new DrawCanvasPdf(geRect.getWidth(), geRect.getHeight());
-		// Fill Canvas white
-		pdfCanvas.getContext2d().setFillStyle(Converter.convert(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.WHITE)));
-		// Draw Elements on Canvas and translate their position
-		pdfCanvas.getContext2d().translate(-geRect.getX(), -geRect.getY());
-		pdfCanvas.drawPdf(diagram.getGridElementsByLayerLowestToHighest(), receiver, type);
-		ThemeFactory.changeTheme(currentTheme, null, true);
+		DrawHandlerGwt.setLowDetailAllowed(false); // the theme change parses the elements again
+		try {
+			ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
+			// Calculate and set canvas width
+			Rectangle geRect = GridElementUtils.getGridElementsRectangle(diagram.getGridElements(), 1d);
+			geRect.addBorder(EXPORT_BORDER);
+			DrawCanvasPdf pdfCanvas = new DrawCanvasPdf(geRect.getWidth(), geRect.getHeight());
+			// Fill Canvas white
+			pdfCanvas.getContext2d().setFillStyle(Converter.convert(ThemeFactory.getCurrentTheme().getColor(Theme.PredefinedColors.WHITE)));
+			// Draw Elements on Canvas and translate their position
+			pdfCanvas.getContext2d().translate(-geRect.getX(), -geRect.getY());
+			pdfCanvas.drawPdf(diagram.getGridElementsByLayerLowestToHighest(), receiver, type);
+		} finally {
+			DrawHandlerGwt.setLowDetailAllowed(true);
+			ThemeFactory.changeTheme(currentTheme, null, true);
+		}
 	}
 
 	private static Canvas gridCanvas;
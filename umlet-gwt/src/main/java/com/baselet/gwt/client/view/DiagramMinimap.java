@@ -0,0 +1,233 @@
+package com.baselet.gwt.client.view;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.diagram.draw.helper.theme.Theme;
+import com.baselet.diagram.draw.helper.theme.ThemeChangeListener;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.element.minimap.MinimapModel;
+import com.baselet.element.minimap.MinimapShape;
+import com.baselet.gwt.client.base.Converter;
+import com.google.gwt.canvas.client.Canvas;
+import com.google.gwt.canvas.dom.client.Context2d;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.event.dom.client.MouseDownEvent;
+import com.google.gwt.event.dom.client.MouseDownHandler;
+import com.google.gwt.event.dom.client.MouseEvent;
+import com.google.gwt.event.dom.client.MouseMoveEvent;
+import com.google.gwt.event.dom.client.MouseMoveHandler;
+import com.google.gwt.event.dom.client.MouseOutEvent;
+import com.google.gwt.event.dom.client.MouseOutHandler;
+import com.google.gwt.event.dom.client.MouseUpEvent;
+import com.google.gwt.event.dom.client.MouseUpHandler;
+import com.google.gwt.user.client.ui.RequiresResize;
+import com.google.gwt.user.client.ui.SimplePanel;
+
+/**
+ * Overview of the whole diagram as a downsampled image; clicking or dragging in it scrolls the diagram.
+ * The elements are drawn as simple boxes (and relations as lines). After the diagram has been redrawn only the regions of the changed elements are painted again.
+ * The image is painted in small steps by an incremental command to keep the browser responsive, meanwhile the previous image is shown.
+ */
+public class DiagramMinimap extends SimplePanel implements RequiresResize, ThemeChangeListener {
+
+	private static final int SHAPES_PER_STEP = 500;
+
+	private final DrawPanel drawPanel;
+	private final MinimapModel model = new MinimapModel();
+
+	private final Canvas canvas = Canvas.createIfSupported(); // shows the image and the viewport
+	private Canvas image = Canvas.createIfSupported(); // the last finished image
+	private Canvas work = Canvas.createIfSupported(); // the image which is painted by the running rebuild
+	private double imageScale;
+
+	private boolean rebuildRunning;
+	private boolean changedDuringRebuild;
+	private boolean dragging;
+
+	/**
+	 * paints the changes in steps, the snapshots of the elements are taken in the first step
+	 */
+	private class Rebuild implements RepeatingCommand {
+		private MinimapModel.Update update; // null until the snapshots have been taken
+		private double scale;
+		private int nextShape;
+
+		@Override
+		public boolean execute() {
+			if (update == null && !start()) {
+				rebuildRunning = false;
+				return false;
+			}
+			Context2d ctx = work.getContext2d();
+			int end = Math.min(nextShape + SHAPES_PER_STEP, update.getShapes().size());
+			for (; nextShape < end; nextShape++) {
+				paintShape(ctx, update.getShapes().get(nextShape));
+			}
+			if (nextShape < update.getShapes().size()) {
+				return true;
+			}
+			ctx.restore();
+			Canvas finished = work;
+			work = image;
+			image = finished;
+			imageScale = scale;
+			drawViewport();
+			update = null;
+			if (changedDuringRebuild) {
+				return true; // start again with the new changes
+			}
+			rebuildRunning = false;
+			return false;
+		}
+
+		private boolean start() {
+			changedDuringRebuild = false;
+			int worldWidth = drawPanel.canvas.getWidth();
+			int worldHeight = drawPanel.canvas.getHeight();
+			if (getOffsetWidth() <= 0 || getOffsetHeight() <= 0 || worldWidth <= 0 || worldHeight <= 0) {
+				return false; // hidden or not initialized yet
+			}
+			scale = Math.min(1, Math.min((double) getOffsetWidth() / worldWidth, (double) getOffsetHeight() / worldHeight));
+			int width = (int) Math.ceil(worldWidth * scale);
+			int height = (int) Math.ceil(worldHeight * scale);
+			if (scale != imageScale || image.getCoordinateSpaceWidth() != width || image.getCoordinateSpaceHeight() != height) {
+				model.allElementsChanged();
+			}
+			model.detectChanges(drawPanel.getDiagram().getGridElements());
+			if (!model.hasChanges()) {
+				return false;
+			}
+			update = model.takeUpdate(drawPanel.getDiagram().getGridElements(), drawPanel.getDiagram().getGridElementIndex());
+			nextShape = 0;
+
+			work.setCoordinateSpaceWidth(width); // also clears the canvas
+			work.setCoordinateSpaceHeight(height);
+			Context2d ctx = work.getContext2d();
+			ctx.save();
+			if (!update.isFull()) {
+				ctx.drawImage(image.getCanvasElement(), 0, 0);
+				ctx.beginPath();
+				for (Rectangle r : update.getDirtyRegions()) {
+					double x = Math.floor(r.x * scale) - 1; // 1 pixel more for the outline and rounding
+					double y = Math.floor(r.y * scale) - 1;
+					double w = Math.ceil((r.x + r.width) * scale) + 2 - x;
+					double h = Math.ceil((r.y + r.height) * scale) + 2 - y;
+					ctx.clearRect(x, y, w, h);
+					ctx.rect(x, y, w, h);
+				}
+				ctx.clip();
+			}
+			ctx.scale(scale, scale);
+			ctx.setLineWidth(1 / scale); // 1 pixel in the image
+			return true;
+		}
+	}
+
+	public DiagramMinimap(DrawPanel drawPanel) {
+		this.drawPanel = drawPanel;
+		add(canvas);
+		canvas.addMouseDownHandler(new MouseDownHandler() {
+			@Override
+			public void onMouseDown(MouseDownEvent event) {
+				event.preventDefault(); // don't select text while dragging
+				dragging = true;
+				centerViewportAt(event);
+			}
+		});
+		canvas.addMouseMoveHandler(new MouseMoveHandler() {
+			@Override
+			public void onMouseMove(MouseMoveEvent event) {
+				if (dragging) {
+					centerViewportAt(event);
+				}
+			}
+		});
+		canvas.addMouseUpHandler(new MouseUpHandler() {
+			@Override
+			public void onMouseUp(MouseUpEvent event) {
+				dragging = false;
+			}
+		});
+		canvas.addMouseOutHandler(new MouseOutHandler() {
+			@Override
+			public void onMouseOut(MouseOutEvent event) {
+				dragging = false;
+			}
+		});
+		ThemeFactory.addListener(this);
+	}
+
+	/**
+	 * must be called after the diagram has been redrawn, the changed elements are detected by the rebuild
+	 */
+	public void diagramRedrawn() {
+		scheduleRebuild();
+		drawViewport();
+	}
+
+	@Override
+	public void onResize() {
+		scheduleRebuild();
+		drawViewport();
+	}
+
+	@Override
+	public void onThemeChange() {
+		model.allElementsChanged(); // the default colors have changed
+		scheduleRebuild();
+	}
+
+	private void scheduleRebuild() {
+		if (rebuildRunning) {
+			changedDuringRebuild = true;
+			return;
+		}
+		rebuildRunning = true;
+		Scheduler.get().scheduleIncremental(new Rebuild());
+	}
+
+	private static void paintShape(Context2d ctx, MinimapShape shape) {
+		ctx.setStrokeStyle(Converter.convert(shape.getForeground()));
+		if (shape.isLine()) {
+			ctx.beginPath();
+			ctx.moveTo(shape.getLineStart().getX(), shape.getLineStart().getY());
+			ctx.lineTo(shape.getLineEnd().getX(), shape.getLineEnd().getY());
+			ctx.stroke();
+			return;
+		}
+		Rectangle b = shape.getBounds();
+		if (shape.getBackground() != null) {
+			ctx.setFillStyle(Converter.convert(shape.getBackground()));
+			ctx.fillRect(b.x, b.y, b.width, b.height);
+		}
+		ctx.strokeRect(b.x, b.y, b.width, b.height);
+	}
+
+	/**
+	 * shows the last finished image and the visible part of the diagram, must be called whenever the diagram is scrolled
+	 */
+	public void drawViewport() {
+		canvas.setCoordinateSpaceWidth(getOffsetWidth()); // also clears the canvas
+		canvas.setCoordinateSpaceHeight(getOffsetHeight());
+		if (imageScale <= 0 || drawPanel.scrollPanel == null) {
+			return;
+		}
+		Context2d ctx = canvas.getContext2d();
+		ctx.drawImage(image.getCanvasElement(), 0, 0);
+		Rectangle visible = drawPanel.getVisibleBounds();
+		ctx.setStrokeStyle(Converter.convert(ThemeFactory.getCurrentTheme().getColor(Theme.ColorStyle.SELECTION_FG)));
+		ctx.strokeRect(visible.x * imageScale + 0.5, visible.y * imageScale + 0.5, visible.width * imageScale, visible.height * imageScale);
+	}
+
+	private void centerViewportAt(MouseEvent<?> event) {
+		if (imageScale <= 0 || drawPanel.scrollPanel == null) {
+			return;
+		}
+		Rectangle visible = drawPanel.getVisibleBounds();
+		int x = (int) (event.getRelativeX(canvas.getCanvasElement()) / imageScale) - visible.width / 2;
+		int y = (int) (event.getRelativeY(canvas.getCanvasElement()) / imageScale) - visible.height / 2;
+		drawPanel.scrollPanel.moveHorizontalScrollbar(x - visible.x); // the scroll panel keeps the position inside the diagram
+		drawPanel.scrollPanel.moveVerticalScrollbar(y - visible.y);
+		drawViewport();
+	}
+}
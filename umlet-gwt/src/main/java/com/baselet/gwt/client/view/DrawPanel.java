@@ -108,6 +108,8 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 
 	protected boolean insertingPreview = false;
 
+	private DiagramMinimap minimap;
+
 	@Override
 	public void setFocus(boolean focus) {
 		if (this.focus == focus) {
@@ -442,12 +444,19 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 			canvas.clearAndSetSize(canvas.getWidth(), canvas.getHeight());
 		}
 		canvas.draw(true, gridElements, selector);
+		if (minimap != null) {
+			minimap.diagramRedrawn();
+		}
+	}
+
+	public void setMinimap(DiagramMinimap minimap) {
+		this.minimap = minimap;
 	}
 
 	@Override
 	public GridElement getGridElementOnPosition(Point point) {
 		GridElement returnGe = null;
-		for (GridElement ge : diagram.getGridElementsByLayer(false)) { // get elements, highest layer first
+		for (GridElement ge : diagram.getGridElementIndex().getElementsAt(point)) { // get elements on the position, highest layer first
 			if (returnGe != null && returnGe.getLayer() > ge.getLayer()) {
 				break; // because the following elements have lower layers, break if a valid higher layered element has been found
 			}
@@ -483,6 +492,10 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 	@Override
 	public void addGridElements(List<GridElement> elements, boolean recalcSize) {
 		diagram.getGridElements().addAll(elements);
+		for (GridElement ge : elements) {
+			diagram.getGridElementIndex().add(ge);
+			diagram.getGroupIndex().add(ge);
+		}
 		realignElementsToGrid(diagram.getGridElements());
 		selector.selectOnly(elements);
 		redraw(recalcSize);
@@ -491,6 +504,10 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 	@Override
 	public void removeGridElements(List<GridElement> elements) {
 		diagram.getGridElements().removeAll(elements);
+		for (GridElement ge : elements) {
+			diagram.getGridElementIndex().remove(ge);
+			diagram.getGroupIndex().remove(ge);
+		}
 		selector.deselect(elements);
 	}
 
@@ -523,7 +540,7 @@ public abstract class DrawPanel extends SimplePanel implements CommandTarget, Ha
 			ge.dragEnd();
 		}
 		if (selector.isLassoActive()) {
-			selector.selectElementsInsideLasso(getDiagram().getGridElements());
+			selector.selectElementsInsideLasso(getDiagram().getGridElementIndex().getElementsInside(selector.getLassoRectangle()));
 		}
 		redraw(true);
 	}
@@ -44,6 +44,8 @@ import com.google.gwt.event.dom.client.DomEvent;
 import com.google.gwt.event.dom.client.FocusEvent;
 import com.google.gwt.event.dom.client.FocusHandler;
 import com.google.gwt.event.dom.client.MouseWheelEvent;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.resources.client.CssResource;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
@@ -124,12 +126,17 @@ public class MainView extends Composite implements ThemeChangeListener {
 	@UiField
 	SimpleLayoutPanel palettePanelWrapper;
 
+	@UiField
+	SimpleLayoutPanel minimapWrapper;
+
 	public DrawPanelDiagram diagramPanel;
 	private final AutoResizeScrollDropPanel diagramScrollPanel;
 
 	public DrawPanelPalette palettePanel;
 	private final AutoResizeScrollDropPanel paletteScrollPanel;
 
+	private final DiagramMinimap minimap;
+
 	private final FileUploadExt hiddenUploadButton = new FileUploadExt();
 	private final FileOpenHandler handler;
 
@@ -215,6 +222,16 @@ public class MainView extends Composite implements ThemeChangeListener {
 
 		palettePanelWrapper.add(paletteScrollPanel);
 
+		minimap = new DiagramMinimap(diagramPanel);
+		diagramPanel.setMinimap(minimap);
+		minimapWrapper.add(minimap);
+		diagramScrollPanel.addScrollHandler(new ScrollHandler() {
+			@Override
+			public void onScroll(ScrollEvent event) {
+				minimap.drawViewport();
+			}
+		});
+
 		RootLayoutPanel.get().add(hiddenUploadButton);
 		hiddenUploadButton.setVisible(false);
 		hiddenUploadButton.addChangeHandler(new ChangeHandler() {
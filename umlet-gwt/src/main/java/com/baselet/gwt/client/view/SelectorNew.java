@@ -8,7 +8,9 @@ import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.control.enums.LineType;
 import com.baselet.diagram.draw.helper.theme.Theme;
 import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.element.GroupIndex;
 import com.baselet.element.Selector;
+import com.baselet.element.interfaces.Diagram;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.interfaces.HasGridElements;
 import com.baselet.gwt.client.element.DrawHandlerGwt;
@@ -38,9 +40,8 @@ public class SelectorNew extends Selector {
 		this.gridElementProvider = gridElementProvider;
 	}
 
-	private List<GridElement> selectedElements = new ArrayList<GridElement>();
-
 	public GridElement getSingleSelected() {
+		List<GridElement> selectedElements = getSelectedElements();
 		if (selectedElements.size() == 1) {
 			return selectedElements.get(0);
 		}
@@ -99,13 +100,16 @@ public class SelectorNew extends Selector {
 	}
 
 	@Override
-	public List<GridElement> getSelectedElements() {
-		return selectedElements;
+	public List<GridElement> getAllElements() {
+		return gridElementProvider.getGridElements();
 	}
 
 	@Override
-	public List<GridElement> getAllElements() {
-		return gridElementProvider.getGridElements();
+	public GroupIndex getGroupIndex() {
+		if (gridElementProvider instanceof Diagram) {
+			return ((Diagram) gridElementProvider).getGroupIndex();
+		}
+		return super.getGroupIndex();
 	}
 
 	public boolean isLassoActive() {
@@ -0,0 +1,151 @@
+package com.baselet.standalone;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.baselet.diagram.draw.TextSplitter;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory.THEMES;
+import com.baselet.util.SegmentedLRUCache.CacheStatistics;
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
+
+/**
+ * Converts a batch of diagram files using a fixed pool of worker threads.
+ * Every file is loaded into its own DiagramHandler, therefore independent diagrams can be exported at the same time.
+ * A failing file doesn't abort the batch, all failures are collected and printed in the final summary.
+ */
+public class BatchConverter {
+
+	private static final Logger log = LoggerFactory.getLogger(BatchConverter.class);
+
+	private final String outputFormat;
+	private final String outputParam;
+	private final int threads;
+
+	public BatchConverter(String outputFormat, String outputParam, int threads) {
+		this.outputFormat = outputFormat;
+		this.outputParam = outputParam;
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Converts all files and prints a summary with the throughput and the failed files
+	 * @return the number of files which couldn't be converted
+	 */
+	public int convert(List<File> files) {
+		if (files.isEmpty()) {
+			return 0;
+		}
+		int poolSize = Math.min(threads, files.size());
+		if (poolSize > 1 && !hasDistinctOutputNames(files)) {
+			log.info("Several input files are converted to the same output file, therefore they are converted sequentially");
+			poolSize = 1;
+		}
+
+		// batch exports are always drawn with the light theme; it must be set before the workers start because the theme is shared by all of them
+		ThemeFactory.changeTheme(THEMES.LIGHT, null, false);
+
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(poolSize, new ConverterThreadFactory());
+		List<ConvertTask> tasks = new ArrayList<ConvertTask>();
+		try {
+			for (File file : files) {
+				tasks.add(new ConvertTask(file, executor));
+			}
+			for (ConvertTask task : tasks) {
+				task.awaitFinish();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		List<ConvertTask> failedTasks = new ArrayList<ConvertTask>();
+		for (ConvertTask task : tasks) {
+			if (task.error != null) {
+				failedTasks.add(task);
+			}
+		}
+		printSummary(tasks.size(), failedTasks, seconds, poolSize);
+		return failedTasks.size();
+	}
+
+	private boolean hasDistinctOutputNames(List<File> files) {
+		Set<String> outputNames = new HashSet<String>();
+		for (File file : files) {
+			if (!outputNames.add(MainStandalone.determineOutputName(file, outputFormat, outputParam))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void printSummary(int total, List<ConvertTask> failedTasks, double seconds, int poolSize) {
+		int converted = total - failedTasks.size();
+		double filesPerSecond = seconds > 0 ? converted / seconds : converted;
+		System.out.println(String.format(Locale.ENGLISH, "Converted %d of %d files in %.2fs (%.1f files/s, %d threads), %d failed", converted, total, seconds, filesPerSecond, poolSize, failedTasks.size()));
+		for (ConvertTask task : failedTasks) {
+			System.out.println("  FAILED: \"" + task.inputFile.getAbsolutePath() + "\": " + task.error);
+		}
+		for (CacheStatistics cacheStatistics : TextSplitter.getCacheStatistics()) {
+			log.debug("TextSplitter " + cacheStatistics);
+		}
+	}
+
+	/**
+	 * Encapsulates the conversion of a single file. Any exception is caught and stored so the other files are not affected
+	 */
+	private class ConvertTask {
+		private final File inputFile;
+		private final Future<?> future;
+		private String error;
+
+		public ConvertTask(File inputFile, ExecutorService executor) {
+			this.inputFile = inputFile;
+			future = executor.submit(new Callable<Void>() {
+				@Override
+				public Void call() throws Exception {
+					log.info("Converting file " + ConvertTask.this.inputFile.getAbsolutePath());
+					MainStandalone.doConvert(ConvertTask.this.inputFile, outputFormat, outputParam);
+					return null;
+				}
+			});
+		}
+
+		void awaitFinish() {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause() != null ? e.getCause() : e;
+				log.error("Cannot convert " + inputFile.getAbsolutePath(), cause);
+				error = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				error = "interrupted";
+			}
+		}
+	}
+
+	private static class ConverterThreadFactory implements ThreadFactory {
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Converter-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -9,6 +9,7 @@ import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Timer;
 
@@ -20,6 +21,7 @@ import com.baselet.util.logging.LoggerFactory;
 
 import com.baselet.control.Main;
 import com.baselet.control.config.Config;
+import com.baselet.control.config.ConfigClassGen;
 import com.baselet.control.config.handler.ConfigHandler;
 import com.baselet.control.enums.Program;
 import com.baselet.control.enums.RuntimeType;
@@ -41,15 +43,29 @@ public class MainStandalone {
 		// #369 Before anything else make sure that OSX handles cmd+Q as expected (see #369 and https://stackoverflow.com/questions/2061194/swing-on-osx-how-to-trap-command-q/2061318#2061318)
 		System.setProperty("apple.eawt.quitStrategy", "CLOSE_ALL_WINDOWS");
 
+		int exitStatus = run(args);
+		if (exitStatus != 0) {
+			System.exit(exitStatus); // scripts must be able to detect that files have not been converted
+		}
+	}
+
+	/**
+	 * handles the command line arguments like {@link #main(String[])} but returns the exit status instead of terminating the JVM
+	 * @return 0 on success, 1 if at least one file couldn't be converted
+	 */
+	public static int run(final String[] args) {
 		if (args.length != 0) {
 			String actionArg = null;
 			String formatArg = null;
 			String filenameArg = null;
 			String outputArg = null;
+			String packagesArg = null;
+			String visibilityArg = null;
+			int threads = Runtime.getRuntime().availableProcessors();
 			for (String arg : args) {
 				if (arg.equals("-help") || arg.equals("-usage")) {
 					initAndPrintUsage();
-					return;
+					return 0;
 				}
 				else if (arg.startsWith("-action=")) {
 					actionArg = arg.substring(8);
@@ -63,6 +79,20 @@ public class MainStandalone {
 				else if (arg.startsWith("-output=")) {
 					outputArg = arg.substring(8);
 				}
+				else if (arg.startsWith("-packages=")) {
+					packagesArg = arg.substring(10);
+				}
+				else if (arg.startsWith("-visibility=")) {
+					visibilityArg = arg.substring(12);
+				}
+				else if (arg.startsWith("-threads=")) {
+					try {
+						threads = Integer.parseInt(arg.substring(9));
+					} catch (NumberFormatException e) {
+						initAndPrintUsage();
+						return 0;
+					}
+				}
 			}
 			// Program started by double-click on diagram file (either diagram filename is passed without prefix or with -filename=... prefix)
 			if (actionArg == null && formatArg == null && (filenameArg != null || args.length == 1)) {
@@ -86,9 +116,9 @@ public class MainStandalone {
 					FileFilter fileFilter = new WildcardFileFilter(localName);
 					File[] files = new File(dir).listFiles(fileFilter);
 					if (files != null) {
-						for (File file : files) {
-							log.info("Converting file " + file.getAbsolutePath());
-							doConvert(file, formatArg, outputArg);
+						int failed = new BatchConverter(formatArg, outputArg, threads).convert(Arrays.asList(files));
+						if (failed > 0) {
+							return 1;
 						}
 					}
 				}
@@ -99,6 +129,12 @@ public class MainStandalone {
 			else if (actionArg != null && filenameArg != null && outputArg != null) {
 				if (actionArg.equals("generate")) {
 					initAll(RuntimeType.BATCH);
+					if (packagesArg != null) {
+						ConfigClassGen.getInstance().setGenerateClassPackageFilter(packagesArg);
+					}
+					if (visibilityArg != null) {
+						ConfigClassGen.getInstance().setGenerateClassPublicOnly(visibilityArg.equals("public"));
+					}
 
 					String[] outputPathNameSplitted = outputArg.split("(/|\\\\)");
 					String outputFileName = outputPathNameSplitted[outputPathNameSplitted.length - 1];
@@ -147,6 +183,7 @@ public class MainStandalone {
 			alreadyRunningChecker(true); // start checker
 			startStandalone(null);
 		}
+		return 0;
 	}
 
 	private static void initAndPrintUsage() {
@@ -173,21 +210,19 @@ public class MainStandalone {
 		}
 	}
 
-	static void doConvert(File inputFile, String outputFormat, String outputParam) {
+	/**
+	 * Converts a single file. Exceptions are passed to the caller to let the {@link BatchConverter} report them per file
+	 */
+	static void doConvert(File inputFile, String outputFormat, String outputParam) throws IOException {
 		if (!inputFile.exists()) {
-			printToConsole("File '" + inputFile.getAbsolutePath() + "' not found.");
-			return;
+			throw new FileNotFoundException("File '" + inputFile.getAbsolutePath() + "' not found.");
 		}
 		DiagramHandler handler = new DiagramHandler(inputFile);
 
 		String outputFileName = determineOutputName(inputFile, outputFormat, outputParam);
 
-		try {
-			handler.getFileHandler().doExportAs(outputFormat, new File(outputFileName));
-			printToConsole("Conversion finished: \"" + inputFile.getAbsolutePath() + "\" to \"" + outputFileName + "\"");
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
+		handler.getFileHandler().doExportAs(outputFormat, new File(outputFileName));
+		printToConsole("Conversion finished: \"" + inputFile.getAbsolutePath() + "\" to \"" + outputFileName + "\"");
 	}
 
 	static void doGenerate(List<File> inputFiles, File outputFile) {
@@ -234,7 +269,7 @@ public class MainStandalone {
 		System.out.println(text);
 	}
 
-	private static String determineOutputName(File inputFile, String outputFormat, String outputParam) {
+	static String determineOutputName(File inputFile, String outputFormat, String outputParam) {
 		String outputFileName;
 		if (outputParam == null) {
 			outputFileName = inputFile.getAbsolutePath();
@@ -318,8 +353,8 @@ public class MainStandalone {
 		for (String format : ImageIO.getWriterFileSuffixes()) {
 			formatBuilder.append("|").append(format);
 		}
-		printToConsole("USAGE FOR CONVERTING: -action=convert -format=(" + formatBuilder.toString() + ") -filename=inputfile." + Program.getInstance().getExtension() + " [-output=outputfile[.extension]]");
-		printToConsole("USAGE FOR GENERATING: -action=generate -filename=inputfile.java[,*.java] -output=outputfile." + Program.getInstance().getExtension());
+		printToConsole("USAGE FOR CONVERTING: -action=convert -format=(" + formatBuilder.toString() + ") -filename=inputfile." + Program.getInstance().getExtension() + " [-output=outputfile[.extension]] [-threads=number_of_parallel_conversions]");
+		printToConsole("USAGE FOR GENERATING: -action=generate -filename=(inputfile.java|inputfile.class|library.jar|directory)[,*.java] -output=outputfile." + Program.getInstance().getExtension() + " [-packages=com.example.**[,other.package]] [-visibility=(public|all)]");
 	}
 
 }
@@ -212,6 +212,9 @@ public class StandaloneGUI extends BaseGUI {
 	@Override
 	public void diagramSelected(DiagramHandler handler) {
 		updateGrayedOutMenuItems(handler);
+		if (guiBuilder.getMinimap() != null) { // palettes are also selected, but the minimap always shows the diagram of the selected tab
+			guiBuilder.getMinimap().setDrawPanel(getCurrentDiagram());
+		}
 	}
 
 	@Override
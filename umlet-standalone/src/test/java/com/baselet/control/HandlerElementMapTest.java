@@ -0,0 +1,69 @@
+package com.baselet.control;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.standalone.MainStandalone;
+
+/**
+ * Checks that the registry neither keeps the elements nor their handlers alive (e.g. during a long running batch conversion)
+ */
+public class HandlerElementMapTest {
+
+	private static final int MAX_GC_ROUNDS = 20;
+
+	@BeforeClass
+	public static void beforeClass() {
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@Test
+	public void elementIsReleasedIfItIsNotReferencedAnymore() {
+		DiagramHandler handler = new DiagramHandler(null);
+		GridElement element = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 100, 50), "Class", "", handler);
+		assertSame(handler, HandlerElementMap.getHandlerForElement(element));
+		int registered = HandlerElementMap.size();
+
+		WeakReference<GridElement> reference = new WeakReference<GridElement>(element);
+		element = null;
+		awaitCollection(reference);
+
+		assertNull("the registry must not keep the element alive", reference.get());
+		assertTrue("the stale entry must be removed", HandlerElementMap.size() < registered);
+	}
+
+	@Test
+	public void handlerIsReleasedWithItsElements() {
+		DiagramHandler handler = new DiagramHandler(null);
+		GridElement element = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 100, 50), "Class", "", handler);
+		handler.getDrawPanel().addElement(element); // the handler references the element, therefore the registry must not reference the handler strongly
+
+		WeakReference<DiagramHandler> reference = new WeakReference<DiagramHandler>(handler);
+		handler = null;
+		element = null;
+		awaitCollection(reference);
+
+		assertNull("the registry must not keep the handler alive", reference.get());
+	}
+
+	/**
+	 * System.gc() is only a hint, therefore it's called until the otherwise unreachable referent has been collected
+	 */
+	private static void awaitCollection(WeakReference<?> reference) {
+		for (int i = 0; i < MAX_GC_ROUNDS && reference.get() != null; i++) {
+			System.gc();
+		}
+	}
+}
@@ -0,0 +1,200 @@
+package com.baselet.element;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.standalone.MainStandalone;
+
+/**
+ * Checks the memory budget of the cache and that the images are removed whenever they become invalid or their elements are not painted anymore.
+ * Batch tests have no screen, therefore the graphics of a screen is mocked.
+ */
+public class ElementImageCacheTest {
+
+	private static final int SIZE = 200; // one image has 160 KB
+	private static final long IMAGE_BYTES = SIZE * SIZE * 4L;
+
+	private final ElementImageCache cache = ElementImageCache.getInstance();
+	private int oldCacheSize;
+	private DiagramHandler handler;
+	private Graphics2D screen;
+
+	@BeforeClass
+	public static void beforeClass() {
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@Before
+	public void before() {
+		oldCacheSize = Config.getInstance().getElementImageCacheSize();
+		Config.getInstance().setElementImageCacheSize(1); // 1 MB, therefore 6 images fit
+		cache.clear();
+		handler = new DiagramHandler(null);
+		screen = mockScreenGraphics();
+	}
+
+	@After
+	public void after() {
+		cache.clear();
+		Config.getInstance().setElementImageCacheSize(oldCacheSize);
+	}
+
+	@Test
+	public void leastRecentlyPaintedImagesAreEvictedAtTheBudget() {
+		List<ComponentSwing> components = new ArrayList<ComponentSwing>();
+		for (int i = 0; i < 6; i++) {
+			components.add(paint(createElement(i)));
+		}
+		assertThat(cache.getUsedBytes()).isEqualTo(6 * IMAGE_BYTES);
+
+		paint(components.get(0)); // now the second one is the least recently painted
+		ComponentSwing seventh = paint(createElement(6));
+
+		assertThat(cache.getUsedBytes()).isEqualTo(6 * IMAGE_BYTES);
+		assertThat(isCached(components.get(1))).isFalse();
+		assertThat(isCached(components.get(0))).isTrue();
+		assertThat(isCached(seventh)).isTrue();
+	}
+
+	@Test
+	public void elementsLargerThanAQuarterOfTheBudgetAreNotCached() {
+		NewGridElement huge = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 300, 300), "Huge", "", handler);
+		assertThat(cache.paint(component(huge), screen, false, handler.getGridSize())).isFalse();
+		assertThat(cache.getUsedBytes()).isZero();
+	}
+
+	@Test
+	public void imageIsRemovedOnModelUpdate() {
+		NewGridElement e = createElement(0);
+		paint(component(e));
+
+		e.setPanelAttributes("Changed"); // updates the model
+		assertThat(isCached(component(e))).isFalse();
+		assertThat(cache.getUsedBytes()).isZero();
+	}
+
+	@Test
+	public void imageIsRemovedOnHandlerChange() {
+		NewGridElement e = createElement(0);
+		paint(component(e));
+
+		component(e).setHandler(new DiagramHandler(null)); // e.g. the element is pasted into another diagram with another zoom level
+		assertThat(isCached(component(e))).isFalse();
+		assertThat(cache.getUsedBytes()).isZero();
+	}
+
+	@Test
+	public void imageIsRemovedWithItsElement() {
+		NewGridElement removed = createElement(0);
+		NewGridElement kept = createElement(1);
+		handler.getDrawPanel().addElement(removed);
+		handler.getDrawPanel().addElement(kept);
+		paint(component(removed));
+		paint(component(kept));
+
+		handler.getDrawPanel().removeElement(removed);
+		assertThat(isCached(component(removed))).isFalse();
+		assertThat(isCached(component(kept))).isTrue();
+		assertThat(cache.getUsedBytes()).isEqualTo(IMAGE_BYTES);
+	}
+
+	@Test
+	public void imagesArePurgedWhenAllElementsAreRemoved() {
+		for (int i = 0; i < 3; i++) {
+			NewGridElement e = createElement(i);
+			handler.getDrawPanel().addElement(e);
+			paint(component(e));
+		}
+		handler.getDrawPanel().removeAllElements();
+		assertThat(cache.getUsedBytes()).isZero();
+	}
+
+	@Test
+	public void imagesOfAClosedDiagramArePurged() {
+		List<GridElement> elements = new ArrayList<GridElement>();
+		for (int i = 0; i < 3; i++) {
+			NewGridElement e = createElement(i);
+			elements.add(e);
+			paint(component(e));
+		}
+		ComponentSwing otherDiagram = paint(createElement(3));
+
+		cache.removeAll(elements); // called by DiagramHandler.doClose() with the elements of the closed diagram
+		assertThat(cache.getUsedBytes()).isEqualTo(IMAGE_BYTES);
+		assertThat(isCached(otherDiagram)).isTrue();
+		for (GridElement e : elements) {
+			assertThat(isCached(component(e))).isFalse();
+		}
+	}
+
+	@Test
+	public void imageIsRedrawnIfTheSelectionChanges() {
+		ComponentSwing c = paint(createElement(0));
+		assertThat(cache.paintIfCached(c, screen, true, handler.getGridSize())).isFalse();
+		assertThat(cache.paint(c, screen, true, handler.getGridSize())).isTrue();
+		assertThat(cache.getUsedBytes()).isEqualTo(IMAGE_BYTES); // the image of the unselected element has been replaced
+	}
+
+	private NewGridElement createElement(int i) {
+		return ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, i * SIZE, SIZE, SIZE), "Class" + i, "", handler);
+	}
+
+	private ComponentSwing paint(NewGridElement e) {
+		return paint(component(e));
+	}
+
+	private ComponentSwing paint(ComponentSwing c) {
+		assertThat(cache.paint(c, screen, false, handler.getGridSize())).isTrue();
+		return c;
+	}
+
+	private boolean isCached(ComponentSwing c) {
+		return cache.paintIfCached(c, screen, false, handler.getGridSize());
+	}
+
+	private static ComponentSwing component(GridElement e) {
+		return (ComponentSwing) e.getComponent();
+	}
+
+	private static Graphics2D mockScreenGraphics() {
+		GraphicsDevice device = mock(GraphicsDevice.class);
+		when(device.getType()).thenReturn(GraphicsDevice.TYPE_RASTER_SCREEN);
+		GraphicsConfiguration gc = mock(GraphicsConfiguration.class);
+		when(gc.getDevice()).thenReturn(device);
+		when(gc.createCompatibleImage(anyInt(), anyInt(), anyInt())).thenAnswer(new Answer<BufferedImage>() {
+			@Override
+			public BufferedImage answer(InvocationOnMock invocation) {
+				return new BufferedImage((Integer) invocation.getArgument(0), (Integer) invocation.getArgument(1), BufferedImage.TYPE_INT_ARGB);
+			}
+		});
+		Graphics2D g = mock(Graphics2D.class);
+		when(g.getDeviceConfiguration()).thenReturn(gc);
+		when(g.getTransform()).thenReturn(new AffineTransform());
+		when(g.getRenderingHints()).thenReturn(new RenderingHints(null));
+		return g;
+	}
+}
@@ -0,0 +1,70 @@
+package com.baselet.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URISyntaxException;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.io.Files;
+
+/**
+ * Converts the same diagram many times in one JVM (like a long running batch conversion) and checks that the retained heap doesn't grow with the number of conversions.
+ * That the converted diagrams are released by the element to handler registry is checked by HandlerElementMapTest.
+ */
+public class BatchConvertSoakTest {
+
+	private static final int WARMUP_CONVERSIONS = 10;
+	private static final int CONVERSIONS = 60;
+	private static final long MAX_HEAP_GROWTH = 16 * 1024 * 1024; // a leaked diagram retains several MB, therefore the bound is exceeded long before CONVERSIONS leaked diagrams
+	private static final int GC_ROUNDS = 3;
+
+	private static String TEST_FILE_LOCATION;
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+	@BeforeClass
+	public static void beforeClass() throws URISyntaxException {
+		TEST_FILE_LOCATION = BatchConvertSoakTest.class.getProtectionDomain().getCodeSource().getLocation().toURI().getSchemeSpecificPart() + BatchConvertSoakTest.class.getCanonicalName().replace(".", "/").replace(BatchConvertSoakTest.class.getSimpleName(), "");
+	}
+
+	@Test
+	public void repeatedConversions_retainedHeapStaysFlat() throws Exception {
+		File input = tmpDir.newFile("soak.uxf");
+		Files.copy(new File(TEST_FILE_LOCATION + "in_newAllInOne.uxf"), input);
+		String output = tmpDir.getRoot().toURI().getSchemeSpecificPart() + "soak.svg";
+
+		convert(input, output, WARMUP_CONVERSIONS); // initializes the program and fills the caches
+		long heapAfterWarmup = retainedHeap();
+
+		convert(input, output, CONVERSIONS);
+		long heapAfterSoak = retainedHeap();
+
+		assertTrue("The retained heap must not grow. After warmup: " + heapAfterWarmup + " bytes, after " + CONVERSIONS + " conversions: " + heapAfterSoak + " bytes", heapAfterSoak - heapAfterWarmup < MAX_HEAP_GROWTH);
+	}
+
+	private void convert(File input, String output, int times) {
+		for (int i = 0; i < times; i++) {
+			assertEquals(0, MainStandalone.run(new String[] { "-action=convert", "-format=svg", "-filename=" + input, "-output=" + output }));
+		}
+	}
+
+	/**
+	 * the smallest used heap of a few garbage collections (System.gc() is only a hint, the bound is large enough to tolerate garbage which has not been collected)
+	 */
+	private long retainedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < GC_ROUNDS; i++) {
+			System.gc();
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+}
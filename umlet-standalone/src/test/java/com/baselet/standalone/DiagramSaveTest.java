@@ -0,0 +1,76 @@
+package com.baselet.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.io.DiagramXmlWriter;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+import com.google.common.io.Files;
+
+/**
+ * Saves diagrams with the streaming writer and checks that opening the saved file results in the same elements
+ */
+public class DiagramSaveTest {
+
+	private static String TEST_FILE_LOCATION;
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+	@BeforeClass
+	public static void beforeClass() throws URISyntaxException {
+		TEST_FILE_LOCATION = DiagramSaveTest.class.getProtectionDomain().getCodeSource().getLocation().toURI().getSchemeSpecificPart() + DiagramSaveTest.class.getCanonicalName().replace(".", "/").replace(DiagramSaveTest.class.getSimpleName(), "");
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@Test
+	public void savedDiagramsAreEqualAfterOpening() throws Exception {
+		for (String name : new String[] { "in_newAllInOne.uxf", "in_newCustomElement.uxf", "in_diagramFontSizeAndFamily.uxf" }) {
+			DiagramHandler original = new DiagramHandler(new File(TEST_FILE_LOCATION + name));
+			File saved = tmpDir.newFile("saved_" + name);
+			DiagramXmlWriter.writeToFile(original, saved);
+			assertEquals(name, describe(original), describe(new DiagramHandler(saved)));
+		}
+	}
+
+	@Test
+	public void specialCharactersAreEscaped() throws Exception {
+		DiagramHandler original = new DiagramHandler(null);
+		original.getDrawPanel().addElement(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(10, 20, 100, 50), "a < b && c > d\n\"quoted\" 'single'\n\ttabbed\näöü € 😀", "", original));
+		File saved = tmpDir.newFile("special.uxf");
+		DiagramXmlWriter.writeToFile(original, saved);
+		assertEquals(describe(original), describe(new DiagramHandler(saved)));
+	}
+
+	@Test
+	public void existingFileIsReplacedWithoutLeftovers() throws Exception {
+		File target = tmpDir.newFile("target.uxf");
+		Files.write("old content".getBytes("UTF-8"), target);
+		DiagramXmlWriter.writeToFile(new DiagramHandler(new File(TEST_FILE_LOCATION + "in_newAllInOne.uxf")), target);
+		assertTrue(new String(Files.toByteArray(target), "UTF-8").startsWith("<?xml"));
+		assertEquals("only the target must remain in the directory", 1, tmpDir.getRoot().list().length);
+	}
+
+	private String describe(DiagramHandler handler) {
+		List<String> elements = new ArrayList<String>();
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			elements.add(e.getClass().getSimpleName() + " " + e.getRectangle() + " " + e.getPanelAttributes() + " " + e.getAdditionalAttributes());
+		}
+		return handler.getGridSize() + " " + elements;
+	}
+}
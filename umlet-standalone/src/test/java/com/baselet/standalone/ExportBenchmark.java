@@ -0,0 +1,67 @@
+package com.baselet.standalone;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.io.OutputHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Measures the export time of a large diagram which is zoomed to a non-default gridsize and checks that the export doesn't change the live elements.
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of elements, number of iterations)
+ */
+public class ExportBenchmark {
+
+	private static final String[] FORMATS = { "png", "svg", "pdf" };
+
+	public static void main(String[] args) throws Exception {
+		int elements = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		DiagramHandler handler = new DiagramHandler(null);
+		for (int i = 0; i < elements; i++) {
+			int x = i % 60 * 200;
+			int y = i / 60 * 150;
+			handler.getDrawPanel().addElement(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(x, y, 160, 100), "Class" + i + "\n--\n-attribute: int\n--\n+method(): void", "", handler));
+		}
+		handler.setGridAndZoom(15, false);
+		List<Rectangle> boundsBefore = getBounds(handler);
+
+		for (String format : FORMATS) {
+			export(handler, format); // warmup
+			long start = System.nanoTime();
+			int size = 0;
+			for (int i = 0; i < iterations; i++) {
+				size = export(handler, format);
+			}
+			double ms = (System.nanoTime() - start) / 1e6 / iterations;
+			System.out.println(String.format(Locale.ENGLISH, "%-4s %d elements: %8.1f ms/export (%d bytes)", format, elements, ms, size));
+		}
+
+		if (!boundsBefore.equals(getBounds(handler)) || handler.getGridSize() != 15) {
+			throw new IllegalStateException("the export has changed the live diagram");
+		}
+	}
+
+	private static int export(DiagramHandler handler, String format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		OutputHandler.createToStream(format, out, handler);
+		return out.size();
+	}
+
+	private static List<Rectangle> getBounds(DiagramHandler handler) {
+		List<Rectangle> bounds = new ArrayList<Rectangle>();
+		for (GridElement ge : handler.getDrawPanel().getGridElements()) {
+			bounds.add(ge.getRectangle());
+		}
+		return bounds;
+	}
+}
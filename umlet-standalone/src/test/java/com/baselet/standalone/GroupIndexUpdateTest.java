@@ -0,0 +1,86 @@
+package com.baselet.standalone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.GroupIndex;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.old.OldGridElement;
+import com.baselet.element.old.element.Note;
+
+/**
+ * Checks that the group index of a diagram follows the group changes of new elements (via ElementUtils.groupChanged()) and old elements (via OldGridElement.setPanelAttributes())
+ */
+public class GroupIndexUpdateTest {
+
+	private DiagramHandler handler;
+	private GroupIndex index;
+
+	@BeforeClass
+	public static void beforeClass() {
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@Before
+	public void createDiagram() {
+		handler = new DiagramHandler(null);
+		index = handler.getDrawPanel().getGroupIndex();
+	}
+
+	@Test
+	public void newElementIsRegroupedWhenItsPanelAttributesChange() {
+		NewGridElement a = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 100, 50), "A\ngroup=1", "", handler);
+		NewGridElement b = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 100, 100, 50), "B\ngroup=1", "", handler);
+		handler.getDrawPanel().addElement(a);
+		handler.getDrawPanel().addElement(b);
+		assertThat(index.getElementsInGroup("1")).containsExactly(a, b);
+
+		a.setPanelAttributes("A\ngroup=2");
+		assertThat(index.getElementsInGroup("1")).containsExactly(b);
+		assertThat(index.getElementsInGroup("2")).containsExactly(a);
+
+		b.setPanelAttributes("B");
+		assertThat(index.getGroups()).containsExactly("2");
+
+		handler.getDrawPanel().removeElement(a);
+		assertThat(index.getGroups()).isEmpty();
+	}
+
+	@Test
+	public void deferredElementIsRegroupedWhenItsPanelAttributesChange() {
+		handler.setDeferModelUpdates(true);
+		NewGridElement a = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 100, 50), "A\ngroup=1", "", handler);
+		handler.getDrawPanel().addElement(a);
+		assertThat(a.isModelUpdateDeferred()).isTrue();
+		assertThat(index.getElementsInGroup("1")).containsExactly(a);
+
+		a.setPanelAttributes("A\ngroup=2");
+		assertThat(a.isModelUpdateDeferred()).isTrue();
+		assertThat(index.getElementsInGroup("1")).isEmpty();
+		assertThat(index.getElementsInGroup("2")).containsExactly(a);
+	}
+
+	@Test
+	public void oldElementIsRegroupedWhenItsPanelAttributesChange() {
+		OldGridElement note = new Note();
+		note.setPanelAttributes("note\ngroup=1");
+		handler.setHandlerAndInitListeners(note);
+		handler.getDrawPanel().addElement(note);
+		assertThat(index.getElementsInGroup("1")).containsExactly(note);
+
+		note.setPanelAttributes("note\ngroup=2");
+		assertThat(index.getElementsInGroup("1")).isEmpty();
+		assertThat(index.getElementsInGroup("2")).containsExactly(note);
+
+		note.setPanelAttributes("changed note\ngroup=2");
+		assertThat(index.getElementsInGroup("2")).containsExactly(note);
+	}
+}
@@ -0,0 +1,76 @@
+package com.baselet.standalone;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Opens diagrams with deferred parsing of the elements and checks that they are equal to the eagerly parsed ones
+ */
+public class LazyOpenTest {
+
+	private static String TEST_FILE_LOCATION;
+
+	@BeforeClass
+	public static void beforeClass() throws URISyntaxException {
+		TEST_FILE_LOCATION = LazyOpenTest.class.getProtectionDomain().getCodeSource().getLocation().toURI().getSchemeSpecificPart() + LazyOpenTest.class.getCanonicalName().replace(".", "/").replace(LazyOpenTest.class.getSimpleName(), "");
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@After
+	public void after() {
+		Config.getInstance().setLazyElementLoading(true);
+	}
+
+	@Test
+	public void layerAndGroupAreKnownBeforeParsing() {
+		for (String name : new String[] { "in_newAllInOne.uxf", "in_newCustomElement.uxf" }) {
+			Config.getInstance().setLazyElementLoading(false);
+			String eager = describe(open(name), false);
+			Config.getInstance().setLazyElementLoading(true);
+			assertEquals(name, eager, describe(open(name), false));
+		}
+	}
+
+	@Test
+	public void parsedElementsAreEqual() {
+		for (String name : new String[] { "in_newAllInOne.uxf", "in_newCustomElement.uxf" }) {
+			Config.getInstance().setLazyElementLoading(false);
+			String eager = describe(open(name), true);
+			Config.getInstance().setLazyElementLoading(true);
+			assertEquals(name, eager, describe(open(name), true));
+		}
+	}
+
+	private DiagramHandler open(String name) {
+		return new DiagramHandler(new File(TEST_FILE_LOCATION + name));
+	}
+
+	private String describe(DiagramHandler handler, boolean parse) {
+		List<String> elements = new ArrayList<String>();
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			if (parse && e instanceof NewGridElement) {
+				((NewGridElement) e).ensureModelUpToDate();
+			}
+			String description = e.getClass().getSimpleName() + " " + e.getRectangle() + " layer=" + e.getLayer() + " group=" + e.getGroup();
+			if (parse) {
+				description += " " + e.generateStickingBorder().getStickLines();
+			}
+			elements.add(description);
+		}
+		return elements.toString();
+	}
+}
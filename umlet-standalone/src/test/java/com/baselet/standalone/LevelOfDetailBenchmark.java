@@ -0,0 +1,83 @@
+package com.baselet.standalone;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.SharedConfig;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.element.ElementFactorySwing;
+
+/**
+ * Measures zooming out and painting the whole diagram at the small zoom levels, with and without the level of detail (see SharedConfig.getLowDetailZoomPercent()).
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of elements, number of iterations)
+ */
+public class LevelOfDetailBenchmark {
+
+	private static final int[] GRID_SIZES = { 2, 3, 4, 5, 6 }; // the thresholds between 20% and 60% zoom
+
+	public static void main(String[] args) {
+		int elements = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		DiagramHandler handler = new DiagramHandler(null);
+		DrawPanel panel = handler.getDrawPanel();
+		for (int i = 0; i < elements; i++) {
+			int x = i % 100 * 200;
+			int y = i / 100 * 150;
+			if (i % 10 == 0) { // elements with decorations
+				panel.addElement(ElementFactorySwing.create(ElementId.UMLState, new Rectangle(x, y, 160, 100), "State" + i + "\n--\nentry/ start\nexit/ stop\nvalign=top\nsymbol=substate", "", handler));
+			}
+			else if (i % 10 == 1) {
+				panel.addElement(ElementFactorySwing.create(ElementId.UMLGeneric, new Rectangle(x, y, 160, 100), "Component" + i + "\n--\nprovides: Service\nsymbol=component", "", handler));
+			}
+			else {
+				panel.addElement(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(x, y, 160, 100), "Class" + i + "\n--\n-attribute: Map<String, List<Integer>>\n-other: int\n--\n+method(a: int, b: String): void", "", handler));
+			}
+		}
+
+		int previousThreshold = SharedConfig.getInstance().getLowDetailZoomPercent();
+		try {
+			for (int gridSize : GRID_SIZES) {
+				for (int threshold : new int[] { 0, gridSize * 10 + 1 }) { // level of detail disabled and enabled for this zoom level
+					SharedConfig.getInstance().setLowDetailZoomPercent(threshold);
+					measure(handler, gridSize, iterations, threshold > 0);
+				}
+			}
+		} finally {
+			SharedConfig.getInstance().setLowDetailZoomPercent(previousThreshold);
+		}
+	}
+
+	private static void measure(DiagramHandler handler, int gridSize, int iterations, boolean lowDetail) {
+		DrawPanel panel = handler.getDrawPanel();
+		double zoomMs = 0;
+		double paintMs = 0;
+		for (int i = 0; i < iterations + 1; i++) { // the first iteration is a warmup
+			handler.setGridAndZoom(10, false);
+			long start = System.nanoTime();
+			handler.setGridAndZoom(gridSize, false);
+			long zoomed = System.nanoTime();
+
+			Rectangle bounds = DrawPanel.getContentBounds(0, panel.getGridElements());
+			panel.setSize(bounds.x + bounds.width, bounds.y + bounds.height);
+			BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g = image.createGraphics();
+			try {
+				panel.paint(g); // the whole diagram is visible at this zoom level
+			} finally {
+				g.dispose();
+			}
+			if (i > 0) {
+				zoomMs += (zoomed - start) / 1e6;
+				paintMs += (System.nanoTime() - zoomed) / 1e6;
+			}
+		}
+		System.out.println(String.format(Locale.ENGLISH, "%d elements at %3d%% zoom, level of detail %-3s: zoom %8.1f ms, paint %8.1f ms", panel.getGridElements().size(), gridSize * 10, lowDetail ? "on" : "off", zoomMs / iterations, paintMs / iterations));
+	}
+}
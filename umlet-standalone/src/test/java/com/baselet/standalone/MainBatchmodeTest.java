@@ -1,5 +1,6 @@
 package com.baselet.standalone;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.image.BufferedImage;
@@ -61,7 +62,7 @@ public class MainBatchmodeTest {
 		System.setProperty(ConfigHandler.UMLET_CFG_PATH, "src/test/resources/JUnit/UMLet/umlet.cfg");
 		File copy = copyInputToTmp("in_newCustomElement.uxf");
 		String wildcard = copy.getParent().toString() + "/*";
-		MainStandalone.main(new String[] { "-action=convert", "-format=png", "-filename=" + wildcard });
+		assertEquals(0, MainStandalone.run(new String[] { "-action=convert", "-format=png", "-filename=" + wildcard }));
 		assertImageEqual(new File(copy + "." + "png"), new File(TEST_FILE_LOCATION + "out_newCustomElement.png"),
 				new File(TEST_FILE_LOCATION + "out_newCustomElement2.png"),
 				new File(TEST_FILE_LOCATION + "out_newCustomElement3.png"));
@@ -134,7 +135,7 @@ public class MainBatchmodeTest {
 
 	private File createOutputfile(String format, String inputFilename) throws IOException {
 		String outputFileLoc = tmpDirString() + "bla." + format;
-		MainStandalone.main(new String[] { "-action=convert", "-format=" + format, "-filename=" + copyInputToTmp(inputFilename), "-output=" + outputFileLoc });
+		assertEquals(0, MainStandalone.run(new String[] { "-action=convert", "-format=" + format, "-filename=" + copyInputToTmp(inputFilename), "-output=" + outputFileLoc }));
 		File outputFile = new File(outputFileLoc);
 		return outputFile;
 	}
@@ -0,0 +1,96 @@
+package com.baselet.standalone;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.draw.swing.DrawHandlerSwing;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.ParallelModelUpdate;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Updates many elements with different font sizes in parallel and checks that they are equal to the sequentially parsed ones,
+ * while other elements of the same diagram are painted meanwhile (painting must not influence the font size of the parsed elements)
+ */
+public class ParallelModelUpdateTest {
+
+	private static final int ELEMENTS = 200;
+
+	@BeforeClass
+	public static void beforeClass() {
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@Test
+	public void parallelUpdateEqualsSequentialUpdate() throws InterruptedException {
+		DiagramHandler handler = new DiagramHandler(null);
+		List<GridElement> elements = new ArrayList<GridElement>();
+		for (int i = 0; i < ELEMENTS; i++) {
+			String style = i % 7 == 0 ? "\nstyle=autoresize" : "";
+			NewGridElement e = ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(i % 20 * 200, i / 20 * 150, 160, 100), "Class" + i + "\n--\n-attribute: int\n--\n+method(a: int): void\nfontsize=" + (8 + i % 13) + style, "", handler);
+			handler.getDrawPanel().addElement(e);
+			elements.add(e);
+		}
+		final List<GridElement> painted = new ArrayList<GridElement>();
+		for (int i = 0; i < 5; i++) {
+			NewGridElement e = ElementFactorySwing.create(ElementId.UMLNote, new Rectangle(i * 200, -200, 160, 100), "Note" + i + "\nfontsize=" + (30 + i), "", handler);
+			handler.getDrawPanel().addElement(e);
+			painted.add(e);
+		}
+
+		for (GridElement e : elements) {
+			e.updateModelFromText();
+		}
+		List<String> sequential = describe(elements);
+
+		final AtomicBoolean painting = new AtomicBoolean(true);
+		Thread painter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (painting.get()) {
+					describe(painted);
+				}
+			}
+		});
+		painter.start();
+		try {
+			for (int i = 0; i < 5; i++) {
+				ParallelModelUpdate.updateModelsFromText(elements);
+				assertEquals(sequential, describe(elements));
+			}
+		} finally {
+			painting.set(false);
+			painter.join();
+		}
+	}
+
+	private static List<String> describe(List<GridElement> elements) {
+		List<String> descriptions = new ArrayList<String>();
+		for (GridElement e : elements) {
+			Rectangle r = e.getRectangle();
+			BufferedImage image = new BufferedImage(r.getWidth(), r.getHeight(), BufferedImage.TYPE_INT_ARGB);
+			Graphics2D g2 = image.createGraphics();
+			DrawHandlerSwing drawer = (DrawHandlerSwing) e.getComponent().getDrawHandler();
+			drawer.setGraphics(g2);
+			drawer.drawAll(false);
+			g2.dispose();
+			int[] pixels = image.getRGB(0, 0, r.getWidth(), r.getHeight(), null, 0, r.getWidth());
+			descriptions.add(r + " " + e.generateStickingBorder().getStickLines() + " " + Arrays.hashCode(pixels));
+		}
+		return descriptions;
+	}
+}
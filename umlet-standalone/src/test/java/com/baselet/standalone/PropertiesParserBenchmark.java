@@ -0,0 +1,72 @@
+package com.baselet.standalone;
+
+import java.util.Locale;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.SharedConfig;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
+
+/**
+ * Compares the time of updateModelFromText() with the two-pass properties parser and with single pass parsing for large elements.
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of iterations, number of lines)
+ */
+public class PropertiesParserBenchmark {
+
+	public static void main(String[] args) {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int lines = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		DiagramHandler handler = new DiagramHandler(null);
+
+		benchmark("Class", ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(0, 0, 400, 20), createClassText(lines), "", handler), iterations);
+		benchmark("SequenceAllInOne", ElementFactorySwing.create(ElementId.UMLSequenceAllInOne, new Rectangle(0, 0, 800, 4000), createSequenceText(lines), "", handler), iterations);
+	}
+
+	private static void benchmark(String name, NewGridElement element, int iterations) {
+		double twoPass = measure(element, iterations, false);
+		double singlePass = measure(element, iterations, true);
+		System.out.println(String.format(Locale.ENGLISH, "%-16s two-pass: %7.3f ms/update, single-pass: %7.3f ms/update, speedup: %.2fx", name, twoPass, singlePass, twoPass / singlePass));
+	}
+
+	private static double measure(NewGridElement element, int iterations, boolean singlePassParsing) {
+		SharedConfig.getInstance().setSinglePassParsing(singlePassParsing);
+		for (int i = 0; i < iterations / 4 + 1; i++) { // warmup (also lets autoresize settle)
+			element.updateModelFromText();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			element.updateModelFromText();
+		}
+		return (System.nanoTime() - start) / 1e6 / iterations;
+	}
+
+	private static String createClassText(int lines) {
+		StringBuilder sb = new StringBuilder("<<Entity>>\n*BenchmarkClass*\n--\n");
+		for (int i = 0; i < lines; i++) {
+			if (i % 50 == 49) {
+				sb.append("--\n");
+			}
+			else if (i % 2 == 0) {
+				sb.append("-attribute").append(i).append(": List<String>\n");
+			}
+			else {
+				sb.append("+method").append(i).append("(int a, String b): boolean\n");
+			}
+		}
+		return sb.append("bg=yellow\nfg=blue\nstyle=autoresize\n// comment").toString();
+	}
+
+	private static String createSequenceText(int messages) {
+		StringBuilder sb = new StringBuilder("title=Benchmark\nobj=Lifeline A~a\nobj=Lifeline B~b\nobj=Lifeline C~c\nobj=Lifeline D~d\n");
+		String[] ids = { "a", "b", "c", "d" };
+		for (int i = 0; i < messages; i++) {
+			sb.append(ids[i % 4]).append("->>>").append(ids[(i + 1) % 4]).append(" : message").append(i).append("()\n");
+		}
+		return sb.toString();
+	}
+}
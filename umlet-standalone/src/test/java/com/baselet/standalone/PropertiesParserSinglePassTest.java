@@ -0,0 +1,117 @@
+package com.baselet.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.SharedConfig;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.draw.swing.DrawHandlerSwing;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Parses every element of the palettes (and variants with additional style facets) with the two-pass properties parser and with single pass parsing and checks that they are drawn identically
+ */
+public class PropertiesParserSinglePassTest {
+
+	private static final String[] PALETTES = { "Advanced Drawings", "Custom Drawings", "Generic Colors", "Generic Layers", "Generic Text and Alignment", "Plots", "UML Activity - All in one", "UML Activity", "UML Class", "UML Common Elements", "UML Composite Structure", "UML Package", "UML Sequence - All in one", "UML Sequence", "UML State Machine", "UML Structure and Deployment", "UML Timing Diagram", "UML Use Case" };
+
+	private static final String[] PREFIXES = { "", "", "", "", "bg=blue\nfontsize=9\n" }; // text after style facets
+	private static final String[] SUFFIXES = { "", "\nfontsize=16", "\nlayer=2\nbg=red", "\nstyle=autoresize", "\nfg=red\ntext after the style facets" };
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+	@BeforeClass
+	public static void beforeClass() {
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+	}
+
+	@After
+	public void after() {
+		SharedConfig.getInstance().setSinglePassParsing(false);
+	}
+
+	@Test
+	public void singlePassDrawsLikeTwoPass() throws IOException {
+		DiagramHandler handler = new DiagramHandler(null);
+		int compared = 0;
+		for (String palette : PALETTES) {
+			for (GridElement paletteElement : openPalette(palette).getDrawPanel().getGridElements()) {
+				if (!(paletteElement instanceof NewGridElement)) {
+					continue; // old elements don't use the properties parser
+				}
+				for (int i = 0; i < SUFFIXES.length; i++) {
+					String panelAttributes = PREFIXES[i] + paletteElement.getPanelAttributes() + SUFFIXES[i];
+					String message = palette + ": " + panelAttributes;
+					assertEquals(message, parse(paletteElement, panelAttributes, handler, false), parse(paletteElement, panelAttributes, handler, true));
+					compared++;
+				}
+			}
+		}
+		assertTrue("only " + compared + " elements compared", compared > 100);
+	}
+
+	/**
+	 * updates the element several times (single pass parsing only keeps the preparsing drawing from the second update on) and after a resize
+	 */
+	private List<String> parse(GridElement paletteElement, String panelAttributes, DiagramHandler handler, boolean singlePassParsing) {
+		SharedConfig.getInstance().setSinglePassParsing(singlePassParsing);
+		Rectangle bounds = paletteElement.getRectangle().copy();
+		NewGridElement e = ElementFactorySwing.create(paletteElement.getId(), bounds, panelAttributes, paletteElement.getAdditionalAttributes(), handler);
+		List<String> descriptions = new ArrayList<String>();
+		for (int i = 0; i < 3; i++) {
+			e.updateModelFromText();
+			descriptions.add(describe(e));
+		}
+		e.setRectangle(new Rectangle(bounds.x, bounds.y, bounds.width + 40, bounds.height + 30));
+		for (int i = 0; i < 2; i++) {
+			e.updateModelFromText();
+			descriptions.add(describe(e));
+		}
+		return descriptions;
+	}
+
+	private static String describe(NewGridElement e) {
+		Rectangle r = e.getRectangle();
+		BufferedImage image = new BufferedImage(Math.max(1, r.getWidth()), Math.max(1, r.getHeight()), BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g2 = image.createGraphics();
+		DrawHandlerSwing drawer = (DrawHandlerSwing) e.getComponent().getDrawHandler();
+		drawer.setGraphics(g2);
+		drawer.drawAll(false);
+		g2.dispose();
+		int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+		return r + " layer=" + e.getLayer() + " drawables=" + drawer.getDrawableCount() + " " + e.generateStickingBorder().getStickLines() + " " + Arrays.hashCode(pixels);
+	}
+
+	private DiagramHandler openPalette(String palette) throws IOException {
+		File file = tmpDir.newFile(palette + ".uxf");
+		InputStream in = PropertiesParserSinglePassTest.class.getClassLoader().getResourceAsStream("palettes/" + palette + ".uxf");
+		try {
+			Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			in.close();
+		}
+		return new DiagramHandler(file);
+	}
+}
@@ -0,0 +1,144 @@
+package com.baselet.standalone;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Locale;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.Program;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.io.DiagramXmlWriter;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Compares the save time and the peak heap of the streaming writer with the former DOM based save (DOM, transformer into a string, string into the file) for a large diagram.
+ * The peak heap is the sum of the peaks of all heap pools, therefore it is only an approximation; run the benchmark with a fixed heap (e.g. -Xms2g -Xmx2g) to get comparable numbers.
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of elements, number of iterations)
+ */
+public class SaveBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		int elements = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		DiagramHandler handler = new DiagramHandler(null);
+		for (int i = 0; i < elements; i++) {
+			int x = i % 100 * 200;
+			int y = i / 100 * 150;
+			handler.getDrawPanel().addElement(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(x, y, 160, 100), "Class" + i + "\n--\n-attribute: Map<String, List<Integer>>\n-other: int\n--\n+method(a: int, b: String): void\n+other() & more\nbg=yellow", "", handler));
+		}
+		File file = File.createTempFile("SaveBenchmark", "." + Program.getInstance().getExtension());
+		file.deleteOnExit();
+
+		for (int i = 0; i < 2; i++) { // warmup
+			saveWithDom(handler, file);
+			DiagramXmlWriter.writeToFile(handler, file);
+		}
+		measure("DOM", handler, file, iterations, true);
+		measure("streaming", handler, file, iterations, false);
+	}
+
+	private static void measure(String name, DiagramHandler handler, File file, int iterations, boolean dom) throws Exception {
+		double totalMs = 0;
+		long peakHeap = 0;
+		for (int i = 0; i < iterations; i++) {
+			System.gc();
+			long heapBefore = resetPeakHeap();
+			long start = System.nanoTime();
+			if (dom) {
+				saveWithDom(handler, file);
+			}
+			else {
+				DiagramXmlWriter.writeToFile(handler, file);
+			}
+			totalMs += (System.nanoTime() - start) / 1e6;
+			peakHeap = Math.max(peakHeap, getPeakHeap() - heapBefore);
+		}
+		System.out.println(String.format(Locale.ENGLISH, "%-9s %d elements: %8.1f ms/save, peak heap during save: %6.1f MB (%d bytes written)", name, handler.getDrawPanel().getGridElements().size(), totalMs / iterations, peakHeap / 1024.0 / 1024.0, file.length()));
+	}
+
+	/**
+	 * @return the currently used heap
+	 */
+	private static long resetPeakHeap() {
+		long used = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+				used += pool.getUsage().getUsed();
+			}
+		}
+		return used;
+	}
+
+	private static long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * the save path before the streaming writer has been introduced
+	 */
+	private static void saveWithDom(DiagramHandler handler, File file) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element root = doc.createElement("diagram");
+		root.setAttribute("program", Program.getInstance().getProgramName().toLowerCase());
+		root.setAttribute("version", String.valueOf(Program.getInstance().getVersion()));
+		doc.appendChild(root);
+		appendTextElement(doc, root, "zoom_level", String.valueOf(handler.getGridSize()));
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			Element el = doc.createElement("element");
+			appendTextElement(doc, el, "id", e.getId().toString());
+			Element coordinates = doc.createElement("coordinates");
+			el.appendChild(coordinates);
+			appendTextElement(doc, coordinates, "x", "" + e.getRectangle().x);
+			appendTextElement(doc, coordinates, "y", "" + e.getRectangle().y);
+			appendTextElement(doc, coordinates, "w", "" + e.getRectangle().width);
+			appendTextElement(doc, coordinates, "h", "" + e.getRectangle().height);
+			appendTextElement(doc, el, "panel_attributes", e.getPanelAttributes());
+			appendTextElement(doc, el, "additional_attributes", e.getAdditionalAttributes());
+			root.appendChild(el);
+		}
+
+		StringWriter stringWriter = new StringWriter();
+		Transformer transformer = TransformerFactory.newInstance().newTransformer();
+		transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+		transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
+		transformer.transform(new DOMSource(doc), new StreamResult(stringWriter));
+
+		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+		out.print(stringWriter.toString());
+		out.close();
+	}
+
+	private static void appendTextElement(Document doc, Element parent, String name, String text) {
+		Element el = doc.createElement(name);
+		el.appendChild(doc.createTextNode(text));
+		parent.appendChild(el);
+	}
+}
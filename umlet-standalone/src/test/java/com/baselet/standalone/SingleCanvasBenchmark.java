@@ -0,0 +1,101 @@
+package com.baselet.standalone;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Compares the default mode (one component per element) with the single canvas mode of the DrawPanel for diagrams with 1k, 10k and 50k elements:
+ * adding and removing all elements, painting viewport sized areas (like scrolling does) and zooming.
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: numbers of elements)
+ */
+public class SingleCanvasBenchmark {
+
+	private static final int VIEWPORT_WIDTH = 1600;
+	private static final int VIEWPORT_HEIGHT = 1000;
+	private static final int PAINTED_VIEWPORTS = 20;
+
+	public static void main(String[] args) {
+		int[] sizes = { 1000, 10000, 50000 };
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		run(1000, false); // warmup
+		run(1000, true);
+		for (int elements : sizes) {
+			for (boolean singleCanvas : new boolean[] { false, true }) {
+				run(elements, singleCanvas);
+			}
+		}
+	}
+
+	private static void run(int elements, boolean singleCanvas) {
+		Config.getInstance().setSingleCanvasRendering(singleCanvas);
+		DiagramHandler handler = new DiagramHandler(null);
+		DrawPanel panel = handler.getDrawPanel();
+		List<GridElement> created = new ArrayList<GridElement>();
+		for (int i = 0; i < elements; i++) {
+			int x = i % 100 * 200;
+			int y = i / 100 * 150;
+			created.add(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(x, y, 160, 100), "Class" + i + "\n--\n-attribute: int\n--\n+method(): void", "", handler));
+		}
+
+		long start = System.nanoTime();
+		for (GridElement e : created) {
+			panel.addElement(e);
+		}
+		double addMs = (System.nanoTime() - start) / 1e6;
+
+		panel.setSize(100 * 200, (elements / 100 + 1) * 150);
+		BufferedImage image = new BufferedImage(VIEWPORT_WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+		paintViewports(panel, image); // the first painting parses the elements
+		start = System.nanoTime();
+		paintViewports(panel, image);
+		double paintMs = (System.nanoTime() - start) / 1e6 / PAINTED_VIEWPORTS;
+
+		start = System.nanoTime();
+		handler.setGridAndZoom(8, false);
+		handler.setGridAndZoom(10, false);
+		double zoomMs = (System.nanoTime() - start) / 1e6 / 2;
+
+		start = System.nanoTime();
+		for (GridElement e : created) {
+			panel.removeElement(e);
+		}
+		double removeMs = (System.nanoTime() - start) / 1e6;
+
+		System.out.println(String.format(Locale.ENGLISH, "%6d elements, %-16s add %9.1f ms, paint viewport %7.2f ms, zoom step %8.1f ms, remove %9.1f ms", elements, singleCanvas ? "single canvas:" : "components:", addMs, paintMs, zoomMs, removeMs));
+		Config.getInstance().setSingleCanvasRendering(false);
+	}
+
+	private static void paintViewports(DrawPanel panel, BufferedImage image) {
+		for (int i = 0; i < PAINTED_VIEWPORTS; i++) {
+			int x = i * 997 % Math.max(1, panel.getWidth() - VIEWPORT_WIDTH);
+			int y = i * 1531 % Math.max(1, panel.getHeight() - VIEWPORT_HEIGHT);
+			Graphics2D g = image.createGraphics();
+			try {
+				g.translate(-x, -y);
+				g.clipRect(x, y, VIEWPORT_WIDTH, VIEWPORT_HEIGHT);
+				panel.paint(g);
+			} finally {
+				g.dispose();
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.baselet.standalone;
+
+import java.util.List;
+import java.util.Locale;
+
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.enums.ElementId;
+import com.baselet.control.enums.RuntimeType;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.ParallelModelUpdate;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Compares updating the models of all elements one after the other with the parallel update, and measures the time of a complete zoom step (which uses the parallel update).
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of elements, number of iterations)
+ */
+public class ZoomBenchmark {
+
+	public static void main(String[] args) {
+		int elements = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		MainStandalone.readBuildInfoAndInitVersion(RuntimeType.BATCH);
+		DiagramHandler handler = new DiagramHandler(null);
+		for (int i = 0; i < elements; i++) {
+			int x = i % 100 * 200;
+			int y = i / 100 * 150;
+			String style = i % 5 == 0 ? "\nstyle=autoresize" : "";
+			handler.getDrawPanel().addElement(ElementFactorySwing.create(ElementId.UMLClass, new Rectangle(x, y, 160, 100), "Class" + i + "\n--\n-attribute: Map<String, List<Integer>>\n-other: int\n--\n+method(a: int, b: String): void\n+other()\nbg=yellow" + style, "", handler));
+		}
+		List<GridElement> gridElements = handler.getDrawPanel().getGridElements();
+
+		for (int i = 0; i < 3; i++) { // warmup
+			updateSequentially(gridElements);
+			ParallelModelUpdate.updateModelsFromText(gridElements);
+		}
+
+		double sequentialMs = 0;
+		double parallelMs = 0;
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			updateSequentially(gridElements);
+			sequentialMs += (System.nanoTime() - start) / 1e6;
+			start = System.nanoTime();
+			ParallelModelUpdate.updateModelsFromText(gridElements);
+			parallelMs += (System.nanoTime() - start) / 1e6;
+		}
+		System.out.println(String.format(Locale.ENGLISH, "model update of %d elements: sequential %8.1f ms, parallel %8.1f ms (speedup %.1fx on %d cores)", gridElements.size(), sequentialMs / iterations, parallelMs / iterations, sequentialMs / parallelMs, Runtime.getRuntime().availableProcessors()));
+
+		double zoomMs = 0;
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			handler.setGridAndZoom(i % 2 == 0 ? 8 : 10, false);
+			zoomMs += (System.nanoTime() - start) / 1e6;
+		}
+		System.out.println(String.format(Locale.ENGLISH, "zoom step of %d elements: %8.1f ms", gridElements.size(), zoomMs / iterations));
+	}
+
+	private static void updateSequentially(List<GridElement> gridElements) {
+		for (GridElement e : gridElements) {
+			e.updateModelFromText();
+		}
+	}
+}
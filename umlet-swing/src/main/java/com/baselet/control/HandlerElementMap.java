@@ -1,6 +1,9 @@
 package com.baselet.control;
 
-import java.util.HashMap;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.element.interfaces.GridElement;
@@ -10,15 +13,31 @@ public class HandlerElementMap {
 	/**
 	 * Workaround to avoid storing the handler directly in the GridElement
 	 * (necessary as a first step in the direction of GridElements which do not know where they are painted)
+	 * The map is synchronized because batch conversions load several diagrams in parallel
+	 *
+	 * Neither the elements nor the handlers are kept alive by the map, otherwise every diagram which was ever loaded (e.g. by a long batch conversion) would stay in memory.
+	 * The handler must be weakly referenced too, because it references its elements (via the DrawPanel) and would therefore never let the weak keys be collected.
+	 * As long as an element is in use, its handler is still reachable through the listeners of the element's component.
 	 */
-	private static HashMap<GridElement, DiagramHandler> gridElementToHandlerMapping = new HashMap<GridElement, DiagramHandler>();
+	private static Map<GridElement, WeakReference<DiagramHandler>> gridElementToHandlerMapping = Collections.synchronizedMap(new WeakHashMap<GridElement, WeakReference<DiagramHandler>>());
 
 	public static DiagramHandler getHandlerForElement(GridElement element) {
-		return gridElementToHandlerMapping.get(element);
+		return dereference(gridElementToHandlerMapping.get(element));
 	}
 
 	public static DiagramHandler setHandlerForElement(GridElement element, DiagramHandler handler) {
-		return gridElementToHandlerMapping.put(element, handler);
+		return dereference(gridElementToHandlerMapping.put(element, new WeakReference<DiagramHandler>(handler)));
+	}
+
+	/**
+	 * @return the number of registered elements which have not been garbage collected yet
+	 */
+	public static int size() {
+		return gridElementToHandlerMapping.size();
+	}
+
+	private static DiagramHandler dereference(WeakReference<DiagramHandler> reference) {
+		return reference == null ? null : reference.get();
 	}
 
 }
@@ -46,9 +46,16 @@ public class Config {
 	private int right_split_position = 400;
 	private int main_split_position = 600;
 	private boolean enable_custom_elements = true;
+	private boolean customElementsBytecodeCache = false;
 	private boolean show_grid = false;
 	private boolean start_maximized = false;
 	private boolean secureXmlProcessing = true;
+	private boolean lazyElementLoading = true;
+	private int elementImageCacheSize = 64; // MB, 0 disables the cache
+	private boolean singleCanvasRendering = false; // the DrawPanel paints the elements instead of adding a component per element
+	private boolean adaptiveRenderingQuality = true; // fast rendering while dragging, scrolling and zooming
+	private int fullQualityRepaintDelay = 200; // ms without interaction until the diagram is repainted with full quality
+	private boolean showMinimap = true; // overview of the whole diagram above the palette
 	private String defaultFontFamily = Font.SANS_SERIF;
 	private Integer defaultFontsize = 14;
 	private Integer propertiesPanelFontsize = 11;
@@ -192,6 +199,54 @@ public class Config {
 		this.secureXmlProcessing = secureXmlProcessing;
 	}
 
+	public boolean isLazyElementLoading() {
+		return lazyElementLoading;
+	}
+
+	public void setLazyElementLoading(boolean lazyElementLoading) {
+		this.lazyElementLoading = lazyElementLoading;
+	}
+
+	public int getElementImageCacheSize() {
+		return elementImageCacheSize;
+	}
+
+	public void setElementImageCacheSize(int elementImageCacheSize) {
+		this.elementImageCacheSize = elementImageCacheSize;
+	}
+
+	public boolean isSingleCanvasRendering() {
+		return singleCanvasRendering;
+	}
+
+	public void setSingleCanvasRendering(boolean singleCanvasRendering) {
+		this.singleCanvasRendering = singleCanvasRendering;
+	}
+
+	public boolean isAdaptiveRenderingQuality() {
+		return adaptiveRenderingQuality;
+	}
+
+	public void setAdaptiveRenderingQuality(boolean adaptiveRenderingQuality) {
+		this.adaptiveRenderingQuality = adaptiveRenderingQuality;
+	}
+
+	public int getFullQualityRepaintDelay() {
+		return fullQualityRepaintDelay;
+	}
+
+	public void setFullQualityRepaintDelay(int fullQualityRepaintDelay) {
+		this.fullQualityRepaintDelay = fullQualityRepaintDelay;
+	}
+
+	public boolean isShowMinimap() {
+		return showMinimap;
+	}
+
+	public void setShowMinimap(boolean showMinimap) {
+		this.showMinimap = showMinimap;
+	}
+
 	public int getPrintPadding() {
 		return printPadding;
 	}
@@ -248,6 +303,14 @@ public class Config {
 		this.enable_custom_elements = enable_custom_elements;
 	}
 
+	public boolean isCustomElementsBytecodeCache() {
+		return customElementsBytecodeCache;
+	}
+
+	public void setCustomElementsBytecodeCache(boolean customElementsBytecodeCache) {
+		this.customElementsBytecodeCache = customElementsBytecodeCache;
+	}
+
 	public boolean isShow_grid() {
 		return show_grid;
 	}
@@ -19,6 +19,8 @@ public class ConfigClassGen {
 	private MethodOptions generateClassMethods = MethodOptions.ALL;
 	private SignatureOptions generateClassSignatures = SignatureOptions.ALL;
 	private SortOptions generateClassSortings = SortOptions.HEIGHT;
+	private String generateClassPackageFilter = "";
+	private boolean generateClassPublicOnly = false;
 
 	public boolean isGenerateClassPackage() {
 		return generateClassPackage;
@@ -60,4 +62,23 @@ public class ConfigClassGen {
 		this.generateClassSortings = generateClassSortings;
 	}
 
+	/**
+	 * @return comma separated package globs (e.g. "com.example.**") which restrict the generated classes, empty for all packages
+	 */
+	public String getGenerateClassPackageFilter() {
+		return generateClassPackageFilter;
+	}
+
+	public void setGenerateClassPackageFilter(String generateClassPackageFilter) {
+		this.generateClassPackageFilter = generateClassPackageFilter;
+	}
+
+	public boolean isGenerateClassPublicOnly() {
+		return generateClassPublicOnly;
+	}
+
+	public void setGenerateClassPublicOnly(boolean generateClassPublicOnly) {
+		this.generateClassPublicOnly = generateClassPublicOnly;
+	}
+
 }
@@ -23,6 +23,7 @@ import com.baselet.control.enums.generator.SignatureOptions;
 import com.baselet.control.enums.generator.SortOptions;
 import com.baselet.control.util.Path;
 import com.baselet.control.util.RecentlyUsedFilesList;
+import com.baselet.diagram.draw.TextSplitter;
 import com.baselet.gui.BaseGUI;
 
 public class ConfigHandler {
@@ -36,6 +37,7 @@ public class ConfigHandler {
 	private static final String SHOW_STICKINGPOLYGON = "show_stickingpolygon";
 	private static final String SHOW_GRID = "show_grid";
 	private static final String ENABLE_CUSTOM_ELEMENTS = "enable_custom_elements";
+	private static final String CUSTOM_ELEMENTS_BYTECODE_CACHE = "custom_elements_bytecode_cache"; // if true, the compiled custom elements are stored in the config directory and reused in the next session
 	private static final String PROPERTIES_PANEL_LINE_WRAP = "properties_panel_line_wrap";
 	private static final String PROPERTIES_PANEL_LINE_NUMBERS = "properties_panel_line_numbers";
 	private static final String UI_MANAGER = "ui_manager";
@@ -47,9 +49,20 @@ public class ConfigHandler {
 	private static final String LAST_EXPORT_FORMAT = "last_export_format";
 	private static final String CHECK_FOR_UPDATES = "check_for_updates";
 	private static final String SECURE_XML_PROCESSING = "secure_xml_processing";
+	private static final String LAZY_ELEMENT_LOADING = "lazy_element_loading";
+	private static final String ELEMENT_IMAGE_CACHE_SIZE = "element_image_cache_size";
+	private static final String SINGLE_CANVAS_RENDERING = "single_canvas_rendering";
+	private static final String ADAPTIVE_RENDERING_QUALITY = "adaptive_rendering_quality";
+	private static final String FULL_QUALITY_REPAINT_DELAY = "full_quality_repaint_delay";
+	private static final String SHOW_MINIMAP = "show_minimap";
 	private static final String OPEN_FILE_HOME = "open_file_home";
 	private static final String SAVE_FILE_HOME = "save_file_home";
 	private static final String DEV_MODE = "dev_mode";
+	private static final String TEXT_WORD_CACHE_SIZE = "text_word_cache_size";
+	private static final String TEXT_MIN_WIDTH_CACHE_SIZE = "text_min_width_cache_size";
+	private static final String TEXT_WORDWRAP_CACHE_SIZE = "text_wordwrap_cache_size";
+	private static final String SINGLE_PASS_PARSING = "single_pass_parsing";
+	private static final String LOW_DETAIL_ZOOM_PERCENT = "low_detail_zoom_percent";
 	private static final String LAST_USED_PALETTE = "last_used_palette";
 	private static final String MAIN_SPLIT_POSITION = "main_split_position";
 	private static final String RIGHT_SPLIT_POSITION = "right_split_position";
@@ -77,6 +90,8 @@ public class ConfigHandler {
 	private static final String GENERATE_CLASS_METHODS = "generate_class_methods";
 	private static final String GENERATE_CLASS_SIGNATURES = "generate_class_signatures";
 	private static final String GENERATE_CLASS_SORTINGS = "generate_class_sortings";
+	private static final String GENERATE_CLASS_PACKAGE_FILTER = "generate_class_package_filter";
+	private static final String GENERATE_CLASS_PUBLIC_ONLY = "generate_class_public_only";
 
 	public static void loadConfig() {
 
@@ -96,6 +111,7 @@ public class ConfigHandler {
 		SharedConfig.getInstance().setShow_stickingpolygon(getBoolProperty(props, SHOW_STICKINGPOLYGON, SharedConfig.getInstance().isShow_stickingpolygon()));
 		cfg.setShow_grid(getBoolProperty(props, SHOW_GRID, cfg.isShow_grid()));
 		cfg.setEnable_custom_elements(getBoolProperty(props, ENABLE_CUSTOM_ELEMENTS, cfg.isEnable_custom_elements()));
+		cfg.setCustomElementsBytecodeCache(getBoolProperty(props, CUSTOM_ELEMENTS_BYTECODE_CACHE, cfg.isCustomElementsBytecodeCache()));
 		cfg.setPropertiesPanelLineWrap(getBoolProperty(props, PROPERTIES_PANEL_LINE_WRAP, cfg.isPropertiesPanelLineWrap()));
 		cfg.setPropertiesPanelLineNumbers(getBoolProperty(props, PROPERTIES_PANEL_LINE_NUMBERS, cfg.isPropertiesPanelLineNumbers()));
 		cfg.setUiManager(getStringProperty(props, UI_MANAGER, cfg.getUiManager()));
@@ -106,9 +122,21 @@ public class ConfigHandler {
 		cfg.setPdfExportFontBoldItalic(getStringProperty(props, PDF_EXPORT_FONT_BOLDITALIC, cfg.getPdfExportFontBoldItalic()));
 		cfg.setCheckForUpdates(getBoolProperty(props, CHECK_FOR_UPDATES, cfg.isCheckForUpdates()));
 		cfg.setSecureXmlProcessing(getBoolProperty(props, SECURE_XML_PROCESSING, cfg.isSecureXmlProcessing()));
+		cfg.setLazyElementLoading(getBoolProperty(props, LAZY_ELEMENT_LOADING, cfg.isLazyElementLoading()));
+		cfg.setElementImageCacheSize(getIntProperty(props, ELEMENT_IMAGE_CACHE_SIZE, cfg.getElementImageCacheSize()));
+		cfg.setSingleCanvasRendering(getBoolProperty(props, SINGLE_CANVAS_RENDERING, cfg.isSingleCanvasRendering()));
+		cfg.setAdaptiveRenderingQuality(getBoolProperty(props, ADAPTIVE_RENDERING_QUALITY, cfg.isAdaptiveRenderingQuality()));
+		cfg.setFullQualityRepaintDelay(getIntProperty(props, FULL_QUALITY_REPAINT_DELAY, cfg.getFullQualityRepaintDelay()));
+		cfg.setShowMinimap(getBoolProperty(props, SHOW_MINIMAP, cfg.isShowMinimap()));
 		cfg.setOpenFileHome(getStringProperty(props, OPEN_FILE_HOME, cfg.getOpenFileHome()));
 		cfg.setSaveFileHome(getStringProperty(props, SAVE_FILE_HOME, cfg.getSaveFileHome()));
 		SharedConfig.getInstance().setDev_mode(getBoolProperty(props, DEV_MODE, SharedConfig.getInstance().isDev_mode()));
+		SharedConfig.getInstance().setTextWordCacheSize(getIntProperty(props, TEXT_WORD_CACHE_SIZE, SharedConfig.getInstance().getTextWordCacheSize()));
+		SharedConfig.getInstance().setTextMinWidthCacheSize(getIntProperty(props, TEXT_MIN_WIDTH_CACHE_SIZE, SharedConfig.getInstance().getTextMinWidthCacheSize()));
+		SharedConfig.getInstance().setTextWordwrapCacheSize(getIntProperty(props, TEXT_WORDWRAP_CACHE_SIZE, SharedConfig.getInstance().getTextWordwrapCacheSize()));
+		TextSplitter.updateCacheSizes();
+		SharedConfig.getInstance().setSinglePassParsing(getBoolProperty(props, SINGLE_PASS_PARSING, SharedConfig.getInstance().isSinglePassParsing()));
+		SharedConfig.getInstance().setLowDetailZoomPercent(getIntProperty(props, LOW_DETAIL_ZOOM_PERCENT, SharedConfig.getInstance().getLowDetailZoomPercent()));
 		cfg.setLastUsedPalette(getStringProperty(props, LAST_USED_PALETTE, cfg.getLastUsedPalette()));
 		cfg.setMain_split_position(getIntProperty(props, MAIN_SPLIT_POSITION, cfg.getMain_split_position()));
 		cfg.setRight_split_position(getIntProperty(props, RIGHT_SPLIT_POSITION, cfg.getRight_split_position()));
@@ -153,6 +181,8 @@ public class ConfigHandler {
 		genCfg.setGenerateClassMethods(MethodOptions.getEnum(getStringProperty(props, GENERATE_CLASS_METHODS, genCfg.getGenerateClassMethods().toString())));
 		genCfg.setGenerateClassSignatures(SignatureOptions.getEnum(getStringProperty(props, GENERATE_CLASS_SIGNATURES, genCfg.getGenerateClassSignatures().toString())));
 		genCfg.setGenerateClassSortings(SortOptions.getEnum(getStringProperty(props, GENERATE_CLASS_SORTINGS, genCfg.getGenerateClassSortings().toString())));
+		genCfg.setGenerateClassPackageFilter(getStringProperty(props, GENERATE_CLASS_PACKAGE_FILTER, genCfg.getGenerateClassPackageFilter()));
+		genCfg.setGenerateClassPublicOnly(getBoolProperty(props, GENERATE_CLASS_PUBLIC_ONLY, genCfg.isGenerateClassPublicOnly()));
 
 	}
 
@@ -177,6 +207,7 @@ public class ConfigHandler {
 			props.setProperty(SHOW_STICKINGPOLYGON, Boolean.toString(SharedConfig.getInstance().isShow_stickingpolygon()));
 			props.setProperty(SHOW_GRID, Boolean.toString(cfg.isShow_grid()));
 			props.setProperty(ENABLE_CUSTOM_ELEMENTS, Boolean.toString(cfg.isEnable_custom_elements()));
+			props.setProperty(CUSTOM_ELEMENTS_BYTECODE_CACHE, Boolean.toString(cfg.isCustomElementsBytecodeCache()));
 			props.setProperty(PROPERTIES_PANEL_LINE_WRAP, Boolean.toString(cfg.isPropertiesPanelLineWrap()));
 			props.setProperty(PROPERTIES_PANEL_LINE_NUMBERS, Boolean.toString(cfg.isPropertiesPanelLineNumbers()));
 			props.setProperty(UI_MANAGER, cfg.getUiManager());
@@ -188,9 +219,20 @@ public class ConfigHandler {
 			props.setProperty(LAST_EXPORT_FORMAT, cfg.getLastExportFormat());
 			props.setProperty(CHECK_FOR_UPDATES, Boolean.toString(cfg.isCheckForUpdates()));
 			props.setProperty(SECURE_XML_PROCESSING, Boolean.toString(cfg.isSecureXmlProcessing()));
+			props.setProperty(LAZY_ELEMENT_LOADING, Boolean.toString(cfg.isLazyElementLoading()));
+			props.setProperty(ELEMENT_IMAGE_CACHE_SIZE, Integer.toString(cfg.getElementImageCacheSize()));
+			props.setProperty(SINGLE_CANVAS_RENDERING, Boolean.toString(cfg.isSingleCanvasRendering()));
+			props.setProperty(ADAPTIVE_RENDERING_QUALITY, Boolean.toString(cfg.isAdaptiveRenderingQuality()));
+			props.setProperty(FULL_QUALITY_REPAINT_DELAY, Integer.toString(cfg.getFullQualityRepaintDelay()));
+			props.setProperty(SHOW_MINIMAP, Boolean.toString(cfg.isShowMinimap()));
 			props.setProperty(OPEN_FILE_HOME, cfg.getOpenFileHome());
 			props.setProperty(SAVE_FILE_HOME, cfg.getSaveFileHome());
 			props.setProperty(DEV_MODE, Boolean.toString(SharedConfig.getInstance().isDev_mode()));
+			props.setProperty(TEXT_WORD_CACHE_SIZE, Integer.toString(SharedConfig.getInstance().getTextWordCacheSize()));
+			props.setProperty(TEXT_MIN_WIDTH_CACHE_SIZE, Integer.toString(SharedConfig.getInstance().getTextMinWidthCacheSize()));
+			props.setProperty(TEXT_WORDWRAP_CACHE_SIZE, Integer.toString(SharedConfig.getInstance().getTextWordwrapCacheSize()));
+			props.setProperty(SINGLE_PASS_PARSING, Boolean.toString(SharedConfig.getInstance().isSinglePassParsing()));
+			props.setProperty(LOW_DETAIL_ZOOM_PERCENT, Integer.toString(SharedConfig.getInstance().getLowDetailZoomPercent()));
 			props.setProperty(LAST_USED_PALETTE, cfg.getLastUsedPalette());
 
 			props.setProperty(MAIN_SPLIT_POSITION, Integer.toString(gui.getMainSplitPosition()));
@@ -253,6 +295,10 @@ public class ConfigHandler {
 			props.setProperty(GENERATE_CLASS_METHODS, genCfg.getGenerateClassMethods().toString());
 			props.setProperty(GENERATE_CLASS_SIGNATURES, genCfg.getGenerateClassSignatures().toString());
 			props.setProperty(GENERATE_CLASS_SORTINGS, genCfg.getGenerateClassSortings().toString());
+			if (!genCfg.getGenerateClassPackageFilter().isEmpty()) {
+				props.setProperty(GENERATE_CLASS_PACKAGE_FILTER, genCfg.getGenerateClassPackageFilter());
+			}
+			props.setProperty(GENERATE_CLASS_PUBLIC_ONLY, Boolean.toString(genCfg.isGenerateClassPublicOnly()));
 
 			FileOutputStream outStream = new FileOutputStream(configfile);
 			try {
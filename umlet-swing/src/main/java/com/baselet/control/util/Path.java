@@ -36,6 +36,13 @@ public class Path {
 		return combine(programConfigDir, Program.getInstance().getConfigName());
 	}
 
+	public static String customElementCache() {
+		String cacheDir = combine(combine(osConformConfigDirectory(), Program.getInstance().getProgramName()), "custom_element_cache");
+		ensureDirectoryIsExisting(cacheDir);
+
+		return cacheDir;
+	}
+
 	@Deprecated // #273: legacy cfg is read for some versions; should be removed in v15 or sooner (only use osConformConfig() instead)
 	public static boolean hasLegacyConfig() {
 		File file = new File(legacyConfig());
@@ -0,0 +1,103 @@
+package com.baselet.diagram;
+
+import java.awt.Component;
+import java.awt.event.MouseEvent;
+
+import com.baselet.control.basics.Converter;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Delivers the mouse events of a DrawPanel in single canvas mode to the elements, which are not components of the DrawPanel in this mode.
+ * The events are delivered like Swing delivers them to components: the topmost element under the mouse gets the event, drags and the release go to the element on which the button has been pressed
+ * and moving the mouse onto or off an element creates entered and exited events.
+ */
+class CanvasMouseDispatcher {
+
+	private final DrawPanel drawPanel;
+
+	private Component pressed; // receives the events until the button is released
+	private Component hovered;
+
+	CanvasMouseDispatcher(DrawPanel drawPanel) {
+		this.drawPanel = drawPanel;
+	}
+
+	/**
+	 * @return true if the event has been delivered to an element, otherwise the DrawPanel must process it
+	 */
+	boolean dispatch(MouseEvent e) {
+		Component target;
+		switch (e.getID()) {
+			case MouseEvent.MOUSE_PRESSED:
+				target = getElementComponentAt(e.getX(), e.getY());
+				pressed = target;
+				break;
+			case MouseEvent.MOUSE_RELEASED:
+				target = pressed;
+				pressed = null;
+				break;
+			case MouseEvent.MOUSE_DRAGGED:
+				target = pressed;
+				break;
+			case MouseEvent.MOUSE_CLICKED:
+				target = getElementComponentAt(e.getX(), e.getY());
+				break;
+			case MouseEvent.MOUSE_MOVED:
+				target = getElementComponentAt(e.getX(), e.getY());
+				updateHovered(target, e);
+				break;
+			case MouseEvent.MOUSE_EXITED:
+				updateHovered(null, e);
+				return false;
+			default:
+				return false;
+		}
+		if (target == null) {
+			return false;
+		}
+		redispatch(target, e, e.getID());
+		return true;
+	}
+
+	private void updateHovered(Component target, MouseEvent e) {
+		if (hovered == target) {
+			return;
+		}
+		if (hovered != null) {
+			redispatch(hovered, e, MouseEvent.MOUSE_EXITED);
+		}
+		hovered = target;
+		if (hovered != null) {
+			redispatch(hovered, e, MouseEvent.MOUSE_ENTERED);
+		}
+	}
+
+	/**
+	 * must be called if the component of an element is removed, otherwise it would still receive the events
+	 */
+	void forget(Component component) {
+		if (pressed == component) {
+			pressed = null;
+		}
+		if (hovered == component) {
+			hovered = null;
+		}
+	}
+
+	/**
+	 * @return the component of the topmost element which contains the point (in coordinates of the DrawPanel)
+	 */
+	private Component getElementComponentAt(int x, int y) {
+		for (GridElement ge : drawPanel.getGridElementIndex().getElementsAt(Converter.convert(new java.awt.Point(x, y)))) { // the highest layer comes first
+			Component c = (Component) ge.getComponent();
+			if (c.getParent() == null && c.isVisible() && c.isEnabled() && c.contains(x - c.getX(), y - c.getY())) {
+				return c;
+			}
+		}
+		return null;
+	}
+
+	private void redispatch(Component target, MouseEvent e, int id) {
+		target.dispatchEvent(new MouseEvent(target, id, e.getWhen(), e.getModifiers() | e.getModifiersEx(), e.getX() - target.getX(), e.getY() - target.getY(), e.getXOnScreen(), e.getYOnScreen(), e.getClickCount(), e.isPopupTrigger(), e.getButton()));
+	}
+}
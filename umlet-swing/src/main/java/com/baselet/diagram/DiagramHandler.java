@@ -6,6 +6,7 @@ import java.awt.print.PrinterException;
 import java.awt.print.PrinterJob;
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Vector;
 
@@ -20,11 +21,16 @@ import com.baselet.control.Main;
 import com.baselet.control.SharedUtils;
 import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.config.SharedConfig;
 import com.baselet.control.constants.Constants;
 import com.baselet.control.enums.Program;
+import com.baselet.diagram.draw.DrawHandler;
 import com.baselet.diagram.io.DiagramFileHandler;
 import com.baselet.element.ComponentSwing;
+import com.baselet.element.ElementImageCache;
 import com.baselet.element.NewGridElement;
+import com.baselet.element.ParallelModelUpdate;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.custom.CustomElement;
 import com.baselet.element.old.element.Relation;
@@ -50,6 +56,8 @@ public class DiagramHandler {
 	private String helptext;
 	private boolean enabled;
 	private int gridSize;
+	private boolean deferModelUpdates;
+	private volatile boolean lowDetailAllowed = true; // read by the worker threads of ParallelModelUpdate
 
 	private OldRelationListener relationListener;
 	private GridElementListener gridElementListener;
@@ -57,8 +65,9 @@ public class DiagramHandler {
 	public static DiagramHandler forExport(FontHandler fontHandler) {
 		DiagramHandler returnHandler = new DiagramHandler(null, false);
 		if (fontHandler != null) {
-			returnHandler.fontHandler = fontHandler;
+			returnHandler.fontHandler.copySettingsFrom(fontHandler); // the export handler has its own gridsize, therefore it needs its own FontHandler
 		}
+		returnHandler.lowDetailAllowed = false;
 		return returnHandler;
 	}
 
@@ -194,10 +203,20 @@ public class DiagramHandler {
 		printJob.setPrintable(getDrawPanel());
 		printJob.setJobName(getName());
 		if (printJob.printDialog()) {
+			boolean lowDetail = isLowDetail();
+			if (lowDetail) { // the printed elements must be parsed in full detail
+				lowDetailAllowed = false;
+				drawpanel.updateElements();
+			}
 			try {
 				printJob.print();
 			} catch (PrinterException pe) {
 				displayError(ErrorMessages.ERROR_PRINTING);
+			} finally {
+				if (lowDetail) {
+					lowDetailAllowed = true;
+					drawpanel.updateElements();
+				}
 			}
 		}
 	}
@@ -225,6 +244,7 @@ public class DiagramHandler {
 			Main.getInstance().getDiagrams().remove(this); // remove this DiagramHandler from the list of managed diagrams
 			drawpanel.getSelector().deselectAll(); // deselect all elements of the drawpanel (must be done BEFORE closing the tab, because otherwise it resets this DrawHandler again as the current DrawHandler
 			CurrentGui.getInstance().getGui().close(this); // close the GUI (tab, ...) and set the next active tab as the CurrentDiagram
+			ElementImageCache.getInstance().removeAll(drawpanel.getGridElements()); // the cache would keep the closed diagram in memory
 
 			// update property panel to now selected diagram (or to empty if no diagram exists)
 			DiagramHandler newhandler = CurrentDiagram.getInstance().getDiagramHandler();
@@ -343,33 +363,44 @@ public class DiagramHandler {
 	public static void zoomEntities(int fromFactor, int toFactor, List<GridElement> selectedEntities) {
 
 		/**
-		 * The entities must be resized to the new factor
+		 * The entities must be resized to the new factor; the parsing of the properties is deferred until all entities are resized and then done in parallel
 		 */
 
+		List<NewGridElement> deferred = fromFactor != toFactor ? ParallelModelUpdate.deferModelUpdates(selectedEntities) : Collections.<NewGridElement> emptyList();
 		for (GridElement entity : selectedEntities) {
-			int newX = entity.getRectangle().x * toFactor / fromFactor;
-			int newY = entity.getRectangle().y * toFactor / fromFactor;
-			int newW = entity.getRectangle().width * toFactor / fromFactor;
-			int newH = entity.getRectangle().height * toFactor / fromFactor;
-			entity.setLocation(realignTo(newX, toFactor), realignTo(newY, toFactor));
-			// Normally there should be no realign here but relations and custom elements sometimes must be realigned therefore we don't log it as an error
-			if (entity instanceof CustomElement) {
-				entity.setSize(newW, newH); // #478: do not realign width and height for custom elements, because this would mess up the CustomElement.changeSizeIfNoBugfix() call
-			}
-			else {
-				entity.setSize(realignTo(newW, toFactor), realignTo(newH, toFactor));
-			}
+			Rectangle zoomed = getZoomedRectangle(entity, fromFactor, toFactor);
+			entity.setLocation(zoomed.x, zoomed.y);
+			entity.setSize(zoomed.width, zoomed.height);
 
 			// Resize the coordinates of the points of the relations
 			if (entity instanceof Relation) {
 				for (Point point : ((Relation) entity).getLinePoints()) {
-					newX = point.getX() * toFactor / fromFactor;
-					newY = point.getY() * toFactor / fromFactor;
+					int newX = point.getX() * toFactor / fromFactor;
+					int newY = point.getY() * toFactor / fromFactor;
 					point.setX(realignTo(newX, toFactor));
 					point.setY(realignTo(newY, toFactor));
 				}
 			}
 		}
+		ParallelModelUpdate.updateDeferredModels(deferred);
+	}
+
+	/**
+	 * @return the rectangle of the entity after zooming it from one gridsize to another (without changing the entity)
+	 */
+	public static Rectangle getZoomedRectangle(GridElement entity, int fromFactor, int toFactor) {
+		Rectangle rect = entity.getRectangle();
+		int newX = rect.x * toFactor / fromFactor;
+		int newY = rect.y * toFactor / fromFactor;
+		int newW = rect.width * toFactor / fromFactor;
+		int newH = rect.height * toFactor / fromFactor;
+		// Normally there should be no realign here but relations and custom elements sometimes must be realigned therefore we don't log it as an error
+		if (entity instanceof CustomElement) {
+			return new Rectangle(realignTo(newX, toFactor), realignTo(newY, toFactor), newW, newH); // #478: do not realign width and height for custom elements, because this would mess up the CustomElement.changeSizeIfNoBugfix() call
+		}
+		else {
+			return new Rectangle(realignTo(newX, toFactor), realignTo(newY, toFactor), realignTo(newW, toFactor), realignTo(newH, toFactor));
+		}
 	}
 
 	public void setGridAndZoom(int factor) {
@@ -392,6 +423,7 @@ public class DiagramHandler {
 		}
 
 		setGridSize(factor);
+		getDrawPanel().getRenderingQuality().interaction(); // the cached images are invalid after zooming, paint fast until the zooming has stopped
 
 		/**
 		 * Zoom entities to the new gridsize
@@ -465,6 +497,21 @@ public class DiagramHandler {
 		JOptionPane.showMessageDialog(CurrentGui.getInstance().getGui().getMainFrame(), error, "ERROR", JOptionPane.ERROR_MESSAGE);
 	}
 
+	/**
+	 * if true, elements which are added to this handler are not parsed until they are painted or used (see {@link NewGridElement#deferModelUpdate()})
+	 */
+	public void setDeferModelUpdates(boolean deferModelUpdates) {
+		this.deferModelUpdates = deferModelUpdates;
+	}
+
+	/**
+	 * @return true if the elements are zoomed out so far that they are drawn with a reduced level of detail (see {@link DrawHandler#isLowDetail()});
+	 *         this is only done on the screen, exported and printed elements are always drawn in full detail
+	 */
+	public boolean isLowDetail() {
+		return lowDetailAllowed && getZoomFactor() * 100 < SharedConfig.getInstance().getLowDetailZoomPercent();
+	}
+
 	public void setHandlerAndInitListeners(GridElement element) {
 		if (HandlerElementMap.getHandlerForElement(element) != null) {
 			((Component) element.getComponent()).removeMouseListener(HandlerElementMap.getHandlerForElement(element).getEntityListener(element));
@@ -476,6 +523,11 @@ public class DiagramHandler {
 		if (element instanceof NewGridElement) {
 			((ComponentSwing) element.getComponent()).setHandler(this);
 		}
-		element.updateModelFromText(); // must be updated here because the new handler could have a different zoom level
+		if (deferModelUpdates && element instanceof NewGridElement) {
+			((NewGridElement) element).deferModelUpdate(); // parsed as soon as the element is painted or used
+		}
+		else {
+			element.updateModelFromText(); // must be updated here because the new handler could have a different zoom level
+		}
 	}
 }
@@ -1,28 +1,38 @@
 package com.baselet.diagram;
 
+import java.awt.AWTEvent;
 import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Paint;
 import java.awt.Point;
+import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.print.PageFormat;
 import java.awt.print.Printable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
-import javax.swing.JComponent;
 import javax.swing.JLayeredPane;
 import javax.swing.JScrollBar;
 import javax.swing.JScrollPane;
+import javax.swing.JViewport;
 import javax.swing.RepaintManager;
 import javax.swing.ScrollPaneConstants;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 
+import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.control.config.Config;
 import com.baselet.control.config.SharedConfig;
@@ -32,8 +42,14 @@ import com.baselet.control.enums.RuntimeType;
 import com.baselet.control.util.Utils;
 import com.baselet.diagram.draw.helper.theme.ThemeFactory;
 import com.baselet.diagram.draw.helper.theme.ThemeFactory.THEMES;
+import com.baselet.element.ComponentSwing;
+import com.baselet.element.ElementImageCache;
+import com.baselet.element.GroupIndex;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.ParallelModelUpdate;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.element.Relation;
+import com.baselet.element.spatial.GridElementIndex;
 import com.baselet.gui.filedrop.FileDrop;
 import com.baselet.gui.filedrop.FileDropListener;
 import com.baselet.gui.listener.ScrollbarListener;
@@ -53,13 +69,38 @@ public class DrawPanel extends JLayeredPane implements Printable {
 	StartUpHelpText startupHelpText;
 
 	private final List<GridElement> gridElements = new ArrayList<GridElement>();
+	private final GridElementIndex gridElementIndex = new GridElementIndex();
+	private final GroupIndex groupIndex = new GroupIndex();
+	private final List<com.baselet.element.relation.Relation> relations = new ArrayList<com.baselet.element.relation.Relation>(); // the stickables of this diagram in the order of gridElements
+
+	private IdentityHashMap<Component, Integer> zOrder; // index of every child, null if the children have changed
+	private final List<Component> otherChildren = new ArrayList<Component>(); // children which are not GridElements
+	private long lastPaintNanos;
+	private int lastPaintedChildren;
+
+	private final boolean singleCanvas; // the components of NewGridElements are not added to the panel, it paints them and forwards the mouse events to them
+	private final CanvasMouseDispatcher canvasMouseDispatcher;
+	private IdentityHashMap<GridElement, Integer> elementOrder; // index of every element in gridElements, null if the elements have changed
+
+	private final RenderingQualityPolicy renderingQuality = new RenderingQualityPolicy(this);
+
+	private final List<ElementChangeListener> elementChangeListeners = new ArrayList<ElementChangeListener>();
 
 	public DrawPanel(DiagramHandler handler, boolean initStartupTextAndFiledrop) {
 		this.handler = handler;
+		singleCanvas = Config.getInstance().isSingleCanvasRendering();
+		canvasMouseDispatcher = singleCanvas ? new CanvasMouseDispatcher(this) : null;
+		if (singleCanvas) {
+			enableEvents(AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK);
+		}
 		// AB: Origin is used to track diagram movement in Cut Command
 		origin = new Point();
 		setLayout(null);
-		if (Config.getInstance().getUiManager().equals(Constants.FLAT_DARCULA_THEME)) {
+		if (Program.getInstance().getRuntimeType() == RuntimeType.BATCH) {
+			// batch exports are always drawn with the light theme; don't switch the shared theme because several diagrams can be converted in parallel
+			setBackground(Color.WHITE);
+		}
+		else if (Config.getInstance().getUiManager().equals(Constants.FLAT_DARCULA_THEME)) {
 			ThemeFactory.changeTheme(THEMES.DARK, null, true);
 			setBackground(Constants.DARK_BACKGROUND_COLOR);
 		}
@@ -88,6 +129,18 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		p.getVerticalScrollBar().addMouseListener(sbL);
 
 		p.setBorder(null);
+		p.getViewport().addChangeListener(new ChangeListener() {
+			private Point lastViewPosition;
+
+			@Override
+			public void stateChanged(ChangeEvent e) {
+				Point viewPosition = ((JViewport) e.getSource()).getViewPosition();
+				if (lastViewPosition != null && !lastViewPosition.equals(viewPosition)) { // only scrolling, not resizing the view
+					renderingQuality.interaction();
+				}
+				lastViewPosition = viewPosition;
+			}
+		});
 		setScrollPanel(p);
 
 		if (Program.getInstance().getRuntimeType() != RuntimeType.BATCH) {
@@ -121,6 +174,9 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		for (Component c : getComponents()) {
 			c.setEnabled(en);
 		}
+		for (Component c : getDetachedElementComponents()) {
+			c.setEnabled(en);
+		}
 		if (Config.getInstance().getUiManager().equals(Constants.FLAT_DARCULA_THEME)) {
 			setBackground(Constants.DARK_BACKGROUND_COLOR);
 		}
@@ -221,8 +277,13 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		if (!SharedConfig.getInstance().isStickingEnabled() || handler instanceof PaletteHandler) {
 			return Collections.<com.baselet.element.relation.Relation> emptyList();
 		}
-		List<com.baselet.element.relation.Relation> returnList = getHelper(com.baselet.element.relation.Relation.class);
-		returnList.removeAll(excludeList);
+		Set<GridElement> excluded = new HashSet<GridElement>(excludeList);
+		List<com.baselet.element.relation.Relation> returnList = new ArrayList<com.baselet.element.relation.Relation>(relations.size());
+		for (com.baselet.element.relation.Relation r : relations) {
+			if (!excluded.contains(r)) {
+				returnList.add(r);
+			}
+		}
 		return returnList;
 	}
 
@@ -279,6 +340,9 @@ public class DrawPanel extends JLayeredPane implements Printable {
 				Component c = getComponent(i);
 				c.setLocation(handler.realignToGrid(false, c.getX() - adjustWidth), handler.realignToGrid(false, c.getY() - adjustHeight));
 			}
+			for (Component c : getDetachedElementComponents()) {
+				c.setLocation(handler.realignToGrid(false, c.getX() - adjustWidth), handler.realignToGrid(false, c.getY() - adjustHeight));
+			}
 		}
 
 		if (adjustWidth < 0) {
@@ -455,12 +519,13 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		return _scr.getVerticalScrollBarPolicy() == ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS;
 	}
 
-	private void drawGrid(Graphics2D g2d) {
+	private void drawGrid(Graphics2D g2d, java.awt.Rectangle clip) {
+		Color color;
 		if (!Config.getInstance().getUiManager().equals(Constants.FLAT_DARCULA_THEME)) {
-			g2d.setColor(Constants.GRID_COLOR_LIGHT);
+			color = Constants.GRID_COLOR_LIGHT;
 		}
 		else {
-			g2d.setColor(Constants.GRID_COLOR_DARK);
+			color = Constants.GRID_COLOR_DARK;
 		}
 
 		int gridSize = handler.getGridSize();
@@ -468,14 +533,16 @@ public class DrawPanel extends JLayeredPane implements Printable {
 			return; // Gridsize 1 would only make the whole screen grey
 		}
 
-		int width = 2000 + (int) getPreferredSize().getWidth();
-		int height = 1000 + (int) getPreferredSize().getHeight();
-		for (int i = gridSize; i < width; i += gridSize) {
-			g2d.drawLine(i, 0, i, height);
-		}
-		for (int i = gridSize; i < height; i += gridSize) {
-			g2d.drawLine(0, i, width, i);
+		// only the repainted area is filled; the lines at 0 are not drawn
+		java.awt.Rectangle area = new java.awt.Rectangle(1, 1, Integer.MAX_VALUE / 2, Integer.MAX_VALUE / 2);
+		area = area.intersection(clip != null ? clip : new java.awt.Rectangle(0, 0, getWidth(), getHeight()));
+		if (area.isEmpty()) {
+			return;
 		}
+		Paint paintBefore = g2d.getPaint();
+		g2d.setPaint(GridTexture.get(gridSize, color));
+		g2d.fill(area);
+		g2d.setPaint(paintBefore);
 	}
 
 	// private void drawDevHelpLines(Graphics2D g2d) {
@@ -497,21 +564,211 @@ public class DrawPanel extends JLayeredPane implements Printable {
 	// g2d.setStroke(Utils.getStroke(LineType.SOLID, 1));
 	// }
 
+	/**
+	 * Only the children which intersect the repainted area are painted; the elements are found with the GridElementIndex instead of visiting every child.
+	 * The layers of the elements are kept up to date by the elements themselves (see ComponentSwing.afterModelUpdate()).
+	 */
 	@Override
 	protected void paintChildren(Graphics g) {
-		// check if layers have changed and update them
-		for (GridElement ge : gridElements) {
-			if (!ge.getLayer().equals(getLayer((JComponent) ge.getComponent()))) {
-				setLayer((JComponent) ge.getComponent(), ge.getLayer());
+		long start = System.nanoTime();
+		Graphics2D g2d = (Graphics2D) g;
+		g2d.setRenderingHints(renderingQuality.isFastRendering(g2d) ? Utils.getUxRenderingQualityLow() : Utils.getUxRenderingQualityHigh(true));
+		java.awt.Rectangle clip = g2d.getClipBounds();
+		if (Config.getInstance().isShow_grid()) {
+			drawGrid(g2d, clip);
+		}
+
+		List<Component> children = getChildrenInPaintOrder(clip);
+		for (Component child : children) {
+			Graphics childGraphics = g.create(child.getX(), child.getY(), child.getWidth(), child.getHeight());
+			try {
+				child.paint(childGraphics);
+			} finally {
+				childGraphics.dispose();
 			}
 		}
 
-		Graphics2D g2d = (Graphics2D) g;
-		g2d.setRenderingHints(Utils.getUxRenderingQualityHigh(true));
-		if (Config.getInstance().isShow_grid()) {
-			drawGrid(g2d);
+		lastPaintNanos = System.nanoTime() - start;
+		lastPaintedChildren = children.size();
+		if (log.isTraceEnabled()) {
+			log.trace("Painted " + lastPaintedChildren + " of " + getComponentCount() + " children in " + lastPaintNanos / 1000 + " us (clip " + clip + ")");
+		}
+	}
+
+	/**
+	 * @return the visible children which intersect the clip, the lowest child (which must be painted first) comes first
+	 */
+	private List<Component> getChildrenInPaintOrder(java.awt.Rectangle clip) {
+		if (zOrder == null) { // rebuilt after the children or their order have changed
+			rebuildZOrder();
+		}
+		List<Component> children = new ArrayList<Component>();
+		Collection<GridElement> elements = clip == null ? gridElements : gridElementIndex.getElementsIntersecting(Converter.convert(clip));
+		if (singleCanvas) {
+			addElementComponentsInPaintOrder(elements, children);
+			List<Component> others = new ArrayList<Component>();
+			for (Component c : otherChildren) {
+				if (c.isVisible() && (clip == null || c.getBounds().intersects(clip))) {
+					others.add(c);
+				}
+			}
+			sortByZOrder(others);
+			children.addAll(others); // the selection frame, notifications, etc. are above all elements
+			return children;
+		}
+		for (GridElement ge : elements) {
+			Component c = (Component) ge.getComponent();
+			if (c.isVisible() && zOrder.containsKey(c)) {
+				children.add(c);
+			}
+		}
+		for (Component c : otherChildren) {
+			if (c.isVisible() && (clip == null || c.getBounds().intersects(clip))) {
+				children.add(c);
+			}
+		}
+		sortByZOrder(children);
+		return children;
+	}
+
+	private void sortByZOrder(List<Component> children) {
+		Collections.sort(children, new Comparator<Component>() {
+			@Override
+			public int compare(Component c1, Component c2) {
+				return zOrder.get(c2).compareTo(zOrder.get(c1)); // the child with index 0 is on top, therefore it's painted last
+			}
+		});
+	}
+
+	/**
+	 * Single canvas mode: the elements are painted in the same order as their components would be painted by the JLayeredPane
+	 * (higher layers above lower ones, within a layer the element which has been added first is on top)
+	 */
+	private void addElementComponentsInPaintOrder(Collection<GridElement> elements, List<Component> children) {
+		if (elementOrder == null) {
+			elementOrder = new IdentityHashMap<GridElement, Integer>();
+			for (int i = 0; i < gridElements.size(); i++) {
+				elementOrder.put(gridElements.get(i), i);
+			}
+		}
+		List<GridElement> sorted = new ArrayList<GridElement>(elements);
+		Collections.sort(sorted, new Comparator<GridElement>() {
+			@Override
+			public int compare(GridElement e1, GridElement e2) {
+				int layerCompare = e1.getLayer().compareTo(e2.getLayer());
+				if (layerCompare != 0) {
+					return layerCompare;
+				}
+				return elementOrder.get(e2).compareTo(elementOrder.get(e1));
+			}
+		});
+		for (GridElement ge : sorted) {
+			Component c = (Component) ge.getComponent();
+			if (c.isVisible()) {
+				children.add(c);
+			}
 		}
-		super.paintComponents(g);
+	}
+
+	/**
+	 * @return the components of the elements which are painted by the DrawPanel itself (empty if the single canvas mode is disabled)
+	 */
+	private List<Component> getDetachedElementComponents() {
+		List<Component> detached = new ArrayList<Component>();
+		if (singleCanvas) {
+			for (GridElement ge : gridElements) {
+				Component c = (Component) ge.getComponent();
+				if (c.getParent() != this) {
+					detached.add(c);
+				}
+			}
+		}
+		return detached;
+	}
+
+	public RenderingQualityPolicy getRenderingQuality() {
+		return renderingQuality;
+	}
+
+	/**
+	 * @return true if the DrawPanel paints the elements itself instead of adding a component per element (see {@link Config#isSingleCanvasRendering()})
+	 */
+	public boolean isSingleCanvas() {
+		return singleCanvas;
+	}
+
+	@Override
+	protected void processMouseEvent(MouseEvent e) {
+		if (!singleCanvas || !canvasMouseDispatcher.dispatch(e)) {
+			super.processMouseEvent(e);
+		}
+	}
+
+	@Override
+	protected void processMouseMotionEvent(MouseEvent e) {
+		if (!singleCanvas || !canvasMouseDispatcher.dispatch(e)) {
+			super.processMouseMotionEvent(e);
+		}
+	}
+
+	private void rebuildZOrder() {
+		Set<Object> elementComponents = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		for (GridElement ge : gridElements) {
+			elementComponents.add(ge.getComponent());
+		}
+		zOrder = new IdentityHashMap<Component, Integer>();
+		otherChildren.clear();
+		Component[] components = getComponents();
+		for (int i = 0; i < components.length; i++) {
+			zOrder.put(components[i], i);
+			if (!elementComponents.contains(components[i])) {
+				otherChildren.add(components[i]); // e.g. the selection frame, notifications and the startup help
+			}
+		}
+	}
+
+	@Override
+	protected void addImpl(Component comp, Object constraints, int index) {
+		super.addImpl(comp, constraints, index);
+		zOrder = null;
+	}
+
+	@Override
+	public void remove(int index) {
+		super.remove(index);
+		zOrder = null;
+	}
+
+	@Override
+	public void removeAll() {
+		super.removeAll();
+		zOrder = null;
+	}
+
+	@Override
+	public void setLayer(Component c, int layer, int position) {
+		super.setLayer(c, layer, position);
+		zOrder = null;
+	}
+
+	@Override
+	public void setComponentZOrder(Component comp, int index) {
+		super.setComponentZOrder(comp, index);
+		zOrder = null;
+	}
+
+	/**
+	 * @return the duration of the last painting of the children (including the grid) in nanoseconds
+	 */
+	public long getLastPaintNanos() {
+		return lastPaintNanos;
+	}
+
+	/**
+	 * @return the number of children which have been painted by the last painting
+	 */
+	public int getLastPaintedChildren() {
+		return lastPaintedChildren;
 	}
 
 	/**
@@ -568,23 +825,108 @@ public class DrawPanel extends JLayeredPane implements Printable {
 		origin.setLocation(origin.x * newGridSize / oldGridSize, origin.y * newGridSize / oldGridSize);
 	}
 
+	public GridElementIndex getGridElementIndex() {
+		return gridElementIndex;
+	}
+
+	public GroupIndex getGroupIndex() {
+		return groupIndex;
+	}
+
 	public void removeElement(GridElement gridElement) {
 		gridElements.remove(gridElement);
-		remove((Component) gridElement.getComponent());
+		gridElementIndex.remove(gridElement);
+		groupIndex.remove(gridElement);
+		relations.remove(gridElement);
+		Component component = (Component) gridElement.getComponent();
+		if (component.getParent() == this) {
+			remove(component);
+		}
+		else if (singleCanvas) {
+			elementOrder = null;
+			canvasMouseDispatcher.forget(component);
+			repaint(component.getBounds());
+			updateStartupHelpText();
+		}
+		if (gridElement.getComponent() instanceof ComponentSwing) {
+			ElementImageCache.getInstance().remove((ComponentSwing) gridElement.getComponent());
+		}
+		fireElementChanged(gridElement);
 	}
 
 	public void addElement(GridElement gridElement) {
 		gridElements.add(gridElement);
-		add((Component) gridElement.getComponent(), gridElement.getLayer());
+		gridElementIndex.add(gridElement);
+		groupIndex.add(gridElement);
+		if (gridElement.getClass().equals(com.baselet.element.relation.Relation.class)) {
+			relations.add((com.baselet.element.relation.Relation) gridElement);
+		}
+		Component component = (Component) gridElement.getComponent();
+		if (singleCanvas && gridElement instanceof NewGridElement) {
+			elementOrder = null;
+			repaint(component.getBounds());
+			updateStartupHelpText();
+		}
+		else {
+			add(component, gridElement.getLayer());
+		}
+		fireElementChanged(gridElement);
 	}
 
-	public void updateElements() {
-		for (GridElement e : gridElements) {
-			e.updateModelFromText();
+	public void removeAllElements() {
+		if (singleCanvas) {
+			for (Component c : getDetachedElementComponents()) {
+				canvasMouseDispatcher.forget(c);
+			}
+			elementOrder = null;
+			repaint();
+		}
+		ElementImageCache.getInstance().removeAll(gridElements);
+		gridElements.clear();
+		gridElementIndex.clear();
+		groupIndex.clear();
+		relations.clear();
+		removeAll();
+		for (ElementChangeListener l : elementChangeListeners) {
+			l.allElementsChanged();
 		}
 	}
 
+	/**
+	 * the startup help hides itself when the first component is added, which doesn't happen in single canvas mode
+	 */
+	private void updateStartupHelpText() {
+		if (startupHelpText != null) {
+			startupHelpText.setVisible(gridElements.isEmpty());
+		}
+	}
+
+	public void addElementChangeListener(ElementChangeListener listener) {
+		elementChangeListeners.add(listener);
+	}
+
+	public void removeElementChangeListener(ElementChangeListener listener) {
+		elementChangeListeners.remove(listener);
+	}
+
+	/**
+	 * called by the elements of this panel (see ElementUtils.boundsChanged() and ElementUtils.modelChanged())
+	 */
+	public void fireElementChanged(GridElement gridElement) {
+		for (ElementChangeListener l : elementChangeListeners) {
+			l.elementChanged(gridElement);
+		}
+	}
+
+	public void updateElements() {
+		ParallelModelUpdate.updateModelsFromText(gridElements);
+	}
+
 	public GridElement getElementToComponent(Component component) {
+		if (component instanceof ComponentSwing) { // called for every mouse event, therefore the elements are not searched
+			GridElement ge = ((ComponentSwing) component).getGridElement();
+			return gridElementIndex.contains(ge) ? ge : null;
+		}
 		for (GridElement e : gridElements) {
 			if (e.getComponent().equals(component)) {
 				return e;
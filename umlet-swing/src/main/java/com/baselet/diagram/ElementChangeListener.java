@@ -0,0 +1,20 @@
+package com.baselet.diagram;
+
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Is notified about changes of the elements of a DrawPanel (e.g. to keep an overview of the diagram up to date).
+ * The methods are called on the EDT and are called often (e.g. for every step of a drag), therefore they must be cheap.
+ */
+public interface ElementChangeListener {
+
+	/**
+	 * the element has been added, removed, moved, resized or its properties have changed
+	 */
+	void elementChanged(GridElement gridElement);
+
+	/**
+	 * all elements have been removed
+	 */
+	void allElementsChanged();
+}
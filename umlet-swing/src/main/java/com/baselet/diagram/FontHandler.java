@@ -13,7 +13,6 @@ import com.baselet.control.enums.AlignHorizontal;
 public class FontHandler {
 
 	private final DiagramHandler handler;
-	private Double fontSize;
 	private Double diagramDefaultSize = null; // if "fontsize=..." is uncommented this variable is set
 
 	private String diagramDefaultFontFamily = null;
@@ -23,8 +22,12 @@ public class FontHandler {
 		this.handler = handler;
 	}
 
-	public void setFontSize(Double fontsize) {
-		fontSize = fontsize;
+	/**
+	 * copies the diagram specific font settings of another FontHandler (the zoom still depends on the own DiagramHandler)
+	 */
+	public void copySettingsFrom(FontHandler other) {
+		diagramDefaultSize = other.diagramDefaultSize;
+		diagramDefaultFontFamily = other.diagramDefaultFontFamily;
 	}
 
 	public void setDiagramDefaultFontFamily(String fontfamily) {
@@ -53,10 +56,6 @@ public class FontHandler {
 		this.diagramDefaultSize = diagramDefaultSize;
 	}
 
-	public void resetFontSize() {
-		fontSize = null;
-	}
-
 	public void resetDiagramDefaultFontSize() {
 		diagramDefaultSize = null;
 	}
@@ -66,22 +65,22 @@ public class FontHandler {
 	}
 
 	public double getFontSize(boolean applyZoom) {
-		Double returnFontSize;
-		if (fontSize != null) {
-			returnFontSize = fontSize;
-		}
-		else if (diagramDefaultSize != null) {
+		double returnFontSize;
+		if (diagramDefaultSize != null) {
 			returnFontSize = diagramDefaultSize;
 		}
 		else {
-			returnFontSize = Double.valueOf(Config.getInstance().getDefaultFontsize());
+			returnFontSize = Config.getInstance().getDefaultFontsize();
 		}
+		return zoom(returnFontSize, applyZoom);
+	}
 
+	private double zoom(double fontSize, boolean applyZoom) {
 		if (applyZoom) {
-			return returnFontSize * handler.getGridSize() / Constants.DEFAULTGRIDSIZE;
+			return fontSize * handler.getGridSize() / Constants.DEFAULTGRIDSIZE;
 		}
 		else {
-			return returnFontSize;
+			return fontSize;
 		}
 	}
 
@@ -90,7 +89,18 @@ public class FontHandler {
 	}
 
 	public Font getFont(boolean applyZoom) {
-		return new Font(getDiagramDefaultFontFamily(), Font.PLAIN, (int) getFontSize(applyZoom));
+		return createFont(getFontSize(applyZoom));
+	}
+
+	/**
+	 * returns the font for an explicit (unzoomed) font size instead of the diagram default size
+	 */
+	public Font getFont(double fontSize, boolean applyZoom) {
+		return createFont(zoom(fontSize, applyZoom));
+	}
+
+	private Font createFont(double zoomedFontSize) {
+		return new Font(getDiagramDefaultFontFamily(), Font.PLAIN, (int) zoomedFontSize);
 	}
 
 	public double getDistanceBetweenTexts() {
@@ -112,6 +122,14 @@ public class FontHandler {
 		return new FormattedFont(stringWithFormatLabels, getFontSize(applyZoom), getFont(applyZoom), fontrenderContext).getDimensions();
 	}
 
+	private DimensionDouble getTextSize(String stringWithFormatLabels, double fontSize, boolean applyZoom) {
+		if (stringWithFormatLabels.isEmpty()) {
+			return new DimensionDouble(0, 0);
+		}
+		double zoomedFontSize = zoom(fontSize, applyZoom);
+		return new FormattedFont(stringWithFormatLabels, zoomedFontSize, createFont(zoomedFontSize), fontrenderContext).getDimensions();
+	}
+
 	public DimensionDouble getTextSize(StringStyle singleLine, boolean applyZoom) {
 		if (singleLine.getStringWithoutMarkup().isEmpty()) {
 			return new DimensionDouble(0, 0);
@@ -119,6 +137,16 @@ public class FontHandler {
 		return new FormattedFont(singleLine, getFontSize(applyZoom), getFont(applyZoom), fontrenderContext).getDimensions();
 	}
 
+	/**
+	 * measures the text with the given (unzoomed) font size; the FontHandler itself is never changed, therefore elements can be measured concurrently
+	 */
+	public DimensionDouble getTextSize(StringStyle singleLine, double fontSize) {
+		if (singleLine.getStringWithoutMarkup().isEmpty()) {
+			return new DimensionDouble(0, 0);
+		}
+		return new FormattedFont(singleLine, fontSize, createFont(fontSize), fontrenderContext).getDimensions();
+	}
+
 	public double getTextWidth(String s) {
 		return getTextWidth(s, true);
 	}
@@ -130,13 +158,27 @@ public class FontHandler {
 		return this.getTextSize(s, applyZoom).getWidth();
 	}
 
+	public double getTextWidth(String s, double fontSize, boolean applyZoom) {
+		if (s == null) {
+			return 0;
+		}
+		return getTextSize(s, fontSize, applyZoom).getWidth();
+	}
+
 	public void writeText(Graphics2D g2, String s, double x, double y, AlignHorizontal align) {
 		writeText(g2, s, x, y, align, true);
 	}
 
 	public void writeText(Graphics2D g2, String s, double x, double y, AlignHorizontal align, boolean applyZoom) {
+		writeText(g2, s, x, y, align, getFontSize(false), applyZoom);
+	}
+
+	/**
+	 * writes the text with an explicit (unzoomed) font size instead of the diagram default size
+	 */
+	public void writeText(Graphics2D g2, String s, double x, double y, AlignHorizontal align, double fontSize, boolean applyZoom) {
 		for (String line : s.split("\n", -1)) {
-			write(g2, StringStyle.analyzeFormatLabels(line), x, y, align, applyZoom);
+			write(g2, StringStyle.analyzeFormatLabels(line), x, y, align, zoom(fontSize, applyZoom));
 			y += g2.getFontMetrics().getHeight();
 		}
 	}
@@ -146,18 +188,24 @@ public class FontHandler {
 	}
 
 	public void writeText(Graphics2D g2, StringStyle[] lines, double x, double y, AlignHorizontal align, boolean applyZoom) {
+		writeText(g2, lines, x, y, align, getFontSize(false), applyZoom);
+	}
+
+	/**
+	 * writes the lines with an explicit (unzoomed) font size instead of the diagram default size
+	 */
+	public void writeText(Graphics2D g2, StringStyle[] lines, double x, double y, AlignHorizontal align, double fontSize, boolean applyZoom) {
 		for (StringStyle line : lines) {
-			write(g2, line, x, y, align, applyZoom);
+			write(g2, line, x, y, align, zoom(fontSize, applyZoom));
 			y += g2.getFontMetrics().getHeight();
 		}
 	}
 
-	private void write(Graphics2D g2, StringStyle singleLine, double x, double y, AlignHorizontal align, boolean applyZoom) {
+	private void write(Graphics2D g2, StringStyle singleLine, double x, double y, AlignHorizontal align, double zoomedFontSize) {
 		if (singleLine == null || singleLine.getStringWithoutMarkup().isEmpty()) {
 			return;
 		}
-		double fontSize = getFontSize(applyZoom);
-		FormattedFont formattedFont = new FormattedFont(singleLine, fontSize, getFont(applyZoom), g2.getFontRenderContext());
+		FormattedFont formattedFont = new FormattedFont(singleLine, zoomedFontSize, createFont(zoomedFontSize), g2.getFontRenderContext());
 		fontrenderContext = g2.getFontRenderContext(); // TODO workaround to make sure getTextSize works without a graphics object
 
 		if (align == AlignHorizontal.CENTER) {
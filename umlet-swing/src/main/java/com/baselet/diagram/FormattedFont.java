@@ -13,10 +13,6 @@ import com.baselet.control.enums.FormatLabels;
 
 public class FormattedFont {
 
-	private static Integer underline;
-	private static Float bold;
-	private static Float italic;
-
 	private final String string;
 	private final AttributedString atrString;
 
@@ -29,7 +25,6 @@ public class FormattedFont {
 	}
 
 	public FormattedFont(StringStyle text, double fontSize, Font font, FontRenderContext fontRenderContext) {
-		setFormat(text);
 		string = text.getStringWithoutMarkup();
 
 		atrString = new AttributedString(string);
@@ -37,9 +32,9 @@ public class FormattedFont {
 
 		atrString.addAttribute(TextAttribute.FAMILY, font.getFamily());
 		atrString.addAttribute(TextAttribute.SIZE, fontSize);
-		atrString.addAttribute(TextAttribute.WEIGHT, bold);
-		atrString.addAttribute(TextAttribute.POSTURE, italic);
-		atrString.addAttribute(TextAttribute.UNDERLINE, underline, 0, string.length());
+		atrString.addAttribute(TextAttribute.WEIGHT, text.getFormat().contains(FormatLabels.BOLD) ? TextAttribute.WEIGHT_BOLD : TextAttribute.WEIGHT_REGULAR);
+		atrString.addAttribute(TextAttribute.POSTURE, text.getFormat().contains(FormatLabels.ITALIC) ? TextAttribute.POSTURE_OBLIQUE : TextAttribute.POSTURE_REGULAR);
+		atrString.addAttribute(TextAttribute.UNDERLINE, text.getFormat().contains(FormatLabels.UNDERLINE) ? TextAttribute.UNDERLINE_ON : -1, 0, string.length()); // -1 = UNDERLINE_OFF
 
 		textLayout = new TextLayout(getAttributedCharacterIterator(), fontRenderContext);
 	}
@@ -56,29 +51,6 @@ public class FormattedFont {
 		return atrString.getIterator();
 	}
 
-	private static void setFormat(StringStyle style) {
-		if (style.getFormat().contains(FormatLabels.UNDERLINE)) {
-			underline = TextAttribute.UNDERLINE_ON;
-		}
-		else {
-			underline = -1; // UNDERLINE_OFF
-		}
-
-		if (style.getFormat().contains(FormatLabels.BOLD)) {
-			bold = TextAttribute.WEIGHT_BOLD;
-		}
-		else {
-			bold = TextAttribute.WEIGHT_REGULAR;
-		}
-
-		if (style.getFormat().contains(FormatLabels.ITALIC)) {
-			italic = TextAttribute.POSTURE_OBLIQUE;
-		}
-		else {
-			italic = TextAttribute.POSTURE_REGULAR;
-		}
-	}
-
 	public double getWidth() {
 		return textLayout.getVisibleAdvance();
 	}
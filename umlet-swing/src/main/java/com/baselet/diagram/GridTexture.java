@@ -0,0 +1,35 @@
+package com.baselet.diagram;
+
+import java.awt.Color;
+import java.awt.TexturePaint;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One tile of the grid of the DrawPanel, therefore drawing the grid only fills the repainted area instead of stroking every grid line of the diagram.
+ * The tiles are cached per grid size and color (the color depends on the theme).
+ */
+public class GridTexture {
+
+	private static final Map<Long, TexturePaint> textures = new HashMap<Long, TexturePaint>();
+
+	/**
+	 * @return a paint which draws a line at every multiple of gridSize (starting at 0)
+	 */
+	public static synchronized TexturePaint get(int gridSize, Color color) {
+		Long key = (long) gridSize << 32 | color.getRGB() & 0xFFFFFFFFL;
+		TexturePaint texture = textures.get(key);
+		if (texture == null) {
+			BufferedImage tile = new BufferedImage(gridSize, gridSize, BufferedImage.TYPE_INT_ARGB);
+			for (int i = 0; i < gridSize; i++) {
+				tile.setRGB(i, 0, color.getRGB());
+				tile.setRGB(0, i, color.getRGB());
+			}
+			texture = new TexturePaint(tile, new Rectangle2D.Double(0, 0, gridSize, gridSize));
+			textures.put(key, texture);
+		}
+		return texture;
+	}
+}
@@ -0,0 +1,61 @@
+package com.baselet.diagram;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.Timer;
+
+import com.baselet.control.config.Config;
+import com.baselet.control.enums.Program;
+import com.baselet.control.enums.RuntimeType;
+
+/**
+ * Decides if the DrawPanel is painted with full quality or fast.
+ * While the user drags, draws a lasso, scrolls or zooms the diagram is painted without antialiasing and expensive elements are only painted if their image is cached (otherwise their bounds are drawn).
+ * When no interaction has happened for {@link Config#getFullQualityRepaintDelay()} ms the diagram is repainted with full quality.
+ * Only painting on the screen is affected, exports and printing always use full quality.
+ */
+public class RenderingQualityPolicy {
+
+	private final DrawPanel drawPanel;
+	private final Timer idleTimer;
+	private boolean interacting = false;
+
+	public RenderingQualityPolicy(DrawPanel drawPanel) {
+		this.drawPanel = drawPanel;
+		idleTimer = new Timer(0, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				interacting = false;
+				RenderingQualityPolicy.this.drawPanel.repaint();
+			}
+		});
+		idleTimer.setRepeats(false);
+	}
+
+	/**
+	 * must be called for every step of a gesture (e.g. every mouse drag event), the full quality repaint is delayed until the gesture is idle
+	 */
+	public void interaction() {
+		if (!Config.getInstance().isAdaptiveRenderingQuality() || Program.getInstance().getRuntimeType() == RuntimeType.BATCH) {
+			return;
+		}
+		interacting = true;
+		idleTimer.setInitialDelay(Config.getInstance().getFullQualityRepaintDelay());
+		idleTimer.restart();
+	}
+
+	/**
+	 * @return true if the graphics should be painted fast
+	 */
+	public boolean isFastRendering(Graphics2D g) {
+		if (!interacting) {
+			return false;
+		}
+		GraphicsConfiguration gc = g.getDeviceConfiguration();
+		return gc != null && gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN;
+	}
+}
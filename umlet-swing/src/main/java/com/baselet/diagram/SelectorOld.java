@@ -3,10 +3,10 @@ package com.baselet.diagram;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Vector;
 
 import com.baselet.control.Main;
 import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.element.GroupIndex;
 import com.baselet.element.Selector;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.custom.CustomElement;
@@ -15,7 +15,6 @@ import com.baselet.gui.CurrentGui;
 public class SelectorOld extends Selector {
 
 	private GridElement dominantEntity;
-	private final Vector<GridElement> selectedElements = new Vector<GridElement>();
 	private final DrawPanel panel;
 	private boolean _selectorframeactive;
 	private final SelectorFrame _selectorframe;
@@ -27,8 +26,8 @@ public class SelectorOld extends Selector {
 	}
 
 	public GridElement getDominantEntity() {
-		if (dominantEntity == null && !selectedElements.isEmpty()) {
-			return selectedElements.firstElement();
+		if (dominantEntity == null && !getSelectedElements().isEmpty()) {
+			return getSelectedElements().get(0);
 		}
 		return dominantEntity;
 	}
@@ -54,8 +53,8 @@ public class SelectorOld extends Selector {
 
 	public void deselectAllWithoutUpdatePropertyPanel() {
 		// copy selected entities, clear list (to let GridElement.isSelected() calls return the correct result) and iterate over list and update selection status of GridElements
-		List<GridElement> listCopy = new ArrayList<GridElement>(selectedElements);
-		selectedElements.clear();
+		List<GridElement> listCopy = new ArrayList<GridElement>(getSelectedElements());
+		getSelectedElements().clear();
 		for (GridElement e : listCopy) {
 			e.repaint(); // repaint to make sure now unselected entities are not drawn as selected anymore
 		}
@@ -72,6 +71,7 @@ public class SelectorOld extends Selector {
 	}
 
 	private void updateGUIInformation() {
+		List<GridElement> selectedElements = getSelectedElements();
 		CurrentGui.getInstance().getGui().elementsSelected(selectedElements);
 		boolean customElementSelected = selectedElements.size() == 1 && selectedElements.get(0) instanceof CustomElement;
 		CurrentGui.getInstance().getGui().setCustomElementSelected(customElementSelected);
@@ -79,8 +79,9 @@ public class SelectorOld extends Selector {
 
 	public void updateSelectorInformation() {
 		GridElement elementForPropPanel = null;
+		List<GridElement> selectedElements = getSelectedElements();
 		if (!selectedElements.isEmpty()) {
-			elementForPropPanel = selectedElements.elementAt(selectedElements.size() - 1);
+			elementForPropPanel = selectedElements.get(selectedElements.size() - 1);
 		}
 		updateSelectorInformation(elementForPropPanel);
 	}
@@ -96,24 +97,13 @@ public class SelectorOld extends Selector {
 	}
 
 	public void multiSelect(Rectangle rect) {
-		for (GridElement e : panel.getGridElements()) {
+		for (GridElement e : panel.getGridElementIndex().getElementsIntersecting(rect)) { // an element can only be in range if it intersects the rectangle
 			if (e.isInRange(rect)) {
 				select(e);
 			}
 		}
 	}
 
-	@Override
-	public boolean isSelected(GridElement ge) {
-		boolean isSelected = super.isSelected(ge);
-		return isSelected;
-	}
-
-	@Override
-	public List<GridElement> getSelectedElements() {
-		return selectedElements;
-	}
-
 	@Override
 	public List<GridElement> getAllElements() {
 		if (CurrentDiagram.getInstance().getDiagramHandler() == null) {
@@ -122,6 +112,14 @@ public class SelectorOld extends Selector {
 		return CurrentDiagram.getInstance().getDiagramHandler().getDrawPanel().getGridElements();
 	}
 
+	@Override
+	public GroupIndex getGroupIndex() {
+		if (CurrentDiagram.getInstance().getDiagramHandler() == null) {
+			return new GroupIndex();
+		}
+		return CurrentDiagram.getInstance().getDiagramHandler().getDrawPanel().getGroupIndex();
+	}
+
 	@Override
 	public void doAfterSelect(GridElement e) {
 		super.doAfterSelect(e);
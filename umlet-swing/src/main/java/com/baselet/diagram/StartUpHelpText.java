@@ -156,7 +156,7 @@ public class StartUpHelpText extends JEditorPane implements ContainerListener, C
 
 	@Override
 	public void componentRemoved(ContainerEvent e) {
-		if (e.getContainer().getComponentCount() <= 1 && !equals(e.getChild())) {
+		if (e.getContainer().getComponentCount() <= 1 && !equals(e.getChild()) && panel.getGridElements().isEmpty()) { // in single canvas mode the elements are not children of the panel
 			setVisible(true);
 		}
 	}
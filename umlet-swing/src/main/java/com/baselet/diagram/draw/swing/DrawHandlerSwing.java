@@ -71,17 +71,19 @@ public class DrawHandlerSwing extends DrawHandler {
 		return handler.getZoomFactor();
 	}
 
+	@Override
+	public double getZoomFactor() {
+		return getZoom();
+	}
+
+	@Override
+	public boolean isLowDetail() {
+		return handler.isLowDetail(); // false while printing and exporting
+	}
+
 	@Override
 	public DimensionDouble textDimensionHelper(StringStyle singleLine) {
-		boolean specialFontSize = style.getFontSize() != getDefaultFontSize();
-		if (specialFontSize) {
-			handler.getFontHandler().setFontSize(style.getFontSize());
-		}
-		DimensionDouble returnVal = handler.getFontHandler().getTextSize(singleLine, false);
-		if (specialFontSize) {
-			handler.getFontHandler().resetFontSize();
-		}
-		return returnVal;
+		return handler.getFontHandler().getTextSize(singleLine, style.getFontSize()); // the font size of the FontHandler is not changed, because elements are measured concurrently (see ParallelModelUpdate)
 	}
 
 	@Override
@@ -112,7 +114,8 @@ public class DrawHandlerSwing extends DrawHandler {
 	}
 
 	@Override
-	public void drawLines(PointDouble... points) {
+	public void drawLines(PointDouble... allPoints) {
+		PointDouble[] points = simplifyIfLowDetail(allPoints);
 		if (points.length > 0) {
 			Path2D.Double path = new Path2D.Double();
 			boolean first = true;
@@ -156,6 +159,9 @@ public class DrawHandlerSwing extends DrawHandler {
 
 	@Override
 	public void printHelper(StringStyle[] text, PointDouble point, AlignHorizontal align) {
+		if (printGreekedIfLowDetail(text, point, align)) {
+			return;
+		}
 		addText(new Text(text, point.x * getZoom(), point.y * getZoom(), align));
 	}
 
@@ -206,10 +212,8 @@ public class DrawHandlerSwing extends DrawHandler {
 	private void drawText(Style style, Text t) {
 		ColorOwn col = getOverlay().getForegroundColor() != null ? getOverlay().getForegroundColor() : style.getForegroundColor();
 		g2.setColor(Converter.convert(col));
-		handler.getFontHandler().setFontSize(style.getFontSize());
-		g2.setFont(handler.getFontHandler().getFont());
-		handler.getFontHandler().writeText(g2, t.getText(), t.getX(), t.getY(), t.getHorizontalAlignment());
-		handler.getFontHandler().resetFontSize();
+		g2.setFont(handler.getFontHandler().getFont(style.getFontSize(), true));
+		handler.getFontHandler().writeText(g2, t.getText(), t.getX(), t.getY(), t.getHorizontalAlignment(), style.getFontSize(), true);
 	}
 
 	public void setTranslate(boolean translate) {
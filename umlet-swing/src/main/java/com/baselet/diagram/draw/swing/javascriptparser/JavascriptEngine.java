@@ -0,0 +1,71 @@
+package com.baselet.diagram.draw.swing.javascriptparser;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+
+import com.baselet.util.SegmentedLRUCache;
+import com.baselet.util.SegmentedLRUCache.CacheStatistics;
+
+/**
+ * Holds the state which is shared by all javascript parsers:
+ * One sealed scope with the standard objects (which is expensive to create) and the compiled scripts (keyed by their source code).
+ * Compiled scripts don't depend on a scope, therefore they can be executed by any parser and thread.
+ */
+public class JavascriptEngine {
+
+	private static final JavascriptEngine instance = new JavascriptEngine();
+
+	public static JavascriptEngine getInstance() {
+		return instance;
+	}
+
+	private static final String SOURCE_NAME = "JS";
+
+	private final ScriptableObject sharedScope;
+	private final SegmentedLRUCache<String, Script> scriptCache = new SegmentedLRUCache<String, Script>("JavascriptScripts", 500);
+
+	private JavascriptEngine() {
+		Context cx = Context.enter();
+		try {
+			sharedScope = cx.initStandardObjects(null, true);
+			sharedScope.sealObject();
+		} finally {
+			Context.exit();
+		}
+	}
+
+	/**
+	 * @return the sealed scope with the standard objects, it must be used as prototype of a new scope which is modifiable
+	 */
+	public Scriptable getSharedScope() {
+		return sharedScope;
+	}
+
+	/**
+	 * creates an empty top-level scope which inherits the standard objects from the given prototype; new variables of a script are stored in this scope
+	 */
+	public Scriptable newScope(Context cx, Scriptable prototype) {
+		Scriptable scope = cx.newObject(sharedScope);
+		scope.setPrototype(prototype);
+		scope.setParentScope(null);
+		return scope;
+	}
+
+	/**
+	 * must be called within an entered Context
+	 */
+	public Object execute(Context cx, String code, Scriptable scope) {
+		Script script = scriptCache.get(code);
+		if (script == null) {
+			script = cx.compileString(code, SOURCE_NAME, 1, null);
+			scriptCache.put(code, script);
+		}
+		return script.exec(cx, scope);
+	}
+
+	public CacheStatistics getCacheStatistics() {
+		return scriptCache.getStatistics();
+	}
+}
@@ -1,6 +1,8 @@
 package com.baselet.diagram.draw.swing.javascriptparser;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.FunctionObject;
@@ -15,35 +17,55 @@ public class JavascriptParserSwing extends JavascriptCodeParser {
 
 	private final static String DRAWMETHODS_PREFIX = "draw";
 
+	private static final List<Method> DRAW_METHODS = new ArrayList<Method>();
+	static {
+		for (Method method : DrawerScriptable.class.getMethods()) {
+			if (method.getName().startsWith(DRAWMETHODS_PREFIX)) {
+				DRAW_METHODS.add(method);
+			}
+		}
+	}
+
 	private final DrawerScriptable drawerScriptable;
 
+	/**
+	 * scope with the draw functions of this parser, they are bound once and reused for every parse call
+	 */
+	private Scriptable drawFunctionsScope;
+
 	public JavascriptParserSwing(DrawHandler drawer) {
 		drawerScriptable = new DrawerScriptable(drawer);
 	}
 
 	@Override
 	public void parse(String code, int width, int height) {
+		JavascriptEngine engine = JavascriptEngine.getInstance();
 		Context cx = Context.enter();
+		try {
+			// every run gets its own scope, therefore variables of the last run are not visible
+			Scriptable scope = engine.newScope(cx, getDrawFunctionsScope(cx, engine));
+			drawerScriptable.setScope(scope);
+			setGlobalVariables(scope, width, height);
+			engine.execute(cx, code, scope);
+		} finally {
+			Context.exit();
+		}
+	}
 
-		Scriptable scope = cx.initStandardObjects();
-
-		// Create an instance of the class whose instance methods is to be made available in javascript as a global function.
-		Scriptable scriptable = drawerScriptable;
-		scriptable.setParentScope(scope);
-		drawerScriptable.setScope(scope);
-
-		for (Method method : DrawerScriptable.class.getMethods()) {
-			if (method.getName().startsWith(DRAWMETHODS_PREFIX)) {
+	private Scriptable getDrawFunctionsScope(Context cx, JavascriptEngine engine) {
+		if (drawFunctionsScope == null) {
+			Scriptable scope = engine.newScope(cx, engine.getSharedScope());
+			// Create an instance of the class whose instance methods is to be made available in javascript as a global function.
+			drawerScriptable.setParentScope(scope);
+			for (Method method : DRAW_METHODS) {
 				// Create the FunctionObject that binds the above function name to the instance method.
-				FunctionObject scriptableInstanceMethodBoundJavascriptFunction = new CustomFunctionObject(method.getName(), method, scriptable);
+				FunctionObject scriptableInstanceMethodBoundJavascriptFunction = new CustomFunctionObject(method.getName(), method, drawerScriptable);
 				// Make it accessible within the scriptExecutionScope.
 				scope.put(method.getName(), scope, scriptableInstanceMethodBoundJavascriptFunction);
 			}
+			drawFunctionsScope = scope;
 		}
-
-		setGlobalVariables(scope, width, height);
-
-		cx.evaluateString(scope, code, "JS", 1, null);
+		return drawFunctionsScope;
 	}
 
 	private void setGlobalVariables(Scriptable scope, int width, int height) {
@@ -15,7 +15,7 @@ import com.baselet.gui.CurrentGui;
 public class ClassChooser {
 
 	private static JFileChooser instance;
-	private static final String ALLOWED_EXTENSIONS = ".*.(java|class)";
+	private static final String ALLOWED_EXTENSIONS = ".*.(java|class|jar)";
 	private static final int TOO_MANY_FILES = 10;
 
 	private static JFileChooser getInstance() {
@@ -31,7 +31,7 @@ public class ClassChooser {
 
 				@Override
 				public String getDescription() {
-					return ".java/.class file or directory";
+					return ".java/.class/.jar file or directory";
 				}
 			});
 			instance.setAcceptAllFileFilterUsed(false);
@@ -2,16 +2,9 @@ package com.baselet.diagram.io;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
-import java.io.StringWriter;
-import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 
@@ -19,32 +12,19 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileFilter;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
 import com.baselet.util.logging.Logger;
 import com.baselet.util.logging.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
 import com.baselet.control.config.Config;
-import com.baselet.control.constants.Constants;
 import com.baselet.control.enums.Program;
 import com.baselet.control.util.Path;
 import com.baselet.control.util.RecentlyUsedFilesList;
 import com.baselet.diagram.CurrentDiagram;
 import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.Notifier;
-import com.baselet.element.NewGridElement;
-import com.baselet.element.interfaces.GridElement;
-import com.baselet.element.old.custom.CustomElement;
 import com.baselet.gui.CurrentGui;
 
 public class DiagramFileHandler {
@@ -145,121 +125,6 @@ public class DiagramFileHandler {
 		CurrentGui.getInstance().getGui().updateDiagramName(handler, handler.getName());
 	}
 
-	private void createXMLOutputDoc(Document doc, Collection<GridElement> elements, Element current) {
-		for (GridElement e : elements) {
-			appendRecursively(doc, current, e);
-		}
-	}
-
-	private void appendRecursively(Document doc, Element parentXmlElement, GridElement e) {
-		parentXmlElement.appendChild(createXmlElementForGridElement(doc, e));
-	}
-
-	private Element createXmlElementForGridElement(Document doc, GridElement e) {
-		// insert normal entity element
-		java.lang.Class<? extends GridElement> c = e.getClass();
-		String sElType = c.getName();
-		String sElPanelAttributes = e.getPanelAttributes();
-		String sElAdditionalAttributes = e.getAdditionalAttributes();
-
-		Element el = doc.createElement("element");
-
-		if (e instanceof NewGridElement) {
-			Element elType = doc.createElement("id");
-			elType.appendChild(doc.createTextNode(((NewGridElement) e).getId().toString()));
-			el.appendChild(elType);
-		}
-		else { // OldGridElement
-			Element elType = doc.createElement("type");
-			elType.appendChild(doc.createTextNode(sElType));
-			el.appendChild(elType);
-		}
-
-		Element elCoor = doc.createElement("coordinates");
-		el.appendChild(elCoor);
-
-		Element elX = doc.createElement("x");
-		elX.appendChild(doc.createTextNode("" + e.getRectangle().x));
-		elCoor.appendChild(elX);
-
-		Element elY = doc.createElement("y");
-		elY.appendChild(doc.createTextNode("" + e.getRectangle().y));
-		elCoor.appendChild(elY);
-
-		Element elW = doc.createElement("w");
-		elW.appendChild(doc.createTextNode("" + e.getRectangle().width));
-		elCoor.appendChild(elW);
-
-		Element elH = doc.createElement("h");
-		elH.appendChild(doc.createTextNode("" + e.getRectangle().height));
-		elCoor.appendChild(elH);
-
-		Element elPA = doc.createElement("panel_attributes");
-		elPA.appendChild(doc.createTextNode(sElPanelAttributes));
-		el.appendChild(elPA);
-
-		Element elAA = doc.createElement("additional_attributes");
-		elAA.appendChild(doc.createTextNode(sElAdditionalAttributes));
-		el.appendChild(elAA);
-
-		if (e instanceof CustomElement) {
-			Element elCO = doc.createElement("custom_code");
-			elCO.appendChild(doc.createTextNode(((CustomElement) e).getCode()));
-			el.appendChild(elCO);
-		}
-		return el;
-	}
-
-	protected String createStringToBeSaved() {
-		DocumentBuilder db = null;
-		String returnString = null;
-
-		try {
-			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-			db = dbf.newDocumentBuilder();
-			Document doc = db.newDocument();
-
-			Element root = doc.createElement("diagram");
-			root.setAttribute("program", Program.getInstance().getProgramName().toLowerCase());
-			root.setAttribute("version", String.valueOf(Program.getInstance().getVersion()));
-			doc.appendChild(root);
-
-			// save helptext
-			String helptext = handler.getHelpText();
-			if (!helptext.equals(Constants.getDefaultHelptext())) {
-				Element help = doc.createElement("help_text");
-				help.appendChild(doc.createTextNode(helptext));
-				root.appendChild(help);
-			}
-
-			// save zoom
-			Element zoom = doc.createElement("zoom_level");
-			zoom.appendChild(doc.createTextNode(String.valueOf(handler.getGridSize())));
-			root.appendChild(zoom);
-
-			createXMLOutputDoc(doc, handler.getDrawPanel().getGridElements(), root);
-
-			// output the stuff...
-			DOMSource source = new DOMSource(doc);
-			StringWriter stringWriter = new StringWriter();
-			StreamResult result = new StreamResult(stringWriter);
-
-			TransformerFactory transFactory = TransformerFactory.newInstance();
-			Transformer transformer = transFactory.newTransformer();
-			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-
-			transformer.transform(source, result);
-
-			returnString = stringWriter.toString();
-		} catch (Exception e) {
-			log.error("Error saving XML.", e);
-		}
-
-		return returnString;
-
-	}
-
 	public void doOpen() {
 		try {
 			SAXParserFactory spf = SAXParserFactory.newInstance();
@@ -273,10 +138,13 @@ public class DiagramFileHandler {
 			SAXParser parser = spf.newSAXParser();
 			FileInputStream input = new FileInputStream(file);
 			InputHandler xmlhandler = new InputHandler(handler);
+			handler.setDeferModelUpdates(Config.getInstance().isLazyElementLoading());
 			parser.parse(input, xmlhandler);
 			input.close();
 		} catch (Exception e) {
 			log.error("Cannot open the file: " + file.getAbsolutePath(), e);
+		} finally {
+			handler.setDeferModelUpdates(false);
 		}
 	}
 
@@ -345,15 +213,12 @@ public class DiagramFileHandler {
 		// CustomElementSecurityManager.remThreadPrivileges(Thread.currentThread());
 	}
 
-	private void save() throws UnsupportedEncodingException, FileNotFoundException {
+	private void save() throws IOException {
 		save(file, false); // If save is called without a parameter it uses the class variable "file"
 	}
 
-	private void save(File saveToFile, boolean tempFile) throws UnsupportedEncodingException, FileNotFoundException {
-		String tmp = createStringToBeSaved();
-		PrintWriter out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(saveToFile), "UTF-8"));
-		out.print(tmp);
-		out.close();
+	private void save(File saveToFile, boolean tempFile) throws IOException {
+		DiagramXmlWriter.writeToFile(handler, saveToFile);
 		if (!tempFile) {
 			handler.setChanged(false);
 			RecentlyUsedFilesList.getInstance().add(saveToFile.getAbsolutePath());
@@ -0,0 +1,200 @@
+package com.baselet.diagram.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.baselet.control.constants.Constants;
+import com.baselet.control.enums.Program;
+import com.baselet.diagram.DiagramHandler;
+import com.baselet.element.NewGridElement;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.old.custom.CustomElement;
+
+/**
+ * Writes a diagram in the uxf format directly to a stream, element by element (the diagram never exists as a DOM or as one big string).
+ * The output is the same as the one of an indenting XML transformer, therefore diagrams saved by older versions don't change unnecessarily.
+ */
+public class DiagramXmlWriter {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String INDENT = "  ";
+
+	private final Writer out;
+
+	public DiagramXmlWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Writes the diagram to a temporary file in the directory of the target which replaces the target after it has been written completely.
+	 * If writing fails the target is unchanged.
+	 */
+	public static void writeToFile(DiagramHandler handler, File target) throws IOException {
+		Path targetPath = target.toPath().toAbsolutePath();
+		if (Files.isSymbolicLink(targetPath)) {
+			targetPath = targetPath.toRealPath(); // replace the file which is linked instead of the link
+		}
+		Path tempPath = null;
+		FileChannel channel = null;
+		for (int attempt = 0; channel == null; attempt++) {
+			tempPath = targetPath.resolveSibling("." + targetPath.getFileName() + "." + System.nanoTime() + ".tmp");
+			try {
+				channel = FileChannel.open(tempPath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			} catch (FileAlreadyExistsException e) {
+				if (attempt >= 10) {
+					throw e;
+				}
+			}
+		}
+		boolean success = false;
+		try {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8), BUFFER_SIZE);
+			try {
+				new DiagramXmlWriter(writer).write(handler);
+				writer.flush();
+				channel.force(true); // the data must be on the disk before the rename makes it visible
+			} finally {
+				writer.close();
+			}
+			move(tempPath, targetPath);
+			success = true;
+		} finally {
+			if (!success) {
+				channel.close();
+				Files.deleteIfExists(tempPath);
+			}
+		}
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	public void write(DiagramHandler handler) throws IOException {
+		out.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+		out.write("<diagram program=\"");
+		writeEscaped(Program.getInstance().getProgramName().toLowerCase(), true);
+		out.write("\" version=\"");
+		writeEscaped(String.valueOf(Program.getInstance().getVersion()), true);
+		out.write("\">\n");
+
+		String helptext = handler.getHelpText();
+		if (!helptext.equals(Constants.getDefaultHelptext())) {
+			writeTextElement(1, "help_text", helptext);
+		}
+		writeTextElement(1, "zoom_level", String.valueOf(handler.getGridSize()));
+
+		for (GridElement e : handler.getDrawPanel().getGridElements()) {
+			writeElement(e);
+		}
+		out.write("</diagram>\n");
+	}
+
+	private void writeElement(GridElement e) throws IOException {
+		writeStartTag(1, "element");
+		if (e instanceof NewGridElement) {
+			writeTextElement(2, "id", ((NewGridElement) e).getId().toString());
+		}
+		else { // OldGridElement
+			writeTextElement(2, "type", e.getClass().getName());
+		}
+
+		writeStartTag(2, "coordinates");
+		writeTextElement(3, "x", String.valueOf(e.getRectangle().x));
+		writeTextElement(3, "y", String.valueOf(e.getRectangle().y));
+		writeTextElement(3, "w", String.valueOf(e.getRectangle().width));
+		writeTextElement(3, "h", String.valueOf(e.getRectangle().height));
+		writeEndTag(2, "coordinates");
+
+		writeTextElement(2, "panel_attributes", e.getPanelAttributes());
+		writeTextElement(2, "additional_attributes", e.getAdditionalAttributes());
+		if (e instanceof CustomElement) {
+			writeTextElement(2, "custom_code", ((CustomElement) e).getCode());
+		}
+		writeEndTag(1, "element");
+	}
+
+	private void writeStartTag(int depth, String name) throws IOException {
+		writeIndent(depth);
+		out.write('<');
+		out.write(name);
+		out.write(">\n");
+	}
+
+	private void writeEndTag(int depth, String name) throws IOException {
+		writeIndent(depth);
+		out.write("</");
+		out.write(name);
+		out.write(">\n");
+	}
+
+	private void writeTextElement(int depth, String name, String text) throws IOException {
+		writeIndent(depth);
+		out.write('<');
+		out.write(name);
+		if (text == null || text.isEmpty()) {
+			out.write("/>\n");
+			return;
+		}
+		out.write('>');
+		writeEscaped(text, false);
+		out.write("</");
+		out.write(name);
+		out.write(">\n");
+	}
+
+	private void writeIndent(int depth) throws IOException {
+		for (int i = 0; i < depth; i++) {
+			out.write(INDENT);
+		}
+	}
+
+	/**
+	 * writes the unescaped parts of the text in one piece and only replaces the characters which must be escaped
+	 */
+	private void writeEscaped(String text, boolean attribute) throws IOException {
+		int start = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			String replacement;
+			if (c == '&') {
+				replacement = "&amp;";
+			}
+			else if (c == '<') {
+				replacement = "&lt;";
+			}
+			else if (c == '>') {
+				replacement = "&gt;";
+			}
+			else if (c == '"' && attribute) {
+				replacement = "&quot;";
+			}
+			else if (c == '\r' || c < 0x20 && c != '\n' && c != '\t' || attribute && (c == '\n' || c == '\t')) {
+				replacement = "&#" + (int) c + ";"; // otherwise a parser would normalize the character
+			}
+			else {
+				continue;
+			}
+			out.write(text, start, i - start);
+			out.write(replacement);
+			start = i + 1;
+		}
+		out.write(text, start, text.length() - start);
+	}
+}
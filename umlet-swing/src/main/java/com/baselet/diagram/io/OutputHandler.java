@@ -10,8 +10,10 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -42,6 +44,7 @@ import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.DrawPanel;
 import com.baselet.diagram.FontHandler;
 import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
 import com.baselet.element.interfaces.GridElement;
 import com.itextpdf.awt.FontMapper;
 import com.itextpdf.awt.PdfGraphics2D;
@@ -49,8 +52,35 @@ import com.itextpdf.text.pdf.PdfWriter;
 
 public class OutputHandler {
 
+	private static final Object exportThemeLock = new Object();
+	private static int runningExports = 0; // guarded by exportThemeLock
+	private static ThemeFactory.THEMES themeBeforeExport; // guarded by exportThemeLock
+
 	private OutputHandler() {} // private constructor to avoid instantiation
 
+	/**
+	 * The colors of the elements are determined while their model is parsed, therefore the copies for the export must be created while the global theme is LIGHT.
+	 * Exports can run concurrently (e.g. the batch conversion with several threads), therefore the first running export switches the theme
+	 * and the last one restores it; otherwise one export would restore the previous theme while another one is still parsing its copies.
+	 * Every call must be followed by {@link #endExportTheme()} in a finally block.
+	 */
+	private static void beginExportTheme() {
+		synchronized (exportThemeLock) {
+			if (runningExports++ == 0) {
+				themeBeforeExport = ThemeFactory.getActiveThemeEnum();
+				ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
+			}
+		}
+	}
+
+	private static void endExportTheme() {
+		synchronized (exportThemeLock) {
+			if (--runningExports == 0) {
+				ThemeFactory.changeTheme(themeBeforeExport, null, true);
+			}
+		}
+	}
+
 	public static void createAndOutputToFile(String extension, File file, DiagramHandler handler) throws Exception {
 		OutputStream ostream = new FileOutputStream(file);
 		createToStream(extension, ostream, handler);
@@ -58,10 +88,6 @@ public class OutputHandler {
 	}
 
 	public static void createToStream(String extension, OutputStream ostream, DiagramHandler handler) throws Exception {
-
-		int oldZoom = handler.getGridSize();
-		handler.setGridAndZoom(Constants.DEFAULTGRIDSIZE, false); // Zoom to the defaultGridsize before execution
-
 		// if some GridElements are selected, only export them
 		Collection<GridElement> elementsToDraw = handler.getDrawPanel().getSelector().getSelectedElements();
 		// if nothing is selected, draw everything
@@ -69,42 +95,76 @@ public class OutputHandler {
 			elementsToDraw = handler.getDrawPanel().getGridElements();
 		}
 
-		OutputHandler.exportToOutputStream(extension, ostream, elementsToDraw, handler.getFontHandler());
+		// the diagram itself is not zoomed, instead the export works on copies of the elements at the default gridsize
+		OutputHandler.exportToOutputStream(extension, ostream, elementsToDraw, handler.getGridSize(), handler.getFontHandler());
+	}
 
-		handler.setGridAndZoom(oldZoom, false); // Zoom back to the oldGridsize after execution
+	private static void exportToOutputStream(String extension, OutputStream ostream, Collection<GridElement> entities, int gridSize, FontHandler diagramFont) throws IOException {
+		beginExportTheme();
+		try {
+			List<GridElement> snapshot = createExportSnapshot(entities, gridSize, diagramFont);
+			for (GridElement ge : snapshot) {
+				ge.getDeprecatedAddons().doBeforeExport();
+			}
+			exportSnapshot(extension, ostream, snapshot);
+		} finally {
+			endExportTheme();
+		}
 	}
 
-	private static void exportToOutputStream(String extension, OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
-		for (GridElement ge : entities) {
-			ge.getDeprecatedAddons().doBeforeExport();
+	/**
+	 * Creates copies of the elements at the default gridsize which belong to a separate export DiagramHandler.
+	 * Therefore the live diagram is neither zoomed nor repainted during the export
+	 */
+	private static List<GridElement> createExportSnapshot(Collection<GridElement> entities, int gridSize, FontHandler diagramFont) {
+		DiagramHandler exportHandler = DiagramHandler.forExport(diagramFont); // #290: pass fontHandler from original diagramHandler to let the export use diagram specific fontsize+family
+		List<GridElement> snapshot = new ArrayList<GridElement>(entities.size());
+		for (GridElement entity : entities) {
+			GridElement copy;
+			if (gridSize == Constants.DEFAULTGRIDSIZE) {
+				copy = ElementFactorySwing.createCopy(entity, exportHandler);
+			}
+			else if (entity instanceof NewGridElement) { // create the copy directly with the zoomed bounds (its model is only parsed once)
+				Rectangle zoomed = DiagramHandler.getZoomedRectangle(entity, gridSize, Constants.DEFAULTGRIDSIZE);
+				copy = ElementFactorySwing.create(entity.getId(), zoomed, entity.getPanelAttributes(), entity.getAdditionalAttributes(), exportHandler);
+			}
+			else {
+				copy = ElementFactorySwing.createCopy(entity, exportHandler);
+				DiagramHandler.zoomEntity(gridSize, Constants.DEFAULTGRIDSIZE, copy);
+			}
+			snapshot.add(copy);
 		}
+		return snapshot;
+	}
+
+	private static void exportSnapshot(String extension, OutputStream ostream, Collection<GridElement> entities) throws IOException {
 		if (extension.equals("eps")) {
-			exportEps(ostream, entities, diagramFont);
+			exportEps(ostream, entities);
 		}
 		else if (extension.equals("pdf")) {
-			exportPdf(ostream, entities, diagramFont);
+			exportPdf(ostream, entities);
 		}
 		else if (extension.equals("svg")) {
-			exportSvg(ostream, entities, diagramFont);
+			exportSvg(ostream, entities);
 		}
 		else if (isImageExtension(extension)) {
-			exportImg(extension, ostream, entities, diagramFont);
+			exportImg(extension, ostream, entities);
 		}
 		else {
 			throw new IllegalArgumentException(extension + " is an invalid format");
 		}
 	}
 
-	private static void exportEps(OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
+	private static void exportEps(OutputStream ostream, Collection<GridElement> entities) throws IOException {
 		Rectangle bounds = DrawPanel.getContentBounds(Config.getInstance().getPrintPadding(), entities);
 		EpsGraphics2D graphics2d = new EpsGraphics2D(Program.getInstance().getProgramName() + " Diagram", ostream, 0, 0, bounds.width, bounds.height);
 		setGraphicsBorders(bounds, graphics2d, 1);
-		paintEntitiesIntoGraphics2D(graphics2d, entities, diagramFont);
+		paintSnapshotIntoGraphics2D(graphics2d, entities);
 		graphics2d.flush();
 		graphics2d.close();
 	}
 
-	private static void exportPdf(OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
+	private static void exportPdf(OutputStream ostream, Collection<GridElement> entities) throws IOException {
 		try {
 			FontMapper mapper = new PdfFontMapper();
 
@@ -119,7 +179,7 @@ public class OutputHandler {
 			Dimension trans = new Dimension(bounds.getX(), bounds.getY());
 			graphics2d.translate(-trans.getWidth(), -trans.getHeight());
 
-			paintEntitiesIntoGraphics2D(graphics2d, entities, diagramFont);
+			paintSnapshotIntoGraphics2D(graphics2d, entities);
 			graphics2d.dispose();
 			document.close();
 		} catch (com.itextpdf.text.DocumentException e) {
@@ -127,14 +187,14 @@ public class OutputHandler {
 		}
 	}
 
-	private static void exportSvg(OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
+	private static void exportSvg(OutputStream ostream, Collection<GridElement> entities) throws IOException {
 		Rectangle bounds = DrawPanel.getContentBounds(Config.getInstance().getPrintPadding(), entities);
 		DOMImplementation domImpl = GenericDOMImplementation.getDOMImplementation();
 		org.w3c.dom.Document document = domImpl.createDocument(null, "svg", null);
 
 		SVGGraphics2D graphics2d = new SVGGraphics2D(document);
 		graphics2d.setSVGCanvasSize(Converter.convert(bounds.getSize()));
-		paintEntitiesIntoGraphics2D(graphics2d, entities, diagramFont);
+		paintSnapshotIntoGraphics2D(graphics2d, entities);
 
 		Element root = graphics2d.getRoot();
 		root.setAttributeNS(null, "viewBox", String.format("%d %d %d %d", bounds.x, bounds.y, bounds.width, bounds.height));
@@ -143,18 +203,18 @@ public class OutputHandler {
 		graphics2d.dispose();
 	}
 
-	private static void exportImg(String imgType, OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont) throws IOException {
+	private static void exportImg(String imgType, OutputStream ostream, Collection<GridElement> entities) throws IOException {
 		Integer scale = Config.getInstance().getExportScale();
 		// #510 If DPI setting is used, try to export using correct DPI settings (for high dpi/retina displays) see https://stackoverflow.com/questions/321736/how-to-set-dpi-information-in-an-image/4833697
-		boolean exportedWithDpi = exportImgAndSetDpi(imgType, ostream, entities, diagramFont, scale);
+		boolean exportedWithDpi = exportImgAndSetDpi(imgType, ostream, entities, scale);
 		if (!exportedWithDpi) { // no dpi setting is used or the format doesnt support the setting, use the simple one (at the moment only png seems to support it)
-			ImageIO.write(createImageForGridElements(entities, diagramFont, scale), imgType, ostream);
+			ImageIO.write(createImageForSnapshot(entities, scale), imgType, ostream);
 		}
 		ostream.flush();
 		ostream.close();
 	}
 
-	private static boolean exportImgAndSetDpi(String imgType, OutputStream ostream, Collection<GridElement> entities, FontHandler diagramFont, Integer scale) throws IIOInvalidTreeException, IOException {
+	private static boolean exportImgAndSetDpi(String imgType, OutputStream ostream, Collection<GridElement> entities, Integer scale) throws IIOInvalidTreeException, IOException {
 		Integer dpi = Config.getInstance().getExportDpi();
 		if (dpi != null) {
 			for (Iterator<ImageWriter> iw = ImageIO.getImageWritersByFormatName(imgType); iw.hasNext();) {
@@ -170,7 +230,7 @@ public class OutputHandler {
 				final ImageOutputStream stream = ImageIO.createImageOutputStream(ostream);
 				try {
 					writer.setOutput(stream);
-					writer.write(metadata, new IIOImage(createImageForGridElements(entities, diagramFont, scale), null, metadata), writeParam);
+					writer.write(metadata, new IIOImage(createImageForSnapshot(entities, scale), null, metadata), writeParam);
 					return true;
 				} finally {
 					stream.close();
@@ -202,7 +262,15 @@ public class OutputHandler {
 	}
 
 	public static BufferedImage createImageForGridElements(Collection<GridElement> entities, FontHandler diagramFont, int scale) {
+		beginExportTheme();
+		try {
+			return createImageForSnapshot(createExportSnapshot(entities, Constants.DEFAULTGRIDSIZE, diagramFont), scale);
+		} finally {
+			endExportTheme();
+		}
+	}
 
+	private static BufferedImage createImageForSnapshot(Collection<GridElement> entities, int scale) {
 		Rectangle bounds = DrawPanel.getContentBounds(Config.getInstance().getPrintPadding(), entities);
 		BufferedImage im = new BufferedImage(bounds.width == 0 ? 1 : bounds.width * scale, bounds.height == 0 ? 1 : bounds.height * scale, BufferedImage.TYPE_INT_RGB);
 		Graphics2D graphics2d = im.createGraphics();
@@ -210,7 +278,7 @@ public class OutputHandler {
 
 		setGraphicsBorders(bounds, graphics2d, scale);
 		graphics2d.scale(scale, scale);
-		paintEntitiesIntoGraphics2D(graphics2d, entities, diagramFont);
+		paintSnapshotIntoGraphics2D(graphics2d, entities);
 		graphics2d.dispose();
 
 		return im;
@@ -228,22 +296,26 @@ public class OutputHandler {
 	}
 
 	public static void paintEntitiesIntoGraphics2D(Graphics2D g2d, Collection<GridElement> entities, FontHandler diagramFont) {
-		DiagramHandler handler = DiagramHandler.forExport(diagramFont); // #290: pass fontHandler from original diagramHandler to let the export use diagram specific fontsize+family
-		ThemeFactory.THEMES currentTheme = ThemeFactory.getActiveThemeEnum();
-		ThemeFactory.changeTheme(ThemeFactory.THEMES.LIGHT, null, false);
+		beginExportTheme();
+		try {
+			paintSnapshotIntoGraphics2D(g2d, createExportSnapshot(entities, Constants.DEFAULTGRIDSIZE, diagramFont));
+		} finally {
+			endExportTheme();
+		}
+	}
+
+	private static void paintSnapshotIntoGraphics2D(Graphics2D g2d, Collection<GridElement> snapshot) {
 		JLayeredPane tempPanel = new JLayeredPane();
-		for (GridElement entity : entities) {
-			GridElement clone = ElementFactorySwing.createCopy(entity, handler);
-			com.baselet.element.interfaces.Component component = clone.getComponent();
+		for (GridElement copy : snapshot) {
+			com.baselet.element.interfaces.Component component = copy.getComponent();
 			// Issue 138: when PDF and Swing Export draw on (0,0) a part of the drawn image is cut, therefore it's displaced by 0.5px in that case.
 			// also Issue 270: makes arrow ending placement better
 			component.translateForExport();
-			tempPanel.add((Component) component, clone.getLayer());
+			tempPanel.add((Component) component, copy.getLayer());
 		}
 		tempPanel.validate();
 		tempPanel.setBackground(Color.WHITE);
 		tempPanel.setSize(Integer.MAX_VALUE, Integer.MAX_VALUE);
 		tempPanel.update(g2d);
-		ThemeFactory.changeTheme(currentTheme, null, true);
 	}
 }
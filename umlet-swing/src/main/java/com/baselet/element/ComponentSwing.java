@@ -1,6 +1,7 @@
 package com.baselet.element;
 
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 
 import javax.swing.JComponent;
 
@@ -9,13 +10,18 @@ import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Point;
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.DrawPanel;
 import com.baselet.diagram.draw.DrawHandler;
+import com.baselet.diagram.draw.helper.theme.Theme;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
 import com.baselet.diagram.draw.swing.DrawHandlerSwing;
 import com.baselet.element.interfaces.Component;
 
 public class ComponentSwing extends JComponent implements Component {
 	private static final long serialVersionUID = 1L;
 
+	private static final int EXPENSIVE_DRAWABLE_COUNT = 200; // e.g. plots and loops in custom drawings, a class has only a few drawables per line
+
 	private final DrawHandlerSwing drawer;
 	private final DrawHandlerSwing metaDrawer;
 	private final NewGridElement gridElement;
@@ -28,9 +34,36 @@ public class ComponentSwing extends JComponent implements Component {
 
 	@Override
 	public void paint(Graphics g) {
+		gridElement.ensureModelUpToDate(); // Swing only paints visible components, therefore elements of large diagrams are parsed when they become visible
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		boolean selected = handler.getDrawPanel().getSelector().isSelected(gridElement);
+		if (handler.getDrawPanel().getRenderingQuality().isFastRendering((Graphics2D) g)) {
+			paintFast(g, selected, handler.getGridSize());
+		}
+		else if (!ElementImageCache.getInstance().paint(this, (Graphics2D) g, selected, handler.getGridSize())) {
+			drawOn(g, selected);
+		}
+	}
+
+	/**
+	 * used while the user interacts with the diagram: no new images are cached (they would have the fast rendering quality) and expensive elements (e.g. plots and custom drawings) are replaced by their bounds
+	 */
+	private void paintFast(Graphics g, boolean selected, int gridSize) {
+		if (ElementImageCache.getInstance().paintIfCached(this, (Graphics2D) g, selected, gridSize)) {
+			return;
+		}
+		if (drawer.getDrawableCount() > EXPENSIVE_DRAWABLE_COUNT) {
+			g.setColor(Converter.convert(ThemeFactory.getCurrentTheme().getColor(selected ? Theme.ColorStyle.SELECTION_FG : Theme.ColorStyle.DEFAULT_FOREGROUND)));
+			g.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+		}
+		else {
+			drawOn(g, selected);
+		}
+	}
+
+	void drawOn(Graphics g, boolean selected) {
 		drawer.setGraphics(g);
 		metaDrawer.setGraphics(g);
-		boolean selected = HandlerElementMap.getHandlerForElement(gridElement).getDrawPanel().getSelector().isSelected(gridElement);
 		drawer.drawAll(selected);
 		if (selected) {
 			metaDrawer.drawAll();
@@ -88,6 +121,47 @@ public class ComponentSwing extends JComponent implements Component {
 		this.repaint();
 	}
 
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		DrawPanel canvas = getCanvas();
+		if (canvas != null) {
+			canvas.repaint(getBounds()); // the parent repaints the old bounds of its children, but the canvas is no parent
+		}
+		super.setBounds(x, y, width, height); // setLocation() and setSize() of the JComponent also end here
+		if (canvas != null) {
+			canvas.repaint(getBounds());
+		}
+		ElementUtils.boundsChanged(gridElement);
+	}
+
+	/**
+	 * Without a parent the RepaintManager would ignore the repaint, therefore the area is repainted on the DrawPanel which paints this component
+	 */
+	@Override
+	public void repaint(long tm, int x, int y, int width, int height) {
+		DrawPanel canvas = getCanvas();
+		if (canvas != null) {
+			canvas.repaint(tm, getX() + x, getY() + y, width, height);
+		}
+		else {
+			super.repaint(tm, x, y, width, height);
+		}
+	}
+
+	/**
+	 * @return the DrawPanel which paints this component in single canvas mode, null if the component is painted by its parent
+	 */
+	private DrawPanel getCanvas() {
+		if (getParent() != null) {
+			return null;
+		}
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		if (handler == null || handler.getDrawPanel() == null || !handler.getDrawPanel().isSingleCanvas()) {
+			return null;
+		}
+		return handler.getDrawPanel();
+	}
+
 	@Override
 	public void setBoundsRect(Rectangle rect) {
 		this.setBounds(rect.x, rect.y, rect.width, rect.height);
@@ -95,10 +169,18 @@ public class ComponentSwing extends JComponent implements Component {
 
 	@Override
 	public void afterModelUpdate() {
+		ElementImageCache.getInstance().remove(this);
+		ElementUtils.layerChanged(gridElement);
+		ElementUtils.modelChanged(gridElement);
 		repaint(); // necessary e.g. for NewGridElement Relation to make sure it gets redrawn correctly when a sticking element is moved around
 	}
 
+	public NewGridElement getGridElement() {
+		return gridElement;
+	}
+
 	public void setHandler(DiagramHandler diagramHandler) {
+		ElementImageCache.getInstance().remove(this);
 		drawer.setHandler(diagramHandler);
 		metaDrawer.setHandler(diagramHandler);
 	}
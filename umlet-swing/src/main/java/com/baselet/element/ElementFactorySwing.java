@@ -49,6 +49,16 @@ public class ElementFactorySwing extends ElementFactory {
 				List<Relation> stickables = h.getDrawPanel().getStickables(Collections.<GridElement> emptyList());
 				return Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(returnObj.generateStickingBorder(), stickables);
 			}
+
+			@Override
+			public void boundsChanged() {
+				// Swing updates the index whenever the bounds of the component change (see ComponentSwing.setBounds())
+			}
+
+			@Override
+			public void groupChanged() {
+				ElementUtils.groupChanged(returnObj);
+			}
 		};
 
 		returnObj.init(bounds, panelAttributes, additionalAttributes, component, panel);
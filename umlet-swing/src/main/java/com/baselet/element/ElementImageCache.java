@@ -0,0 +1,163 @@
+package com.baselet.element;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.baselet.control.config.Config;
+import com.baselet.element.interfaces.GridElement;
+
+/**
+ * Caches the drawing of elements as images, therefore repainting an unchanged element (e.g. while scrolling) only copies its image instead of drawing all shapes and texts again.
+ * An image is valid for the zoom level, the selection state and the device scaling it has been drawn with; it is removed whenever the model of its element is updated.
+ * The images of all elements share one memory budget (see {@link Config#getElementImageCacheSize()}), the least recently painted ones are evicted first.
+ * Only painting on the screen is cached, exports and printing always draw the shapes.
+ */
+public class ElementImageCache {
+
+	private static final ElementImageCache instance = new ElementImageCache();
+
+	public static ElementImageCache getInstance() {
+		return instance;
+	}
+
+	private static final int BYTES_PER_PIXEL = 4;
+
+	private final LinkedHashMap<ComponentSwing, CachedImage> images = new LinkedHashMap<ComponentSwing, CachedImage>(256, 0.75f, true); // access order
+	private long usedBytes = 0;
+
+	/**
+	 * @return false if the component must be painted directly (e.g. the cache is disabled or the graphics is not a screen)
+	 */
+	public synchronized boolean paint(ComponentSwing component, Graphics2D g, boolean selected, int gridSize) {
+		return paint(component, g, selected, gridSize, true);
+	}
+
+	/**
+	 * Like {@link #paint(ComponentSwing, Graphics2D, boolean, int)} but a missing image is not created (e.g. while the graphics uses fast rendering hints)
+	 *
+	 * @return false if there is no valid image of the component
+	 */
+	public synchronized boolean paintIfCached(ComponentSwing component, Graphics2D g, boolean selected, int gridSize) {
+		return paint(component, g, selected, gridSize, false);
+	}
+
+	private boolean paint(ComponentSwing component, Graphics2D g, boolean selected, int gridSize, boolean createMissing) {
+		long budget = Config.getInstance().getElementImageCacheSize() * 1024L * 1024L;
+		GraphicsConfiguration gc = g.getDeviceConfiguration();
+		AffineTransform transform = g.getTransform();
+		if (budget <= 0 || gc == null || gc.getDevice().getType() != GraphicsDevice.TYPE_RASTER_SCREEN || transform.getShearX() != 0 || transform.getShearY() != 0) {
+			return false;
+		}
+
+		double scaleX = transform.getScaleX(); // HiDPI screens scale the graphics, the image must have the resolution of the device
+		double scaleY = transform.getScaleY();
+		int width = (int) Math.ceil(component.getWidth() * scaleX);
+		int height = (int) Math.ceil(component.getHeight() * scaleY);
+		if (width <= 0 || height <= 0) {
+			return true;
+		}
+
+		CachedImage cached = images.get(component);
+		if (cached == null || !cached.isValidFor(width, height, selected, gridSize)) {
+			if (!createMissing) {
+				return false;
+			}
+			remove(component);
+			long bytes = (long) width * height * BYTES_PER_PIXEL;
+			if (bytes > budget / 4) {
+				return false; // huge elements would evict most other images
+			}
+			BufferedImage image = gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+			Graphics2D imageGraphics = image.createGraphics();
+			try {
+				imageGraphics.setRenderingHints(g.getRenderingHints());
+				imageGraphics.setFont(g.getFont());
+				imageGraphics.scale(scaleX, scaleY);
+				component.drawOn(imageGraphics, selected);
+			} finally {
+				imageGraphics.dispose();
+			}
+			cached = new CachedImage(image, selected, gridSize);
+			images.put(component, cached);
+			usedBytes += bytes;
+			evict(budget, component);
+		}
+
+		// draw the image pixel by pixel, otherwise it would be scaled again
+		g.setTransform(new AffineTransform(1, 0, 0, 1, Math.round(transform.getTranslateX()), Math.round(transform.getTranslateY())));
+		try {
+			g.drawImage(cached.image, 0, 0, null);
+		} finally {
+			g.setTransform(transform);
+		}
+		return true;
+	}
+
+	public synchronized void remove(ComponentSwing component) {
+		CachedImage removed = images.remove(component);
+		if (removed != null) {
+			usedBytes -= removed.getBytes();
+		}
+	}
+
+	/**
+	 * must be called if the elements are not painted anymore (e.g. their diagram is closed), otherwise the images would keep them in memory until they are evicted
+	 */
+	public synchronized void removeAll(Collection<GridElement> elements) {
+		for (GridElement e : elements) {
+			if (e.getComponent() instanceof ComponentSwing) {
+				remove((ComponentSwing) e.getComponent());
+			}
+		}
+	}
+
+	public synchronized void clear() {
+		images.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * removes the least recently painted images until the budget is met (the image which has just been added is kept)
+	 */
+	private void evict(long budget, ComponentSwing keep) {
+		for (Iterator<Map.Entry<ComponentSwing, CachedImage>> iter = images.entrySet().iterator(); usedBytes > budget && iter.hasNext();) {
+			Map.Entry<ComponentSwing, CachedImage> entry = iter.next();
+			if (entry.getKey() != keep) {
+				usedBytes -= entry.getValue().getBytes();
+				iter.remove();
+			}
+		}
+	}
+
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	private static class CachedImage {
+		private final BufferedImage image;
+		private final boolean selected;
+		private final int gridSize;
+
+		public CachedImage(BufferedImage image, boolean selected, int gridSize) {
+			this.image = image;
+			this.selected = selected;
+			this.gridSize = gridSize;
+		}
+
+		public boolean isValidFor(int width, int height, boolean selected, int gridSize) {
+			return image.getWidth() == width && image.getHeight() == height && this.selected == selected && this.gridSize == gridSize;
+		}
+
+		public long getBytes() {
+			return (long) image.getWidth() * image.getHeight() * BYTES_PER_PIXEL;
+		}
+	}
+}
@@ -3,10 +3,12 @@ package com.baselet.element;
 import java.util.List;
 
 import javax.swing.JComponent;
+import javax.swing.JLayeredPane;
 
 import com.baselet.control.HandlerElementMap;
 import com.baselet.control.basics.Converter;
 import com.baselet.control.basics.geom.Point;
+import com.baselet.diagram.DiagramHandler;
 import com.baselet.diagram.DrawPanel;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.relation.Relation;
@@ -30,7 +32,7 @@ public class ElementUtils {
 		}
 
 		DrawPanel drawPanel = HandlerElementMap.getHandlerForElement(gridElement).getDrawPanel();
-		List<GridElement> elements = drawPanel.getGridElements();
+		List<GridElement> elements = drawPanel.getGridElementIndex().getElementsAt(absolute); // only elements on the point can be selectable on it
 		Selector selector = drawPanel.getSelector();
 		for (GridElement other : elements) {
 			if (other == gridElement || other.getLayer() < gridElement.getLayer() || !other.isSelectableOn(absolute)) {
@@ -68,6 +70,51 @@ public class ElementUtils {
 		return true;
 	}
 
+	/**
+	 * keeps the spatial index of the diagram up to date, must be called whenever the bounds of the component of an element have changed
+	 */
+	public static void boundsChanged(GridElement gridElement) {
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		if (handler != null && handler.getDrawPanel() != null) { // null while the element is created
+			handler.getDrawPanel().getGridElementIndex().update(gridElement);
+			handler.getDrawPanel().fireElementChanged(gridElement);
+		}
+	}
+
+	/**
+	 * notifies the listeners of the diagram (e.g. the minimap), must be called whenever the properties of an element have changed
+	 */
+	public static void modelChanged(GridElement gridElement) {
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		if (handler != null && handler.getDrawPanel() != null) { // null while the element is created
+			handler.getDrawPanel().fireElementChanged(gridElement);
+		}
+	}
+
+	/**
+	 * keeps the group index of the diagram up to date, must be called whenever the group of an element has changed
+	 */
+	public static void groupChanged(GridElement gridElement) {
+		DiagramHandler handler = HandlerElementMap.getHandlerForElement(gridElement);
+		if (handler != null && handler.getDrawPanel() != null) { // null while the element is created
+			handler.getDrawPanel().getGroupIndex().update(gridElement);
+		}
+	}
+
+	/**
+	 * moves the component of the element to the current layer of the element, must be called whenever the layer of an element could have changed
+	 */
+	public static void layerChanged(GridElement gridElement) {
+		JComponent component = (JComponent) gridElement.getComponent();
+		if (component.getParent() instanceof JLayeredPane) { // not yet added while the element is created
+			JLayeredPane parent = (JLayeredPane) component.getParent();
+			int layer = gridElement.getLayer();
+			if (parent.getLayer(component) != layer) {
+				parent.setLayer(component, layer);
+			}
+		}
+	}
+
 	private static boolean firstSmallerThanSecond(java.awt.Rectangle first, java.awt.Rectangle second) {
 		int areaFirst = first.getSize().height * first.getSize().width;
 		int areaSecond = second.getSize().height * second.getSize().width;
@@ -0,0 +1,149 @@
+package com.baselet.element;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
+
+/**
+ * Updates the models of many elements at once (e.g. after zooming or changing the theme).
+ * The properties of the elements are parsed on all cores. If the update is started by the EDT it doesn't wait for the workers,
+ * the results are published later by one invokeLater; meanwhile the elements stay deferred, therefore an element which is painted or changed is parsed by the EDT itself
+ * and the outdated result of the worker is dropped (see {@link NewGridElement#publishDeferredModel()}).
+ * Other threads (e.g. batch conversion) wait for the workers and publish the results themselves.
+ * The ui thread also handles the elements which can't be parsed concurrently (relations, old elements, autoresize).
+ * Opening a diagram doesn't use this class, its elements are only parsed when they are painted for the first time (see {@link NewGridElement#deferModelUpdate()}).
+ */
+public class ParallelModelUpdate {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelModelUpdate.class);
+
+	/**
+	 * below this number of elements the overhead of the worker threads is larger than the gain
+	 */
+	private static final int MIN_ELEMENTS_FOR_PARALLEL_UPDATE = 50;
+
+	private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+	private static final ForkJoinPool pool = new ForkJoinPool(PARALLELISM); // the worker threads are daemon threads and are terminated when they are idle
+
+	/**
+	 * replacement for calling {@link GridElement#updateModelFromText()} on every element
+	 */
+	public static void updateModelsFromText(Collection<GridElement> elements) {
+		List<NewGridElement> deferred = deferModelUpdates(elements);
+		for (GridElement e : elements) {
+			if (!(e instanceof NewGridElement) || !((NewGridElement) e).isModelUpdateDeferred()) {
+				e.updateModelFromText();
+			}
+		}
+		updateDeferredModels(deferred);
+	}
+
+	/**
+	 * Defers the model update of all already parsed elements which can be parsed concurrently, therefore subsequent changes of these elements don't parse them again.
+	 * The returned elements must be passed to {@link #updateDeferredModels(List)} afterwards.
+	 */
+	public static List<NewGridElement> deferModelUpdates(Collection<GridElement> elements) {
+		List<NewGridElement> deferred = new ArrayList<NewGridElement>();
+		boolean parallel = elements.size() >= MIN_ELEMENTS_FOR_PARALLEL_UPDATE;
+		for (GridElement e : elements) {
+			if (e instanceof NewGridElement) {
+				NewGridElement newElement = (NewGridElement) e;
+				if (newElement.isModelUpdateDeferred()) { // never painted since the diagram has been opened or still parsed by a previous update
+					newElement.deferModelUpdate(); // the result of the previous update is outdated, the element is parsed when it's painted
+				}
+				else if (parallel && newElement.isConcurrentlyParseable()) {
+					newElement.deferModelUpdate();
+					deferred.add(newElement);
+				}
+			}
+		}
+		return deferred;
+	}
+
+	public static void updateDeferredModels(final List<NewGridElement> elements) {
+		if (elements.isEmpty()) {
+			return;
+		}
+		if (!SwingUtilities.isEventDispatchThread()) {
+			publish(elements, parse(elements));
+			return;
+		}
+		pool.execute(new Runnable() {
+			@Override
+			public void run() {
+				List<boolean[]> results = null;
+				try {
+					results = parse(elements);
+				} catch (RuntimeException e) {
+					log.error("Cannot update the elements in the background", e); // they stay deferred and are parsed when they are painted
+				}
+				final List<boolean[]> parsed = results;
+				SwingUtilities.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						if (parsed != null) {
+							publish(elements, parsed);
+						}
+					}
+				});
+			}
+		});
+	}
+
+	private static List<boolean[]> parse(List<NewGridElement> elements) {
+		int chunkSize = Math.max(1, elements.size() / (PARALLELISM * 4) + 1); // several chunks per thread to balance elements which take longer than others
+		List<Callable<boolean[]>> tasks = new ArrayList<Callable<boolean[]>>();
+		for (int start = 0; start < elements.size(); start += chunkSize) {
+			final List<NewGridElement> chunk = elements.subList(start, Math.min(start + chunkSize, elements.size()));
+			tasks.add(new Callable<boolean[]>() {
+				@Override
+				public boolean[] call() {
+					boolean[] complete = new boolean[chunk.size()];
+					for (int i = 0; i < chunk.size(); i++) {
+						complete[i] = chunk.get(i).parseDeferredModelWithoutResize();
+					}
+					return complete;
+				}
+			});
+		}
+
+		List<boolean[]> results = new ArrayList<boolean[]>();
+		try {
+			for (Future<boolean[]> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while updating the elements", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Error while updating the elements", e.getCause());
+		}
+		return results;
+	}
+
+	private static void publish(List<NewGridElement> elements, List<boolean[]> results) {
+		int index = 0;
+		for (boolean[] complete : results) {
+			for (boolean c : complete) {
+				NewGridElement element = elements.get(index++);
+				if (c) {
+					element.publishDeferredModel(); // an element which has been changed meanwhile stays deferred
+				}
+				else {
+					element.ensureModelUpToDate(); // autoresize changes the size, which is only allowed on the ui thread
+				}
+			}
+		}
+	}
+}
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Vector;
 
@@ -161,7 +162,13 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 
 	@Override
 	public void setPanelAttributes(String panelAttributes) {
+		String oldGroup = getGroup();
 		this.panelAttributes = Arrays.asList(panelAttributes.split("\n", -1)); // split with -1 to retain empty lines at the end
+		if (!Objects.equals(oldGroup, getGroup())) {
+			ElementUtils.groupChanged(this);
+		}
+		ElementUtils.layerChanged(this);
+		ElementUtils.modelChanged(this);
 	}
 
 	@Override
@@ -459,6 +466,12 @@ public abstract class OldGridElement extends JComponent implements GridElement,
 		setBounds(rect.x, rect.y, rect.width, rect.height);
 	}
 
+	@Override
+	public void setBounds(int x, int y, int width, int height) {
+		super.setBounds(x, y, width, height); // setLocation() and setSize() of the JComponent also end here
+		ElementUtils.boundsChanged(this);
+	}
+
 	@Override
 	public void setBoundsRect(Rectangle rect) {
 		setBounds(Converter.convert(rect));
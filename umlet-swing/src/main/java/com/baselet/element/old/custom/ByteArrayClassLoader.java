@@ -0,0 +1,26 @@
+package com.baselet.element.old.custom;
+
+import java.util.Map;
+
+/**
+ * Defines classes from bytecode which is held in memory (e.g. the output of the custom element compiler).
+ * Every compiled custom element has the same class name, therefore each distinct code body needs its own class loader.
+ */
+public class ByteArrayClassLoader extends ClassLoader {
+
+	private final Map<String, byte[]> classFiles;
+
+	public ByteArrayClassLoader(ClassLoader parent, Map<String, byte[]> classFiles) {
+		super(parent);
+		this.classFiles = classFiles;
+	}
+
+	@Override
+	protected Class<?> findClass(String className) throws ClassNotFoundException {
+		byte[] data = classFiles.get(className);
+		if (data == null) {
+			throw new ClassNotFoundException(className);
+		}
+		return defineClass(className, data, 0, data.length);
+	}
+}
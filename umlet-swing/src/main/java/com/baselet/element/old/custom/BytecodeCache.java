@@ -0,0 +1,151 @@
+package com.baselet.element.old.custom;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
+
+/**
+ * Persistent cache of the class files of compiled custom elements, one file per source hash.
+ * Each file contains the source hash it belongs to and a SHA-256 checksum of its content, therefore a truncated, corrupt or misplaced file is detected,
+ * deleted and reported as a cache miss (the element is compiled again). Files are written to a temporary file first and then moved to their final name,
+ * therefore a reader never sees a partially written file.
+ */
+public class BytecodeCache {
+
+	private static final Logger log = LoggerFactory.getLogger(BytecodeCache.class);
+
+	private static final int FORMAT_VERSION = 1;
+	private static final String SUFFIX = ".classes";
+
+	private final File directory;
+	private final String prefix;
+
+	/**
+	 * @param prefix is part of every filename (e.g. the program version, because the custom element api may change between versions)
+	 */
+	public BytecodeCache(File directory, String prefix) {
+		this.directory = directory;
+		this.prefix = prefix;
+	}
+
+	File getFile(String sourceHash) {
+		return new File(directory, prefix + "_" + sourceHash + SUFFIX);
+	}
+
+	/**
+	 * @return the class files which have been stored for this source hash or null if there are none or they are invalid
+	 */
+	public Map<String, byte[]> load(String sourceHash) {
+		File file = getFile(sourceHash);
+		if (!file.exists()) {
+			return null;
+		}
+		byte[] fileContent;
+		try {
+			fileContent = Files.readAllBytes(file.toPath());
+		} catch (IOException e) {
+			log.error("Cannot read cached custom element " + file, e);
+			return null;
+		}
+		Map<String, byte[]> classFiles = read(fileContent, sourceHash);
+		if (classFiles == null) {
+			log.warn("Invalid cached custom element " + file + ", it will be compiled again");
+			remove(sourceHash);
+		}
+		return classFiles;
+	}
+
+	public void store(String sourceHash, Map<String, byte[]> classFiles) {
+		File file = getFile(sourceHash);
+		File tmpFile = null;
+		try {
+			tmpFile = File.createTempFile(file.getName(), ".tmp", directory); // unique name, therefore concurrent writers don't interfere
+			Files.write(tmpFile.toPath(), write(sourceHash, classFiles));
+			try {
+				Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING); // the checksum still detects a partially moved file
+			}
+		} catch (IOException e) {
+			log.error("Cannot store compiled custom element " + file, e);
+			if (tmpFile != null) {
+				tmpFile.delete();
+			}
+		}
+	}
+
+	public void remove(String sourceHash) {
+		File file = getFile(sourceHash);
+		if (file.exists() && !file.delete()) {
+			log.warn("Cannot delete cached custom element " + file);
+		}
+	}
+
+	private static byte[] write(String sourceHash, Map<String, byte[]> classFiles) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(content);
+		out.writeInt(FORMAT_VERSION);
+		out.writeUTF(sourceHash);
+		out.writeInt(classFiles.size());
+		for (Entry<String, byte[]> e : classFiles.entrySet()) {
+			out.writeUTF(e.getKey());
+			out.writeInt(e.getValue().length);
+			out.write(e.getValue());
+		}
+		out.write(sha256(content.toByteArray()));
+		out.close();
+		return content.toByteArray();
+	}
+
+	private static Map<String, byte[]> read(byte[] fileContent, String expectedSourceHash) {
+		int checksumLength = sha256(new byte[0]).length;
+		if (fileContent.length < checksumLength) {
+			return null;
+		}
+		byte[] content = Arrays.copyOf(fileContent, fileContent.length - checksumLength);
+		byte[] checksum = Arrays.copyOfRange(fileContent, content.length, fileContent.length);
+		if (!MessageDigest.isEqual(checksum, sha256(content))) {
+			return null; // truncated or corrupt
+		}
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+			if (in.readInt() != FORMAT_VERSION || !expectedSourceHash.equals(in.readUTF())) {
+				return null; // written by another version or stored under the wrong name
+			}
+			Map<String, byte[]> classFiles = new LinkedHashMap<String, byte[]>();
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				byte[] data = new byte[in.readInt()];
+				in.readFully(data);
+				classFiles.put(name, data);
+			}
+			return in.available() == 0 ? classFiles : null;
+		} catch (IOException e) {
+			return null; // the content doesn't match the format
+		}
+	}
+
+	private static byte[] sha256(byte[] data) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(data);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // every Java platform supports SHA-256
+		}
+	}
+}
@@ -29,6 +29,7 @@ import com.baselet.control.enums.LineType;
 import com.baselet.control.util.Utils;
 import com.baselet.custom.CustomFunction;
 import com.baselet.diagram.DiagramHandler;
+import com.baselet.diagram.FontHandler;
 import com.baselet.diagram.draw.helper.ColorOwn.Transparency;
 import com.baselet.diagram.draw.helper.theme.Theme;
 import com.baselet.diagram.draw.helper.theme.ThemeFactory;
@@ -143,14 +144,12 @@ public abstract class CustomElement extends OldGridElement {
 		}
 
 		for (Text t : texts) {
-			boolean applyZoom = true;
+			FontHandler fontHandler = HandlerElementMap.getHandlerForElement(this).getFontHandler();
 			if (t.fixedSize != null) {
-				HandlerElementMap.getHandlerForElement(this).getFontHandler().setFontSize((double) t.fixedSize);
-				applyZoom = false;
+				fontHandler.writeText(g2, t.text, t.x, t.y, t.align, t.fixedSize, false);
 			}
-			HandlerElementMap.getHandlerForElement(this).getFontHandler().writeText(g2, t.text, t.x, t.y, t.align, applyZoom);
-			if (t.fixedSize != null) {
-				HandlerElementMap.getHandlerForElement(this).getFontHandler().resetFontSize();
+			else {
+				fontHandler.writeText(g2, t.text, t.x, t.y, t.align);
 			}
 		}
 
@@ -1,21 +1,28 @@
 package com.baselet.element.old.custom;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
-import com.baselet.util.logging.Logger;
-import com.baselet.util.logging.LoggerFactory;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+import org.eclipse.jdt.internal.compiler.tool.EclipseCompiler;
 
 import com.baselet.control.config.Config;
 import com.baselet.control.config.SharedConfig;
@@ -26,6 +33,9 @@ import com.baselet.control.util.Path;
 import com.baselet.custom.CompileError;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.element.ErrorOccurred;
+import com.baselet.util.SegmentedLRUCache;
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
 
 public class CustomElementCompiler {
 
@@ -41,15 +51,16 @@ public class CustomElementCompiler {
 	private List<CompileError> compilation_errors;
 	private boolean global_error;
 
-	public static CustomElementCompiler getInstance() {
+	// compiled code is keyed by the hash of the complete source, therefore diagrams with many equal custom elements only compile (and load) each distinct code once
+	private final SegmentedLRUCache<String, CompiledCode> compiledCache = new SegmentedLRUCache<String, CompiledCode>("CustomElementClasses", 200);
+
+	public static synchronized CustomElementCompiler getInstance() {
 		if (compiler == null) {
 			compiler = new CustomElementCompiler();
 		}
 		return compiler;
 	}
 
-	private final File sourcefile;
-
 	private CustomElementCompiler() {
 		global_error = false;
 		compilation_errors = new ArrayList<CompileError>();
@@ -74,38 +85,43 @@ public class CustomElementCompiler {
 		}
 
 		classname = Constants.CUSTOM_ELEMENT_CLASSNAME;
-		sourcefile = new File(Path.temp() + classname + ".java");
-		sourcefile.deleteOnExit();
-		new File(Path.temp() + classname + ".class").deleteOnExit();
 	}
 
-	// compiles the element and returns the new entity if successful
+	// compiles the element (or reuses the class of an equal code) and returns the new entity if successful
 	private CustomElement compile(String code) {
-		saveJavaSource(code);
 		CustomElement entity = null;
-		compilation_errors.clear();
+		compilation_errors = Collections.emptyList();
 		try {
-			StringWriter compilerErrorMessageSW = new StringWriter(); // catch compiler messages
-			PrintWriter compilerErrorMessagePW = new PrintWriter(compilerErrorMessageSW);
-			String javaVersion = "-\"1.6\""; // custom elements use Java6 (previously SystemInfo.JAVA_VERSION, but this only works if the compiler.jar supports the system java version which is not guaranteed)
-			String classpath = "-classpath \"" + createClasspath() + "\"";
-			String sourcefile = "\"" + this.sourcefile.getAbsolutePath() + "\"";
-
-			// Compiler Information at http://dev.eclipse.org/viewcvs/index.cgi/jdt-core-home/howto/batch%20compile/batchCompile.html?revision=1.7
-			boolean compilationSuccessful = BatchCompiler.compile(
-					javaVersion + " " + classpath + " " + sourcefile,
-					new PrintWriter(System.out),
-					compilerErrorMessagePW, null);
-
-			if (compilationSuccessful) {
-				FileClassLoader fcl = new FileClassLoader(Thread.currentThread().getContextClassLoader());
-				Class<?> c = fcl.findClass(classname); // load class by type name
-				if (c != null) {
-					entity = (CustomElement) c.newInstance();
+			String source = parseCodeIntoTemplate(code);
+			String hash = sha256(source);
+			CompiledCode compiled = compiledCache.get(hash);
+			boolean fromBytecodeCache = false;
+			if (compiled == null) {
+				compiled = loadFromBytecodeCache(hash);
+				fromBytecodeCache = compiled != null;
+				if (compiled == null) {
+					compiled = compileSource(source);
+					storeInBytecodeCache(hash, compiled);
 				}
+				compiledCache.put(hash, compiled);
 			}
-			else {
-				compilation_errors = CompileError.getListFromString(compilerErrorMessageSW.toString(), beforecodelines);
+			Class<?> c;
+			try {
+				c = compiled.getElementClass(classname);
+			} catch (LinkageError e) {
+				if (!fromBytecodeCache) {
+					throw e;
+				}
+				log.warn("Cannot load cached custom element, it will be compiled again", e); // e.g. class files of an incompatible compiler
+				getBytecodeCache().remove(hash);
+				compiled = compileSource(source);
+				storeInBytecodeCache(hash, compiled);
+				compiledCache.put(hash, compiled);
+				c = compiled.getElementClass(classname);
+			}
+			compilation_errors = compiled.errors;
+			if (c != null) {
+				entity = (CustomElement) c.newInstance();
 			}
 		} catch (Exception e) {
 			log.error(null, e);
@@ -116,13 +132,77 @@ public class CustomElementCompiler {
 		return entity;
 	}
 
-	private String createClasspath() {
+	// compiles the source in memory (no temporary files are written)
+	private CompiledCode compileSource(String source) throws IOException {
+		JavaCompiler javaCompiler = new EclipseCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		StandardJavaFileManager standardFileManager = javaCompiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+		standardFileManager.setLocation(StandardLocation.CLASS_PATH, createClasspath());
+		InMemoryFileManager fileManager = new InMemoryFileManager(standardFileManager);
+		try {
+			// custom elements use Java6 (previously SystemInfo.JAVA_VERSION, but this only works if the compiler.jar supports the system java version which is not guaranteed)
+			List<String> options = Arrays.asList("-source", "1.6", "-target", "1.6");
+			List<JavaFileObject> sources = Collections.singletonList(InMemoryFileManager.sourceFile(classname, source));
+			boolean compilationSuccessful = javaCompiler.getTask(null, fileManager, diagnostics, options, null, sources).call();
+			if (compilationSuccessful) {
+				return new CompiledCode(fileManager.getClassFiles(), Collections.<CompileError> emptyList());
+			}
+			else {
+				return new CompiledCode(null, getCompileErrors(diagnostics.getDiagnostics(), source));
+			}
+		} finally {
+			fileManager.close();
+		}
+	}
+
+	private List<CompileError> getCompileErrors(List<Diagnostic<? extends JavaFileObject>> diagnostics, String source) {
+		String[] sourceLines = source.split(Constants.NEWLINE);
+		List<CompileError> errors = new ArrayList<CompileError>();
+		for (Diagnostic<? extends JavaFileObject> d : diagnostics) {
+			if (d.getKind() == Diagnostic.Kind.ERROR) {
+				int lineNr = (int) d.getLineNumber();
+				String line = lineNr > 0 && lineNr <= sourceLines.length ? sourceLines[lineNr - 1].trim() : "";
+				errors.add(new CompileError(lineNr - beforecodelines, line, d.getMessage(null)));
+			}
+		}
+		return Collections.unmodifiableList(errors);
+	}
+
+	private List<File> createClasspath() {
 		// If the Eclipse Plugin is started from Eclipse (for debugging), the other projects are linked source dirs and therefore all classes are in the same target dir
 		if (!Path.executable().endsWith(".jar") && Program.getInstance().getRuntimeType() == RuntimeType.ECLIPSE_PLUGIN) {
-			return Path.executable() + "target/classes";
+			return Arrays.asList(new File(Path.executable() + "target/classes"));
 		}
 		else {
-			return Path.executable() + "\"" + File.pathSeparator + "\"" + Path.executableShared();
+			return Arrays.asList(new File(Path.executable()), new File(Path.executableShared()));
+		}
+	}
+
+	private static String sha256(String source) throws NoSuchAlgorithmException {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+		StringBuilder sb = new StringBuilder();
+		for (byte b : digest) {
+			sb.append(String.format("%02x", b));
+		}
+		return sb.toString();
+	}
+
+	// the persistent bytecode cache only contains successful compilations; the program version is part of the filename because the custom element api may change between versions
+	private BytecodeCache getBytecodeCache() {
+		return new BytecodeCache(new File(Path.customElementCache()), Program.getInstance().getVersion());
+	}
+
+	private CompiledCode loadFromBytecodeCache(String hash) {
+		if (!Config.getInstance().isCustomElementsBytecodeCache()) {
+			return null;
+		}
+		Map<String, byte[]> classFiles = getBytecodeCache().load(hash);
+		return classFiles == null ? null : new CompiledCode(classFiles, Collections.<CompileError> emptyList());
+	}
+
+	private void storeInBytecodeCache(String hash, CompiledCode compiled) {
+		if (Config.getInstance().isCustomElementsBytecodeCache() && compiled.classFiles != null) {
+			getBytecodeCache().store(hash, compiled.classFiles);
 		}
 	}
 
@@ -144,26 +224,6 @@ public class CustomElementCompiler {
 		return sb.toString().replaceAll("\r\n", Constants.NEWLINE);
 	}
 
-	// saves the source to a file
-	private void saveJavaSource(String code) { // LME3
-		BufferedWriter bw = null;
-		try {
-			bw = new BufferedWriter(new FileWriter(sourcefile, false));
-			bw.write(parseCodeIntoTemplate(code));
-			bw.flush();
-		} catch (IOException e) {
-			log.error(null, e);
-		} finally {
-			if (bw != null) {
-				try {
-					bw.close();
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			}
-		}
-	}
-
 	private String parseCodeFromTemplate(String template) {
 		Matcher m = template_pattern.matcher(template);
 		if (m.matches()) {
@@ -182,7 +242,8 @@ public class CustomElementCompiler {
 				template_match.group(5);
 	}
 
-	public GridElement genEntity(String code, ErrorHandler errorhandler) {
+	// synchronized because of the shared error list and to make sure concurrently generated elements with equal code are only compiled once
+	public synchronized GridElement genEntity(String code, ErrorHandler errorhandler) {
 		if (!Config.getInstance().isEnable_custom_elements()) {
 			String errorMessage = "Custom Elements are disabled\nEnabled them in the Options\nOnly open them from trusted\nsources to avoid malicious code execution!";
 			if (SharedConfig.getInstance().isDev_mode()) {
@@ -218,4 +279,26 @@ public class CustomElementCompiler {
 
 		return null;
 	}
+
+	/**
+	 * The result of one compilation: either the class files or the compile errors.
+	 * The element class is defined lazily and then shared by all elements with the same code.
+	 */
+	private static class CompiledCode {
+		private final Map<String, byte[]> classFiles;
+		private final List<CompileError> errors;
+		private Class<?> elementClass;
+
+		private CompiledCode(Map<String, byte[]> classFiles, List<CompileError> errors) {
+			this.classFiles = classFiles;
+			this.errors = errors;
+		}
+
+		private synchronized Class<?> getElementClass(String classname) throws ClassNotFoundException {
+			if (elementClass == null && classFiles != null) {
+				elementClass = new ByteArrayClassLoader(Thread.currentThread().getContextClassLoader(), classFiles).findClass(classname);
+			}
+			return elementClass;
+		}
+	}
 }
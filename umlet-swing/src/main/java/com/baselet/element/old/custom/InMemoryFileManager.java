@@ -0,0 +1,56 @@
+package com.baselet.element.old.custom;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+
+/**
+ * Collects the class files of a compilation in memory instead of writing them to the output directory (inner classes produce more than one class file)
+ */
+class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+	private final Map<String, ByteArrayOutputStream> classFiles = new LinkedHashMap<String, ByteArrayOutputStream>();
+
+	InMemoryFileManager(StandardJavaFileManager fileManager) {
+		super(fileManager);
+	}
+
+	@Override
+	public JavaFileObject getJavaFileForOutput(Location location, final String className, Kind kind, FileObject sibling) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		classFiles.put(className, out);
+		return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+			@Override
+			public OutputStream openOutputStream() {
+				return out;
+			}
+		};
+	}
+
+	Map<String, byte[]> getClassFiles() {
+		Map<String, byte[]> result = new LinkedHashMap<String, byte[]>();
+		for (Entry<String, ByteArrayOutputStream> e : classFiles.entrySet()) {
+			result.put(e.getKey(), e.getValue().toByteArray());
+		}
+		return result;
+	}
+
+	static JavaFileObject sourceFile(String className, final String code) {
+		return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return code;
+			}
+		};
+	}
+}
@@ -63,6 +63,7 @@ public class Relation extends OldGridElement {
 	String middleArrow;
 	String csdStartText; // Arrow-Text for composite structure diagram
 	String csdEndText;
+	private static final double CSD_FONT_SIZE = 10; // font size of the composite structure diagram arrow texts
 
 	// G.Mueller end
 
@@ -1460,12 +1461,10 @@ public class Relation extends OldGridElement {
 
 					// if (beginCSDArrow.equals("compStart")) {
 					if (beginArrow.startsWith("compStart")) {
-						HandlerElementMap.getHandlerForElement(this).getFontHandler().setFontSize((double) 10);
-
 						s = boxSize;
 
 						if (!csdStartText.equals("")) {
-							s = (int) HandlerElementMap.getHandlerForElement(this).getFontHandler().getTextWidth(csdStartText);
+							s = (int) HandlerElementMap.getHandlerForElement(this).getFontHandler().getTextWidth(csdStartText, CSD_FONT_SIZE, true);
 						}
 						if (s < boxSize) {
 							s = boxSize;
@@ -1505,7 +1504,7 @@ public class Relation extends OldGridElement {
 						}
 						else {
 							if (!csdStartText.equals("")) {
-								HandlerElementMap.getHandlerForElement(this).getFontHandler().writeText(g2, csdStartText, px1.x, px1.y + (int) (6 * zoom), AlignHorizontal.CENTER);
+								HandlerElementMap.getHandlerForElement(this).getFontHandler().writeText(g2, csdStartText, px1.x, px1.y + (int) (6 * zoom), AlignHorizontal.CENTER, CSD_FONT_SIZE, true);
 							}
 						}
 
@@ -1522,18 +1521,14 @@ public class Relation extends OldGridElement {
 							g2.drawLine((int) (px1.x + s / 2 + 2 * zoom), px1.y, px1.x + s / 2 + arrowThreeLength, px1.y + arrowThreeSize);
 							g2.setTransform(at);
 						}
-
-						HandlerElementMap.getHandlerForElement(this).getFontHandler().resetFontSize();
 					}
 
 					// if (endCSDArrow.equals("compEnd")) {
 					if (endArrow.startsWith("compEnd")) {
-						HandlerElementMap.getHandlerForElement(this).getFontHandler().setFontSize(10.0);
-
 						s = boxSize;
 
 						if (!csdEndText.equals("")) {
-							s = (int) HandlerElementMap.getHandlerForElement(this).getFontHandler().getTextWidth(csdEndText);
+							s = (int) HandlerElementMap.getHandlerForElement(this).getFontHandler().getTextWidth(csdEndText, CSD_FONT_SIZE, true);
 						}
 						if (s < boxSize) {
 							s = boxSize;
@@ -1574,7 +1569,7 @@ public class Relation extends OldGridElement {
 						}
 						else {
 							if (!csdEndText.equals("")) {
-								HandlerElementMap.getHandlerForElement(this).getFontHandler().writeText(g2, csdEndText, px1.x, px1.y + (int) (6 * zoom), AlignHorizontal.CENTER);
+								HandlerElementMap.getHandlerForElement(this).getFontHandler().writeText(g2, csdEndText, px1.x, px1.y + (int) (6 * zoom), AlignHorizontal.CENTER, CSD_FONT_SIZE, true);
 							}
 						}
 
@@ -1591,8 +1586,6 @@ public class Relation extends OldGridElement {
 							g2.drawLine((int) (px1.x + s / 2 + 2 * zoom), px1.y, px1.x + s / 2 + arrowThreeLength, px1.y + arrowThreeSize);
 							g2.setTransform(at);
 						}
-
-						HandlerElementMap.getHandlerForElement(this).getFontHandler().resetFontSize();
 					}
 
 				}
@@ -1,8 +1,13 @@
 package com.baselet.generator;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import com.baselet.control.basics.geom.Rectangle;
 import com.baselet.control.config.ConfigClassGen;
@@ -21,9 +26,7 @@ import com.baselet.generator.java.Field;
 import com.baselet.generator.java.JavaClass;
 import com.baselet.generator.java.JavaClass.ClassRole;
 import com.baselet.generator.java.Method;
-import com.baselet.generator.java.bcel.BcelJavaClass;
 import com.baselet.generator.java.jp.ClassParserException;
-import com.baselet.generator.java.jp.JpJavaClass;
 import com.baselet.generator.sorting.AlphabetLayout;
 import com.baselet.generator.sorting.HeightLayout;
 import com.baselet.generator.sorting.PackageLayout;
@@ -32,7 +35,7 @@ import com.baselet.generator.sorting.SortableElement;
 import com.baselet.gui.command.AddElement;
 
 /**
- * Creates a class element from a filename pointing to a .class or .java file according to UML standards,
+ * Creates a class element from a filename pointing to a .class or .java file (or from every class of a .jar file or directory) according to UML standards,
  * adds the class to the current diagram and resizes this class element to minimum size where all text is visible.
  *
  * @author Lisi Bluemelhuber
@@ -60,15 +63,27 @@ public class ClassDiagramConverter {
 	public void createClassDiagrams(List<String> filesToOpen) {
 		List<Exception> failures = new ArrayList<Exception>();
 		List<SortableElement> elements = new ArrayList<SortableElement>();
-		for (String filename : filesToOpen) {
-			try {
-				SortableElement element = createElement(filename);
-				if (element != null) {
-					elements.add(element);
+		ConfigClassGen genCfg = ConfigClassGen.getInstance();
+		ClassSourceScanner scanner = new ClassSourceScanner(genCfg.getGenerateClassPackageFilter(), genCfg.isGenerateClassPublicOnly());
+		try {
+			List<ClassSource> sources = new ArrayList<ClassSource>();
+			for (String filename : filesToOpen) {
+				try {
+					sources.addAll(scanner.scan(filename));
+				} catch (IOException e) {
+					failures.add(new ClassParserException("Cannot read " + filename + ": " + e.getMessage(), e));
 				}
-			} catch (Exception e) {
-				failures.add(e);
 			}
+			for (ParseResult result : parseSources(sources, scanner)) {
+				if (result.failure != null) {
+					failures.add(result.failure);
+				}
+				else if (result.parsedClass != null) {
+					elements.add(createElement(result.parsedClass, result.propertiesText));
+				}
+			}
+		} finally {
+			scanner.close();
 		}
 
 		if (!failures.isEmpty()) {
@@ -93,13 +108,51 @@ public class ClassDiagramConverter {
 		addElementsToDiagram(elements);
 	}
 
-	private SortableElement createElement(String filename) throws Exception {
-		JavaClass parsedClass = parseFile(filename);
-		if (parsedClass == null) {
-			return null;
+	/**
+	 * Parses the sources in parallel (parsing is independent for each class) and returns the results in the order of the sources.
+	 * Creating the elements and measuring their text stays on the calling thread.
+	 */
+	private List<ParseResult> parseSources(List<ClassSource> sources, final ClassSourceScanner scanner) {
+		List<Callable<ParseResult>> tasks = new ArrayList<Callable<ParseResult>>();
+		for (final ClassSource source : sources) {
+			tasks.add(new Callable<ParseResult>() {
+				@Override
+				public ParseResult call() {
+					return parse(source, scanner);
+				}
+			});
+		}
+		int parallelism = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), sources.size()));
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			List<ParseResult> results = new ArrayList<ParseResult>();
+			for (Future<ParseResult> future : pool.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException("Interrupted while parsing the files", e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Error while parsing the files", e.getCause());
+		} finally {
+			pool.shutdown();
 		}
+	}
 
-		String propertiesText = getElementProperties(parsedClass);
+	private ParseResult parse(ClassSource source, ClassSourceScanner scanner) {
+		try {
+			JavaClass parsedClass = source.parse();
+			if (parsedClass == null || !scanner.accepts(parsedClass)) {
+				return new ParseResult(null, null, null);
+			}
+			return new ParseResult(parsedClass, getElementProperties(parsedClass), null);
+		} catch (Exception e) {
+			return new ParseResult(null, null, e);
+		}
+	}
+
+	private SortableElement createElement(JavaClass parsedClass, String propertiesText) {
 		List<String> propList = Arrays.asList(propertiesText.split("\n"));
 		Rectangle initialSize = adjustSize(propList);
 		GridElement clazz = ElementFactorySwing.create(ElementId.UMLClass, initialSize, propertiesText, null, CurrentDiagram.getInstance().getDiagramHandler());
@@ -213,21 +266,15 @@ public class ClassDiagramConverter {
 		sb.append("\n");
 	}
 
-	private JavaClass parseFile(String filename) throws Exception {
-		String extension = getExtension(filename);
-		if (extension.equals("java")) {
-			return new JpJavaClass(filename);
-		}
-		else if (extension.equals("class")) {
-			return new BcelJavaClass(filename);
-		}
-		else {
-			throw new ClassParserException("Unknown extension " + extension + " of file " + filename);
-		}
-	}
+	private static class ParseResult {
+		private final JavaClass parsedClass;
+		private final String propertiesText;
+		private final Exception failure;
 
-	private String getExtension(String filename) {
-		int dotPosition = filename.lastIndexOf(".");
-		return filename.substring(dotPosition + 1, filename.length());
+		public ParseResult(JavaClass parsedClass, String propertiesText, Exception failure) {
+			this.parsedClass = parsedClass;
+			this.propertiesText = propertiesText;
+			this.failure = failure;
+		}
 	}
 }
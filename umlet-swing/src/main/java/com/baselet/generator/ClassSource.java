@@ -0,0 +1,100 @@
+package com.baselet.generator;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.baselet.generator.java.JavaClass;
+import com.baselet.generator.java.ParsedClassCache;
+import com.baselet.generator.java.bcel.BcelJavaClass;
+import com.baselet.generator.java.jp.ClassParserException;
+import com.baselet.generator.java.jp.JpJavaClass;
+
+/**
+ * A single class which can be parsed independently of the other classes (therefore several sources can be parsed in parallel)
+ */
+public abstract class ClassSource {
+
+	/**
+	 * @return the name which is used in error messages
+	 */
+	public abstract String getName();
+
+	public abstract JavaClass parse() throws Exception;
+
+	/**
+	 * a .java or .class file; parsed files are cached as long as the file doesn't change
+	 */
+	public static class FileSource extends ClassSource {
+		private final String filename;
+
+		public FileSource(String filename) {
+			this.filename = filename;
+		}
+
+		@Override
+		public String getName() {
+			return filename;
+		}
+
+		@Override
+		public JavaClass parse() throws Exception {
+			File file = new File(filename);
+			JavaClass cachedClass = ParsedClassCache.getInstance().get(file);
+			if (cachedClass != null) {
+				return cachedClass;
+			}
+			long length = file.length();
+			long lastModified = file.lastModified();
+			JavaClass parsedClass;
+			String extension = getExtension(filename);
+			if (extension.equals("java")) {
+				parsedClass = new JpJavaClass(filename);
+			}
+			else if (extension.equals("class")) {
+				parsedClass = new BcelJavaClass(filename);
+			}
+			else {
+				throw new ClassParserException("Unknown extension " + extension + " of file " + filename);
+			}
+			ParsedClassCache.getInstance().put(file, length, lastModified, parsedClass);
+			return parsedClass;
+		}
+
+		private static String getExtension(String filename) {
+			int dotPosition = filename.lastIndexOf(".");
+			return filename.substring(dotPosition + 1, filename.length());
+		}
+	}
+
+	/**
+	 * a .class entry of a jar which is read directly from the jar without extracting it
+	 */
+	public static class JarEntrySource extends ClassSource {
+		private final ZipFile jar;
+		private final ZipEntry entry;
+
+		public JarEntrySource(ZipFile jar, ZipEntry entry) {
+			this.jar = jar;
+			this.entry = entry;
+		}
+
+		@Override
+		public String getName() {
+			return jar.getName() + "!/" + entry.getName();
+		}
+
+		@Override
+		public JavaClass parse() throws Exception {
+			InputStream in = jar.getInputStream(entry); // ZipFile allows reading several entries concurrently
+			try {
+				return new BcelJavaClass(in, entry.getName());
+			} catch (Exception e) {
+				throw new ClassParserException("Cannot parse " + getName() + ": " + e.getMessage(), e);
+			} finally {
+				in.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package com.baselet.generator;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.baselet.generator.java.JavaClass;
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
+
+/**
+ * Collects the classes of .java and .class files, of directories (recursively) and of jars.
+ * Jars are not extracted, their entries are parsed directly from the jar, therefore the jars stay open until {@link #close()} is called.
+ * Anonymous classes, package-info and module-info are skipped. Additionally the classes can be restricted to some packages and to public classes.
+ */
+public class ClassSourceScanner implements Closeable {
+
+	private static final Logger log = LoggerFactory.getLogger(ClassSourceScanner.class);
+
+	private static final Pattern ANONYMOUS_CLASS = Pattern.compile(".*\\$[0-9]+(\\$.*)?\\.class");
+
+	private final List<Pattern> packagePatterns = new ArrayList<Pattern>();
+	private final boolean publicOnly;
+	private final List<ZipFile> openJars = new ArrayList<ZipFile>();
+
+	/**
+	 * @param packageGlobs comma separated package names where * matches any part of a package name and ** also matches subpackages (e.g. "com.example.**"); empty to accept all packages
+	 * @param publicOnly true if only public classes are accepted
+	 */
+	public ClassSourceScanner(String packageGlobs, boolean publicOnly) {
+		for (String glob : packageGlobs.split(",")) {
+			if (!glob.trim().isEmpty()) {
+				packagePatterns.add(globToPattern(glob.trim()));
+			}
+		}
+		this.publicOnly = publicOnly;
+	}
+
+	/**
+	 * @param path a .java, .class or .jar file or a directory which is searched recursively
+	 */
+	public List<ClassSource> scan(String path) throws IOException {
+		List<ClassSource> sources = new ArrayList<ClassSource>();
+		File file = new File(path);
+		if (file.isDirectory()) {
+			scanDirectory(file, sources);
+		}
+		else if (path.endsWith(".jar")) {
+			scanJar(file, sources);
+		}
+		else {
+			sources.add(new ClassSource.FileSource(path));
+		}
+		return sources;
+	}
+
+	private void scanDirectory(File dir, List<ClassSource> sources) {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (File file : files) {
+			String name = file.getName();
+			if (file.isDirectory()) {
+				scanDirectory(file, sources);
+			}
+			else if (name.endsWith(".java") && !isMetaInfo(name) || name.endsWith(".class") && isRelevantClassFile(name)) {
+				sources.add(new ClassSource.FileSource(file.getAbsolutePath()));
+			}
+		}
+	}
+
+	/**
+	 * only the central directory of the jar is read here, the entries are read when they are parsed
+	 */
+	private void scanJar(File file, List<ClassSource> sources) throws IOException {
+		ZipFile jar = new ZipFile(file);
+		openJars.add(jar);
+		Enumeration<? extends ZipEntry> entries = jar.entries();
+		while (entries.hasMoreElements()) {
+			ZipEntry entry = entries.nextElement();
+			String name = entry.getName();
+			if (!entry.isDirectory() && name.endsWith(".class") && isRelevantClassFile(name) && !name.startsWith("META-INF/") && acceptsPackage(packageOfEntry(name))) {
+				sources.add(new ClassSource.JarEntrySource(jar, entry));
+			}
+		}
+	}
+
+	/**
+	 * the package of a jar entry is known before parsing, a file must be parsed to know its package
+	 */
+	public boolean accepts(JavaClass parsedClass) {
+		return acceptsPackage(parsedClass.getPackage()) && (!publicOnly || parsedClass.isPublic());
+	}
+
+	private boolean acceptsPackage(String packageName) {
+		if (packagePatterns.isEmpty()) {
+			return true;
+		}
+		for (Pattern pattern : packagePatterns) {
+			if (pattern.matcher(packageName).matches()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public void close() {
+		for (ZipFile jar : openJars) {
+			try {
+				jar.close();
+			} catch (IOException e) {
+				log.error("Cannot close " + jar.getName(), e);
+			}
+		}
+		openJars.clear();
+	}
+
+	private static boolean isRelevantClassFile(String name) {
+		return !isMetaInfo(name) && !ANONYMOUS_CLASS.matcher(name).matches();
+	}
+
+	private static boolean isMetaInfo(String name) {
+		String simpleName = name.substring(name.lastIndexOf('/') + 1);
+		return simpleName.startsWith("package-info.") || simpleName.startsWith("module-info.");
+	}
+
+	private static String packageOfEntry(String entryName) {
+		int lastSlash = entryName.lastIndexOf('/');
+		return lastSlash == -1 ? "" : entryName.substring(0, lastSlash).replace('/', '.');
+	}
+
+	static Pattern globToPattern(String glob) {
+		StringBuilder regex = new StringBuilder();
+		for (int i = 0; i < glob.length(); i++) {
+			char c = glob.charAt(i);
+			if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+				if (i > 0 && glob.charAt(i - 1) == '.' && i + 2 == glob.length()) {
+					// "com.example.**" also matches the package com.example itself
+					regex.setLength(regex.length() - 2);
+					regex.append("(\\..*)?");
+				}
+				else {
+					regex.append(".*");
+				}
+				i++;
+			}
+			else if (c == '*') {
+				regex.append("[^.]*");
+			}
+			else if (Character.isLetterOrDigit(c) || c == '_') {
+				regex.append(c);
+			}
+			else {
+				regex.append('\\').append(c);
+			}
+		}
+		return Pattern.compile(regex.toString());
+	}
+}
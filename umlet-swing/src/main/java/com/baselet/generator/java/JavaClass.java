@@ -22,4 +22,19 @@ public interface JavaClass {
 	}
 
 	public String getPackage();
+
+	/**
+	 * @return the name of the extended class as it is written in the source (possibly qualified and with type arguments) or null if the class doesn't extend another class
+	 */
+	public String getSuperClass();
+
+	/**
+	 * @return the names of the implemented interfaces (or the extended interfaces of an interface) as they are written in the source
+	 */
+	public String[] getInterfaces();
+
+	/**
+	 * @return true if the class is visible outside of its package
+	 */
+	public boolean isPublic();
 }
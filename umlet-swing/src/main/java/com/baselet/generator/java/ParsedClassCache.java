@@ -0,0 +1,77 @@
+package com.baselet.generator.java;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+
+import com.baselet.util.SegmentedLRUCache;
+import com.baselet.util.SegmentedLRUCache.CacheStatistics;
+
+/**
+ * Keeps the parsed classes of the last generations so that generating again after a small change only parses the changed files.
+ * An entry is keyed by the absolute path of the file and is only valid as long as the size and the modification time of the file are unchanged.
+ * A parsed class contains the whole syntax tree of its file and the cache lives as long as the program, therefore it only keeps a few classes
+ * (e.g. the package which is generated again and again) and the garbage collector may drop them if memory gets low.
+ */
+public class ParsedClassCache {
+
+	private static final ParsedClassCache instance = new ParsedClassCache();
+
+	public static ParsedClassCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * some file systems store the modification time in steps of 2 seconds; a file which has been modified more recently could be modified again without a visible change of the modification time
+	 */
+	private static final long MODIFICATION_TIME_RESOLUTION_MS = 2000;
+
+	static final int MAX_ENTRIES = 256; // a multiple of the segment count, therefore the bound is exact
+
+	private final SegmentedLRUCache<String, Entry> cache = new SegmentedLRUCache<String, Entry>("ParsedClasses", MAX_ENTRIES);
+
+	/**
+	 * @return the parsed class or null if the file has not been parsed yet or has changed since then
+	 */
+	public JavaClass get(File file) {
+		Entry entry = cache.get(file.getAbsolutePath());
+		if (entry == null || entry.length != file.length() || entry.lastModified != file.lastModified()) {
+			return null;
+		}
+		return entry.parsedClass.get(); // null if the garbage collector has dropped the class
+	}
+
+	/**
+	 * @param length the size of the file before it has been parsed
+	 * @param lastModified the modification time of the file before it has been parsed (if the file changes during parsing the next call of {@link #get(File)} will not match)
+	 */
+	public void put(File file, long length, long lastModified, JavaClass parsedClass) {
+		if (System.currentTimeMillis() - lastModified < MODIFICATION_TIME_RESOLUTION_MS) {
+			return;
+		}
+		cache.put(file.getAbsolutePath(), new Entry(length, lastModified, parsedClass));
+	}
+
+	public void clear() {
+		cache.clear();
+	}
+
+	int size() {
+		return cache.size();
+	}
+
+	public CacheStatistics getCacheStatistics() {
+		return cache.getStatistics();
+	}
+
+	private static class Entry {
+		private final long length;
+		private final long lastModified;
+		private final SoftReference<JavaClass> parsedClass;
+
+		public Entry(long length, long lastModified, JavaClass parsedClass) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.parsedClass = new SoftReference<JavaClass>(parsedClass);
+		}
+	}
+}
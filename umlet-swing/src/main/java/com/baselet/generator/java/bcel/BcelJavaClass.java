@@ -1,6 +1,7 @@
 package com.baselet.generator.java.bcel;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.apache.bcel.classfile.ClassParser;
 import org.apache.bcel.classfile.Field;
@@ -21,6 +22,14 @@ public class BcelJavaClass implements com.baselet.generator.java.JavaClass {
 		clazz = parser.parse();
 	}
 
+	/**
+	 * parses a class which is not stored as a file (e.g. an entry of a jar); the caller must close the stream
+	 */
+	public BcelJavaClass(InputStream in, String filename) throws IOException {
+		ClassParser parser = new ClassParser(in, filename);
+		clazz = parser.parse();
+	}
+
 	@Override
 	public String getName() {
 		String nameWithPackage = clazz.getClassName();
@@ -65,4 +74,23 @@ public class BcelJavaClass implements com.baselet.generator.java.JavaClass {
 	public String getPackage() {
 		return clazz.getPackageName();
 	}
+
+	@Override
+	public String getSuperClass() {
+		String superclassName = clazz.getSuperclassName();
+		if (clazz.isInterface() || superclassName == null || superclassName.equals(Object.class.getName())) {
+			return null;
+		}
+		return superclassName;
+	}
+
+	@Override
+	public String[] getInterfaces() {
+		return clazz.getInterfaceNames();
+	}
+
+	@Override
+	public boolean isPublic() {
+		return clazz.isPublic();
+	}
 }
@@ -1,7 +1,9 @@
 package com.baselet.generator.java.jp;
 
+import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,6 +23,7 @@ import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.ModifierSet;
 import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
 
 public class JpJavaClass implements JavaClass {
 
@@ -33,10 +36,10 @@ public class JpJavaClass implements JavaClass {
 	private final List<FieldDeclaration> fields = new ArrayList<FieldDeclaration>();
 
 	public JpJavaClass(String filename) throws ClassParserException {
-		FileInputStream in = null;
+		InputStream in = null;
 
 		try {
-			in = new FileInputStream(filename);
+			in = new BufferedInputStream(new FileInputStream(filename));
 			cu = JavaParser.parse(in);
 		} catch (Throwable e) { // catch all exceptions and errors (otherwise stuff like a renamed jpg file would silently fail)
 			throw new ClassParserException("Cannot parse " + filename + ": " + e.getMessage(), e);
@@ -129,4 +132,31 @@ public class JpJavaClass implements JavaClass {
 		String packageWithExtra = packageDecl.toString().replace("package ", "");
 		return packageWithExtra.substring(0, packageWithExtra.lastIndexOf(";"));
 	}
+
+	@Override
+	public String getSuperClass() {
+		if (clazz.isInterface() || clazz.getExtends() == null || clazz.getExtends().isEmpty()) {
+			return null;
+		}
+		return clazz.getExtends().get(0).toString();
+	}
+
+	@Override
+	public String[] getInterfaces() {
+		// interfaces declare their super interfaces with extends instead of implements
+		List<ClassOrInterfaceType> types = clazz.isInterface() ? clazz.getExtends() : clazz.getImplements();
+		if (types == null) {
+			return new String[0];
+		}
+		String[] names = new String[types.size()];
+		for (int i = 0; i < names.length; i++) {
+			names[i] = types.get(i).toString();
+		}
+		return names;
+	}
+
+	@Override
+	public boolean isPublic() {
+		return ModifierSet.isPublic(clazz.getModifiers());
+	}
 }
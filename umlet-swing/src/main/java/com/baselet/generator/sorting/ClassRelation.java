@@ -0,0 +1,172 @@
+package com.baselet.generator.sorting;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.baselet.generator.java.Field;
+import com.baselet.generator.java.JavaClass;
+
+/**
+ * A relation between two generated classes which is extracted from the parsed classes.
+ * Type names are resolved against the generated classes only: A qualified name must match exactly, a simple name prefers the class in the same package and is ignored if it is ambiguous.
+ */
+public class ClassRelation {
+
+	public enum Type {
+		INHERITANCE("lt=<<-"), IMPLEMENTATION("lt=<<."), ASSOCIATION("lt=->");
+
+		private final String panelAttributes;
+
+		private Type(String panelAttributes) {
+			this.panelAttributes = panelAttributes;
+		}
+
+		public String getPanelAttributes() {
+			return panelAttributes;
+		}
+
+		/**
+		 * @return true if the arrow is drawn at the start of the relation (therefore the first point must be at the target)
+		 */
+		public boolean isArrowAtStart() {
+			return this != ASSOCIATION;
+		}
+	}
+
+	private final SortableElement source;
+	private final SortableElement target;
+	private final Type type;
+
+	public ClassRelation(SortableElement source, SortableElement target, Type type) {
+		this.source = source;
+		this.target = target;
+		this.type = type;
+	}
+
+	/**
+	 * the subclass or the class which contains the field
+	 */
+	public SortableElement getSource() {
+		return source;
+	}
+
+	/**
+	 * the superclass, the implemented interface or the type of the field
+	 */
+	public SortableElement getTarget() {
+		return target;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * @return the relations between the given classes; there is at most one relation for each pair of classes and inheritance has priority over associations
+	 */
+	public static List<ClassRelation> extract(List<SortableElement> elements) {
+		Map<String, SortableElement> byQualifiedName = new HashMap<String, SortableElement>();
+		Map<String, List<SortableElement>> bySimpleName = new HashMap<String, List<SortableElement>>();
+		for (SortableElement e : elements) {
+			JavaClass parsedClass = e.getParsedClass();
+			if (parsedClass == null) {
+				continue;
+			}
+			byQualifiedName.put(qualifiedName(parsedClass), e);
+			List<SortableElement> sameName = bySimpleName.get(parsedClass.getName());
+			if (sameName == null) {
+				sameName = new ArrayList<SortableElement>();
+				bySimpleName.put(parsedClass.getName(), sameName);
+			}
+			sameName.add(e);
+		}
+
+		List<ClassRelation> relations = new ArrayList<ClassRelation>();
+		Map<SortableElement, Set<SortableElement>> connectedPairs = new HashMap<SortableElement, Set<SortableElement>>();
+		for (SortableElement e : elements) {
+			JavaClass parsedClass = e.getParsedClass();
+			if (parsedClass == null) {
+				continue;
+			}
+			if (parsedClass.getSuperClass() != null) {
+				addRelation(relations, connectedPairs, e, resolve(removeTypeArguments(parsedClass.getSuperClass()), parsedClass.getPackage(), byQualifiedName, bySimpleName), Type.INHERITANCE);
+			}
+			for (String interfaceName : parsedClass.getInterfaces()) {
+				// an interface which extends another interface is drawn like a class which extends another class
+				Type type = parsedClass.getRole() == JavaClass.ClassRole.INTERFACE ? Type.INHERITANCE : Type.IMPLEMENTATION;
+				addRelation(relations, connectedPairs, e, resolve(removeTypeArguments(interfaceName), parsedClass.getPackage(), byQualifiedName, bySimpleName), type);
+			}
+		}
+		for (SortableElement e : elements) {
+			JavaClass parsedClass = e.getParsedClass();
+			if (parsedClass == null) {
+				continue;
+			}
+			for (Field field : parsedClass.getFields()) {
+				// split e.g. Map<String, List<Foo>> or Foo[] into the contained type names
+				for (String typeName : field.getType().split("[^\\w.$]+")) {
+					if (!typeName.isEmpty()) {
+						addRelation(relations, connectedPairs, e, resolve(typeName, parsedClass.getPackage(), byQualifiedName, bySimpleName), Type.ASSOCIATION);
+					}
+				}
+			}
+		}
+		return relations;
+	}
+
+	private static void addRelation(List<ClassRelation> relations, Map<SortableElement, Set<SortableElement>> connectedPairs, SortableElement source, SortableElement target, Type type) {
+		if (target == null || target == source) {
+			return;
+		}
+		if (isConnected(connectedPairs, source, target) || type == Type.ASSOCIATION && isConnected(connectedPairs, target, source)) {
+			return;
+		}
+		Set<SortableElement> targets = connectedPairs.get(source);
+		if (targets == null) {
+			targets = new HashSet<SortableElement>();
+			connectedPairs.put(source, targets);
+		}
+		targets.add(target);
+		relations.add(new ClassRelation(source, target, type));
+	}
+
+	private static boolean isConnected(Map<SortableElement, Set<SortableElement>> connectedPairs, SortableElement source, SortableElement target) {
+		Set<SortableElement> targets = connectedPairs.get(source);
+		return targets != null && targets.contains(target);
+	}
+
+	private static SortableElement resolve(String typeName, String sourcePackage, Map<String, SortableElement> byQualifiedName, Map<String, List<SortableElement>> bySimpleName) {
+		if (typeName.contains(".")) {
+			SortableElement exactMatch = byQualifiedName.get(typeName);
+			if (exactMatch != null) {
+				return exactMatch;
+			}
+		}
+		List<SortableElement> candidates = bySimpleName.get(typeName.substring(typeName.lastIndexOf('.') + 1));
+		if (candidates == null) {
+			return null;
+		}
+		for (SortableElement candidate : candidates) {
+			if (candidate.getParsedClass().getPackage().equals(sourcePackage)) {
+				return candidate;
+			}
+		}
+		return candidates.size() == 1 ? candidates.get(0) : null;
+	}
+
+	private static String qualifiedName(JavaClass parsedClass) {
+		if (parsedClass.getPackage().isEmpty()) {
+			return parsedClass.getName();
+		}
+		return parsedClass.getPackage() + "." + parsedClass.getName();
+	}
+
+	private static String removeTypeArguments(String typeName) {
+		int typeArgumentsStart = typeName.indexOf('<');
+		return typeArgumentsStart == -1 ? typeName.trim() : typeName.substring(0, typeArgumentsStart).trim();
+	}
+}
@@ -0,0 +1,752 @@
+package com.baselet.generator.sorting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.baselet.control.basics.geom.Point;
+
+/**
+ * Layered (Sugiyama-style) drawing of a directed graph whose nodes are rectangles.
+ * The target of an edge is placed in a layer above its source (e.g. a superclass above its subclasses).
+ * <ol>
+ * <li>cycles of the hierarchical edges are broken by reversing the back edges of a depth first search</li>
+ * <li>nodes are assigned to layers by the longest path of hierarchical edges to a node without outgoing hierarchical edges;
+ * nodes which only have other edges (e.g. associations) are placed next to their neighbors by a breadth first search (otherwise long chains of associations would create very deep drawings)</li>
+ * <li>edges which span several layers are split by dummy nodes which become the bend points of the edge</li>
+ * <li>crossings are reduced by alternating barycenter sweeps (the order with the fewest crossings is kept)</li>
+ * <li>x coordinates are placed as close as possible to the neighbors while keeping the order and the gaps of each layer</li>
+ * </ol>
+ * Nodes without edges are placed in rows below the layered drawing. All steps are (nearly) linear in the number of nodes and edges, therefore thousands of nodes can be handled.
+ */
+public class LayeredGraph {
+
+	private static final int CROSSING_MINIMIZATION_SWEEPS = 8;
+	private static final int PLACEMENT_SWEEPS = 4;
+
+	private final int nodeCount;
+	private final int[] widths;
+	private final int[] heights;
+	private final List<int[]> edges = new ArrayList<int[]>(); // source, target, 1 if hierarchical
+
+	// layout result
+	private final int[] x;
+	private final int[] y;
+	private final List<List<Point>> edgePoints = new ArrayList<List<Point>>();
+	private int width;
+	private int height;
+
+	// working state of the layout (nodes >= nodeCount are dummy nodes)
+	private boolean[] connected;
+	private int[] layerOf;
+	private double[] position;
+	private List<int[]> layers;
+	private int[][] upper;
+	private int[][] lower;
+
+	public LayeredGraph(int[] widths, int[] heights) {
+		if (widths.length != heights.length) {
+			throw new IllegalArgumentException("widths and heights must have the same length");
+		}
+		nodeCount = widths.length;
+		this.widths = widths;
+		this.heights = heights;
+		x = new int[nodeCount];
+		y = new int[nodeCount];
+	}
+
+	/**
+	 * @param hierarchical true if the edge defines the layers (e.g. inheritance), other edges (e.g. associations) only influence the order within the layers
+	 * @return the index of the edge which can be used to get its points after the layout
+	 */
+	public int addEdge(int source, int target, boolean hierarchical) {
+		edges.add(new int[] { source, target, hierarchical ? 1 : 0 });
+		return edges.size() - 1;
+	}
+
+	public int getX(int node) {
+		return x[node];
+	}
+
+	public int getY(int node) {
+		return y[node];
+	}
+
+	/**
+	 * @return the points of the edge from the source to the target (the first and the last point are on the border of the nodes), an empty list for an edge from a node to itself
+	 */
+	public List<Point> getEdgePoints(int edge) {
+		return edgePoints.get(edge);
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * @param horizontalGap the minimal space between two nodes of a layer
+	 * @param verticalGap the space between two layers
+	 * @param grid all coordinates are multiples of this value
+	 */
+	public void layout(int horizontalGap, int verticalGap, int grid) {
+		assignLayers(breakCycles());
+		int[][] chains = insertDummyNodes();
+		minimizeCrossings();
+		placeHorizontally(horizontalGap, grid);
+		int[] layerY = placeVertically(verticalGap, grid);
+		routeEdges(chains, layerY, verticalGap);
+		placeUnconnectedNodes(horizontalGap, verticalGap, grid);
+	}
+
+	private int source(int edge) {
+		return edges.get(edge)[0];
+	}
+
+	private int target(int edge) {
+		return edges.get(edge)[1];
+	}
+
+	private boolean isSelfLoop(int edge) {
+		return source(edge) == target(edge);
+	}
+
+	private boolean isHierarchical(int edge) {
+		return edges.get(edge)[2] == 1 && !isSelfLoop(edge);
+	}
+
+	/**
+	 * @return the indices of the hierarchical edges which leave (or enter) each node in the direction after the cycle removal
+	 */
+	private int[][] hierarchicalAdjacency(boolean outgoing, boolean[] reversed) {
+		int[] count = new int[nodeCount];
+		for (int i = 0; i < edges.size(); i++) {
+			if (isHierarchical(i)) {
+				count[from(i, reversed, outgoing)]++;
+			}
+		}
+		int[][] adjacency = new int[nodeCount][];
+		for (int n = 0; n < nodeCount; n++) {
+			adjacency[n] = new int[count[n]];
+			count[n] = 0;
+		}
+		for (int i = 0; i < edges.size(); i++) {
+			if (isHierarchical(i)) {
+				int node = from(i, reversed, outgoing);
+				adjacency[node][count[node]++] = i;
+			}
+		}
+		return adjacency;
+	}
+
+	private int from(int edge, boolean[] reversed, boolean outgoing) {
+		boolean isReversed = reversed != null && reversed[edge];
+		return outgoing != isReversed ? source(edge) : target(edge);
+	}
+
+	// CYCLE REMOVAL
+
+	/**
+	 * iterative depth first search over the hierarchical edges (the graph can be too deep for recursion); an edge to a node on the current path closes a cycle and is reversed
+	 */
+	private boolean[] breakCycles() {
+		int[][] outEdges = hierarchicalAdjacency(true, null);
+		boolean[] reversed = new boolean[edges.size()];
+		int[] state = new int[nodeCount]; // 0 = unvisited, 1 = on path, 2 = finished
+		int[] stack = new int[nodeCount];
+		int[] nextEdge = new int[nodeCount];
+		for (int start = 0; start < nodeCount; start++) {
+			if (state[start] != 0) {
+				continue;
+			}
+			int depth = 0;
+			stack[depth] = start;
+			state[start] = 1;
+			while (depth >= 0) {
+				int node = stack[depth];
+				if (nextEdge[node] < outEdges[node].length) {
+					int edge = outEdges[node][nextEdge[node]++];
+					int target = target(edge);
+					if (state[target] == 1) {
+						reversed[edge] = true;
+					}
+					else if (state[target] == 0) {
+						state[target] = 1;
+						stack[++depth] = target;
+					}
+				}
+				else {
+					state[node] = 2;
+					depth--;
+				}
+			}
+		}
+		return reversed;
+	}
+
+	// LAYER ASSIGNMENT
+
+	private void assignLayers(boolean[] reversed) {
+		layerOf = new int[nodeCount];
+		boolean[] assigned = assignHierarchicalLayers(reversed);
+		assignRemainingLayers(assigned);
+	}
+
+	/**
+	 * longest path layering: nodes without outgoing hierarchical edges are in layer 0 (the top), every other node is one layer below its lowest target.
+	 * Afterwards top nodes are moved down to just above their highest source to avoid unnecessary long edges.
+	 *
+	 * @return the nodes which have a layer now (nodes with hierarchical edges)
+	 */
+	private boolean[] assignHierarchicalLayers(boolean[] reversed) {
+		int[][] outEdges = hierarchicalAdjacency(true, reversed);
+		int[][] inEdges = hierarchicalAdjacency(false, reversed);
+		int[] remainingOut = new int[nodeCount];
+		int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			remainingOut[n] = outEdges[n].length;
+			if (remainingOut[n] == 0) {
+				queue[tail++] = n;
+			}
+		}
+		while (head < tail) {
+			int node = queue[head++];
+			for (int edge : inEdges[node]) {
+				int src = from(edge, reversed, true);
+				layerOf[src] = Math.max(layerOf[src], layerOf[node] + 1);
+				if (--remainingOut[src] == 0) {
+					queue[tail++] = src;
+				}
+			}
+		}
+		boolean[] assigned = new boolean[nodeCount];
+		for (int n = 0; n < nodeCount; n++) {
+			assigned[n] = outEdges[n].length > 0 || inEdges[n].length > 0;
+			if (outEdges[n].length == 0 && inEdges[n].length > 0) {
+				int highestSource = Integer.MAX_VALUE;
+				for (int edge : inEdges[n]) {
+					highestSource = Math.min(highestSource, layerOf[from(edge, reversed, true)]);
+				}
+				layerOf[n] = highestSource - 1;
+			}
+		}
+		return assigned;
+	}
+
+	/**
+	 * breadth first search over the other edges starting at the nodes which already have a layer: the source of an edge is placed one layer below its target and vice versa.
+	 * Groups of nodes which are not reachable start at layer 0. Finally the layers are shifted to start at 0 again.
+	 */
+	private void assignRemainingLayers(boolean[] assigned) {
+		int[] count = new int[nodeCount];
+		for (int i = 0; i < edges.size(); i++) {
+			if (!isHierarchical(i) && !isSelfLoop(i)) {
+				count[source(i)]++;
+				count[target(i)]++;
+			}
+		}
+		int[][] neighborEdges = new int[nodeCount][];
+		for (int n = 0; n < nodeCount; n++) {
+			neighborEdges[n] = new int[count[n]];
+			count[n] = 0;
+		}
+		for (int i = 0; i < edges.size(); i++) {
+			if (!isHierarchical(i) && !isSelfLoop(i)) {
+				neighborEdges[source(i)][count[source(i)]++] = i;
+				neighborEdges[target(i)][count[target(i)]++] = i;
+			}
+		}
+
+		connected = new boolean[nodeCount];
+		int[] queue = new int[nodeCount];
+		int head = 0;
+		int tail = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			connected[n] = assigned[n] || neighborEdges[n].length > 0;
+			if (assigned[n]) {
+				queue[tail++] = n;
+			}
+		}
+		for (int start = 0; start <= nodeCount; start++) {
+			while (head < tail) {
+				int node = queue[head++];
+				for (int edge : neighborEdges[node]) {
+					boolean nodeIsSource = source(edge) == node;
+					int neighbor = nodeIsSource ? target(edge) : source(edge);
+					if (!assigned[neighbor]) {
+						layerOf[neighbor] = nodeIsSource ? layerOf[node] - 1 : layerOf[node] + 1;
+						assigned[neighbor] = true;
+						queue[tail++] = neighbor;
+					}
+				}
+			}
+			if (start < nodeCount && !assigned[start] && connected[start]) {
+				assigned[start] = true;
+				queue[tail++] = start;
+			}
+		}
+
+		int minLayer = Integer.MAX_VALUE;
+		for (int n = 0; n < nodeCount; n++) {
+			if (connected[n]) {
+				minLayer = Math.min(minLayer, layerOf[n]);
+			}
+		}
+		for (int n = 0; n < nodeCount; n++) {
+			layerOf[n] -= minLayer;
+		}
+	}
+
+	// DUMMY NODES
+
+	/**
+	 * @return the chain of nodes of each edge from the lower to the upper node, the inner nodes are dummy nodes; the chain is empty for self loops and null if both nodes are in the same layer
+	 */
+	private int[][] insertDummyNodes() {
+		int dummyCount = 0;
+		for (int i = 0; i < edges.size(); i++) {
+			dummyCount += Math.max(0, Math.abs(layerOf[source(i)] - layerOf[target(i)]) - 1);
+		}
+		int total = nodeCount + dummyCount;
+		layerOf = Arrays.copyOf(layerOf, total);
+		connected = Arrays.copyOf(connected, total);
+		int[] upperCount = new int[total];
+		int[] lowerCount = new int[total];
+
+		int[][] chains = new int[edges.size()][];
+		int nextDummy = nodeCount;
+		for (int i = 0; i < edges.size(); i++) {
+			int lowerNode = layerOf[source(i)] >= layerOf[target(i)] ? source(i) : target(i);
+			int upperNode = lowerNode == source(i) ? target(i) : source(i);
+			if (isSelfLoop(i)) {
+				chains[i] = new int[0];
+			}
+			else if (layerOf[lowerNode] != layerOf[upperNode]) {
+				int[] chain = new int[layerOf[lowerNode] - layerOf[upperNode] + 1];
+				chain[0] = lowerNode;
+				for (int c = 1; c < chain.length - 1; c++) {
+					chain[c] = nextDummy;
+					connected[nextDummy] = true;
+					layerOf[nextDummy++] = layerOf[lowerNode] - c;
+				}
+				chain[chain.length - 1] = upperNode;
+				for (int c = 0; c < chain.length - 1; c++) {
+					upperCount[chain[c]]++;
+					lowerCount[chain[c + 1]]++;
+				}
+				chains[i] = chain;
+			}
+		}
+
+		upper = new int[total][];
+		lower = new int[total][];
+		for (int n = 0; n < total; n++) {
+			upper[n] = new int[upperCount[n]];
+			lower[n] = new int[lowerCount[n]];
+			upperCount[n] = 0;
+			lowerCount[n] = 0;
+		}
+		for (int[] chain : chains) {
+			if (chain == null) {
+				continue;
+			}
+			for (int c = 0; c < chain.length - 1; c++) {
+				upper[chain[c]][upperCount[chain[c]]++] = chain[c + 1];
+				lower[chain[c + 1]][lowerCount[chain[c + 1]]++] = chain[c];
+			}
+		}
+
+		int layerCount = 0;
+		int[] layerSize = new int[total + 1];
+		for (int n = 0; n < total; n++) {
+			if (connected[n]) {
+				layerCount = Math.max(layerCount, layerOf[n] + 1);
+				layerSize[layerOf[n]]++;
+			}
+		}
+		int[][] allLayers = new int[layerCount][];
+		for (int l = 0; l < layerCount; l++) {
+			allLayers[l] = new int[layerSize[l]];
+			layerSize[l] = 0;
+		}
+		for (int n = 0; n < total; n++) {
+			if (connected[n]) {
+				allLayers[layerOf[n]][layerSize[layerOf[n]]++] = n;
+			}
+		}
+		layers = new ArrayList<int[]>();
+		for (int[] layer : allLayers) {
+			if (layer.length == 0) {
+				continue; // e.g. the top layer if all its nodes have been moved down
+			}
+			for (int node : layer) {
+				layerOf[node] = layers.size();
+			}
+			layers.add(layer);
+		}
+		position = new double[total];
+		return chains;
+	}
+
+	private int width(int node) {
+		return node < nodeCount ? widths[node] : 0;
+	}
+
+	private int height(int node) {
+		return node < nodeCount ? heights[node] : 0;
+	}
+
+	// CROSSING MINIMIZATION
+
+	private void minimizeCrossings() {
+		updatePositionsFromOrder();
+		List<int[]> bestOrder = copyLayers();
+		long bestCrossings = countCrossings();
+		for (int sweep = 0; sweep < CROSSING_MINIMIZATION_SWEEPS && bestCrossings > 0; sweep++) {
+			boolean downwards = sweep % 2 == 0;
+			if (downwards) {
+				for (int l = 1; l < layers.size(); l++) {
+					orderByBarycenter(layers.get(l), upper);
+				}
+			}
+			else {
+				for (int l = layers.size() - 2; l >= 0; l--) {
+					orderByBarycenter(layers.get(l), lower);
+				}
+			}
+			long crossings = countCrossings();
+			if (crossings < bestCrossings) {
+				bestCrossings = crossings;
+				bestOrder = copyLayers();
+			}
+		}
+		layers = bestOrder;
+		updatePositionsFromOrder();
+	}
+
+	/**
+	 * sorts the layer by the average position of the neighbors in the fixed layer; nodes without neighbors keep their position
+	 */
+	private void orderByBarycenter(int[] layer, int[][] neighbors) {
+		// sort keys which contain the barycenter in the upper and the current index in the lower bits (keeps the sort stable and avoids boxing)
+		long[] keys = new long[layer.length];
+		int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, layer.length));
+		for (int i = 0; i < layer.length; i++) {
+			int[] n = neighbors[layer[i]];
+			double barycenter;
+			if (n.length == 0) {
+				barycenter = i;
+			}
+			else {
+				double sum = 0;
+				for (int neighbor : n) {
+					sum += position[neighbor];
+				}
+				barycenter = sum / n.length;
+			}
+			keys[i] = (long) (barycenter * 16) << indexBits | i; // positions are ranks, therefore a resolution of 1/16 is enough
+		}
+		Arrays.sort(keys);
+		int[] sorted = new int[layer.length];
+		long indexMask = (1L << indexBits) - 1;
+		for (int i = 0; i < layer.length; i++) {
+			sorted[i] = layer[(int) (keys[i] & indexMask)];
+		}
+		for (int i = 0; i < layer.length; i++) {
+			layer[i] = sorted[i];
+			position[layer[i]] = i;
+		}
+	}
+
+	private void updatePositionsFromOrder() {
+		for (int[] layer : layers) {
+			for (int i = 0; i < layer.length; i++) {
+				position[layer[i]] = i;
+			}
+		}
+	}
+
+	private List<int[]> copyLayers() {
+		List<int[]> copy = new ArrayList<int[]>(layers.size());
+		for (int[] layer : layers) {
+			copy.add(layer.clone());
+		}
+		return copy;
+	}
+
+	private long countCrossings() {
+		long crossings = 0;
+		for (int l = 1; l < layers.size(); l++) {
+			crossings += countCrossings(layers.get(l - 1), layers.get(l));
+		}
+		return crossings;
+	}
+
+	/**
+	 * counts the crossings between two layers in O(e log n) by counting the inversions of the lower positions if the edges are sorted by their upper position
+	 * (accumulator tree of Barth, Juenger and Mutzel: "Simple and efficient bilayer cross counting")
+	 */
+	private long countCrossings(int[] upperLayer, int[] lowerLayer) {
+		int edgeCount = 0;
+		for (int node : upperLayer) {
+			edgeCount += lower[node].length;
+		}
+		int[] lowerPositions = new int[edgeCount];
+		int e = 0;
+		for (int node : upperLayer) {
+			int start = e;
+			for (int neighbor : lower[node]) {
+				lowerPositions[e++] = (int) position[neighbor];
+			}
+			Arrays.sort(lowerPositions, start, e);
+		}
+		int firstIndex = 1;
+		while (firstIndex < lowerLayer.length) {
+			firstIndex *= 2;
+		}
+		int[] tree = new int[2 * firstIndex - 1];
+		firstIndex -= 1;
+		long crossings = 0;
+		for (int p : lowerPositions) {
+			int index = p + firstIndex;
+			tree[index]++;
+			while (index > 0) {
+				if (index % 2 == 1) {
+					crossings += tree[index + 1];
+				}
+				index = (index - 1) / 2;
+				tree[index]++;
+			}
+		}
+		return crossings;
+	}
+
+	// COORDINATE ASSIGNMENT
+
+	private void placeHorizontally(int horizontalGap, int grid) {
+		for (int[] layer : layers) {
+			int curX = 0;
+			for (int node : layer) {
+				position[node] = curX;
+				curX += width(node) + horizontalGap;
+			}
+		}
+		for (int sweep = 0; sweep < PLACEMENT_SWEEPS; sweep++) {
+			for (int l = 1; l < layers.size(); l++) {
+				placeNearNeighbors(layers.get(l), upper, horizontalGap);
+			}
+			for (int l = layers.size() - 2; l >= 0; l--) {
+				placeNearNeighbors(layers.get(l), lower, horizontalGap);
+			}
+		}
+
+		double minX = Double.MAX_VALUE;
+		for (int[] layer : layers) {
+			minX = Math.min(minX, position[layer[0]]);
+		}
+		width = 0;
+		for (int[] layer : layers) {
+			int minNextX = 0;
+			for (int node : layer) {
+				int nodeX = Math.max(minNextX, roundToGrid(position[node] - minX, grid)); // rounding must not let nodes overlap
+				position[node] = nodeX;
+				minNextX = nodeX + roundUpToGrid(width(node) + horizontalGap, grid);
+				width = Math.max(width, nodeX + width(node));
+			}
+		}
+	}
+
+	/**
+	 * moves the nodes of a layer as close as possible to the center of their neighbors without changing their order or violating the gaps.
+	 * The optimal placement (least squares) is calculated in linear time by the pool adjacent violators algorithm:
+	 * If the minimal distance of each node to the first node is subtracted from its desired position, the constraints become a monotonically increasing sequence.
+	 */
+	private void placeNearNeighbors(int[] layer, int[][] neighbors, int horizontalGap) {
+		int n = layer.length;
+		double[] offset = new double[n];
+		double[] desired = new double[n];
+		for (int i = 0; i < n; i++) {
+			int node = layer[i];
+			offset[i] = i == 0 ? 0 : offset[i - 1] + width(layer[i - 1]) + horizontalGap;
+			double center;
+			if (neighbors[node].length == 0) {
+				center = position[node] + width(node) / 2.0;
+			}
+			else {
+				double sum = 0;
+				for (int neighbor : neighbors[node]) {
+					sum += position[neighbor] + width(neighbor) / 2.0;
+				}
+				center = sum / neighbors[node].length;
+			}
+			desired[i] = center - width(node) / 2.0 - offset[i];
+		}
+
+		// pool adjacent violators: blocks of nodes which are placed next to each other at the mean of their desired positions
+		double[] blockValue = new double[n];
+		int[] blockSize = new int[n];
+		int blocks = 0;
+		for (int i = 0; i < n; i++) {
+			blockValue[blocks] = desired[i];
+			blockSize[blocks] = 1;
+			blocks++;
+			while (blocks > 1 && blockValue[blocks - 2] > blockValue[blocks - 1]) {
+				int size = blockSize[blocks - 2] + blockSize[blocks - 1];
+				blockValue[blocks - 2] = (blockValue[blocks - 2] * blockSize[blocks - 2] + blockValue[blocks - 1] * blockSize[blocks - 1]) / size;
+				blockSize[blocks - 2] = size;
+				blocks--;
+			}
+		}
+		int i = 0;
+		for (int b = 0; b < blocks; b++) {
+			for (int j = 0; j < blockSize[b]; j++, i++) {
+				position[layer[i]] = blockValue[b] + offset[i];
+			}
+		}
+	}
+
+	/**
+	 * @return the y coordinate of each layer
+	 */
+	private int[] placeVertically(int verticalGap, int grid) {
+		int[] layerY = new int[layers.size() + 1];
+		int curY = 0;
+		for (int l = 0; l < layers.size(); l++) {
+			layerY[l] = curY;
+			int layerHeight = 0;
+			for (int node : layers.get(l)) {
+				layerHeight = Math.max(layerHeight, height(node));
+				if (node < nodeCount) {
+					x[node] = (int) position[node];
+					y[node] = curY;
+				}
+			}
+			curY += roundUpToGrid(layerHeight, grid) + verticalGap;
+		}
+		layerY[layers.size()] = curY;
+		height = layers.isEmpty() ? 0 : curY - verticalGap;
+		return layerY;
+	}
+
+	// EDGE ROUTING
+
+	/**
+	 * edges between layers leave the lower node at the top and enter the upper node at the bottom; the points are distributed over the width of the node in the order of the neighbors to avoid overlapping lines.
+	 * Edges within a layer connect the facing sides of the nodes.
+	 */
+	private void routeEdges(int[][] chains, int[] layerY, int verticalGap) {
+		int[][] topPoints = attachmentPoints(upper);
+		int[][] bottomPoints = attachmentPoints(lower);
+		for (int i = 0; i < edges.size(); i++) {
+			int[] chain = chains[i];
+			List<Point> points = new ArrayList<Point>();
+			if (chain == null) {
+				int left = x[source(i)] < x[target(i)] ? source(i) : target(i);
+				int right = left == source(i) ? target(i) : source(i);
+				int lineY = y[left] + Math.min(heights[left], heights[right]) / 2;
+				points.add(new Point(x[left] + widths[left], lineY));
+				points.add(new Point(x[right], lineY));
+				if (left != source(i)) {
+					Collections.reverse(points);
+				}
+			}
+			else if (chain.length > 0) {
+				points.add(new Point(attachmentX(chain[0], chain[1], upper, topPoints), y[chain[0]]));
+				for (int c = 1; c < chain.length - 1; c++) {
+					int dummy = chain[c];
+					int dummyX = (int) position[dummy];
+					int layer = layerOf[dummy];
+					points.add(new Point(dummyX, layerY[layer + 1] - verticalGap)); // pass the layer vertically to avoid crossing its nodes
+					points.add(new Point(dummyX, layerY[layer]));
+				}
+				int upperNode = chain[chain.length - 1];
+				points.add(new Point(attachmentX(upperNode, chain[chain.length - 2], lower, bottomPoints), y[upperNode] + heights[upperNode]));
+				removeUnnecessaryPoints(points);
+				if (chain[0] != source(i)) {
+					Collections.reverse(points);
+				}
+			}
+			edgePoints.add(points);
+		}
+	}
+
+	/**
+	 * @return for each node the sorted positions of its neighbors (the attachment point of a neighbor depends on its rank)
+	 */
+	private int[][] attachmentPoints(int[][] neighbors) {
+		int[][] sortedPositions = new int[nodeCount][];
+		for (int n = 0; n < nodeCount; n++) {
+			sortedPositions[n] = new int[neighbors[n].length];
+			for (int i = 0; i < neighbors[n].length; i++) {
+				sortedPositions[n][i] = (int) position[neighbors[n][i]];
+			}
+			Arrays.sort(sortedPositions[n]);
+		}
+		return sortedPositions;
+	}
+
+	private int attachmentX(int node, int neighbor, int[][] neighbors, int[][] sortedPositions) {
+		int rank = Arrays.binarySearch(sortedPositions[node], (int) position[neighbor]);
+		return x[node] + widths[node] * (rank + 1) / (neighbors[node].length + 1);
+	}
+
+	/**
+	 * removes the bends of a long edge which are on a straight vertical line
+	 */
+	private void removeUnnecessaryPoints(List<Point> points) {
+		for (int i = points.size() - 2; i > 0; i--) {
+			Point before = points.get(i - 1);
+			Point after = points.get(i + 1);
+			if (before.getX() == points.get(i).getX() && after.getX() == points.get(i).getX()) {
+				points.remove(i);
+			}
+		}
+	}
+
+	// UNCONNECTED NODES
+
+	private void placeUnconnectedNodes(int horizontalGap, int verticalGap, int grid) {
+		int rowWidth = Math.max(width, (int) Math.sqrt(totalArea()) * 2);
+		int curX = 0;
+		int curY = height == 0 ? 0 : height + verticalGap;
+		int rowHeight = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			if (connected[n]) {
+				continue;
+			}
+			if (curX > 0 && curX + widths[n] > rowWidth) {
+				curX = 0;
+				curY += roundUpToGrid(rowHeight, grid) + horizontalGap;
+				rowHeight = 0;
+			}
+			x[n] = curX;
+			y[n] = curY;
+			curX += roundUpToGrid(widths[n] + horizontalGap, grid);
+			rowHeight = Math.max(rowHeight, heights[n]);
+			width = Math.max(width, x[n] + widths[n]);
+			height = Math.max(height, y[n] + heights[n]);
+		}
+	}
+
+	private double totalArea() {
+		double area = 0;
+		for (int n = 0; n < nodeCount; n++) {
+			area += (double) widths[n] * heights[n];
+		}
+		return area;
+	}
+
+	private static int roundToGrid(double value, int grid) {
+		return (int) Math.round(value / grid) * grid;
+	}
+
+	private static int roundUpToGrid(int value, int grid) {
+		return (value + grid - 1) / grid * grid;
+	}
+}
@@ -1,10 +1,79 @@
 package com.baselet.generator.sorting;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.baselet.control.basics.geom.Dimension;
+import com.baselet.control.basics.geom.Point;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.control.constants.SharedConstants;
+import com.baselet.control.enums.ElementId;
+import com.baselet.diagram.CurrentDiagram;
+import com.baselet.element.ElementFactorySwing;
+import com.baselet.element.NewGridElement;
+
+/**
+ * Places superclasses and interfaces above the classes which extend or implement them (see {@link LayeredGraph}) and adds a relation element for each inheritance, implementation and association between the classes.
+ */
 public class RelationLayout extends Layout {
 
 	@Override
-	public void layout(List<SortableElement> elements) {}
+	public void layout(List<SortableElement> elements) {
+		List<ClassRelation> relations = ClassRelation.extract(elements);
+
+		Map<SortableElement, Integer> nodes = new IdentityHashMap<SortableElement, Integer>();
+		int[] widths = new int[elements.size()];
+		int[] heights = new int[elements.size()];
+		for (int i = 0; i < elements.size(); i++) {
+			Rectangle rect = elements.get(i).getElement().getRectangle();
+			widths[i] = rect.width;
+			heights[i] = rect.height;
+			nodes.put(elements.get(i), i);
+		}
+		LayeredGraph graph = new LayeredGraph(widths, heights);
+		int[] edges = new int[relations.size()];
+		for (int i = 0; i < relations.size(); i++) {
+			ClassRelation relation = relations.get(i);
+			boolean hierarchical = relation.getType() != ClassRelation.Type.ASSOCIATION;
+			edges[i] = graph.addEdge(nodes.get(relation.getSource()), nodes.get(relation.getTarget()), hierarchical);
+		}
+		graph.layout(GRIDSIZE * 4, GRIDSIZE * 8, GRIDSIZE);
+
+		for (int i = 0; i < elements.size(); i++) {
+			elements.get(i).getElement().setLocation(GRIDSIZE + graph.getX(i), GRIDSIZE + graph.getY(i));
+		}
+		for (int i = 0; i < relations.size(); i++) {
+			List<Point> points = graph.getEdgePoints(edges[i]);
+			if (points.size() >= 2) {
+				elements.add(createRelationElement(relations.get(i), points));
+			}
+		}
+		bounds = new Dimension(graph.getWidth() + GRIDSIZE * 2, graph.getHeight() + GRIDSIZE * 2);
+	}
+
+	private SortableElement createRelationElement(ClassRelation relation, List<Point> points) {
+		List<Point> orderedPoints = new ArrayList<Point>(points);
+		if (relation.getType().isArrowAtStart()) {
+			Collections.reverse(orderedPoints);
+		}
+		// relation points are stored at the default zoom level
+		StringBuilder sb = new StringBuilder();
+		for (Point p : orderedPoints) {
+			if (sb.length() > 0) {
+				sb.append(";");
+			}
+			sb.append(toDefaultZoom(GRIDSIZE + p.getX())).append(";").append(toDefaultZoom(GRIDSIZE + p.getY()));
+		}
+		String pointString = sb.toString();
+		NewGridElement element = ElementFactorySwing.create(ElementId.Relation, new Rectangle(0, 0, GRIDSIZE, GRIDSIZE), relation.getType().getPanelAttributes(), pointString, CurrentDiagram.getInstance().getDiagramHandler());
+		element.setAdditionalAttributes(pointString); // now that the handler is set the rectangle is fitted around the points
+		return new SortableElement(element, relation.getSource().getName());
+	}
 
+	private int toDefaultZoom(int value) {
+		return value * SharedConstants.DEFAULT_GRID_SIZE / GRIDSIZE;
+	}
 }
@@ -38,6 +38,7 @@ public abstract class BaseGUIBuilder {
 	private JSplitPane mailSplit;
 	private JPanel rightPanel;
 	private OwnSyntaxPane propertyTextPane;
+	private DiagramMinimap minimap;
 
 	protected JSplitPane initBase(Component mainComponent, final int mainDividerLoc) {
 		propertyTextPane = createPropertyTextPane(); // must be initialized before palettePanel because it could be accessed during palette initialization (eg in case of different default fontsize)
@@ -89,6 +90,10 @@ public abstract class BaseGUIBuilder {
 		return paletteList;
 	}
 
+	public DiagramMinimap getMinimap() {
+		return minimap;
+	}
+
 	public JSplitPane getRightSplit() {
 		return rightSplit;
 	}
@@ -126,6 +131,10 @@ public abstract class BaseGUIBuilder {
 		JPanel panel = new JPanel();
 		panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
 		rightSplit.setAlignmentX(Component.CENTER_ALIGNMENT);
+		minimap = new DiagramMinimap();
+		minimap.setAlignmentX(Component.CENTER_ALIGNMENT);
+		minimap.setVisible(Config.getInstance().isShowMinimap());
+		panel.add(minimap);
 		panel.add(newPaletteControlsPanel());
 		panel.add(rightSplit);
 		return panel;
@@ -0,0 +1,284 @@
+package com.baselet.gui;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.RenderingHints;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Area;
+import java.awt.geom.Line2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import com.baselet.control.basics.Converter;
+import com.baselet.control.basics.geom.Rectangle;
+import com.baselet.diagram.DrawPanel;
+import com.baselet.diagram.ElementChangeListener;
+import com.baselet.diagram.draw.helper.theme.Theme.ColorStyle;
+import com.baselet.diagram.draw.helper.theme.ThemeFactory;
+import com.baselet.element.interfaces.GridElement;
+import com.baselet.element.minimap.MinimapModel;
+import com.baselet.element.minimap.MinimapShape;
+import com.baselet.util.logging.Logger;
+import com.baselet.util.logging.LoggerFactory;
+
+/**
+ * Overview of the whole diagram as a downsampled image; clicking or dragging in it moves the viewport of the diagram.
+ * The elements are drawn as simple boxes (and relations as lines), because painting the real elements is not possible outside of the EDT.
+ * Changes of the elements are collected and only the regions of the changed elements are repainted.
+ * The image is rebuilt by a background thread, meanwhile the previous image is shown.
+ */
+public class DiagramMinimap extends JComponent implements ElementChangeListener {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final Logger log = LoggerFactory.getLogger(DiagramMinimap.class);
+
+	private static final int REBUILD_DELAY = 100; // ms, changes (e.g. the steps of a drag) are collected for this time before the image is rebuilt
+	private static final int PREFERRED_HEIGHT = 160;
+
+	private final MinimapModel model = new MinimapModel();
+	private final Timer rebuildTimer;
+	private DrawPanel drawPanel;
+	private SwingWorker<BufferedImage, Void> worker; // the running rebuild, null if there is none
+
+	private BufferedImage image; // the image which is shown until the next rebuild has finished
+	private double imageScale;
+
+	private final ChangeListener viewportListener = new ChangeListener() {
+		@Override
+		public void stateChanged(ChangeEvent e) {
+			repaint(); // the viewport rectangle has moved
+		}
+	};
+
+	private final ComponentListener resizeListener = new ComponentAdapter() {
+		@Override
+		public void componentResized(ComponentEvent e) {
+			scheduleRebuild(); // the scale of the image depends on the size of the minimap and of the DrawPanel
+		}
+	};
+
+	public DiagramMinimap() {
+		setPreferredSize(new Dimension(0, PREFERRED_HEIGHT));
+		setMaximumSize(new Dimension(Integer.MAX_VALUE, PREFERRED_HEIGHT));
+		rebuildTimer = new Timer(REBUILD_DELAY, new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				rebuild();
+			}
+		});
+		rebuildTimer.setRepeats(false);
+		addComponentListener(resizeListener);
+		MouseAdapter navigation = new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				centerViewportAt(e.getPoint());
+			}
+
+			@Override
+			public void mouseDragged(MouseEvent e) {
+				centerViewportAt(e.getPoint());
+			}
+		};
+		addMouseListener(navigation);
+		addMouseMotionListener(navigation);
+	}
+
+	/**
+	 * shows the given diagram in the minimap (null to show nothing)
+	 */
+	public void setDrawPanel(DrawPanel drawPanel) {
+		if (this.drawPanel == drawPanel) {
+			return;
+		}
+		if (this.drawPanel != null) {
+			this.drawPanel.removeElementChangeListener(this);
+			this.drawPanel.removeComponentListener(resizeListener);
+			this.drawPanel.getScrollPane().getViewport().removeChangeListener(viewportListener);
+		}
+		this.drawPanel = drawPanel;
+		image = null;
+		model.allElementsChanged();
+		if (drawPanel != null) {
+			drawPanel.addElementChangeListener(this);
+			drawPanel.addComponentListener(resizeListener);
+			drawPanel.getScrollPane().getViewport().addChangeListener(viewportListener);
+			scheduleRebuild();
+		}
+		repaint();
+	}
+
+	@Override
+	public void elementChanged(GridElement gridElement) {
+		model.elementChanged(gridElement);
+		scheduleRebuild();
+	}
+
+	@Override
+	public void allElementsChanged() {
+		model.allElementsChanged();
+		scheduleRebuild();
+	}
+
+	private void scheduleRebuild() {
+		if (!rebuildTimer.isRunning()) { // not restarted, otherwise a long drag would never update the minimap
+			rebuildTimer.start();
+		}
+	}
+
+	private double getScale() {
+		if (drawPanel == null || drawPanel.getWidth() <= 0 || drawPanel.getHeight() <= 0) {
+			return 0;
+		}
+		return Math.min(1, Math.min((double) getWidth() / drawPanel.getWidth(), (double) getHeight() / drawPanel.getHeight()));
+	}
+
+	/**
+	 * takes the snapshots of the changed elements on the EDT and paints them in the background
+	 */
+	private void rebuild() {
+		if (drawPanel == null || !isShowing()) {
+			return;
+		}
+		if (worker != null) {
+			scheduleRebuild(); // the next changes must be painted on the image of the running rebuild
+			return;
+		}
+		final double scale = getScale();
+		if (scale <= 0) {
+			return;
+		}
+		final int width = (int) Math.ceil(drawPanel.getWidth() * scale);
+		final int height = (int) Math.ceil(drawPanel.getHeight() * scale);
+		if (image == null || scale != imageScale || image.getWidth() != width || image.getHeight() != height) {
+			model.allElementsChanged();
+		}
+		if (!model.hasChanges()) {
+			return;
+		}
+		final MinimapModel.Update update = model.takeUpdate(drawPanel.getGridElements(), drawPanel.getGridElementIndex());
+		final BufferedImage previous = update.isFull() ? null : image;
+		final DrawPanel source = drawPanel;
+		worker = new SwingWorker<BufferedImage, Void>() {
+			@Override
+			protected BufferedImage doInBackground() {
+				return paintImage(previous, update, scale, width, height);
+			}
+
+			@Override
+			protected void done() {
+				worker = null;
+				if (source != drawPanel) {
+					return; // another diagram has been selected meanwhile
+				}
+				try {
+					image = get();
+					imageScale = scale;
+				} catch (InterruptedException e) {
+					model.allElementsChanged();
+				} catch (ExecutionException e) {
+					log.error("Cannot rebuild the minimap", e.getCause());
+					model.allElementsChanged();
+				}
+				repaint();
+				if (model.hasChanges()) {
+					scheduleRebuild();
+				}
+			}
+		};
+		worker.execute();
+	}
+
+	/**
+	 * runs in the background, the previous image is not modified because it's still shown
+	 */
+	private static BufferedImage paintImage(BufferedImage previous, MinimapModel.Update update, double scale, int width, int height) {
+		BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		Graphics2D g = result.createGraphics();
+		try {
+			if (previous != null) {
+				g.drawImage(previous, 0, 0, null);
+				Area dirty = new Area();
+				for (Rectangle r : update.getDirtyRegions()) {
+					int x = (int) Math.floor(r.x * scale) - 1; // 1 pixel more for the outline and rounding
+					int y = (int) Math.floor(r.y * scale) - 1;
+					dirty.add(new Area(new java.awt.Rectangle(x, y, (int) Math.ceil((r.x + r.width) * scale) + 2 - x, (int) Math.ceil((r.y + r.height) * scale) + 2 - y)));
+				}
+				g.setComposite(AlphaComposite.Clear);
+				g.fill(dirty);
+				g.setComposite(AlphaComposite.SrcOver);
+				g.clip(dirty);
+			}
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.scale(scale, scale);
+			g.setStroke(new BasicStroke((float) (1 / scale))); // 1 pixel in the image
+			for (MinimapShape shape : update.getShapes()) {
+				paintShape(g, shape);
+			}
+		} finally {
+			g.dispose();
+		}
+		return result;
+	}
+
+	private static void paintShape(Graphics2D g, MinimapShape shape) {
+		if (shape.isLine()) {
+			g.setColor(Converter.convert(shape.getForeground()));
+			g.draw(new Line2D.Double(shape.getLineStart().getX(), shape.getLineStart().getY(), shape.getLineEnd().getX(), shape.getLineEnd().getY()));
+			return;
+		}
+		Rectangle b = shape.getBounds();
+		if (shape.getBackground() != null) {
+			g.setColor(Converter.convert(shape.getBackground()));
+			g.fillRect(b.x, b.y, b.width, b.height);
+		}
+		g.setColor(Converter.convert(shape.getForeground()));
+		g.drawRect(b.x, b.y, b.width, b.height);
+	}
+
+	@Override
+	protected void paintComponent(Graphics g) {
+		g.setColor(drawPanel != null ? drawPanel.getBackground() : getBackground());
+		g.fillRect(0, 0, getWidth(), getHeight());
+		if (drawPanel != null && worker == null && (image == null || model.hasChanges())) {
+			scheduleRebuild(); // the changes are not painted while the minimap is hidden
+		}
+		if (drawPanel == null || image == null) {
+			return;
+		}
+		g.drawImage(image, 0, 0, null);
+		java.awt.Rectangle view = drawPanel.getScrollPane().getViewport().getViewRect();
+		g.setColor(Converter.convert(ThemeFactory.getCurrentTheme().getColor(ColorStyle.SELECTION_FG)));
+		g.drawRect((int) (view.x * imageScale), (int) (view.y * imageScale), (int) (view.width * imageScale), (int) (view.height * imageScale));
+	}
+
+	private void centerViewportAt(Point p) {
+		if (drawPanel == null || image == null || imageScale <= 0) {
+			return;
+		}
+		JViewport viewport = drawPanel.getScrollPane().getViewport();
+		Dimension extent = viewport.getExtentSize();
+		int x = (int) (p.x / imageScale) - extent.width / 2;
+		int y = (int) (p.y / imageScale) - extent.height / 2;
+		x = Math.max(0, Math.min(x, drawPanel.getWidth() - extent.width));
+		y = Math.max(0, Math.min(y, drawPanel.getHeight() - extent.height));
+		viewport.setViewPosition(new Point(x, y));
+	}
+}
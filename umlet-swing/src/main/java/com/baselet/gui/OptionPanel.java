@@ -200,7 +200,6 @@ public class OptionPanel extends JPanel implements ActionListener {
 
 			// redraw every element to apply changes (like show stickingpolygon, fontsize, ...)
 			for (DiagramHandler d : Main.getInstance().getDiagramsAndPalettes()) {
-				d.getFontHandler().resetFontSize();
 				d.getDrawPanel().updateElements();
 				if (ThemeFactory.getActiveThemeEnum() == THEMES.DARK) {
 					d.getDrawPanel().setBackground(Constants.DARK_BACKGROUND_COLOR);
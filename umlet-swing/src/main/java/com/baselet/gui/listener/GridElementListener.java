@@ -31,6 +31,7 @@ import com.baselet.element.interfaces.CursorOwn;
 import com.baselet.element.interfaces.GridElement;
 import com.baselet.element.old.element.Relation;
 import com.baselet.element.sticking.StickableMap;
+import com.baselet.element.sticking.StickablePointIndex;
 import com.baselet.element.sticking.Stickables;
 import com.baselet.element.sticking.StickingPolygon;
 import com.baselet.gui.CurrentGui;
@@ -127,7 +128,13 @@ public class GridElementListener extends UniversalListener {
 
 		JPopupMenu contextMenu = CurrentGui.getInstance().getGui().getContextMenu(ge);
 		if (contextMenu != null) {
-			contextMenu.show((Component) ge.getComponent(), x, y);
+			Component component = (Component) ge.getComponent();
+			if (component.getParent() == null) { // in single canvas mode the menu is shown on the DrawPanel
+				contextMenu.show(handler.getDrawPanel(), component.getX() + x, component.getY() + y);
+			}
+			else {
+				contextMenu.show(component, x, y);
+			}
 		}
 	}
 
@@ -285,9 +292,10 @@ public class GridElementListener extends UniversalListener {
 		Vector<Move> moveCommands = new Vector<Move>();
 		Vector<OldMoveLinePoint> linepointCommands = new Vector<OldMoveLinePoint>();
 		List<com.baselet.element.relation.Relation> stickables = handler.getDrawPanel().getStickables(entitiesToBeMoved);
+		StickablePointIndex stickablePoints = new StickablePointIndex(stickables); // created once, so every element only checks the relation points near its sticking polygon
 		for (GridElement ge : entitiesToBeMoved) {
 			// reduce stickables to those which really stick at the element at move-start
-			StickableMap stickingStickables = Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(ge.generateStickingBorder(), stickables);
+			StickableMap stickingStickables = Stickables.getStickingPointsWhichAreConnectedToStickingPolygon(ge.generateStickingBorder(), stickablePoints);
 			moveCommands.add(new Move(directions, ge, diffx, diffy, oldp, isShiftKeyDown, true, useSetLocation, stickingStickables));
 
 			handleStickingOfOldRelation(diffx, diffy, entitiesToBeMoved, handler, directions, linepointCommands, ge);
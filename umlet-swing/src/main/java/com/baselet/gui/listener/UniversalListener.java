@@ -87,6 +87,7 @@ public abstract class UniversalListener extends ComponentAdapter implements Mous
 
 	@Override
 	public void mouseDragged(MouseEvent me) {
+		diagram.getRenderingQuality().interaction(); // paint fast while elements, the lasso or the diagram are dragged
 		// Get new mouse coordinates
 		if (selector.isSelectorFrameActive()) {
 			selector.getSelectorFrame().resizeTo(getOffset(me).getX(), getOffset(me).getY());
@@ -0,0 +1,100 @@
+package com.baselet.element.old.custom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BytecodeCacheTest {
+
+	private static final String HASH = "0123456789abcdef";
+
+	@Rule
+	public TemporaryFolder tmpDir = new TemporaryFolder();
+
+	private BytecodeCache cache;
+	private Map<String, byte[]> classFiles;
+
+	@Before
+	public void createCache() {
+		cache = new BytecodeCache(tmpDir.getRoot(), "15.0");
+		classFiles = new LinkedHashMap<String, byte[]>();
+		classFiles.put("CustomElementImpl", new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 1, 2, 3 });
+		classFiles.put("CustomElementImpl$1", new byte[] { 4, 5, 6 });
+	}
+
+	@Test
+	public void missingEntryIsAMiss() {
+		assertNull(cache.load(HASH));
+	}
+
+	@Test
+	public void storedEntryIsAHit() {
+		cache.store(HASH, classFiles);
+		Map<String, byte[]> loaded = cache.load(HASH);
+		assertNotNull(loaded);
+		assertEquals(classFiles.keySet(), loaded.keySet());
+		for (String name : classFiles.keySet()) {
+			assertArrayEquals(classFiles.get(name), loaded.get(name));
+		}
+		assertEquals("no temporary files are left", 1, tmpDir.getRoot().listFiles().length);
+	}
+
+	@Test
+	public void truncatedEntryIsDeletedAndAMiss() throws IOException {
+		cache.store(HASH, classFiles);
+		File file = cache.getFile(HASH);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.setLength(file.length() - 5);
+		} finally {
+			raf.close();
+		}
+		assertNull(cache.load(HASH));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void corruptEntryIsDeletedAndAMiss() throws IOException {
+		cache.store(HASH, classFiles);
+		File file = cache.getFile(HASH);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try {
+			raf.seek(file.length() / 2);
+			int b = raf.read();
+			raf.seek(file.length() / 2);
+			raf.write(b ^ 0xFF);
+		} finally {
+			raf.close();
+		}
+		assertNull(cache.load(HASH));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void entryOfAnotherSourceIsAMiss() {
+		cache.store("otherhash", classFiles);
+		assertFalse(cache.getFile(HASH).exists());
+		assertTrue(cache.getFile("otherhash").renameTo(cache.getFile(HASH)));
+		assertNull(cache.load(HASH));
+	}
+
+	@Test
+	public void entryOfAnotherVersionIsAMiss() {
+		new BytecodeCache(tmpDir.getRoot(), "14.3").store(HASH, classFiles);
+		assertNull(cache.load(HASH));
+	}
+}
@@ -0,0 +1,74 @@
+package com.baselet.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClassSourceScannerTest {
+
+	private File jar;
+
+	@Before
+	public void createJar() throws IOException {
+		jar = File.createTempFile("ClassSourceScannerTest", ".jar");
+		ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+		try {
+			for (String name : new String[] { "META-INF/MANIFEST.MF", "META-INF/versions/9/com/example/A.class", "com/example/", "com/example/A.class", "com/example/A$Inner.class", "com/example/A$1.class", "com/example/package-info.class", "com/example/sub/B.class", "org/other/C.class", "D.class" }) {
+				out.putNextEntry(new ZipEntry(name));
+				out.closeEntry();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	@After
+	public void deleteJar() {
+		jar.delete();
+	}
+
+	@Test
+	public void allClassesOfJarAreFound() throws IOException {
+		assertEquals("[com/example/A.class, com/example/A$Inner.class, com/example/sub/B.class, org/other/C.class, D.class]", scan(""));
+	}
+
+	@Test
+	public void jarEntriesAreFilteredByPackage() throws IOException {
+		assertEquals("[com/example/A.class, com/example/A$Inner.class, com/example/sub/B.class]", scan("com.example.**"));
+		assertEquals("[com/example/A.class, com/example/A$Inner.class, org/other/C.class]", scan("com.example, org.*"));
+	}
+
+	@Test
+	public void packageGlobs() {
+		assertTrue(ClassSourceScanner.globToPattern("com.example.**").matcher("com.example").matches());
+		assertTrue(ClassSourceScanner.globToPattern("com.example.**").matcher("com.example.a.b").matches());
+		assertFalse(ClassSourceScanner.globToPattern("com.example.**").matcher("com.examples").matches());
+		assertTrue(ClassSourceScanner.globToPattern("com.*.util").matcher("com.foo.util").matches());
+		assertFalse(ClassSourceScanner.globToPattern("com.*.util").matcher("com.foo.bar.util").matches());
+	}
+
+	private String scan(String packageGlobs) throws IOException {
+		ClassSourceScanner scanner = new ClassSourceScanner(packageGlobs, false);
+		try {
+			List<String> names = new ArrayList<String>();
+			for (ClassSource source : scanner.scan(jar.getAbsolutePath())) {
+				names.add(source.getName().substring(source.getName().indexOf("!/") + 2));
+			}
+			return names.toString();
+		} finally {
+			scanner.close();
+		}
+	}
+}
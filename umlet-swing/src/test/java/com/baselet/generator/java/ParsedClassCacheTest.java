@@ -0,0 +1,83 @@
+package com.baselet.generator.java;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.baselet.generator.java.jp.JpJavaClass;
+
+public class ParsedClassCacheTest {
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile("ParsedClassCacheTest", ".java");
+		write("public class Test {}", System.currentTimeMillis() - 10000);
+	}
+
+	@After
+	public void deleteFile() {
+		ParsedClassCache.getInstance().clear();
+		file.delete();
+	}
+
+	@Test
+	public void unchangedFileIsNotParsedAgain() throws Exception {
+		JavaClass parsedClass = parse();
+		assertSame(parsedClass, ParsedClassCache.getInstance().get(file));
+	}
+
+	@Test
+	public void changedFileIsParsedAgain() throws Exception {
+		parse();
+		write("public class Test { int field; }", file.lastModified());
+		assertNull(ParsedClassCache.getInstance().get(file)); // same modification time but different size
+		parse();
+		write("public class Test { int other; }", file.lastModified() + 2000);
+		assertNull(ParsedClassCache.getInstance().get(file)); // same size but different modification time
+	}
+
+	@Test
+	public void recentlyModifiedFileIsNotCached() throws Exception {
+		write("public class Test {}", System.currentTimeMillis());
+		parse();
+		assertNull(ParsedClassCache.getInstance().get(file));
+	}
+
+	@Test
+	public void cacheIsBounded() throws Exception {
+		JavaClass parsedClass = parse();
+		for (int i = 0; i < ParsedClassCache.MAX_ENTRIES + 50; i++) {
+			File other = new File(file.getParentFile(), "ParsedClassCacheTest" + i + ".java"); // isn't created, only the path is the key
+			ParsedClassCache.getInstance().put(other, 20, file.lastModified(), parsedClass);
+		}
+		assertTrue("the cache must not keep the classes of a whole generated module", ParsedClassCache.getInstance().size() <= ParsedClassCache.MAX_ENTRIES);
+	}
+
+	private JavaClass parse() throws Exception {
+		long length = file.length();
+		long lastModified = file.lastModified();
+		JavaClass parsedClass = new JpJavaClass(file.getAbsolutePath());
+		ParsedClassCache.getInstance().put(file, length, lastModified, parsedClass);
+		return parsedClass;
+	}
+
+	private void write(String content, long lastModified) throws IOException {
+		FileWriter writer = new FileWriter(file);
+		try {
+			writer.write(content);
+		} finally {
+			writer.close();
+		}
+		file.setLastModified(lastModified);
+	}
+}
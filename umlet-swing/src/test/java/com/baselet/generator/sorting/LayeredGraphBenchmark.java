@@ -0,0 +1,52 @@
+package com.baselet.generator.sorting;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Measures the layered layout of a synthetic class graph (inheritance trees plus random associations).
+ * Not executed as part of the test suite, start it manually with the test classpath (optional arguments: number of classes, number of iterations)
+ */
+public class LayeredGraphBenchmark {
+
+	public static void main(String[] args) {
+		int classes = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+		for (int i = 0; i < iterations / 4 + 1; i++) { // warmup
+			createGraph(classes, i).layout(20, 60, 10);
+		}
+		long start = System.nanoTime();
+		LayeredGraph graph = null;
+		for (int i = 0; i < iterations; i++) {
+			graph = createGraph(classes, i);
+			graph.layout(20, 60, 10);
+		}
+		double ms = (System.nanoTime() - start) / 1e6 / iterations;
+		System.out.println(String.format(Locale.ENGLISH, "%d classes: %7.2f ms/layout, drawing size %dx%d", classes, ms, graph.getWidth(), graph.getHeight()));
+	}
+
+	private static LayeredGraph createGraph(int classes, long seed) {
+		Random random = new Random(seed);
+		int[] widths = new int[classes];
+		int[] heights = new int[classes];
+		for (int i = 0; i < classes; i++) {
+			widths[i] = 100 + random.nextInt(20) * 10;
+			heights[i] = 60 + random.nextInt(30) * 10;
+		}
+		LayeredGraph graph = new LayeredGraph(widths, heights);
+		for (int i = 1; i < classes; i++) {
+			if (random.nextInt(10) < 7) { // most classes extend an earlier class
+				graph.addEdge(i, random.nextInt(i), true);
+			}
+			if (random.nextInt(10) < 3) { // some implement an interface
+				graph.addEdge(i, random.nextInt(Math.min(i, 50)), true);
+			}
+			int associations = random.nextInt(3);
+			for (int a = 0; a < associations; a++) { // associations can point anywhere and create cycles
+				graph.addEdge(i, random.nextInt(classes), false);
+			}
+		}
+		return graph;
+	}
+}
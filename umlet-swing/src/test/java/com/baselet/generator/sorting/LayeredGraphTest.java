@@ -0,0 +1,118 @@
+package com.baselet.generator.sorting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.baselet.control.basics.geom.Point;
+
+public class LayeredGraphTest {
+
+	private static final int GAP = 20;
+	private static final int GRID = 10;
+
+	@Test
+	public void targetIsAboveSource() {
+		LayeredGraph graph = createGraph(3);
+		graph.addEdge(1, 0, true);
+		graph.addEdge(2, 0, true);
+		graph.layout(GAP, GAP, GRID);
+		assertTrue(graph.getY(0) < graph.getY(1));
+		assertEquals(graph.getY(1), graph.getY(2));
+		assertNoOverlaps(graph, 3);
+	}
+
+	@Test
+	public void edgePointsStartAtSourceAndEndAtTarget() {
+		LayeredGraph graph = createGraph(4);
+		int edge = graph.addEdge(3, 0, true); // spans several layers because of the chain 3->2->1->0
+		graph.addEdge(3, 2, true);
+		graph.addEdge(2, 1, true);
+		graph.addEdge(1, 0, true);
+		graph.layout(GAP, GAP, GRID);
+		List<Point> points = graph.getEdgePoints(edge);
+		assertEquals(graph.getY(3), points.get(0).getY()); // top of the source
+		assertEquals(graph.getY(0) + 40, points.get(points.size() - 1).getY()); // bottom of the target
+		assertNoOverlaps(graph, 4);
+	}
+
+	@Test
+	public void cyclesAreBroken() {
+		LayeredGraph graph = createGraph(3);
+		int first = graph.addEdge(0, 1, true);
+		graph.addEdge(1, 2, true);
+		int closing = graph.addEdge(2, 0, true);
+		graph.layout(GAP, GAP, GRID);
+		assertFalse(graph.getEdgePoints(first).isEmpty());
+		assertFalse(graph.getEdgePoints(closing).isEmpty());
+		List<Point> closingPoints = graph.getEdgePoints(closing);
+		assertEquals(graph.getY(2), closingPoints.get(0).getY() - 40); // the reversed edge leaves the source at the bottom
+		assertNoOverlaps(graph, 3);
+	}
+
+	@Test
+	public void selfLoopsAndUnconnectedNodesArePlaced() {
+		LayeredGraph graph = createGraph(4);
+		int loop = graph.addEdge(0, 0, true);
+		graph.addEdge(2, 1, true);
+		graph.layout(GAP, GAP, GRID);
+		assertTrue(graph.getEdgePoints(loop).isEmpty());
+		assertTrue(graph.getY(0) > graph.getY(2)); // unconnected nodes are below the layered nodes
+		assertNoOverlaps(graph, 4);
+	}
+
+	@Test
+	public void crossingsAreRemoved() {
+		// two parents with two children each, the children are added crosswise
+		LayeredGraph graph = createGraph(6);
+		graph.addEdge(2, 0, true);
+		graph.addEdge(3, 1, true);
+		graph.addEdge(4, 0, true);
+		graph.addEdge(5, 1, true);
+		graph.layout(GAP, GAP, GRID);
+		int leftParent = graph.getX(0) < graph.getX(1) ? 0 : 1;
+		for (int child : Arrays.asList(2, 4)) {
+			for (int other : Arrays.asList(3, 5)) {
+				assertEquals(leftParent == 0, graph.getX(child) < graph.getX(other));
+			}
+		}
+	}
+
+	@Test
+	public void associationsDontChangeTheHierarchy() {
+		LayeredGraph graph = createGraph(4);
+		graph.addEdge(1, 0, true);
+		graph.addEdge(2, 0, true);
+		int sameLayer = graph.addEdge(1, 2, false); // both subclasses stay in the same layer
+		graph.addEdge(3, 0, false); // a class which is only associated is placed below its target
+		graph.layout(GAP, GAP, GRID);
+		assertEquals(graph.getY(1), graph.getY(2));
+		assertTrue(graph.getY(0) < graph.getY(3));
+		List<Point> points = graph.getEdgePoints(sameLayer);
+		assertEquals(2, points.size());
+		assertEquals(points.get(0).getY(), points.get(1).getY());
+		assertNoOverlaps(graph, 4);
+	}
+
+	private LayeredGraph createGraph(int nodes) {
+		int[] widths = new int[nodes];
+		int[] heights = new int[nodes];
+		Arrays.fill(widths, 100);
+		Arrays.fill(heights, 40);
+		return new LayeredGraph(widths, heights);
+	}
+
+	private void assertNoOverlaps(LayeredGraph graph, int nodes) {
+		for (int a = 0; a < nodes; a++) {
+			for (int b = a + 1; b < nodes; b++) {
+				boolean separated = graph.getX(a) + 100 <= graph.getX(b) || graph.getX(b) + 100 <= graph.getX(a) || graph.getY(a) + 40 <= graph.getY(b) || graph.getY(b) + 40 <= graph.getY(a);
+				assertTrue("nodes " + a + " and " + b + " overlap", separated);
+			}
+		}
+	}
+}